@@ -15,11 +15,20 @@ package org.eclipselabs.garbagecat;
 import static java.util.stream.Collectors.toList;
 import static org.eclipselabs.garbagecat.OptionsParser.options;
 import static org.eclipselabs.garbagecat.OptionsParser.parseOptions;
+import static org.eclipselabs.garbagecat.util.Constants.BOOTSTRAP_CONFIDENCE;
+import static org.eclipselabs.garbagecat.util.Constants.BOOTSTRAP_RESAMPLES;
+import static org.eclipselabs.garbagecat.util.Constants.COMMAND_COMPARE;
+import static org.eclipselabs.garbagecat.util.Constants.COMMAND_MERGE;
 import static org.eclipselabs.garbagecat.util.Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
 import static org.eclipselabs.garbagecat.util.Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD;
 import static org.eclipselabs.garbagecat.util.Constants.DEFAULT_MEMORY_UNIT;
 import static org.eclipselabs.garbagecat.util.Constants.LINE_SEPARATOR;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EVENTS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FORMAT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FORMAT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HTML_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HTML_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_MEMALLOCTHRESHOLD_LONG;
@@ -29,10 +38,19 @@ import static org.eclipselabs.garbagecat.util.Constants.OPTION_MEMORYUNIT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_PROFILE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_PROFILE_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REPORT_CONSOLE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SECTIONS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SECTIONS_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERIES_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERIES_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SUMMARY_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SUMMARY_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERBOSE_LONG;
@@ -42,39 +60,82 @@ import static org.eclipselabs.garbagecat.util.Memory.ZERO;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.INFO_PERM_GEN;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.ParseException;
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.domain.OldData;
+import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.service.GcManager;
+import org.eclipselabs.garbagecat.util.Bootstrap;
+import org.eclipselabs.garbagecat.util.Bottleneck;
+import org.eclipselabs.garbagecat.util.ConcurrentGcStats;
+import org.eclipselabs.garbagecat.util.DownsampledSeries;
+import org.eclipselabs.garbagecat.util.HtmlReportWriter;
+import org.eclipselabs.garbagecat.util.LatencyHistogram;
+import org.eclipselabs.garbagecat.util.LogEntrySpill;
+import org.eclipselabs.garbagecat.util.MappedLogFile;
 import org.eclipselabs.garbagecat.util.Memory;
 import org.eclipselabs.garbagecat.util.MemoryAllocation;
+import org.eclipselabs.garbagecat.util.Profiler;
+import org.eclipselabs.garbagecat.util.ReportSection;
+import org.eclipselabs.garbagecat.util.RetainedList;
+import org.eclipselabs.garbagecat.util.RunSummary;
 import org.eclipselabs.garbagecat.util.RunTimeWindow;
+import org.eclipselabs.garbagecat.util.StructuredReportWriter;
+import org.eclipselabs.garbagecat.util.StructuredReportWriter.Format;
+import org.eclipselabs.garbagecat.util.TimeToSafepointStats;
+import org.eclipselabs.garbagecat.util.WorkerEfficiencyStats;
 import org.eclipselabs.garbagecat.util.Memory.Unit;
 import org.eclipselabs.garbagecat.util.MemoryAllocation.AllocationType;
+import org.eclipselabs.garbagecat.util.Profiler.Stage;
+import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+import org.eclipselabs.garbagecat.util.jfr.ProcessingEvents;
 
 /**
  * <p>
@@ -100,11 +161,20 @@ public class Main {
             + "----" + LINE_SEPARATOR;
 
     /**
-     * The maximum number of rejected log lines to track. A throttle to limit memory consumption.
+     * Bottleneck interval date/time format. <code>DateTimeFormatter</code> is immutable and thread-safe, so a single
+     * instance is shared.
      */
-    public static final int REJECT_LIMIT = 1000;
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
 
     public static void createReport(CommandLine cmd) throws IOException {
+        if (isCompare(cmd)) {
+            createComparison(cmd);
+            return;
+        } else if (isMerge(cmd)) {
+            createMerge(cmd);
+            return;
+        }
         String logFileName = (String) cmd.getArgList().get(cmd.getArgList().size() - 1);
         File logFile = new File(logFileName);
         String outputFileName = cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT)
@@ -113,22 +183,181 @@ public class Main {
         if (logFile.equals(reportFile)) {
             throw new IllegalArgumentException("Log file and report are the same file.");
         }
+        boolean verbose = cmd.hasOption(OPTION_VERBOSE_LONG);
+        boolean profile = cmd.hasOption(OPTION_PROFILE_LONG);
+        if (profile) {
+            Profiler.reset();
+            Profiler.setEnabled(true);
+        }
+        LogEntrySpill logEntrySpill = createLogEntrySpill(cmd);
+        try {
+            GcManager gcManager = store(cmd, logFile, logEntrySpill);
+            Profiler.Sample sample = Profiler.begin();
+            JvmRun jvmRun = getJvmRun(cmd, gcManager);
+            Profiler.end(Stage.ANALYSIS, sample);
+            sample = Profiler.begin();
+            boolean reportConsole = cmd.hasOption(OPTION_REPORT_CONSOLE_LONG);
+            Set<ReportSection> sections = cmd.hasOption(OPTION_SECTIONS_LONG)
+                    ? ReportSection.parse(cmd.getOptionValue(OPTION_SECTIONS_SHORT))
+                    : EnumSet.allOf(ReportSection.class);
+            createReport(jvmRun, sections, reportConsole, reportFile, logFileName);
+            if (cmd.hasOption(OPTION_FORMAT_LONG)) {
+                Format format = Format.valueOf(cmd.getOptionValue(OPTION_FORMAT_SHORT).toUpperCase(Locale.ENGLISH));
+                createStructuredReport(jvmRun, cmd.hasOption(OPTION_EVENTS_LONG) ? gcManager.getBlockingEvents() : null,
+                        format, new File(format.getFileName(outputFileName)), logFileName);
+            }
+            if (cmd.hasOption(OPTION_SERIES_LONG)) {
+                createSeries(jvmRun, new File(cmd.getOptionValue(OPTION_SERIES_SHORT)));
+            }
+            if (cmd.hasOption(OPTION_HTML_LONG)) {
+                createHtmlReport(jvmRun, new File(cmd.getOptionValue(OPTION_HTML_SHORT)), logFileName);
+            }
+            if (cmd.hasOption(OPTION_SUMMARY_LONG)) {
+                createSummary(new RunSummary(jvmRun), new File(cmd.getOptionValue(OPTION_SUMMARY_SHORT)));
+            }
+            Profiler.end(Stage.REPORT, sample);
+        } finally {
+            close(logEntrySpill);
+            Profiler.setEnabled(false);
+        }
+        if (profile) {
+            createProfile(new File(cmd.getOptionValue(OPTION_PROFILE_SHORT)));
+        }
+        if (verbose) {
+            System.out.println("done");
+        }
+    }
 
-        // Determine JVM environment information.
-        Date jvmStartDate = cmd.hasOption(OPTION_STARTDATETIME_LONG)
-                ? parseStartDateTime(cmd.getOptionValue(OPTION_STARTDATETIME_SHORT))
-                : null;
-        String jvmOptions = cmd.hasOption(OPTION_JVMOPTIONS_LONG) ? cmd.getOptionValue(OPTION_JVMOPTIONS_SHORT) : null;
+    /**
+     * Analyze two gc logs concurrently and create a comparison report.
+     * 
+     * @param cmd
+     *            The command line options, with the compare command followed by the baseline and candidate gc log
+     *            files.
+     * @throws IOException
+     *             if a gc log cannot be read.
+     */
+    private static void createComparison(CommandLine cmd) throws IOException {
+        List<String> args = cmd.getArgList();
+        String baselineFileName = args.get(args.size() - 2);
+        String candidateFileName = args.get(args.size() - 1);
+        File baselineFile = new File(baselineFileName);
+        File candidateFile = new File(candidateFileName);
+        String outputFileName = cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT)
+                : OUTPUT_FILE_NAME;
+        File reportFile = new File(outputFileName);
+        if (baselineFile.equals(reportFile) || candidateFile.equals(reportFile)) {
+            throw new IllegalArgumentException("Log file and report are the same file.");
+        }
+        LogEntrySpill baselineSpill = createLogEntrySpill(cmd);
+        LogEntrySpill candidateSpill = createLogEntrySpill(cmd);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<JvmRun> baseline = executor.submit(
+                    () -> getJvmRun(cmd, store(cmd, baselineFile, baselineSpill)));
+            Future<JvmRun> candidate = executor.submit(
+                    () -> getJvmRun(cmd, store(cmd, candidateFile, candidateSpill)));
+            createComparisonReport(getResult(baseline), getResult(candidate),
+                    new Bootstrap(BOOTSTRAP_RESAMPLES, BOOTSTRAP_CONFIDENCE),
+                    cmd.hasOption(OPTION_REPORT_CONSOLE_LONG), reportFile, baselineFileName, candidateFileName);
+        } finally {
+            executor.shutdown();
+            close(baselineSpill);
+            close(candidateSpill);
+        }
+        if (cmd.hasOption(OPTION_VERBOSE_LONG)) {
+            System.out.println("done");
+        }
+    }
 
-        URI logFileUri = logFile.toURI();
+    /**
+     * Merge run summaries and create a fleet report. Summaries are read and merged in parallel; the merge is
+     * associative, so the result does not depend on the order.
+     * 
+     * @param cmd
+     *            The command line options, with the merge command followed by the run summary files.
+     * @throws IOException
+     *             if a run summary cannot be read or is not valid.
+     */
+    private static void createMerge(CommandLine cmd) throws IOException {
+        List<File> summaryFiles = new ArrayList<File>();
+        for (String summaryFileName : cmd.getArgList().subList(1, cmd.getArgList().size())) {
+            summaryFiles.add(new File(summaryFileName));
+        }
+        String outputFileName = cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT)
+                : OUTPUT_FILE_NAME;
+        File reportFile = new File(outputFileName);
+        if (summaryFiles.contains(reportFile)) {
+            throw new IllegalArgumentException("Summary file and report are the same file.");
+        }
+        if (cmd.hasOption(OPTION_VERBOSE_LONG)) {
+            System.out.println("merging " + summaryFiles.size() + " summaries...");
+        }
+        RunSummary summary;
+        try {
+            summary = summaryFiles.parallelStream().map(Main::readSummary).collect(RunSummary::new,
+                    RunSummary::merge, RunSummary::merge);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (cmd.hasOption(OPTION_SUMMARY_LONG)) {
+            createSummary(summary, new File(cmd.getOptionValue(OPTION_SUMMARY_SHORT)));
+        }
+        createMergeReport(summary, getMemoryUnit(cmd), cmd.hasOption(OPTION_REPORT_CONSOLE_LONG), reportFile);
+        if (cmd.hasOption(OPTION_VERBOSE_LONG)) {
+            System.out.println("done");
+        }
+    }
 
-        boolean verbose = cmd.hasOption(OPTION_VERBOSE_LONG);
-        if (verbose) {
-            System.out.println("reading gc logging...");
+    /**
+     * @param logEntrySpill
+     *            The spill to close, or null.
+     * @throws IOException
+     *             if the spill cannot be closed.
+     */
+    private static void close(LogEntrySpill logEntrySpill) throws IOException {
+        if (logEntrySpill != null) {
+            logEntrySpill.close();
         }
-        List<String> logLines = Files.readAllLines(Paths.get(logFileUri));
+    }
+
+    /**
+     * @param cmd
+     *            The command line options.
+     * @return A new <code>LogEntrySpill</code> if the spill option is specified, otherwise null.
+     * @throws IOException
+     *             if the spill file cannot be created.
+     */
+    private static LogEntrySpill createLogEntrySpill(CommandLine cmd) throws IOException {
+        return cmd.hasOption(OPTION_SPILL_LONG) ? new LogEntrySpill() : null;
+    }
+
+    /**
+     * Determine the <code>JvmRun</code> for stored gc logging with the command line report options.
+     * 
+     * @param cmd
+     *            The command line options.
+     * @param gcManager
+     *            The <code>GcManager</code> with the gc logging stored.
+     * @return The <code>JvmRun</code>.
+     */
+    private static JvmRun getJvmRun(CommandLine cmd, GcManager gcManager) {
+        String jvmOptions = cmd.hasOption(OPTION_JVMOPTIONS_LONG) ? cmd.getOptionValue(OPTION_JVMOPTIONS_SHORT) : null;
+        int throughputThreshold = cmd.hasOption(OPTION_THRESHOLD_LONG)
+                ? Integer.parseInt(cmd.getOptionValue(OPTION_THRESHOLD_SHORT))
+                : DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
+        long highMemoryAllocationThreshold = cmd.hasOption(OPTION_MEMALLOCTHRESHOLD_LONG)
+                ? Long.parseLong(cmd.getOptionValue(OPTION_MEMALLOCTHRESHOLD_SHORT))
+                : DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD;
+        return gcManager.getJvmRun(jvmOptions, throughputThreshold, highMemoryAllocationThreshold);
+    }
 
-        // Determine memory unit
+    /**
+     * @param cmd
+     *            The command line options.
+     * @return The memory unit used for reporting.
+     */
+    private static Unit getMemoryUnit(CommandLine cmd) {
         Unit memoryUnit = DEFAULT_MEMORY_UNIT;
         if (cmd.hasOption(OPTION_MEMORYUNIT_LONG)) {
             try {
@@ -137,46 +366,134 @@ public class Main {
                 System.err.println(e + "\nUsing default instead: " + DEFAULT_MEMORY_UNIT);
             }
         }
+        return memoryUnit;
+    }
 
-        GcManager gcManager = new GcManager(jvmStartDate, memoryUnit);
-
-        // Do preprocessing
-        if (cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
-            /*
-             * Requiring the JVM start date/time for preprocessing is a hack to handle datestamps. When garbagecat was
-             * started there was no <code>-XX:+PrintGCDateStamps</code> option. When it was introduced in JDK 1.6 update
-             * 4, the easiest thing to do to handle datestamps was to preprocess the datestamps and convert them to
-             * timestamps.
-             *
-             * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in the JVM
-             * start date/time.
-             */
-            if (verbose) {
-                System.out.println("preprocessing...");
+    /**
+     * @param future
+     *            A gc log analysis.
+     * @return The analysis <code>JvmRun</code>.
+     * @throws IOException
+     *             if the gc log cannot be read.
+     */
+    private static JvmRun getResult(Future<JvmRun> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted analyzing gc log.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-            logLines = gcManager.preprocess(logLines, jvmStartDate);
+            throw new IOException(e.getCause());
         }
+    }
 
-        // Allow logging to be reordered?
-        boolean reorder = cmd.hasOption(OPTION_REORDER_LONG);
+    /**
+     * @param cmd
+     *            The command line options.
+     * @return true if the command line is the compare command (followed by the baseline and candidate gc log files),
+     *         false otherwise.
+     */
+    static boolean isCompare(CommandLine cmd) {
+        List<String> args = cmd.getArgList();
+        return args.size() == 3 && args.get(0).equals(COMMAND_COMPARE);
+    }
 
-        // Store garbage collection logging in data store.
-        gcManager.store(logLines, reorder);
+    /**
+     * @param cmd
+     *            The command line options.
+     * @return true if the command line is the merge command (followed by the run summary files), false otherwise.
+     */
+    static boolean isMerge(CommandLine cmd) {
+        List<String> args = cmd.getArgList();
+        return args.size() > 1 && args.get(0).equals(COMMAND_MERGE);
+    }
 
-        // Create report
-        // Determine report options
-        int throughputThreshold = cmd.hasOption(OPTION_THRESHOLD_LONG)
-                ? Integer.parseInt(cmd.getOptionValue(OPTION_THRESHOLD_SHORT))
-                : DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD;
-        long highMemoryAllocationThreshold = cmd.hasOption(OPTION_MEMALLOCTHRESHOLD_LONG)
-                ? Memory.memory(Long.valueOf(cmd.getOptionValue(OPTION_MEMALLOCTHRESHOLD_SHORT)), memoryUnit)
-                        .getValue(memoryUnit)
-                : DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD;
-        JvmRun jvmRun = gcManager.getJvmRun(jvmOptions, throughputThreshold, highMemoryAllocationThreshold);
-        boolean reportConsole = cmd.hasOption(OPTION_REPORT_CONSOLE_LONG);
-        createReport(jvmRun, reportConsole, reportFile, logFileName);
+    /**
+     * Read a run summary.
+     * 
+     * @param summaryFile
+     *            The run summary file.
+     * @return The run summary.
+     * @throws UncheckedIOException
+     *             if the run summary cannot be read or is not valid.
+     */
+    private static RunSummary readSummary(File summaryFile) {
+        try (Reader reader = Files.newBufferedReader(summaryFile.toPath(), StandardCharsets.UTF_8)) {
+            return RunSummary.read(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(new IOException(summaryFile.getPath() + ": " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Read, optionally preprocess, and store gc logging.
+     * 
+     * @param cmd
+     *            The command line options.
+     * @param logFile
+     *            The gc log file.
+     * @param logEntrySpill
+     *            The spill to write retained event log entries to, or null to retain log entries in memory.
+     * @return The <code>GcManager</code> with the gc logging stored.
+     * @throws IOException
+     *             if the gc log cannot be read.
+     */
+    private static GcManager store(CommandLine cmd, File logFile, LogEntrySpill logEntrySpill) throws IOException {
+        // Determine JVM environment information.
+        Date jvmStartDate = cmd.hasOption(OPTION_STARTDATETIME_LONG)
+                ? parseStartDateTime(cmd.getOptionValue(OPTION_STARTDATETIME_SHORT))
+                : null;
+
+        URI logFileUri = logFile.toURI();
+
+        boolean verbose = cmd.hasOption(OPTION_VERBOSE_LONG);
         if (verbose) {
-            System.out.println("done");
+            System.out.println("reading gc logging...");
+        }
+        Profiler.Sample sample = Profiler.begin();
+        // Log lines are mapped, not held on the heap.
+        try (MappedLogFile mappedLogFile = new MappedLogFile(Paths.get(logFileUri))) {
+            Profiler.addLines(mappedLogFile.size());
+            Profiler.end(Stage.READ, sample);
+
+            GcManager gcManager = new GcManager(jvmStartDate, getMemoryUnit(cmd));
+            gcManager.setLogEntrySpill(logEntrySpill);
+
+            // Allow logging to be reordered?
+            boolean reorder = cmd.hasOption(OPTION_REORDER_LONG);
+
+            // Do preprocessing
+            if (cmd.hasOption(OPTION_PREPROCESS_LONG) || cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
+                /*
+                 * Requiring the JVM start date/time for preprocessing is a hack to handle datestamps. When garbagecat
+                 * was started there was no <code>-XX:+PrintGCDateStamps</code> option. When it was introduced in JDK
+                 * 1.6 update 4, the easiest thing to do to handle datestamps was to preprocess the datestamps and
+                 * convert them to timestamps.
+                 *
+                 * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in the
+                 * JVM start date/time.
+                 */
+                if (verbose) {
+                    System.out.println("preprocessing...");
+                }
+                // Log entries are stored as they are preprocessed (the store stage is nested in the preprocess stage).
+                sample = Profiler.begin();
+                Object storeFlightEvent = ProcessingEvents.beginStage();
+                gcManager.store(mappedLogFile.getLines(), jvmStartDate, reorder);
+                ProcessingEvents.endStage(storeFlightEvent, Stage.STORE.name());
+                Profiler.end(Stage.PREPROCESS, sample);
+            } else {
+                // Store garbage collection logging in data store.
+                sample = Profiler.begin();
+                gcManager.store(mappedLogFile, reorder);
+                Profiler.end(Stage.STORE, sample);
+            }
+            return gcManager;
         }
     }
 
@@ -193,6 +510,26 @@ public class Main {
      *            The gc log file analyzed.
      */
     public static void createReport(JvmRun jvmRun, boolean reportConsole, File reportFile, String gcLogFileName) {
+        createReport(jvmRun, EnumSet.allOf(ReportSection.class), reportConsole, reportFile, gcLogFileName);
+    }
+
+    /**
+     * Create Garbage Collection Analysis report with the selected sections. <code>JvmRun</code> data used only by
+     * sections that are not selected is not computed.
+     *
+     * @param jvmRun
+     *            JVM run data.
+     * @param sections
+     *            The report sections to write.
+     * @param reportConsole
+     *            Whether print the report to the console or to a file.
+     * @param reportFile
+     *            Report file.
+     * @param gcLogFileName
+     *            The gc log file analyzed.
+     */
+    public static void createReport(JvmRun jvmRun, Set<ReportSection> sections, boolean reportConsole,
+            File reportFile, String gcLogFileName) {
         FileWriter fileWriter = null;
         PrintWriter printWriter = null;
         try {
@@ -207,8 +544,10 @@ public class Main {
             printWriter.write(LINE_SEPARATOR);
 
             // JVM information
-            if (jvmRun.getJvmOptions().getJvmContext().getVersionMajor() > 0
-                    || jvmRun.getJvmOptions().getJvmContext().getOptions() != null || jvmRun.getMemory() != null) {
+            if (sections.contains(ReportSection.JVM)
+                    && (jvmRun.getJvmOptions().getJvmContext().getVersionMajor() > 0
+                            || jvmRun.getJvmOptions().getJvmContext().getOptions() != null
+                            || jvmRun.getMemory() != null)) {
                 printWriter.write(LINEBREAK_DOUBLE);
                 printWriter.write("JVM:" + LINE_SEPARATOR);
                 printWriter.write(LINEBREAK_SINGLE);
@@ -225,380 +564,421 @@ public class Main {
             }
 
             // Summary
-            printWriter.write(LINEBREAK_DOUBLE);
-            printWriter.write("SUMMARY:" + LINE_SEPARATOR);
-            printWriter.write(LINEBREAK_SINGLE);
+            if (sections.contains(ReportSection.SUMMARY)) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.write("SUMMARY:" + LINE_SEPARATOR);
+                printWriter.write(LINEBREAK_SINGLE);
 
-            // First/last timestamps
-            if (jvmRun.getBlockingEventCount() > 0 || jvmRun.getStoppedTimeEventCount() > 0) {
-                // First event
-                if (jvmRun.getFirstEventDatestamp() != null) {
-                    printWriter.write("Datestamp First: ");
-                    printWriter.write(jvmRun.getFirstEventDatestamp());
-                    printWriter.write(LINE_SEPARATOR);
-                }
-                if (!jvmRun.getFirstEvent().getLogEntry().matches(UnifiedRegEx.TIME_DECORATOR)) {
-                    printWriter.write("Timestamp First: ");
-                    BigDecimal firstEventTimestamp = JdkMath.convertMillisToSecs(jvmRun.getFirstEvent().getTimestamp());
-                    printWriter.write(firstEventTimestamp.toString());
-                    printWriter.write(" secs" + LINE_SEPARATOR);
-                }
-                // Last event
-                if (jvmRun.getLastEventDatestamp() != null) {
-                    printWriter.write("Datestamp Last: ");
-                    printWriter.write(jvmRun.getLastEventDatestamp());
-                    printWriter.write(LINE_SEPARATOR);
-                }
-                if (!jvmRun.getLastEvent().getLogEntry().matches(UnifiedRegEx.TIME_DECORATOR)) {
-                    printWriter.write("Timestamp Last: ");
-                    BigDecimal lastEventTimestamp = JdkMath.convertMillisToSecs(jvmRun.getLastEvent().getTimestamp());
-                    printWriter.write(lastEventTimestamp.toString());
-                    printWriter.write(" secs" + LINE_SEPARATOR);
+                // First/last timestamps
+                if (jvmRun.getBlockingEventCount() > 0 || jvmRun.getStoppedTimeEventCount() > 0) {
+                    // First event
+                    if (jvmRun.getFirstEventDatestamp() != null) {
+                        printWriter.write("Datestamp First: ");
+                        printWriter.write(jvmRun.getFirstEventDatestamp());
+                        printWriter.write(LINE_SEPARATOR);
+                    }
+                    if (!jvmRun.getFirstEvent().getLogEntry().matches(UnifiedRegEx.TIME_DECORATOR)) {
+                        printWriter.write("Timestamp First: ");
+                        BigDecimal firstEventTimestamp = JdkMath
+                                .convertMillisToSecs(jvmRun.getFirstEvent().getTimestamp());
+                        printWriter.write(firstEventTimestamp.toString());
+                        printWriter.write(" secs" + LINE_SEPARATOR);
+                    }
+                    // Last event
+                    if (jvmRun.getLastEventDatestamp() != null) {
+                        printWriter.write("Datestamp Last: ");
+                        printWriter.write(jvmRun.getLastEventDatestamp());
+                        printWriter.write(LINE_SEPARATOR);
+                    }
+                    if (!jvmRun.getLastEvent().getLogEntry().matches(UnifiedRegEx.TIME_DECORATOR)) {
+                        printWriter.write("Timestamp Last: ");
+                        BigDecimal lastEventTimestamp = JdkMath
+                                .convertMillisToSecs(jvmRun.getLastEvent().getTimestamp());
+                        printWriter.write(lastEventTimestamp.toString());
+                        printWriter.write(" secs" + LINE_SEPARATOR);
+                    }
                 }
-            }
 
-            // GC stats
-            printWriter.write("# GC Events: " + jvmRun.getBlockingEventCount() + LINE_SEPARATOR);
-            if (jvmRun.getBlockingEventCount() > 0) {
-                printWriter.write("Event Types: ");
-                List<LogEventType> eventTypes = jvmRun.getEventTypes();
-                boolean firstEvent = true;
-                for (LogEventType eventType : eventTypes) {
-                    // Only report GC events
-                    if (JdkUtil.isReportable(eventType)) {
-                        if (!firstEvent) {
-                            printWriter.write(", ");
+                // GC stats
+                printWriter.write("# GC Events: " + jvmRun.getBlockingEventCount() + LINE_SEPARATOR);
+                if (jvmRun.getBlockingEventCount() > 0) {
+                    printWriter.write("Event Types: ");
+                    List<LogEventType> eventTypes = jvmRun.getEventTypes();
+                    boolean firstEvent = true;
+                    for (LogEventType eventType : eventTypes) {
+                        // Only report GC events
+                        if (JdkUtil.isReportable(eventType)) {
+                            if (!firstEvent) {
+                                printWriter.write(", ");
+                            }
+                            printWriter.write(eventType.toString());
+                            firstEvent = false;
                         }
-                        printWriter.write(eventType.toString());
-                        firstEvent = false;
                     }
-                }
-                printWriter.write(LINE_SEPARATOR);
-                // Inverted parallelism
-                if (!jvmRun.getJvmOptions().getJvmContext().getGarbageCollectors().isEmpty()
-                        && jvmRun.getParallelCount() > 0) {
-                    printWriter.write("# Parallel Events: " + jvmRun.getParallelCount() + LINE_SEPARATOR);
-                    if (jvmRun.getInvertedParallelismCount() > 0) {
-                        printWriter.write(
-                                "# Inverted Parallelism: " + jvmRun.getInvertedParallelismCount() + LINE_SEPARATOR);
-                        printWriter.write("Inverted Parallelism Max: ");
-                        if (jvmRun.getStartDate() != null) {
-                            printWriter.write(JdkUtil.convertLogEntryTimestampsToDateStamp(
-                                    jvmRun.getWorstInvertedParallelismEvent().getLogEntry(), jvmRun.getStartDate()));
-                        } else {
-                            printWriter.write(jvmRun.getWorstInvertedParallelismEvent().getLogEntry());
+                    printWriter.write(LINE_SEPARATOR);
+                    // Inverted parallelism
+                    if (!jvmRun.getJvmOptions().getJvmContext().getGarbageCollectors().isEmpty()
+                            && jvmRun.getParallelCount() > 0) {
+                        printWriter.write("# Parallel Events: " + jvmRun.getParallelCount() + LINE_SEPARATOR);
+                        if (jvmRun.getInvertedParallelismCount() > 0) {
+                            printWriter.write(
+                                    "# Inverted Parallelism: " + jvmRun.getInvertedParallelismCount() + LINE_SEPARATOR);
+                            printWriter.write("Inverted Parallelism Max: ");
+                            if (jvmRun.getStartDate() != null) {
+                                printWriter.write(JdkUtil.convertLogEntryTimestampsToDateStamp(
+                                        jvmRun.getWorstInvertedParallelismEvent().getLogEntry(),
+                                        jvmRun.getStartDate()));
+                            } else {
+                                printWriter.write(jvmRun.getWorstInvertedParallelismEvent().getLogEntry());
+                            }
+                            printWriter.write(LINE_SEPARATOR);
                         }
-                        printWriter.write(LINE_SEPARATOR);
                     }
-                }
-                // Inverted serialism
-                if (!jvmRun.getJvmOptions().getJvmContext().getGarbageCollectors().isEmpty()
-                        && jvmRun.getSerialCount() > 0) {
-                    printWriter.write("# Serial Events: " + jvmRun.getSerialCount() + LINE_SEPARATOR);
-                    if (jvmRun.getInvertedSerialismCount() > 0) {
-                        printWriter
-                                .write("# Inverted Serialism: " + jvmRun.getInvertedSerialismCount() + LINE_SEPARATOR);
-                        printWriter.write("Inverted Serialism Max: ");
+                    // Inverted serialism
+                    if (!jvmRun.getJvmOptions().getJvmContext().getGarbageCollectors().isEmpty()
+                            && jvmRun.getSerialCount() > 0) {
+                        printWriter.write("# Serial Events: " + jvmRun.getSerialCount() + LINE_SEPARATOR);
+                        if (jvmRun.getInvertedSerialismCount() > 0) {
+                            printWriter.write(
+                                    "# Inverted Serialism: " + jvmRun.getInvertedSerialismCount() + LINE_SEPARATOR);
+                            printWriter.write("Inverted Serialism Max: ");
+                            if (jvmRun.getStartDate() != null) {
+                                printWriter.write(JdkUtil.convertLogEntryTimestampsToDateStamp(
+                                        jvmRun.getWorstInvertedSerialismEvent().getLogEntry(), jvmRun.getStartDate()));
+                            } else {
+                                printWriter.write(jvmRun.getWorstInvertedSerialismEvent().getLogEntry());
+                            }
+                            printWriter.write(LINE_SEPARATOR);
+                        }
+                    }
+                    // sys > user
+                    if (!jvmRun.getJvmOptions().getJvmContext().getGarbageCollectors().isEmpty()
+                            && jvmRun.getSysGtUserCount() > 0) {
+                        printWriter.write("# sys > user: " + jvmRun.getSysGtUserCount() + LINE_SEPARATOR);
+                        printWriter.write("sys > user Max: ");
                         if (jvmRun.getStartDate() != null) {
                             printWriter.write(JdkUtil.convertLogEntryTimestampsToDateStamp(
-                                    jvmRun.getWorstInvertedSerialismEvent().getLogEntry(), jvmRun.getStartDate()));
+                                    jvmRun.getWorstSysGtUserEvent().getLogEntry(), jvmRun.getStartDate()));
                         } else {
-                            printWriter.write(jvmRun.getWorstInvertedSerialismEvent().getLogEntry());
+                            printWriter.write(jvmRun.getWorstSysGtUserEvent().getLogEntry());
                         }
                         printWriter.write(LINE_SEPARATOR);
                     }
-                }
-                // sys > user
-                if (!jvmRun.getJvmOptions().getJvmContext().getGarbageCollectors().isEmpty()
-                        && jvmRun.getSysGtUserCount() > 0) {
-                    printWriter.write("# sys > user: " + jvmRun.getSysGtUserCount() + LINE_SEPARATOR);
-                    printWriter.write("sys > user Max: ");
-                    if (jvmRun.getStartDate() != null) {
-                        printWriter.write(JdkUtil.convertLogEntryTimestampsToDateStamp(
-                                jvmRun.getWorstSysGtUserEvent().getLogEntry(), jvmRun.getStartDate()));
-                    } else {
-                        printWriter.write(jvmRun.getWorstSysGtUserEvent().getLogEntry());
+                    // NewRatio
+                    if (jvmRun.getMaxYoungSpace() != null && jvmRun.getMaxOldSpace() != null
+                            && jvmRun.getMaxYoungSpace().getValue(KILOBYTES) > 0) {
+                        printWriter.write("NewRatio: " + jvmRun.getNewRatio() + LINE_SEPARATOR);
                     }
-                    printWriter.write(LINE_SEPARATOR);
-                }
-                // NewRatio
-                if (jvmRun.getMaxYoungSpace() != null && jvmRun.getMaxOldSpace() != null
-                        && jvmRun.getMaxYoungSpace().getValue(KILOBYTES) > 0) {
-                    printWriter.write("NewRatio: " + jvmRun.getNewRatio() + LINE_SEPARATOR);
-                }
 
-                if (jvmRun.getMaxHeapSpace().greaterThan(ZERO)) {
-                    // Max heap occupancy.
-                    if (jvmRun.getMaxHeapOccupancy() != null) {
-                        printWriter.write(
-                                "Heap Used Max: " + jvmRun.getMaxHeapOccupancy().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
-                    } else if (jvmRun.getMaxHeapOccupancyNonBlocking() != null) {
-                        printWriter.write("Heap Used Max: "
-                                + jvmRun.getMaxHeapOccupancyNonBlocking().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
-                    }
-                    // Max heap after GC.
-                    if (jvmRun.getMaxHeapAfterGc() != null) {
-                        printWriter.write("Heap After GC Max: " + jvmRun.getMaxHeapAfterGc().convertTo(jvmRun.getMemoryUnit())
-                                + LINE_SEPARATOR);
-                    }
-                    // Max heap space.
-                    if (jvmRun.getMaxHeapSpace() != null) {
-                        printWriter.write("Heap Allocation Max: " + jvmRun.getMaxHeapSpace().convertTo(jvmRun.getMemoryUnit())
-                                + LINE_SEPARATOR);
-                    } else if (jvmRun.getMaxHeapSpaceNonBlocking() != null) {
-                        printWriter.write("Heap Allocation Max: "
-                                + jvmRun.getMaxHeapSpaceNonBlocking().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
-                    }
-                }
-
-                if (jvmRun.getMaxPermSpace().greaterThan(ZERO)) {
-                    if (jvmRun.getAnalysis() != null && jvmRun.hasAnalysis(INFO_PERM_GEN.getKey())) {
-                        // Max perm occupancy.
-                        printWriter.write("Perm Gen Used Max: " + jvmRun.getMaxPermOccupancy().convertTo(jvmRun.getMemoryUnit())
-                                + LINE_SEPARATOR);
-                        // Max perm after GC.
-                        printWriter.write("Perm Gen After GC Max: " + jvmRun.getMaxPermAfterGc().convertTo(jvmRun.getMemoryUnit())
-                                + LINE_SEPARATOR);
-                        // Max perm space.
-                        printWriter.write("Perm Gen Allocation Max: " + jvmRun.getMaxPermSpace().convertTo(jvmRun.getMemoryUnit())
-                                + LINE_SEPARATOR);
-                    } else {
-                        // Max metaspace occupancy.
-                        printWriter.write("Metaspace Used Max: " + jvmRun.getMaxPermOccupancy().convertTo(jvmRun.getMemoryUnit())
-                                + LINE_SEPARATOR);
-                        // Max metaspace after GC.
-                        printWriter.write("Metaspace After GC Max: " + jvmRun.getMaxPermAfterGc().convertTo(jvmRun.getMemoryUnit())
-                                + LINE_SEPARATOR);
-                        // Max metaspace space.
-                        printWriter.write("Metaspace Allocation Max: " + jvmRun.getMaxPermSpace().convertTo(jvmRun.getMemoryUnit())
-                                + LINE_SEPARATOR);
-                    }
-                } else if (jvmRun.getMaxPermSpaceNonBlocking().greaterThan(ZERO)) {
-                    if (jvmRun.getAnalysis() != null && jvmRun.hasAnalysis(INFO_PERM_GEN.getKey())) {
-                        // Max perm occupancy.
-                        printWriter.write("Perm Gen Used Max: "
-                                + jvmRun.getMaxPermOccupancyNonBlocking().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
-                        // Max perm space.
-                        printWriter.write("Perm Gen Allocation Max: "
-                                + jvmRun.getMaxPermSpaceNonBlocking().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
-                    } else {
-                        // Max metaspace occupancy.
-                        printWriter.write("Metaspace Used Max: "
-                                + jvmRun.getMaxPermOccupancyNonBlocking().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
-                        // Max metaspace space.
-                        printWriter.write("Metaspace Allocation Max: "
-                                + jvmRun.getMaxPermSpaceNonBlocking().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
-                    }
-                }
-                // As of now the max/min allocation rate is only implemented for G1GC collector.
-                if (jvmRun.getJvmOptions().getUseG1Gc() != null
-                        || jvmRun.getEventTypes().contains(LogEventType.G1_YOUNG_PAUSE)
-                        || jvmRun.getEventTypes().contains(LogEventType.UNIFIED_G1_YOUNG_PAUSE)) {
-                    List<MemoryAllocation> allocations = jvmRun.getMinMaxAvgHighMemoryAllocations().stream()
-                            .filter(a -> a.getAllocationType().equals(AllocationType.AVG)
-                                    || a.getAllocationType().equals(AllocationType.MAX)
-                                    || a.getAllocationType().equals(AllocationType.MIN))
-                            .collect(toList());
-                    for (MemoryAllocation allocation : allocations) {
-                        printWriter.write(allocation.toString(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
-                        if (!allocation.getAllocationType().equals(AllocationType.AVG)) {
-                            if (jvmRun.getStartDate() != null) {
-                                printWriter.write("|--");
-                                printWriter
-                                        .write(JdkUtil.convertLogEntryTimestampsToDateStamp(
-                                                allocation.getInitLogEntry(), jvmRun.getStartDate())
-                                                + LINE_SEPARATOR);
-                                printWriter.write("|--");
-                                printWriter
-                                        .write(JdkUtil.convertLogEntryTimestampsToDateStamp(allocation.getEndLogEntry(),
-                                                jvmRun.getStartDate())
-                                                + LINE_SEPARATOR);
-                            } else {
-                                printWriter.write("|--");
-                                printWriter.write(allocation.getInitLogEntry() + LINE_SEPARATOR);
-                                printWriter.write("|--");
-                                printWriter.write(allocation.getEndLogEntry() + LINE_SEPARATOR);
+                    if (jvmRun.getMaxHeapSpace().greaterThan(ZERO)) {
+                        // Max heap occupancy.
+                        if (jvmRun.getMaxHeapOccupancy() != null) {
+                            printWriter.write("Heap Used Max: "
+                                    + jvmRun.getMaxHeapOccupancy().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                        } else if (jvmRun.getMaxHeapOccupancyNonBlocking() != null) {
+                            printWriter.write("Heap Used Max: "
+                                    + jvmRun.getMaxHeapOccupancyNonBlocking().convertTo(jvmRun.getMemoryUnit())
+                                    + LINE_SEPARATOR);
+                        }
+                        // Max heap after GC.
+                        if (jvmRun.getMaxHeapAfterGc() != null) {
+                            printWriter.write("Heap After GC Max: "
+                                    + jvmRun.getMaxHeapAfterGc().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                        }
+                        // Max heap space.
+                        if (jvmRun.getMaxHeapSpace() != null) {
+                            printWriter.write("Heap Allocation Max: "
+                                    + jvmRun.getMaxHeapSpace().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                        } else if (jvmRun.getMaxHeapSpaceNonBlocking() != null) {
+                            printWriter.write("Heap Allocation Max: "
+                                    + jvmRun.getMaxHeapSpaceNonBlocking().convertTo(jvmRun.getMemoryUnit())
+                                    + LINE_SEPARATOR);
+                        }
+                    }
+
+                    if (jvmRun.getMaxPermSpace().greaterThan(ZERO)) {
+                        if (jvmRun.getAnalysis() != null && jvmRun.hasAnalysis(INFO_PERM_GEN.getKey())) {
+                            // Max perm occupancy.
+                            printWriter.write("Perm Gen Used Max: "
+                                    + jvmRun.getMaxPermOccupancy().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                            // Max perm after GC.
+                            printWriter.write("Perm Gen After GC Max: "
+                                    + jvmRun.getMaxPermAfterGc().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                            // Max perm space.
+                            printWriter.write("Perm Gen Allocation Max: "
+                                    + jvmRun.getMaxPermSpace().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                        } else {
+                            // Max metaspace occupancy.
+                            printWriter.write("Metaspace Used Max: "
+                                    + jvmRun.getMaxPermOccupancy().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                            // Max metaspace after GC.
+                            printWriter.write("Metaspace After GC Max: "
+                                    + jvmRun.getMaxPermAfterGc().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                            // Max metaspace space.
+                            printWriter.write("Metaspace Allocation Max: "
+                                    + jvmRun.getMaxPermSpace().convertTo(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                        }
+                    } else if (jvmRun.getMaxPermSpaceNonBlocking().greaterThan(ZERO)) {
+                        if (jvmRun.getAnalysis() != null && jvmRun.hasAnalysis(INFO_PERM_GEN.getKey())) {
+                            // Max perm occupancy.
+                            printWriter.write("Perm Gen Used Max: "
+                                    + jvmRun.getMaxPermOccupancyNonBlocking().convertTo(jvmRun.getMemoryUnit())
+                                    + LINE_SEPARATOR);
+                            // Max perm space.
+                            printWriter.write("Perm Gen Allocation Max: "
+                                    + jvmRun.getMaxPermSpaceNonBlocking().convertTo(jvmRun.getMemoryUnit())
+                                    + LINE_SEPARATOR);
+                        } else {
+                            // Max metaspace occupancy.
+                            printWriter.write("Metaspace Used Max: "
+                                    + jvmRun.getMaxPermOccupancyNonBlocking().convertTo(jvmRun.getMemoryUnit())
+                                    + LINE_SEPARATOR);
+                            // Max metaspace space.
+                            printWriter.write("Metaspace Allocation Max: "
+                                    + jvmRun.getMaxPermSpaceNonBlocking().convertTo(jvmRun.getMemoryUnit())
+                                    + LINE_SEPARATOR);
+                        }
+                    }
+                    // As of now the max/min allocation rate is only implemented for G1GC collector.
+                    if (sections.contains(ReportSection.ALLOCATIONS) && (jvmRun.getJvmOptions().getUseG1Gc() != null
+                            || jvmRun.getEventTypes().contains(LogEventType.G1_YOUNG_PAUSE)
+                            || jvmRun.getEventTypes().contains(LogEventType.UNIFIED_G1_YOUNG_PAUSE))) {
+                        List<MemoryAllocation> allocations = jvmRun.getMinMaxAvgHighMemoryAllocations().stream()
+                                .filter(a -> a.getAllocationType().equals(AllocationType.AVG)
+                                        || a.getAllocationType().equals(AllocationType.MAX)
+                                        || a.getAllocationType().equals(AllocationType.MIN))
+                                .collect(toList());
+                        for (MemoryAllocation allocation : allocations) {
+                            printWriter.write(allocation.toString(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                            if (!allocation.getAllocationType().equals(AllocationType.AVG)) {
+                                if (jvmRun.getStartDate() != null) {
+                                    printWriter.write("|--");
+                                    printWriter
+                                            .write(JdkUtil.convertLogEntryTimestampsToDateStamp(
+                                                    allocation.getInitLogEntry(), jvmRun.getStartDate())
+                                                    + LINE_SEPARATOR);
+                                    printWriter.write("|--");
+                                    printWriter
+                                            .write(JdkUtil.convertLogEntryTimestampsToDateStamp(
+                                                    allocation.getEndLogEntry(), jvmRun.getStartDate())
+                                                    + LINE_SEPARATOR);
+                                } else {
+                                    printWriter.write("|--");
+                                    printWriter.write(allocation.getInitLogEntry() + LINE_SEPARATOR);
+                                    printWriter.write("|--");
+                                    printWriter.write(allocation.getEndLogEntry() + LINE_SEPARATOR);
+                                }
                             }
                         }
                     }
-                }
-                // GC throughput
-                printWriter.write("GC Throughput: ");
-                if ((jvmRun.getGcThroughput() == 100 || jvmRun.getGcThroughput() == 0)
-                        && jvmRun.getBlockingEventCount() > 0) {
-                    // Provide clue it's rounded to 100
-                    printWriter.write("~");
-                }
-                printWriter.write(jvmRun.getGcThroughput() + "%" + LINE_SEPARATOR);
-                // GC max pause
-                BigDecimal maxGcPause = JdkMath.convertMicrosToSecs(jvmRun.getDurationMax());
-                printWriter.write("GC Pause Max: ");
-                if (maxGcPause.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
-                    // Provide rounding clue
-                    printWriter.write("~");
-                }
-                printWriter.write(maxGcPause.toString());
-                printWriter.write(" secs" + LINE_SEPARATOR);
-                // G1 external root scanning max
-                if (jvmRun.getExtRootScanningTimeMax() > 0) {
-                    BigDecimal extRootScanningMax = JdkMath.convertMicrosToSecs(jvmRun.getExtRootScanningTimeMax());
-                    printWriter.write("|--Ext Root Scanning: ");
-                    if (extRootScanningMax.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
+                    // GC throughput
+                    printWriter.write("GC Throughput: ");
+                    if ((jvmRun.getGcThroughput() == 100 || jvmRun.getGcThroughput() == 0)
+                            && jvmRun.getBlockingEventCount() > 0) {
+                        // Provide clue it's rounded to 100
+                        printWriter.write("~");
+                    }
+                    printWriter.write(jvmRun.getGcThroughput() + "%" + LINE_SEPARATOR);
+                    // GC max pause
+                    BigDecimal maxGcPause = JdkMath.convertMicrosToSecs(jvmRun.getDurationMax());
+                    printWriter.write("GC Pause Max: ");
+                    if (maxGcPause.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
                         // Provide rounding clue
                         printWriter.write("~");
                     }
-                    printWriter.write(extRootScanningMax.toString());
+                    printWriter.write(maxGcPause.toString());
                     printWriter.write(" secs" + LINE_SEPARATOR);
-                }
-                // GC total pause time
-                BigDecimal totalGcPause = JdkMath.convertMicrosToSecs(jvmRun.getDurationTotal());
-                printWriter.write("GC Pause Total: ");
-                if (totalGcPause.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
-                    // Provide rounding clue
-                    printWriter.write("~");
-                }
-                printWriter.write(totalGcPause.toString());
-                printWriter.write(" secs" + LINE_SEPARATOR);
-                // G1 external root scanning total
-                if (jvmRun.getExtRootScanningTimeTotal() > 0) {
-                    BigDecimal extRootScanningTotal = JdkMath.convertMicrosToSecs(jvmRun.getExtRootScanningTimeTotal());
-                    printWriter.write("|--Ext Root Scanning: ");
-                    if (extRootScanningTotal.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
+                    // G1 external root scanning max
+                    if (jvmRun.getExtRootScanningTimeMax() > 0) {
+                        BigDecimal extRootScanningMax = JdkMath.convertMicrosToSecs(jvmRun.getExtRootScanningTimeMax());
+                        printWriter.write("|--Ext Root Scanning: ");
+                        if (extRootScanningMax.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
+                            // Provide rounding clue
+                            printWriter.write("~");
+                        }
+                        printWriter.write(extRootScanningMax.toString());
+                        printWriter.write(" secs" + LINE_SEPARATOR);
+                    }
+                    // GC total pause time
+                    BigDecimal totalGcPause = JdkMath.convertMicrosToSecs(jvmRun.getDurationTotal());
+                    printWriter.write("GC Pause Total: ");
+                    if (totalGcPause.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
                         // Provide rounding clue
                         printWriter.write("~");
                     }
-                    printWriter.write(extRootScanningTotal.toString());
+                    printWriter.write(totalGcPause.toString());
                     printWriter.write(" secs" + LINE_SEPARATOR);
+                    // G1 external root scanning total
+                    if (jvmRun.getExtRootScanningTimeTotal() > 0) {
+                        BigDecimal extRootScanningTotal = JdkMath
+                                .convertMicrosToSecs(jvmRun.getExtRootScanningTimeTotal());
+                        printWriter.write("|--Ext Root Scanning: ");
+                        if (extRootScanningTotal.compareTo(BigDecimal.ZERO) == 0
+                                && jvmRun.getBlockingEventCount() > 0) {
+                            // Provide rounding clue
+                            printWriter.write("~");
+                        }
+                        printWriter.write(extRootScanningTotal.toString());
+                        printWriter.write(" secs" + LINE_SEPARATOR);
+                    }
+                    // G1 "Other"
+                    if (jvmRun.getOtherTimeTotal() > 0) {
+                        // max
+                        BigDecimal otherMax = JdkMath.convertMicrosToSecs(jvmRun.getOtherTimeMax());
+                        printWriter.write("Other Max: ");
+                        if (otherMax.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
+                            // Provide rounding clue
+                            printWriter.write("~");
+                        }
+                        printWriter.write(otherMax.toString());
+                        printWriter.write(" secs" + LINE_SEPARATOR);
+                        // total
+                        BigDecimal otherTotal = JdkMath.convertMicrosToSecs(jvmRun.getOtherTimeTotal());
+                        printWriter.write("Other Total: ");
+                        if (otherTotal.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
+                            // Provide rounding clue
+                            printWriter.write("~");
+                        }
+                        printWriter.write(otherTotal.toString());
+                        printWriter.write(" secs" + LINE_SEPARATOR);
+                    }
                 }
-                // G1 "Other"
-                if (jvmRun.getOtherTimeTotal() > 0) {
-                    // max
-                    BigDecimal otherMax = JdkMath.convertMicrosToSecs(jvmRun.getOtherTimeMax());
-                    printWriter.write("Other Max: ");
-                    if (otherMax.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
-                        // Provide rounding clue
+                if (jvmRun.getStoppedTimeEventCount() > 0) {
+                    // Stopped time throughput
+                    printWriter.write("Stopped Time Throughput: ");
+                    if (jvmRun.getStoppedTimeThroughput() == 100 && jvmRun.getStoppedTimeEventCount() > 0) {
+                        // Provide clue it's rounded to 100
                         printWriter.write("~");
                     }
-                    printWriter.write(otherMax.toString());
-                    printWriter.write(" secs" + LINE_SEPARATOR);
-                    // total
-                    BigDecimal otherTotal = JdkMath.convertMicrosToSecs(jvmRun.getOtherTimeTotal());
-                    printWriter.write("Other Total: ");
-                    if (otherTotal.compareTo(BigDecimal.ZERO) == 0 && jvmRun.getBlockingEventCount() > 0) {
+                    printWriter.write(jvmRun.getStoppedTimeThroughput() + "%" + LINE_SEPARATOR);
+                    // Max stopped time
+                    BigDecimal maxStoppedPause = JdkMath.convertMicrosToSecs(jvmRun.getStoppedTimeMax());
+                    printWriter.write("Stopped Time Max: " + maxStoppedPause.toString() + " secs" + LINE_SEPARATOR);
+                    // Total stopped time
+                    BigDecimal totalStoppedTime = JdkMath.convertMicrosToSecs(jvmRun.getStoppedTimeTotal());
+                    printWriter.write("Stopped Time Total: " + totalStoppedTime.toString() + " secs" + LINE_SEPARATOR);
+                    // Ratio of GC vs. stopped time. 100 means all stopped time due to GC.
+                    if (jvmRun.getBlockingEventCount() > 0) {
+                        printWriter.write("GC/Stopped Ratio: " + jvmRun.getGcStoppedRatio() + "%" + LINE_SEPARATOR);
+                    }
+                }
+
+                if (jvmRun.getUnifiedSafepointEventCount() > 0) {
+                    // Stopped time throughput
+                    printWriter.write("Safepoint Throughput: ");
+                    if (jvmRun.getUnifiedSafepointThroughput() == 100 && jvmRun.getUnifiedSafepointEventCount() > 0) {
+                        // Provide clue it's rounded to 100
+                        printWriter.write("~");
+                    }
+                    printWriter.write(jvmRun.getUnifiedSafepointThroughput() + "%" + LINE_SEPARATOR);
+                    // Max safepoint time
+                    BigDecimal maxSafepointPause = JdkMath.convertNanosToSecs(jvmRun.getUnifiedSafepointTimeMax());
+                    printWriter.write("Safepoint Pause Max: ");
+                    if (maxSafepointPause.compareTo(BigDecimal.ZERO) == 0) {
                         // Provide rounding clue
                         printWriter.write("~");
                     }
-                    printWriter.write(otherTotal.toString());
+                    printWriter.write(maxSafepointPause.toString());
                     printWriter.write(" secs" + LINE_SEPARATOR);
-                }
-            }
-            if (jvmRun.getStoppedTimeEventCount() > 0) {
-                // Stopped time throughput
-                printWriter.write("Stopped Time Throughput: ");
-                if (jvmRun.getStoppedTimeThroughput() == 100 && jvmRun.getStoppedTimeEventCount() > 0) {
-                    // Provide clue it's rounded to 100
-                    printWriter.write("~");
-                }
-                printWriter.write(jvmRun.getStoppedTimeThroughput() + "%" + LINE_SEPARATOR);
-                // Max stopped time
-                BigDecimal maxStoppedPause = JdkMath.convertMicrosToSecs(jvmRun.getStoppedTimeMax());
-                printWriter.write("Stopped Time Max: " + maxStoppedPause.toString() + " secs" + LINE_SEPARATOR);
-                // Total stopped time
-                BigDecimal totalStoppedTime = JdkMath.convertMicrosToSecs(jvmRun.getStoppedTimeTotal());
-                printWriter.write("Stopped Time Total: " + totalStoppedTime.toString() + " secs" + LINE_SEPARATOR);
-                // Ratio of GC vs. stopped time. 100 means all stopped time due to GC.
-                if (jvmRun.getBlockingEventCount() > 0) {
-                    printWriter.write("GC/Stopped Ratio: " + jvmRun.getGcStoppedRatio() + "%" + LINE_SEPARATOR);
+                    // Total safepoint time
+                    BigDecimal totalSafepointTime = JdkMath.convertNanosToSecs(jvmRun.getUnifiedSafepointTimeTotal());
+                    printWriter.write(
+                            "Safepoint Pause Total: " + totalSafepointTime.toString() + " secs" + LINE_SEPARATOR);
+                    // Ratio of GC vs. safepoint time. 100 means all stopped time due to GC.
+                    if (jvmRun.getBlockingEventCount() > 0) {
+                        printWriter.write(
+                                "GC/Safepoint Ratio: " + jvmRun.getGcUnifiedSafepointRatio() + "%" + LINE_SEPARATOR);
+                    }
                 }
             }
 
             if (jvmRun.getUnifiedSafepointEventCount() > 0) {
-                // Stopped time throughput
-                printWriter.write("Safepoint Throughput: ");
-                if (jvmRun.getUnifiedSafepointThroughput() == 100 && jvmRun.getUnifiedSafepointEventCount() > 0) {
-                    // Provide clue it's rounded to 100
-                    printWriter.write("~");
-                }
-                printWriter.write(jvmRun.getUnifiedSafepointThroughput() + "%" + LINE_SEPARATOR);
-                // Max safepoint time
-                BigDecimal maxSafepointPause = JdkMath.convertNanosToSecs(jvmRun.getUnifiedSafepointTimeMax());
-                printWriter.write("Safepoint Pause Max: ");
-                if (maxSafepointPause.compareTo(BigDecimal.ZERO) == 0) {
-                    // Provide rounding clue
-                    printWriter.write("~");
-                }
-                printWriter.write(maxSafepointPause.toString());
-                printWriter.write(" secs" + LINE_SEPARATOR);
-                // Total safepoint time
-                BigDecimal totalSafepointTime = JdkMath.convertNanosToSecs(jvmRun.getUnifiedSafepointTimeTotal());
-                printWriter.write("Safepoint Pause Total: " + totalSafepointTime.toString() + " secs" + LINE_SEPARATOR);
-                // Ratio of GC vs. safepoint time. 100 means all stopped time due to GC.
-                if (jvmRun.getBlockingEventCount() > 0) {
-                    printWriter
-                            .write("GC/Safepoint Ratio: " + jvmRun.getGcUnifiedSafepointRatio() + "%" + LINE_SEPARATOR);
-                }
                 // Safepoint summary
-                printWriter.write(LINEBREAK_DOUBLE);
-                printWriter.printf("%-30s%10s%12s%7s%12s%n", "SAFEPOINT:", "#", "Time (s)", "", "Max (s)");
-                printWriter.write(LINEBREAK_SINGLE);
-                List<SafepointEventSummary> summaries = jvmRun.getSafepointEventSummaries();
-                Iterator<SafepointEventSummary> iterator = summaries.iterator();
-                while (iterator.hasNext()) {
-                    SafepointEventSummary summary = iterator.next();
-                    BigDecimal pauseTotal = JdkMath.convertMicrosToSecs(summary.getPauseTotal());
-                    String pauseTotalString = null;
-                    if (pauseTotal.toString().equals("0.000")) {
-                        // give rounding hint
-                        pauseTotalString = "~" + pauseTotal.toString();
-                    } else {
-                        pauseTotalString = pauseTotal.toString();
-                    }
-                    BigDecimal percent;
-                    if (jvmRun.getUnifiedSafepointTimeTotal() > 0) {
-                        percent = new BigDecimal(summary.getPauseTotal());
-                        percent = percent.divide(JdkMath.convertNanosToMicros(jvmRun.getUnifiedSafepointTimeTotal()), 2,
-                                RoundingMode.HALF_EVEN);
-                        percent = percent.movePointRight(2);
-                    } else {
-                        percent = new BigDecimal(100);
-                    }
-                    String percentString = null;
-                    if (percent.intValue() == 0) {
-                        // give rounding hint
-                        percentString = "~" + percent.toString();
-                    } else {
-                        percentString = percent.toString();
-                    }
-                    BigDecimal pauseMax = JdkMath.convertMicrosToSecs(summary.getPauseMax());
-                    String pauseMaxString = null;
-                    if (pauseMax.toString().equals("0.000")) {
-                        // give rounding hint
-                        pauseMaxString = "~" + pauseMax.toString();
-                    } else {
-                        pauseMaxString = pauseMax.toString();
-                    }
-                    printWriter.printf("%-30s%10s%12s%6s%%%12s%n",
-                            UnifiedSafepoint.getTriggerLiteral(summary.getTrigger()), summary.getCount(),
-                            pauseTotalString, percentString, pauseMaxString);
+                if (sections.contains(ReportSection.SAFEPOINT)) {
+                    printWriter.write(LINEBREAK_DOUBLE);
+                    printWriter.printf("%-30s%10s%12s%7s%12s%n", "SAFEPOINT:", "#", "Time (s)", "", "Max (s)");
+                    printWriter.write(LINEBREAK_SINGLE);
+                    List<SafepointEventSummary> summaries = jvmRun.getSafepointEventSummaries();
+                    Iterator<SafepointEventSummary> iterator = summaries.iterator();
+                    while (iterator.hasNext()) {
+                        SafepointEventSummary summary = iterator.next();
+                        BigDecimal pauseTotal = JdkMath.convertMicrosToSecs(summary.getPauseTotal());
+                        String pauseTotalString = null;
+                        if (pauseTotal.toString().equals("0.000")) {
+                            // give rounding hint
+                            pauseTotalString = "~" + pauseTotal.toString();
+                        } else {
+                            pauseTotalString = pauseTotal.toString();
+                        }
+                        BigDecimal percent;
+                        if (jvmRun.getUnifiedSafepointTimeTotal() > 0) {
+                            percent = new BigDecimal(summary.getPauseTotal());
+                            percent = percent.divide(
+                                    JdkMath.convertNanosToMicros(jvmRun.getUnifiedSafepointTimeTotal()), 2,
+                                    RoundingMode.HALF_EVEN);
+                            percent = percent.movePointRight(2);
+                        } else {
+                            percent = new BigDecimal(100);
+                        }
+                        String percentString = null;
+                        if (percent.intValue() == 0) {
+                            // give rounding hint
+                            percentString = "~" + percent.toString();
+                        } else {
+                            percentString = percent.toString();
+                        }
+                        BigDecimal pauseMax = JdkMath.convertMicrosToSecs(summary.getPauseMax());
+                        String pauseMaxString = null;
+                        if (pauseMax.toString().equals("0.000")) {
+                            // give rounding hint
+                            pauseMaxString = "~" + pauseMax.toString();
+                        } else {
+                            pauseMaxString = pauseMax.toString();
+                        }
+                        printWriter.printf("%-30s%10s%12s%6s%%%12s%n",
+                                UnifiedSafepoint.getTriggerLiteral(summary.getTrigger()), summary.getCount(),
+                                pauseTotalString, percentString, pauseMaxString);
+                    }
                 }
                 // MMU summary
-                printWriter.write(LINEBREAK_DOUBLE);
-                printWriter.printf("%-30s%10s%12s%n", "MMU (2s window):", "#", "");
-                printWriter.write(LINEBREAK_SINGLE);
-                Map<String, String> histogram = jvmRun.getRunTimeWindowsHistogram();
+                if (sections.contains(ReportSection.MMU)) {
+                    printWriter.write(LINEBREAK_DOUBLE);
+                    printWriter.printf("%-30s%10s%12s%n", "MMU (2s window):", "#", "");
+                    printWriter.write(LINEBREAK_SINGLE);
+                    Map<String, String> histogram = jvmRun.getRunTimeWindowsHistogram();
 
-                Set<Map.Entry<String, String>> entries = histogram.entrySet();
-                for (Map.Entry<String, String> entry : entries) {
-                    printWriter.printf("%-30s%10s%n", entry.getKey(), entry.getValue());
+                    Set<Map.Entry<String, String>> entries = histogram.entrySet();
+                    for (Map.Entry<String, String> entry : entries) {
+                        printWriter.printf("%-30s%10s%n", entry.getKey(), entry.getValue());
+                    }
                 }
+            }
 
+            // Time to safepoint summary
+            TimeToSafepointStats ttspStats = jvmRun.getTimeToSafepointStats();
+            if (sections.contains(ReportSection.TTSP) && ttspStats != null && ttspStats.getTtsp().getMax() > 0) {
+                writeTimeToSafepoint(printWriter, ttspStats, jvmRun.getStartDate());
+            }
+
+            // Concurrent GC summary
+            ConcurrentGcStats concurrentGcStats = jvmRun.getConcurrentGcStats();
+            if (sections.contains(ReportSection.CONCURRENT) && concurrentGcStats != null
+                    && !concurrentGcStats.isEmpty()) {
+                writeConcurrentGc(printWriter, concurrentGcStats, jvmRun.getJvmRunDuration());
+            }
+
+            // GC worker efficiency summary
+            WorkerEfficiencyStats workerEfficiencyStats = jvmRun.getWorkerEfficiencyStats();
+            if (sections.contains(ReportSection.WORKER_EFFICIENCY) && workerEfficiencyStats != null
+                    && !workerEfficiencyStats.isEmpty()) {
+                writeWorkerEfficiency(printWriter, workerEfficiencyStats, jvmRun.getStartDate());
             }
 
             printWriter.write(LINEBREAK_DOUBLE);
 
             // Analysis
             List<String[]> analysis = jvmRun.getAnalysis();
-            if (!analysis.isEmpty()) {
+            if (sections.contains(ReportSection.ANALYSIS) && !analysis.isEmpty()) {
 
                 // Determine analysis levels
                 List<String[]> error = new ArrayList<String[]>();
@@ -663,101 +1043,111 @@ public class Main {
             }
 
             // High Memory Allocations
-            List<MemoryAllocation> allocations = jvmRun.getMinMaxAvgHighMemoryAllocations().stream()
-                    .filter(a -> a.getAllocationType().equals(AllocationType.HIGH))
-                    .collect(toList());
-            if (!allocations.isEmpty()) {
-                printWriter.write(
-                        "Memory Allocations greater than " + jvmRun.getHighMemoryAllocationThreshold()
-                                + jvmRun.getMemoryUnit().getName() + "/sec"
-                                + LINE_SEPARATOR);
-                printWriter.write(LINEBREAK_SINGLE);
-                for (MemoryAllocation allocation : allocations) {
-                    printWriter.write(allocation.toString(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
-                    if (jvmRun.getStartDate() != null) {
-                        printWriter.write("|--");
-                        printWriter
-                                .write(JdkUtil.convertLogEntryTimestampsToDateStamp(
-                                        allocation.getInitLogEntry(), jvmRun.getStartDate())
-                                        + LINE_SEPARATOR);
-                        printWriter.write("|--");
-                        printWriter
-                                .write(JdkUtil.convertLogEntryTimestampsToDateStamp(allocation.getEndLogEntry(),
-                                        jvmRun.getStartDate())
-                                        + LINE_SEPARATOR);
-                    } else {
-                        printWriter.write("|--");
-                        printWriter.write(allocation.getInitLogEntry() + LINE_SEPARATOR);
-                        printWriter.write("|--");
-                        printWriter.write(allocation.getEndLogEntry() + LINE_SEPARATOR);
+            if (sections.contains(ReportSection.ALLOCATIONS)) {
+                List<MemoryAllocation> allocations = jvmRun.getMinMaxAvgHighMemoryAllocations().stream()
+                        .filter(a -> a.getAllocationType().equals(AllocationType.HIGH))
+                        .collect(toList());
+                if (!allocations.isEmpty()) {
+                    printWriter.write(
+                            "Memory Allocations greater than " + jvmRun.getHighMemoryAllocationThreshold()
+                                    + jvmRun.getMemoryUnit().getName() + "/sec"
+                                    + getRetainedCountLiteral(allocations.size(),
+                                            jvmRun.getHighMemoryAllocationCount())
+                                    + LINE_SEPARATOR);
+                    printWriter.write(LINEBREAK_SINGLE);
+                    for (MemoryAllocation allocation : allocations) {
+                        printWriter.write(allocation.toString(jvmRun.getMemoryUnit()) + LINE_SEPARATOR);
+                        if (jvmRun.getStartDate() != null) {
+                            printWriter.write("|--");
+                            printWriter
+                                    .write(JdkUtil.convertLogEntryTimestampsToDateStamp(
+                                            allocation.getInitLogEntry(), jvmRun.getStartDate())
+                                            + LINE_SEPARATOR);
+                            printWriter.write("|--");
+                            printWriter
+                                    .write(JdkUtil.convertLogEntryTimestampsToDateStamp(allocation.getEndLogEntry(),
+                                            jvmRun.getStartDate())
+                                            + LINE_SEPARATOR);
+                        } else {
+                            printWriter.write("|--");
+                            printWriter.write(allocation.getInitLogEntry() + LINE_SEPARATOR);
+                            printWriter.write("|--");
+                            printWriter.write(allocation.getEndLogEntry() + LINE_SEPARATOR);
+                        }
                     }
+                    printWriter.write(LINEBREAK_DOUBLE);
                 }
-                printWriter.write(LINEBREAK_DOUBLE);
             }
 
             // MMU in time window
-            List<RunTimeWindow> mmuWindows = jvmRun.getRunTimeWindows().stream()
-                    .filter(mmu -> mmu.getPauseTime() > 1000000).collect(toList());
-            if (!mmuWindows.isEmpty()) {
-                printWriter.write(
-                        "MMU (2s windows) below 50 %" + LINE_SEPARATOR);
-                printWriter.write(LINEBREAK_SINGLE);
-                for (RunTimeWindow mmuWindow : mmuWindows) {
-                    printWriter.write(mmuWindow.toString() + LINE_SEPARATOR);
-                    List<String> logEntries = mmuWindow.getLogEntries();
-                    for (String logEntry : logEntries) {
-                        printWriter.write("|--");
-                        if (jvmRun.getStartDate() != null) {
-                            printWriter.write(
-                                    JdkUtil.convertLogEntryTimestampsToDateStamp(logEntry, jvmRun.getStartDate())
-                                            + LINE_SEPARATOR);
-                        } else {
-                            printWriter.write(logEntry + LINE_SEPARATOR);
+            if (sections.contains(ReportSection.MMU)) {
+                List<RunTimeWindow> mmuWindows = jvmRun.getRunTimeWindows().stream()
+                        .filter(mmu -> mmu.getPauseTime() > 1000000).collect(toList());
+                if (!mmuWindows.isEmpty()) {
+                    printWriter.write(
+                            "MMU (2s windows) below 50 %" + LINE_SEPARATOR);
+                    printWriter.write(LINEBREAK_SINGLE);
+                    for (RunTimeWindow mmuWindow : mmuWindows) {
+                        printWriter.write(mmuWindow.toString() + LINE_SEPARATOR);
+                        RetainedList<String> logEntries = mmuWindow.getLogEntries();
+                        for (String logEntry : logEntries) {
+                            printWriter.write("|--");
+                            if (jvmRun.getStartDate() != null) {
+                                printWriter.write(
+                                        JdkUtil.convertLogEntryTimestampsToDateStamp(logEntry, jvmRun.getStartDate())
+                                                + LINE_SEPARATOR);
+                            } else {
+                                printWriter.write(logEntry + LINE_SEPARATOR);
+                            }
+                        }
+                        if (logEntries.isTruncated()) {
+                            printWriter.write("|--(" + (logEntries.getCount() - logEntries.size())
+                                    + " shorter pause log entries not shown)" + LINE_SEPARATOR);
                         }
                     }
+                    printWriter.write(LINEBREAK_DOUBLE);
                 }
-                printWriter.write(LINEBREAK_DOUBLE);
             }
 
             // GC Bottlenecks
-            List<String> gcBottlenecks = jvmRun.getGcBottlenecks();
-            if (!gcBottlenecks.isEmpty()) {
-                printWriter.write("GC throughput less than " + jvmRun.getThroughputThreshold() + "%" + LINE_SEPARATOR);
-                printWriter.write(LINEBREAK_SINGLE);
-                for (String gcBottleneck : gcBottlenecks) {
-                    if (jvmRun.getStartDate() != null) {
-                        printWriter
-                                .write(JdkUtil.convertLogEntryTimestampsToDateStamp(gcBottleneck, jvmRun.getStartDate())
-                                        + LINE_SEPARATOR);
-                    } else {
-                        printWriter.write(gcBottleneck + LINE_SEPARATOR);
+            if (sections.contains(ReportSection.BOTTLENECKS)) {
+                List<Bottleneck> gcBottlenecks = jvmRun.getGcBottlenecks();
+                if (!gcBottlenecks.isEmpty()) {
+                    printWriter.write("GC throughput less than " + jvmRun.getThroughputThreshold() + "%"
+                            + getBottleneckCountLiteral(gcBottlenecks.size(), jvmRun.getGcBottleneckCount())
+                            + LINE_SEPARATOR);
+                    printWriter.write(LINEBREAK_SINGLE);
+                    for (Bottleneck gcBottleneck : gcBottlenecks) {
+                        writeBottleneck(printWriter, gcBottleneck, jvmRun.getStartDate());
                     }
                 }
-            }
 
-            // Safepoint Bottlenecks
-            List<String> safepointBottlenecks = jvmRun.getSafepointBottlenecks();
-            if (!safepointBottlenecks.isEmpty()) {
-                printWriter.write(LINEBREAK_DOUBLE);
-                printWriter.write(
-                        "Safepoint throughput less than " + jvmRun.getThroughputThreshold() + "%" + LINE_SEPARATOR);
-                printWriter.write(LINEBREAK_SINGLE);
-                for (String safepointBottleneck : safepointBottlenecks) {
-                    if (jvmRun.getStartDate() != null) {
-                        printWriter.write(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(safepointBottleneck, jvmRun.getStartDate())
-                                        + LINE_SEPARATOR);
-                    } else {
-                        printWriter.write(safepointBottleneck + LINE_SEPARATOR);
+                // Safepoint Bottlenecks
+                List<Bottleneck> safepointBottlenecks = jvmRun.getSafepointBottlenecks();
+                if (!safepointBottlenecks.isEmpty()) {
+                    printWriter.write(LINEBREAK_DOUBLE);
+                    printWriter.write("Safepoint throughput less than " + jvmRun.getThroughputThreshold() + "%"
+                            + getBottleneckCountLiteral(safepointBottlenecks.size(),
+                                    jvmRun.getSafepointBottleneckCount())
+                            + LINE_SEPARATOR);
+                    printWriter.write(LINEBREAK_SINGLE);
+                    for (Bottleneck safepointBottleneck : safepointBottlenecks) {
+                        writeBottleneck(printWriter, safepointBottleneck, jvmRun.getStartDate());
                     }
                 }
             }
 
             // Unidentified log lines
             List<String> unidentifiedLogLines = jvmRun.getUnidentifiedLogLines();
-            if (!unidentifiedLogLines.isEmpty()) {
+            if (sections.contains(ReportSection.UNIDENTIFIED) && !unidentifiedLogLines.isEmpty()) {
                 printWriter.write(LINEBREAK_DOUBLE);
-                printWriter.write(unidentifiedLogLines.size() + " UNIDENTIFIED LOG LINE(S):" + LINE_SEPARATOR);
+                printWriter.write(jvmRun.getUnidentifiedLogLineCount() + " UNIDENTIFIED LOG LINE(S)"
+                        + getRetainedCountLiteral(unidentifiedLogLines.size(), jvmRun.getUnidentifiedLogLineCount())
+                        + ":" + LINE_SEPARATOR);
+                if (jvmRun.getQuarantinedLogLineCount() > 0) {
+                    printWriter.write(jvmRun.getQuarantinedLogLineCount()
+                            + " quarantined (regular expression step budget exceeded)." + LINE_SEPARATOR);
+                }
                 printWriter.write(LINEBREAK_SINGLE);
 
                 for (String unidentifiedLogLine : unidentifiedLogLines) {
@@ -789,6 +1179,926 @@ public class Main {
         }
     }
 
+    /**
+     * Create a machine readable report with sections for the run summary, analysis, and safepoint triggers, and
+     * optionally one record per blocking event. Records are streamed to the file as they are serialized.
+     *
+     * @param jvmRun
+     *            JVM run data.
+     * @param blockingEvents
+     *            The blocking events to write, or null to not write per-event records.
+     * @param format
+     *            The report format.
+     * @param reportFile
+     *            Report file.
+     * @param gcLogFileName
+     *            The gc log file analyzed.
+     * @throws IOException
+     *             if the report file cannot be written.
+     */
+    public static void createStructuredReport(JvmRun jvmRun, List<BlockingEvent> blockingEvents, Format format,
+            File reportFile, String gcLogFileName) throws IOException {
+        try (StructuredReportWriter writer = new StructuredReportWriter(
+                new BufferedWriter(new FileWriter(reportFile), 1 << 16), format)) {
+            writer.beginSection("summary");
+            writer.beginRecord();
+            writer.field("log_file", new File(gcLogFileName).getName());
+            writer.field("vm_info", jvmRun.getVmInfo());
+            writer.field("jvm_run_duration_ms", jvmRun.getJvmRunDuration());
+            writer.field("blocking_event_count", jvmRun.getBlockingEventCount());
+            writer.field("gc_pause_total_us", jvmRun.getDurationTotal());
+            writer.field("gc_pause_max_us", jvmRun.getDurationMax());
+            writer.field("gc_throughput_pct", jvmRun.getGcThroughput());
+            writer.field("stopped_time_event_count", jvmRun.getStoppedTimeEventCount());
+            writer.field("stopped_time_total_us", jvmRun.getStoppedTimeTotal());
+            writer.field("stopped_time_max_us", jvmRun.getStoppedTimeMax());
+            writer.field("stopped_time_throughput_pct", jvmRun.getStoppedTimeThroughput());
+            writer.field("safepoint_event_count", jvmRun.getUnifiedSafepointEventCount());
+            writer.field("safepoint_time_total_ns", jvmRun.getUnifiedSafepointTimeTotal());
+            writer.field("safepoint_time_max_ns", jvmRun.getUnifiedSafepointTimeMax());
+            writer.field("safepoint_throughput_pct", jvmRun.getUnifiedSafepointThroughput());
+            writer.field("max_heap_space_kb", getKilobytes(jvmRun.getMaxHeapSpace()));
+            writer.field("max_heap_occupancy_kb", getKilobytes(jvmRun.getMaxHeapOccupancy()));
+            writer.field("max_heap_after_gc_kb", getKilobytes(jvmRun.getMaxHeapAfterGc()));
+            writer.field("max_perm_space_kb", getKilobytes(jvmRun.getMaxPermSpace()));
+            writer.field("max_perm_occupancy_kb", getKilobytes(jvmRun.getMaxPermOccupancy()));
+            writer.field("max_perm_after_gc_kb", getKilobytes(jvmRun.getMaxPermAfterGc()));
+            writer.field("parallel_count", jvmRun.getParallelCount());
+            writer.field("inverted_parallelism_count", jvmRun.getInvertedParallelismCount());
+            writer.field("serial_count", jvmRun.getSerialCount());
+            writer.field("inverted_serialism_count", jvmRun.getInvertedSerialismCount());
+            writer.field("sys_gt_user_count", jvmRun.getSysGtUserCount());
+            writer.field("gc_bottleneck_count", jvmRun.getGcBottleneckCount());
+            writer.field("safepoint_bottleneck_count", jvmRun.getSafepointBottleneckCount());
+            writer.field("unidentified_log_line_count", jvmRun.getUnidentifiedLogLineCount());
+            writer.endRecord();
+            writer.endSection();
+
+            writer.beginSection("analysis");
+            for (String[] item : jvmRun.getAnalysis()) {
+                writer.beginRecord();
+                writer.field("key", item[0]);
+                writer.field("text", item[1]);
+                writer.endRecord();
+            }
+            writer.endSection();
+
+            writer.beginSection("safepoint_triggers");
+            if (jvmRun.getSafepointEventSummaries() != null) {
+                for (SafepointEventSummary summary : jvmRun.getSafepointEventSummaries()) {
+                    writer.beginRecord();
+                    writer.field("trigger", summary.getTrigger() == null ? null : summary.getTrigger().name());
+                    writer.field("count", summary.getCount());
+                    writer.field("pause_total_us", summary.getPauseTotal());
+                    writer.field("pause_max_us", summary.getPauseMax());
+                    writer.endRecord();
+                }
+            }
+            writer.endSection();
+
+            if (blockingEvents != null) {
+                writer.beginSection("events");
+                for (BlockingEvent event : blockingEvents) {
+                    writeStructuredEvent(writer, event);
+                }
+                writer.endSection();
+            }
+        }
+    }
+
+    /**
+     * Create heap and metaspace occupancy time series csv (series name, milliseconds after JVM startup, kilobytes).
+     * The series are downsampled as events are stored, so the file size does not depend on the length of the gc log.
+     *
+     * @param jvmRun
+     *            JVM run data.
+     * @param seriesFile
+     *            Series file.
+     * @throws IOException
+     *             if the series file cannot be written.
+     */
+    public static void createSeries(JvmRun jvmRun, File seriesFile) throws IOException {
+        try (PrintWriter printWriter = new PrintWriter(new BufferedWriter(new FileWriter(seriesFile)))) {
+            printWriter.write("series,timestamp,kilobytes" + LINE_SEPARATOR);
+            if (jvmRun.getOccupancySeries() != null) {
+                for (DownsampledSeries series : jvmRun.getOccupancySeries().getSeries()) {
+                    long[] timestamps = series.getTimestamps();
+                    long[] values = series.getValues();
+                    for (int i = 0; i < timestamps.length; i++) {
+                        printWriter.write(series.getName() + "," + timestamps[i] + "," + values[i] + LINE_SEPARATOR);
+                    }
+                }
+            }
+            // PrintWriter does not throw on write errors.
+            if (printWriter.checkError()) {
+                throw new IOException("Error writing series file: " + seriesFile);
+            }
+        }
+    }
+
+    /**
+     * Print the processing profile as a table to standard error, so it does not mix with a report printed to the
+     * console, and write it to a json file.
+     *
+     * @param profileFile
+     *            Profile file.
+     * @throws IOException
+     *             if the profile file cannot be written.
+     */
+    public static void createProfile(File profileFile) throws IOException {
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(profileFile), StandardCharsets.UTF_8))) {
+            Profiler.writeTable(System.err);
+            Profiler.writeJson(writer);
+        }
+    }
+
+    /**
+     * Create a mergeable run summary file.
+     *
+     * @param summary
+     *            The run summary.
+     * @param summaryFile
+     *            Run summary file.
+     * @throws IOException
+     *             if the run summary file cannot be written.
+     */
+    public static void createSummary(RunSummary summary, File summaryFile) throws IOException {
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(summaryFile), StandardCharsets.UTF_8))) {
+            summary.write(writer);
+        }
+    }
+
+    /**
+     * Create a fleet report from merged run summaries: pause, time to safepoint, and allocation rate percentiles,
+     * safepoint triggers, and the percent of runs with each analysis item.
+     *
+     * @param summary
+     *            The merged run summary.
+     * @param memoryUnit
+     *            The memory unit used for reporting.
+     * @param reportConsole
+     *            Whether print the report to the console or to a file.
+     * @param reportFile
+     *            Report file.
+     * @throws IOException
+     *             if the report file cannot be written.
+     */
+    public static void createMergeReport(RunSummary summary, Unit memoryUnit, boolean reportConsole,
+            File reportFile) throws IOException {
+        PrintWriter printWriter = null;
+        try {
+            printWriter = reportConsole ? new PrintWriter(System.out)
+                    : new PrintWriter(new BufferedWriter(new FileWriter(reportFile)));
+            printWriter.write("Runs: " + summary.getRuns() + LINE_SEPARATOR);
+
+            // Summary
+            printWriter.write(LINEBREAK_DOUBLE);
+            printWriter.write("SUMMARY:" + LINE_SEPARATOR);
+            printWriter.write(LINEBREAK_SINGLE);
+            printWriter.printf("%-30s%12d%n", "# Runs", summary.getRuns());
+            printWriter.printf("%-30s%12d%n", "Run Duration (s)", summary.getDuration() / 1000);
+            printWriter.printf("%-30s%12d%n", "# GC Events", summary.getPause().getCount());
+            long gcThroughput = summary.getDuration() > 0
+                    ? 100 - Math.round(summary.getPause().getTotal() / 10.0 / summary.getDuration())
+                    : 100;
+            printWriter.printf("%-30s%12d%n", "GC Throughput (%)", Math.max(0, gcThroughput));
+
+            // Percentiles
+            writeMergeHistogram(printWriter, "GC PAUSE (ms)", summary.getPause(), 0.001);
+            writeMergeHistogram(printWriter, "TIME TO SAFEPOINT (ms)", summary.getTtsp(), 0.001);
+            writeMergeHistogram(printWriter, "ALLOCATION RATE (" + memoryUnit.getName() + "/s)",
+                    summary.getAllocationRate(), memoryUnit.convert(1, KILOBYTES));
+
+            // Safepoint triggers
+            if (!summary.getTriggers().isEmpty()) {
+                long pauseTotal = 0;
+                for (long[] values : summary.getTriggers().values()) {
+                    pauseTotal += values[1];
+                }
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.printf("%-30s%12s%12s%12s%n", "SAFEPOINT TRIGGERS:", "#", "Max (ms)", "% Time");
+                printWriter.write(LINEBREAK_SINGLE);
+                for (Map.Entry<String, long[]> trigger : summary.getTriggers().entrySet()) {
+                    long[] values = trigger.getValue();
+                    String literal;
+                    try {
+                        literal = UnifiedSafepoint.getTriggerLiteral(Trigger.valueOf(trigger.getKey()));
+                    } catch (IllegalArgumentException e) {
+                        // Trigger not known to this version
+                        literal = trigger.getKey();
+                    }
+                    printWriter.printf("%-30s%12d%12.3f%12d%n", literal, values[0], values[2] * 0.001,
+                            pauseTotal > 0 ? Math.round(100.0 * values[1] / pauseTotal) : 0);
+                }
+            }
+
+            // Analysis
+            if (!summary.getAnalysis().isEmpty()) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.write("ANALYSIS (# runs, % runs):" + LINE_SEPARATOR);
+                printWriter.write(LINEBREAK_SINGLE);
+                for (Map.Entry<String, Long> item : summary.getAnalysis().entrySet()) {
+                    printWriter.printf("%8d%6d%%  %s%n", item.getValue(),
+                            Math.round(100.0 * item.getValue() / summary.getRuns()), item.getKey());
+                }
+            }
+            printWriter.write(LINEBREAK_DOUBLE);
+            // PrintWriter does not throw on write errors.
+            if (printWriter.checkError()) {
+                throw new IOException("Error writing merge report: " + reportFile);
+            }
+        } finally {
+            if (printWriter != null) {
+                if (reportConsole) {
+                    printWriter.flush();
+                } else {
+                    printWriter.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Create a self-contained html report with pause, heap occupancy, allocation rate, safepoint trigger, and run time
+     * window charts. The chart data is downsampled as events are stored, so the file size does not depend on the
+     * length of the gc log.
+     *
+     * @param jvmRun
+     *            JVM run data.
+     * @param htmlFile
+     *            Html report file.
+     * @param gcLogFileName
+     *            The gc log file analyzed.
+     * @throws IOException
+     *             if the html report file cannot be written.
+     */
+    public static void createHtmlReport(JvmRun jvmRun, File htmlFile, String gcLogFileName) throws IOException {
+        try (HtmlReportWriter writer = new HtmlReportWriter(
+                new BufferedWriter(new OutputStreamWriter(new FileOutputStream(htmlFile), StandardCharsets.UTF_8)),
+                "garbagecat: " + new File(gcLogFileName).getName())) {
+            writer.addSummary("JVM run duration (s)",
+                    JdkMath.convertMillisToSecs(jvmRun.getJvmRunDuration()).toString());
+            writer.addSummary("# GC blocking events", jvmRun.getBlockingEventCount());
+            writer.addSummary("GC throughput (%)", jvmRun.getGcThroughput());
+            writer.addSummary("GC pause total (us)", jvmRun.getDurationTotal());
+            writer.addSummary("GC pause max (us)", jvmRun.getDurationMax());
+            writer.addSummary("Max heap occupancy (K)", getKilobytes(jvmRun.getMaxHeapOccupancy()));
+            writer.addSummary("Max heap after GC (K)", getKilobytes(jvmRun.getMaxHeapAfterGc()));
+            writer.addSummary("# safepoint events", jvmRun.getUnifiedSafepointEventCount());
+            writer.addSummary("Safepoint throughput (%)", jvmRun.getUnifiedSafepointThroughput());
+            for (String[] item : jvmRun.getAnalysis()) {
+                writer.addAnalysis(item[1]);
+            }
+
+            if (jvmRun.getPauseSeries() != null) {
+                writer.addTimeChart("GC pauses", "ms", 1000, true, Collections.singletonList(jvmRun.getPauseSeries()));
+            }
+            if (jvmRun.getOccupancySeries() != null) {
+                writer.addTimeChart("Heap and metaspace occupancy", "MB", 1024, false,
+                        jvmRun.getOccupancySeries().getSeries());
+                writer.addTimeChart("Allocation rate", "MB/s", 1024, true,
+                        Collections.singletonList(jvmRun.getOccupancySeries().getAllocationRate()));
+            }
+            if (jvmRun.getSafepointEventSummaries() != null && !jvmRun.getSafepointEventSummaries().isEmpty()) {
+                List<String> labels = new ArrayList<String>();
+                List<Long> values = new ArrayList<Long>();
+                for (SafepointEventSummary summary : jvmRun.getSafepointEventSummaries()) {
+                    labels.add(UnifiedSafepoint.getTriggerLiteral(summary.getTrigger()));
+                    values.add(summary.getPauseTotal());
+                }
+                writer.addBarChart("Safepoint pause total by trigger", "ms", 1000, labels, values);
+            }
+            if (jvmRun.getRunTimeWindowsHistogram() != null && !jvmRun.getRunTimeWindowsHistogram().isEmpty()) {
+                List<String> labels = new ArrayList<String>();
+                List<Long> values = new ArrayList<Long>();
+                for (Map.Entry<String, String> entry : jvmRun.getRunTimeWindowsHistogram().entrySet()) {
+                    labels.add(entry.getKey() + "ms");
+                    values.add(Long.valueOf(entry.getValue()));
+                }
+                writer.addBarChart("MMU (2s window) pause time histogram", "windows", 1, labels, values);
+            }
+        }
+    }
+
+    /**
+     * Create a report comparing two JVM runs (e.g. before and after a GC tuning change): throughput, pause and
+     * allocation rate percentiles, safepoint trigger mix, and <code>Analysis</code> and JVM option differences.
+     * Percentile deltas include a bootstrap confidence interval to tell real changes from noise.
+     *
+     * @param baseline
+     *            The baseline JVM run data.
+     * @param candidate
+     *            The candidate JVM run data.
+     * @param bootstrap
+     *            The bootstrap used for percentile delta confidence intervals.
+     * @param reportConsole
+     *            Whether print the report to the console or to a file.
+     * @param reportFile
+     *            Report file.
+     * @param baselineLogFileName
+     *            The baseline gc log file analyzed.
+     * @param candidateLogFileName
+     *            The candidate gc log file analyzed.
+     * @throws IOException
+     *             if the report file cannot be written.
+     */
+    public static void createComparisonReport(JvmRun baseline, JvmRun candidate, Bootstrap bootstrap,
+            boolean reportConsole, File reportFile, String baselineLogFileName, String candidateLogFileName)
+            throws IOException {
+        PrintWriter printWriter = null;
+        try {
+            printWriter = reportConsole ? new PrintWriter(System.out)
+                    : new PrintWriter(new BufferedWriter(new FileWriter(reportFile)));
+            printWriter.write("Baseline: " + new File(baselineLogFileName).getName() + LINE_SEPARATOR);
+            printWriter.write("Candidate: " + new File(candidateLogFileName).getName() + LINE_SEPARATOR);
+
+            // Summary
+            printWriter.write(LINEBREAK_DOUBLE);
+            printWriter.printf("%-30s%12s%12s%12s%n", "SUMMARY:", "Baseline", "Candidate", "Delta");
+            printWriter.write(LINEBREAK_SINGLE);
+            writeComparisonRow(printWriter, "# GC Events", baseline.getBlockingEventCount(),
+                    candidate.getBlockingEventCount());
+            writeComparisonRow(printWriter, "GC Throughput (%)", baseline.getGcThroughput(),
+                    candidate.getGcThroughput());
+            if (baseline.getStoppedTimeEventCount() > 0 || candidate.getStoppedTimeEventCount() > 0) {
+                writeComparisonRow(printWriter, "Stopped Time Throughput (%)", baseline.getStoppedTimeThroughput(),
+                        candidate.getStoppedTimeThroughput());
+            }
+            if (baseline.getUnifiedSafepointEventCount() > 0 || candidate.getUnifiedSafepointEventCount() > 0) {
+                writeComparisonRow(printWriter, "Safepoint Throughput (%)", baseline.getUnifiedSafepointThroughput(),
+                        candidate.getUnifiedSafepointThroughput());
+            }
+
+            // Percentiles
+            writeHistogramComparison(printWriter, "GC PAUSE (ms)", baseline.getPauseHistogram(),
+                    candidate.getPauseHistogram(), 0.001, bootstrap);
+            Unit memoryUnit = baseline.getMemoryUnit();
+            writeHistogramComparison(printWriter, "ALLOCATION RATE (" + memoryUnit.getName() + "/s)",
+                    baseline.getOccupancySeries().getAllocationRateHistogram(),
+                    candidate.getOccupancySeries().getAllocationRateHistogram(), memoryUnit.convert(1, KILOBYTES),
+                    bootstrap);
+
+            // Safepoint trigger mix
+            writeSafepointComparison(printWriter, baseline, candidate);
+
+            // Analysis differences
+            List<String> analysisLines = new ArrayList<String>();
+            List<String> baselineKeys = new ArrayList<String>();
+            for (String[] a : baseline.getAnalysis()) {
+                baselineKeys.add(a[0]);
+            }
+            List<String> candidateKeys = new ArrayList<String>();
+            for (String[] a : candidate.getAnalysis()) {
+                candidateKeys.add(a[0]);
+                if (!baselineKeys.contains(a[0])) {
+                    analysisLines.add("+ " + a[1]);
+                }
+            }
+            for (String[] a : baseline.getAnalysis()) {
+                if (!candidateKeys.contains(a[0])) {
+                    analysisLines.add("- " + a[1]);
+                }
+            }
+            if (!analysisLines.isEmpty()) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.write("ANALYSIS (+ candidate only, - baseline only):" + LINE_SEPARATOR);
+                printWriter.write(LINEBREAK_SINGLE);
+                for (String line : analysisLines) {
+                    printWriter.write(line + LINE_SEPARATOR);
+                }
+            }
+
+            // JVM option differences
+            List<String> optionLines = getJvmOptionsDifferences(baseline.getJvmOptions().getJvmContext().getOptions(),
+                    candidate.getJvmOptions().getJvmContext().getOptions());
+            if (!optionLines.isEmpty()) {
+                printWriter.write(LINEBREAK_DOUBLE);
+                printWriter.write("JVM OPTIONS (+ candidate only, - baseline only):" + LINE_SEPARATOR);
+                printWriter.write(LINEBREAK_SINGLE);
+                for (String line : optionLines) {
+                    printWriter.write(line + LINE_SEPARATOR);
+                }
+            }
+            printWriter.write(LINEBREAK_DOUBLE);
+            // PrintWriter does not throw on write errors.
+            if (printWriter.checkError()) {
+                throw new IOException("Error writing comparison report: " + reportFile);
+            }
+        } finally {
+            if (printWriter != null) {
+                if (reportConsole) {
+                    printWriter.flush();
+                } else {
+                    printWriter.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Determine the differences between two JVM option strings. Options are matched by name (e.g.
+     * <code>-XX:+UseG1GC</code> and <code>-XX:-UseG1GC</code>, <code>-Xmx2g</code> and <code>-Xmx4g</code>), so a
+     * changed option is reported as removed and added.
+     * 
+     * @param baselineOptions
+     *            The baseline JVM options, or null if not known.
+     * @param candidateOptions
+     *            The candidate JVM options, or null if not known.
+     * @return The options only in the baseline (prefixed with "- ") followed by the options only in the candidate
+     *         (prefixed with "+ "), grouped by option name.
+     */
+    static List<String> getJvmOptionsDifferences(String baselineOptions, String candidateOptions) {
+        Map<String, String> baseline = getJvmOptionsByName(baselineOptions);
+        Map<String, String> candidate = getJvmOptionsByName(candidateOptions);
+        List<String> differences = new ArrayList<String>();
+        for (Map.Entry<String, String> option : baseline.entrySet()) {
+            if (!option.getValue().equals(candidate.get(option.getKey()))) {
+                differences.add("- " + option.getValue());
+                if (candidate.containsKey(option.getKey())) {
+                    differences.add("+ " + candidate.get(option.getKey()));
+                }
+            }
+        }
+        for (Map.Entry<String, String> option : candidate.entrySet()) {
+            if (!baseline.containsKey(option.getKey())) {
+                differences.add("+ " + option.getValue());
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * @param options
+     *            JVM options, or null if not known.
+     * @return The JVM options by name, in the order logged. If an option is repeated, the last one wins (as with the
+     *         JVM).
+     */
+    private static Map<String, String> getJvmOptionsByName(String options) {
+        Map<String, String> byName = new LinkedHashMap<String, String>();
+        if (options != null) {
+            for (String option : options.trim().split("\\s+")) {
+                if (option.isEmpty()) {
+                    continue;
+                }
+                String name;
+                if (option.startsWith("-XX:")) {
+                    // -XX:+Name, -XX:-Name, -XX:Name=value
+                    name = option.replaceFirst("^-XX:[+-]?([^=]+).*$", "-XX:$1");
+                } else if (option.matches("^-X(mx|ms|mn|ss).*$")) {
+                    name = option.substring(0, 4);
+                } else if (option.contains("=")) {
+                    // -Dname=value, -Xlog:gc*:file=...
+                    name = option.substring(0, option.indexOf('='));
+                } else {
+                    name = option;
+                }
+                byName.remove(name);
+                byName.put(name, option);
+            }
+        }
+        return byName;
+    }
+
+    /**
+     * @param memory
+     *            The memory, or null if not known.
+     * @return The memory in kilobytes, or null if not known.
+     */
+    private static Long getKilobytes(Memory memory) {
+        return memory == null ? null : Long.valueOf(memory.getValue(KILOBYTES));
+    }
+
+    /**
+     * @param retained
+     *            The number of elements retained for reporting.
+     * @param total
+     *            The number of elements, including those not retained.
+     * @return The retained count literal for the report section header, or an empty string if all are retained.
+     */
+    private static String getRetainedCountLiteral(long retained, long total) {
+        if (retained < total) {
+            return " (" + retained + " of " + total + " shown)";
+        }
+        return "";
+    }
+
+    /**
+     * @param retained
+     *            The number of bottleneck intervals retained for reporting.
+     * @param total
+     *            The number of bottleneck intervals detected.
+     * @return The bottleneck interval count literal for the report section header.
+     */
+    private static String getBottleneckCountLiteral(int retained, int total) {
+        if (retained < total) {
+            return " (" + total + " interval(s), " + retained + " worst shown)";
+        }
+        return " (" + total + " interval(s))";
+    }
+
+    /**
+     * @param timestamp
+     *            Milliseconds after JVM startup.
+     * @param startDate
+     *            The JVM start date, or null if not known.
+     * @return The timestamp as a date/time if the JVM start date is known, otherwise as seconds after JVM startup.
+     */
+    private static String getTimestampLiteral(long timestamp, Date startDate) {
+        if (startDate != null) {
+            return TIMESTAMP_FORMATTER.format(Instant.ofEpochMilli(startDate.getTime() + timestamp));
+        }
+        return JdkMath.convertMillisToSecs(timestamp).toString();
+    }
+
+    /**
+     * Write a bottleneck interval summary followed by the first, worst, and last log entries in the interval.
+     * Timestamps are only converted to datestamps for the intervals reported.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param bottleneck
+     *            The bottleneck interval.
+     * @param startDate
+     *            The JVM start date, or null if not known.
+     */
+    private static void writeBottleneck(PrintWriter printWriter, Bottleneck bottleneck, Date startDate) {
+        printWriter.write(getTimestampLiteral(bottleneck.getStartTimestamp(), startDate) + " - "
+                + getTimestampLiteral(bottleneck.getEndTimestamp(), startDate) + ": " + bottleneck.getEventCount()
+                + " events, " + bottleneck.getPauseTotal() / 1000 + "ms paused, "
+                + bottleneck.getThroughput() + "% throughput" + LINE_SEPARATOR);
+        String[] labels = { "first", "worst", "last" };
+        String[] logEntries = { bottleneck.getFirstLogEntry(), bottleneck.getWorstLogEntry(),
+                bottleneck.getLastLogEntry() };
+        for (int i = 0; i < logEntries.length; i++) {
+            String logEntry = logEntries[i];
+            if (startDate != null) {
+                logEntry = JdkUtil.convertLogEntryTimestampsToDateStamp(logEntry, startDate);
+            }
+            printWriter.write("|--" + labels[i] + ": " + logEntry + LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Write concurrent GC phase durations and cpu time followed by concurrent cycle and overhead summaries.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param stats
+     *            The concurrent GC statistics.
+     * @param wallMillis
+     *            The JVM run duration (milliseconds).
+     */
+    private static void writeConcurrentGc(PrintWriter printWriter, ConcurrentGcStats stats, long wallMillis) {
+        printWriter.write(LINEBREAK_DOUBLE);
+        printWriter.printf("%-35s%7s%11s%9s%9s%n", "CONCURRENT GC:", "#", "Time (s)", "Max (s)", "CPU (s)");
+        printWriter.write(LINEBREAK_SINGLE);
+        for (ConcurrentGcStats.Phase phase : stats.getPhases()) {
+            String cpu = phase.getTimesCount() > 0
+                    ? JdkMath.convertMillisToSecs((phase.getTimeUser() + phase.getTimeSys()) * 10).toString()
+                    : "";
+            printWriter.printf("%-35.35s%7s%11s%9s%9s%n", phase.getName(), phase.getCount(),
+                    JdkMath.convertMicrosToSecs(phase.getDurationTotal()),
+                    JdkMath.convertMicrosToSecs(phase.getDurationMax()), cpu);
+        }
+        printWriter.write(LINEBREAK_SINGLE);
+        printWriter.write("Concurrent Cycles: " + stats.getCycleCount());
+        if (stats.getCycleInterval() > 0) {
+            printWriter.write(" (every " + JdkMath.convertMillisToSecs(stats.getCycleInterval()) + " secs)");
+        }
+        printWriter.write(LINE_SEPARATOR);
+        if (stats.getCycleDurations().getCount() > 0) {
+            printWriter.write("Concurrent Cycle " + getPercentilesLiteral(stats.getCycleDurations()) + LINE_SEPARATOR);
+        }
+        if (stats.getMarkDurations().getCount() > 0) {
+            printWriter.write("Concurrent Mark " + getPercentilesLiteral(stats.getMarkDurations()) + LINE_SEPARATOR);
+        }
+        if (wallMillis > 0) {
+            printWriter.write("Concurrent GC Running: " + stats.getDutyCycle(wallMillis) + "% of wall time"
+                    + LINE_SEPARATOR);
+            if (stats.getTimeUser() + stats.getTimeSys() > 0) {
+                printWriter.write("Concurrent GC CPU: " + stats.getCpuOverhead(wallMillis)
+                        + "% of one cpu (user + sys time / wall time)" + LINE_SEPARATOR);
+            }
+        }
+    }
+
+    /**
+     * @param histogram
+     *            A duration histogram (microseconds).
+     * @return The p50, p99, and max durations literal.
+     */
+    private static String getPercentilesLiteral(LatencyHistogram histogram) {
+        return "p50/p99/Max (ms): " + JdkMath.convertMicrosToMillis(histogram.getPercentile(50)) + " / "
+                + JdkMath.convertMicrosToMillis(histogram.getPercentile(99)) + " / "
+                + JdkMath.convertMicrosToMillis(histogram.getMax());
+    }
+
+    /**
+     * Write time to safepoint percentiles by trigger followed by the safepoints with the worst time to safepoint.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param ttspStats
+     *            The time to safepoint statistics.
+     * @param startDate
+     *            The JVM start date, or null if not known.
+     */
+    private static void writeTimeToSafepoint(PrintWriter printWriter, TimeToSafepointStats ttspStats,
+            Date startDate) {
+        printWriter.write(LINEBREAK_DOUBLE);
+        printWriter.printf("%-30s%6s%9s%7s%7s%7s%5s%n", "TIME TO SAFEPOINT:", "#", "p50 (ms)", "p90", "p99", "Max",
+                "%");
+        printWriter.write(LINEBREAK_SINGLE);
+        for (Trigger trigger : ttspStats.getTriggers()) {
+            writeTimeToSafepointRow(printWriter, UnifiedSafepoint.getTriggerLiteral(trigger),
+                    ttspStats.getTtsp(trigger), ttspStats.getTtspRatio(trigger));
+        }
+        writeTimeToSafepointRow(printWriter, "Total", ttspStats.getTtsp(), ttspStats.getTtspRatio());
+        List<TimeToSafepointStats.Outlier> outliers = ttspStats.getWorst();
+        if (!outliers.isEmpty()) {
+            printWriter.write(LINEBREAK_SINGLE);
+            printWriter.write("Worst time to safepoint:" + LINE_SEPARATOR);
+            for (TimeToSafepointStats.Outlier outlier : outliers) {
+                printWriter.write(getTimestampLiteral(outlier.getTimestamp(), startDate) + ": "
+                        + JdkMath.convertMicrosToMillis(outlier.getTtsp()) + "ms to safepoint, "
+                        + JdkMath.convertMicrosToMillis(outlier.getPause()) + "ms paused"
+                        + (outlier.getTrigger() == null ? ""
+                                : " (" + UnifiedSafepoint.getTriggerLiteral(outlier.getTrigger()) + ")")
+                        + LINE_SEPARATOR);
+                String logEntry = outlier.getLogEntry();
+                if (startDate != null) {
+                    logEntry = JdkUtil.convertLogEntryTimestampsToDateStamp(logEntry, startDate);
+                }
+                printWriter.write("|--" + logEntry + LINE_SEPARATOR);
+            }
+        }
+    }
+
+    /**
+     * Write a blocking event record. Every record has the same fields, with null values for data the event does not
+     * have, so the records can be loaded into a single table.
+     * 
+     * @param writer
+     *            The structured report writer.
+     * @param event
+     *            The blocking event.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    private static void writeStructuredEvent(StructuredReportWriter writer, BlockingEvent event) throws IOException {
+        writer.beginRecord();
+        writer.field("timestamp_ms", event.getTimestamp());
+        writer.field("event", event.getName());
+        writer.field("duration_us", event.getDurationMicros());
+        GcTrigger trigger = event instanceof TriggerData ? ((TriggerData) event).getTrigger() : null;
+        writer.field("trigger", trigger == null ? null : trigger.name());
+        Long timeUser = null;
+        Long timeSys = null;
+        Long timeReal = null;
+        if (event instanceof TimesData && ((TimesData) event).getTimeUser() != TimesData.NO_DATA) {
+            timeUser = Long.valueOf(((TimesData) event).getTimeUser());
+            timeSys = Long.valueOf(((TimesData) event).getTimeSys());
+            timeReal = Long.valueOf(((TimesData) event).getTimeReal());
+        }
+        writer.field("user_cs", timeUser);
+        writer.field("sys_cs", timeSys);
+        writer.field("real_cs", timeReal);
+        Long heapBefore = null;
+        Long heapAfter = null;
+        Long heapSpace = null;
+        if (event instanceof CombinedData) {
+            heapBefore = getKilobytes(((CombinedData) event).getCombinedOccupancyInit());
+            heapAfter = getKilobytes(((CombinedData) event).getCombinedOccupancyEnd());
+            heapSpace = getKilobytes(((CombinedData) event).getCombinedSpace());
+        } else if (event instanceof OldData) {
+            OldData old = (OldData) event;
+            if (old.getYoungOccupancyInit() != null && old.getOldOccupancyInit() != null) {
+                heapBefore = getKilobytes(old.getYoungOccupancyInit().plus(old.getOldOccupancyInit()));
+            }
+            if (old.getYoungOccupancyEnd() != null && old.getOldOccupancyEnd() != null) {
+                heapAfter = getKilobytes(old.getYoungOccupancyEnd().plus(old.getOldOccupancyEnd()));
+            }
+            if (old.getYoungSpace() != null && old.getOldSpace() != null) {
+                heapSpace = getKilobytes(old.getYoungSpace().plus(old.getOldSpace()));
+            }
+        }
+        writer.field("heap_before_kb", heapBefore);
+        writer.field("heap_after_kb", heapAfter);
+        writer.field("heap_space_kb", heapSpace);
+        writer.endRecord();
+    }
+
+    /**
+     * Write a time to safepoint table row.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param label
+     *            The row label.
+     * @param ttsp
+     *            The time to safepoint histogram (microseconds).
+     * @param ratio
+     *            Time to safepoint as a percent of safepoint pause time.
+     */
+    private static void writeTimeToSafepointRow(PrintWriter printWriter, String label, LatencyHistogram ttsp,
+            int ratio) {
+        printWriter.printf("%-30s%6s%9s%7s%7s%7s%4s%%%n", label, ttsp.getCount(),
+                JdkMath.convertMicrosToMillis(ttsp.getPercentile(50)),
+                JdkMath.convertMicrosToMillis(ttsp.getPercentile(90)),
+                JdkMath.convertMicrosToMillis(ttsp.getPercentile(99)), JdkMath.convertMicrosToMillis(ttsp.getMax()),
+                ratio);
+    }
+
+    /**
+     * Write GC worker efficiency percentiles by collector followed by the windows with collapsed parallelism.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param stats
+     *            The GC worker efficiency statistics.
+     * @param startDate
+     *            The JVM start date, or null if not known.
+     */
+    private static void writeWorkerEfficiency(PrintWriter printWriter, WorkerEfficiencyStats stats, Date startDate) {
+        printWriter.write(LINEBREAK_DOUBLE);
+        printWriter.printf("%-21s%4s%8s%6s%9s%6s%9s%8s%n", "GC WORKER EFFICIENCY:", "#", "Par p50", "p10", "Sys p50",
+                "p90", "Wait p90", "Max");
+        printWriter.write(LINEBREAK_SINGLE);
+        for (WorkerEfficiencyStats.CollectorEfficiency collector : stats.getCollectors()) {
+            printWriter.printf("%-19s%6s%7s%%%5s%%%8s%%%5s%%%9s%8s%n", collector.getGarbageCollector(),
+                    collector.getOvershoot().getCount(), collector.getParallelism().getPercentile(50),
+                    collector.getParallelism().getPercentile(10), collector.getSysToUser().getPercentile(50),
+                    collector.getSysToUser().getPercentile(90), collector.getOvershoot().getPercentile(90),
+                    collector.getOvershoot().getMax());
+        }
+        printWriter.write("Par = (user + sys) / real, Sys = sys / user, Wait (ms) = real - cpu"
+                + LINE_SEPARATOR);
+        List<WorkerEfficiencyStats.Collapse> collapses = stats.getCollapses();
+        if (!collapses.isEmpty()) {
+            printWriter.write(LINEBREAK_SINGLE);
+            printWriter.write("Parallelism collapse (e.g. cgroup cpu throttling)"
+                    + getBottleneckCountLiteral(collapses.size(), stats.getCollapseCount()) + ":" + LINE_SEPARATOR);
+            for (WorkerEfficiencyStats.Collapse collapse : collapses) {
+                printWriter.write(getTimestampLiteral(collapse.getStartTimestamp(), startDate) + " - "
+                        + getTimestampLiteral(collapse.getEndTimestamp(), startDate) + ": "
+                        + collapse.getEventCount() + " events, " + collapse.getTimeReal() + "ms real, "
+                        + collapse.getParallelism() + "% parallelism" + LINE_SEPARATOR);
+                String logEntry = collapse.getWorstLogEntry();
+                if (startDate != null) {
+                    logEntry = JdkUtil.convertLogEntryTimestampsToDateStamp(logEntry, startDate);
+                }
+                printWriter.write("|--worst: " + logEntry + LINE_SEPARATOR);
+            }
+        }
+    }
+
+    /**
+     * Write a comparison summary row.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param label
+     *            The row label.
+     * @param baseline
+     *            The baseline value.
+     * @param candidate
+     *            The candidate value.
+     */
+    private static void writeComparisonRow(PrintWriter printWriter, String label, long baseline, long candidate) {
+        printWriter.printf("%-30s%12d%12d%+12d%n", label, baseline, candidate, candidate - baseline);
+    }
+
+    /**
+     * Write percentiles of two distributions with the delta and its bootstrap confidence interval. A confidence
+     * interval that does not include 0 is flagged as a real change (not noise).
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param title
+     *            The section title.
+     * @param baseline
+     *            The baseline histogram.
+     * @param candidate
+     *            The candidate histogram.
+     * @param scale
+     *            The multiplier to convert histogram values to report units.
+     * @param bootstrap
+     *            The bootstrap used for confidence intervals.
+     */
+    private static void writeHistogramComparison(PrintWriter printWriter, String title, LatencyHistogram baseline,
+            LatencyHistogram candidate, double scale, Bootstrap bootstrap) {
+        if (baseline.getCount() == 0 && candidate.getCount() == 0) {
+            return;
+        }
+        double[] percentiles = { 50, 90, 99 };
+        long[][] intervals = bootstrap.getDeltaIntervals(baseline, candidate, percentiles);
+        printWriter.write(LINEBREAK_DOUBLE);
+        printWriter.printf("%-30s%12s%12s%12s%n", title + ":", "Baseline", "Candidate", "Delta");
+        printWriter.write(LINEBREAK_SINGLE);
+        writeComparisonRow(printWriter, "#", baseline.getCount(), candidate.getCount());
+        boolean significant = false;
+        for (int i = 0; i < percentiles.length; i++) {
+            long baselineValue = baseline.getPercentile(percentiles[i]);
+            long candidateValue = candidate.getPercentile(percentiles[i]);
+            printWriter.printf("%-30s%12.3f%12.3f%+12.3f", "p" + (int) percentiles[i], baselineValue * scale,
+                    candidateValue * scale, (candidateValue - baselineValue) * scale);
+            if (intervals != null) {
+                boolean excludesZero = intervals[i][0] > 0 || intervals[i][1] < 0;
+                significant |= excludesZero;
+                printWriter.printf("  [%+.3f, %+.3f]%s", intervals[i][0] * scale, intervals[i][1] * scale,
+                        excludesZero ? " *" : "");
+            }
+            printWriter.write(LINE_SEPARATOR);
+        }
+        printWriter.printf("%-30s%12.3f%12.3f%+12.3f%n", "Max", baseline.getMax() * scale, candidate.getMax() * scale,
+                (candidate.getMax() - baseline.getMax()) * scale);
+        if (intervals != null) {
+            printWriter.write("[] = " + (int) bootstrap.getConfidence() + "% bootstrap confidence interval ("
+                    + bootstrap.getResamples() + " resamples)" + (significant ? ", * = not noise" : "")
+                    + LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Write the count and percentiles of a merged distribution.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param title
+     *            The section title.
+     * @param histogram
+     *            The merged histogram.
+     * @param scale
+     *            The multiplier to convert histogram values to report units.
+     */
+    private static void writeMergeHistogram(PrintWriter printWriter, String title, LatencyHistogram histogram,
+            double scale) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        printWriter.write(LINEBREAK_DOUBLE);
+        printWriter.write(title + ":" + LINE_SEPARATOR);
+        printWriter.write(LINEBREAK_SINGLE);
+        printWriter.printf("%-30s%12d%n", "#", histogram.getCount());
+        printWriter.printf("%-30s%12.3f%n", "p50", histogram.getPercentile(50) * scale);
+        printWriter.printf("%-30s%12.3f%n", "p90", histogram.getPercentile(90) * scale);
+        printWriter.printf("%-30s%12.3f%n", "p99", histogram.getPercentile(99) * scale);
+        printWriter.printf("%-30s%12.3f%n", "p99.9", histogram.getPercentile(99.9) * scale);
+        printWriter.printf("%-30s%12.3f%n", "Max", histogram.getMax() * scale);
+    }
+
+    /**
+     * Write the safepoint trigger mix (percent of safepoint pause time by trigger) of two JVM runs.
+     * 
+     * @param printWriter
+     *            The report writer.
+     * @param baseline
+     *            The baseline JVM run data.
+     * @param candidate
+     *            The candidate JVM run data.
+     */
+    private static void writeSafepointComparison(PrintWriter printWriter, JvmRun baseline, JvmRun candidate) {
+        List<SafepointEventSummary> baselineSummaries = baseline.getUnifiedSafepointEventCount() > 0
+                ? baseline.getSafepointEventSummaries()
+                : Collections.<SafepointEventSummary> emptyList();
+        List<SafepointEventSummary> candidateSummaries = candidate.getUnifiedSafepointEventCount() > 0
+                ? candidate.getSafepointEventSummaries()
+                : Collections.<SafepointEventSummary> emptyList();
+        if (baselineSummaries.isEmpty() && candidateSummaries.isEmpty()) {
+            return;
+        }
+        // Count and pause time by trigger, in baseline order followed by candidate only triggers
+        Map<Trigger, long[]> triggers = new LinkedHashMap<Trigger, long[]>();
+        long baselineTotal = 0;
+        for (SafepointEventSummary summary : baselineSummaries) {
+            triggers.put(summary.getTrigger(), new long[] { summary.getCount(), summary.getPauseTotal(), 0, 0 });
+            baselineTotal += summary.getPauseTotal();
+        }
+        long candidateTotal = 0;
+        for (SafepointEventSummary summary : candidateSummaries) {
+            long[] values = triggers.get(summary.getTrigger());
+            if (values == null) {
+                values = new long[4];
+                triggers.put(summary.getTrigger(), values);
+            }
+            values[2] = summary.getCount();
+            values[3] = summary.getPauseTotal();
+            candidateTotal += summary.getPauseTotal();
+        }
+        printWriter.write(LINEBREAK_DOUBLE);
+        printWriter.printf("%-30s%12s%12s%12s%n", "SAFEPOINT TRIGGERS (% time):", "Baseline", "Candidate", "Delta");
+        printWriter.write(LINEBREAK_SINGLE);
+        for (Map.Entry<Trigger, long[]> trigger : triggers.entrySet()) {
+            long[] values = trigger.getValue();
+            long baselinePercent = baselineTotal > 0 ? Math.round(100.0 * values[1] / baselineTotal) : 0;
+            long candidatePercent = candidateTotal > 0 ? Math.round(100.0 * values[3] / candidateTotal) : 0;
+            writeComparisonRow(printWriter, UnifiedSafepoint.getTriggerLiteral(trigger.getKey()), baselinePercent,
+                    candidatePercent);
+        }
+    }
+
     /**
      * @param args
      *            The argument list includes one or more scope options followed by the name of the gc log file to
@@ -816,7 +2126,9 @@ public class Main {
     private static void usage() {
         // Use the built in formatter class
         HelpFormatter formatter = new HelpFormatter();
-        formatter.printHelp("garbagecat [OPTION]... [FILE]", options);
+        formatter.printHelp(
+                "garbagecat [OPTION]... [FILE | " + COMMAND_COMPARE + " FILE FILE | " + COMMAND_MERGE + " FILE...]",
+                options);
     }
 
 }
@@ -12,8 +12,16 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat;
 
+import static org.eclipselabs.garbagecat.util.Constants.COMMAND_COMPARE;
+import static org.eclipselabs.garbagecat.util.Constants.COMMAND_MERGE;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EVENTS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EVENTS_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FORMAT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FORMAT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HTML_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HTML_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_MEMALLOCTHRESHOLD_LONG;
@@ -24,12 +32,22 @@ import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_PROFILE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_PROFILE_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REPORT_CONSOLE_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REPORT_CONSOLE_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SECTIONS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SECTIONS_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERIES_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERIES_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SUMMARY_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SUMMARY_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERBOSE_LONG;
@@ -38,6 +56,7 @@ import static org.eclipselabs.garbagecat.util.Constants.OUTPUT_FILE_NAME;
 import static org.eclipselabs.garbagecat.util.GcUtil.isValidStartDateTime;
 
 import java.io.File;
+import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -47,6 +66,8 @@ import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.eclipselabs.garbagecat.util.ReportSection;
+import org.eclipselabs.garbagecat.util.StructuredReportWriter.Format;
 
 /**
  * @author <a href="https://github.com/pfichtner">Peter Fichtner</a>
@@ -74,9 +95,39 @@ public class OptionsParser {
                 "output file name (default " + OUTPUT_FILE_NAME + ")");
         options.addOption(OPTION_REPORT_CONSOLE_SHORT, OPTION_REPORT_CONSOLE_LONG, false,
                 "print report to stdout instead of file");
+        options.addOption(OPTION_SECTIONS_SHORT, OPTION_SECTIONS_LONG, true,
+                "comma separated report sections (default all): " + getSectionsLiteral());
+        options.addOption(OPTION_SERIES_SHORT, OPTION_SERIES_LONG, true,
+                "heap/metaspace occupancy time series (downsampled csv) output file name");
+        options.addOption(OPTION_SPILL_SHORT, OPTION_SPILL_LONG, false,
+                "keep event log entries in a temporary file instead of memory (large gc logs)");
+        options.addOption(OPTION_HTML_SHORT, OPTION_HTML_LONG, true,
+                "self-contained html report (charts, no external scripts) output file name");
+        options.addOption(OPTION_FORMAT_SHORT, OPTION_FORMAT_LONG, true,
+                "structured report format (CSV/JSON/NDJSON) written alongside the report (e.g. report.json)");
+        options.addOption(OPTION_EVENTS_SHORT, OPTION_EVENTS_LONG, false,
+                "include per-event records in the structured report");
+        options.addOption(OPTION_SUMMARY_SHORT, OPTION_SUMMARY_LONG, true,
+                "mergeable run summary (for the " + COMMAND_MERGE + " command) output file name");
+        options.addOption(OPTION_PROFILE_SHORT, OPTION_PROFILE_LONG, true,
+                "processing profile (stage times, matcher counts) printed to stdout and written as json to the file");
         options.addOption(OPTION_VERBOSE_SHORT, OPTION_VERBOSE_LONG, false, "verbose output");
     }
 
+    /**
+     * @return The report section names, comma and space separated.
+     */
+    static String getSectionsLiteral() {
+        StringBuilder sections = new StringBuilder();
+        for (ReportSection section : ReportSection.values()) {
+            if (sections.length() > 0) {
+                sections.append(", ");
+            }
+            sections.append(section.name());
+        }
+        return sections.toString();
+    }
+
     /**
      * @return version string.
      */
@@ -118,6 +169,26 @@ public class OptionsParser {
         // Ensure command line input.
         if (cmd.getArgList().size() == 0) {
             throw new ParseException("Missing input");
+        } else if (cmd.getArgList().get(0).equals(COMMAND_COMPARE)) {
+            // Ensure baseline and candidate file input.
+            if (cmd.getArgList().size() != 3) {
+                throw new ParseException("Compare requires 2 files");
+            }
+            for (String logFileName : cmd.getArgList().subList(1, 3)) {
+                if (!new File(logFileName).exists()) {
+                    throw new ParseException("Invalid file: '" + logFileName + "'");
+                }
+            }
+        } else if (cmd.getArgList().get(0).equals(COMMAND_MERGE)) {
+            // Ensure summary file input.
+            if (cmd.getArgList().size() < 2) {
+                throw new ParseException("Merge requires at least 1 summary file");
+            }
+            for (String summaryFileName : cmd.getArgList().subList(1, cmd.getArgList().size())) {
+                if (!new File(summaryFileName).exists()) {
+                    throw new ParseException("Invalid file: '" + summaryFileName + "'");
+                }
+            }
         } else {
             // Ensure file input.
             String logFileName = (String) cmd.getArgList().get(cmd.getArgList().size() - 1);
@@ -141,6 +212,31 @@ public class OptionsParser {
                 throw new ParseException("Invalid threshold: '" + thresholdOptionValue + "'");
             }
         }
+        // format
+        if (cmd.hasOption(OPTION_FORMAT_LONG)) {
+            String formatOptionValue = cmd.getOptionValue(OPTION_FORMAT_SHORT);
+            Format format;
+            try {
+                format = Format.valueOf(formatOptionValue.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new ParseException("Invalid format: '" + formatOptionValue + "'");
+            }
+            String outputFileName = cmd.hasOption(OPTION_OUTPUT_LONG) ? cmd.getOptionValue(OPTION_OUTPUT_SHORT)
+                    : OUTPUT_FILE_NAME;
+            if (new File(format.getFileName(outputFileName)).equals(new File(outputFileName))) {
+                throw new ParseException("Invalid format: '" + formatOptionValue + "' report is the output file '"
+                        + outputFileName + "'");
+            }
+        }
+        // sections
+        if (cmd.hasOption(OPTION_SECTIONS_LONG)) {
+            String sectionsOptionValue = cmd.getOptionValue(OPTION_SECTIONS_SHORT);
+            try {
+                ReportSection.parse(sectionsOptionValue);
+            } catch (IllegalArgumentException e) {
+                throw new ParseException("Invalid sections: '" + sectionsOptionValue + "'");
+            }
+        }
         // startdatetime
         if (cmd.hasOption(OPTION_STARTDATETIME_LONG)) {
             String startdatetimeOptionValue = cmd.getOptionValue(OPTION_STARTDATETIME_SHORT);
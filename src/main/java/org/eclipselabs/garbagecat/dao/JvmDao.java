@@ -16,19 +16,24 @@ import static java.util.Collections.binarySearch;
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.summingLong;
 import static java.util.stream.Collectors.toList;
+import static org.eclipselabs.garbagecat.util.Constants.PARALLELISM_COLLAPSE_LIMIT;
+import static org.eclipselabs.garbagecat.util.Constants.PARALLELISM_COLLAPSE_MIN_EVENTS;
+import static org.eclipselabs.garbagecat.util.Constants.SERIES_POINT_LIMIT;
+import static org.eclipselabs.garbagecat.util.Constants.TTSP_OUTLIER_LIMIT;
+import static org.eclipselabs.garbagecat.util.Constants.UNIDENTIFIED_FIRST_LIMIT;
+import static org.eclipselabs.garbagecat.util.Constants.UNIDENTIFIED_SAMPLE_LIMIT;
 import static org.eclipselabs.garbagecat.util.Memory.ZERO;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.LongStream;
@@ -46,11 +51,18 @@ import org.eclipselabs.garbagecat.domain.jdk.CmsIncrementalModeCollector;
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction.PreprocessEvent;
+import org.eclipselabs.garbagecat.util.ConcurrentGcStats;
+import org.eclipselabs.garbagecat.util.DownsampledSeries;
+import org.eclipselabs.garbagecat.util.LatencyHistogram;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.OccupancySeries;
+import org.eclipselabs.garbagecat.util.RetainedList;
+import org.eclipselabs.garbagecat.util.TimeToSafepointStats;
+import org.eclipselabs.garbagecat.util.WorkerEfficiencyStats;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
 import org.github.joa.domain.JvmContext;
 
@@ -66,22 +78,6 @@ public class JvmDao {
 
     private static final Comparator<BlockingEvent> COMPARE_BY_TIMESTAMP = comparing(BlockingEvent::getTimestamp);
 
-    /**
-     * The database connection.
-     */
-    private static Connection connection;
-
-    private static boolean created;
-
-    /**
-     * SQL statement(s) to create table.
-     */
-    private static final String[] TABLES_CREATE_SQL = {
-            "create table safepoint_event (id integer identity, time_stamp bigint, trigger_type varchar(64), "
-                    + "duration bigint, log_entry varchar(500))" };
-
-    private static final String[] TABLES_DELETE_SQL = { "delete from safepoint_event " };
-
     private static Memory add(Memory m1, Memory m2) {
         return m1 == null ? nullSafe(m2) : m1.plus(nullSafe(m2));
     }
@@ -116,6 +112,17 @@ public class JvmDao {
      */
     private List<BlockingEvent> blockingEvents = new ArrayList<>();
 
+    /**
+     * <code>BlockingEvent</code>s by event type, each in the same order as <code>blockingEvents</code>, or null if the
+     * index needs to be rebuilt (an event was inserted out of timestamp order).
+     */
+    private EnumMap<LogEventType, List<BlockingEvent>> blockingEventsByType = new EnumMap<>(LogEventType.class);
+
+    /**
+     * Concurrent GC phase statistics.
+     */
+    private ConcurrentGcStats concurrentGcStats = new ConcurrentGcStats();
+
     /**
      * List of all event types associate with the JVM run.
      */
@@ -191,6 +198,11 @@ public class JvmDao {
      */
     private String memory;
 
+    /**
+     * Downsampled heap and metaspace occupancy series.
+     */
+    private OccupancySeries occupancySeries = new OccupancySeries(SERIES_POINT_LIMIT);
+
     /**
      * Maximum "Other" time (microseconds).
      */
@@ -206,6 +218,16 @@ public class JvmDao {
      */
     private long parallelCount;
 
+    /**
+     * Blocking event pause (microseconds) distribution.
+     */
+    private LatencyHistogram pauseHistogram = new LatencyHistogram();
+
+    /**
+     * Downsampled blocking event pause (microseconds) series.
+     */
+    private DownsampledSeries pauseSeries = new DownsampledSeries("pause", SERIES_POINT_LIMIT);
+
     /**
      * Physical memory (bytes).
      */
@@ -221,6 +243,11 @@ public class JvmDao {
      */
     List<PreprocessEvent> preprocessEvents = new ArrayList<>();
 
+    /**
+     * Number of unidentified log lines where a regular expression match was aborted (see <code>RegexGuard</code>).
+     */
+    private long quarantinedLogLineCount;
+
     /**
      * Number of <code>SerialCollection</code> events.
      */
@@ -249,20 +276,37 @@ public class JvmDao {
     private long sysGtUserCount;
 
     /**
-     * Logging lines that do not match any known GC events.
+     * Time to safepoint statistics for <code>ApplicationStoppedTimeEvent</code>s.
+     */
+    private TimeToSafepointStats stoppedTimeTtspStats = new TimeToSafepointStats(TTSP_OUTLIER_LIMIT);
+
+    /**
+     * Logging lines that do not match any known GC events (the first lines and a sample of the rest).
      */
-    private List<String> unidentifiedLogLines = new ArrayList<>();
+    private RetainedList<String> unidentifiedLogLines = new RetainedList<>(UNIDENTIFIED_FIRST_LIMIT,
+            UNIDENTIFIED_SAMPLE_LIMIT);
 
     /**
      * Safepoint events.
      */
     private List<UnifiedSafepointEvent> unifiedSafepointEvents = new ArrayList<>();
 
+    /**
+     * Time to safepoint statistics for <code>UnifiedSafepointEvent</code>s.
+     */
+    private TimeToSafepointStats unifiedSafepointTtspStats = new TimeToSafepointStats(TTSP_OUTLIER_LIMIT);
+
     /**
      * Convenience field for vm_info.
      */
     private String vmInfo;
 
+    /**
+     * GC worker efficiency statistics for blocking events with times data.
+     */
+    private WorkerEfficiencyStats workerEfficiencyStats = new WorkerEfficiencyStats(PARALLELISM_COLLAPSE_MIN_EVENTS,
+            PARALLELISM_COLLAPSE_LIMIT);
+
     /**
      * <code>ParallelCollection</code> event with the lowest "inverted" parallelism.
      */
@@ -278,52 +322,6 @@ public class JvmDao {
      */
     private LogEvent worstSysGtUserEvent;
 
-    public JvmDao() {
-        if (created) {
-            cleanup();
-        } else {
-            created = true;
-        }
-        try {
-            // Load database driver.
-            Class.forName("org.hsqldb.jdbcDriver");
-        } catch (ClassNotFoundException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Failed to load HSQLDB JDBC driver.");
-        }
-
-        try {
-            // Connect to database.
-            connection = DriverManager.getConnection("jdbc:hsqldb:mem:vmdb", "sa", "");
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error accessing database.");
-        }
-
-        // Create tables
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_CREATE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_CREATE_SQL[i]);
-            }
-        } catch (SQLException e) {
-            if (e.getMessage().startsWith("Table already exists")) {
-                cleanup();
-            } else {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error creating tables.");
-            }
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-    }
-
     public void addAnalysis(Analysis analysis) {
         if (!this.analysis.contains(analysis)) {
             this.analysis.add(analysis);
@@ -331,15 +329,31 @@ public class JvmDao {
     }
 
     public void addBlockingEvent(BlockingEvent event) {
-        blockingEvents.add(insertPosition(event), event);
+        int position = insertPosition(event);
+        blockingEvents.add(position, event);
+        if (blockingEventsByType != null) {
+            if (position == blockingEvents.size() - 1) {
+                blockingEventsByType.computeIfAbsent(event.getLogEventType(), k -> new ArrayList<>()).add(event);
+            } else {
+                blockingEventsByType = null;
+            }
+        }
+        occupancySeries.add(event);
+        pauseHistogram.record(event.getDurationMicros());
+        pauseSeries.add(event.getTimestamp(), event.getDurationMicros());
     }
 
     public void addSafepointEvent(UnifiedSafepointEvent event) {
         unifiedSafepointEvents.add(event);
+        unifiedSafepointTtspStats.add(event.getTrigger(), event.getTimestamp(),
+                JdkMath.convertNanosToMicros(event.getTimeToStopThreads()).longValue(), event.getDurationMicros(),
+                event.getLogEntry());
     }
 
     public void addStoppedTimeEvent(ApplicationStoppedTimeEvent event) {
         stoppedTimeEvents.add(event);
+        stoppedTimeTtspStats.add(null, event.getTimestamp(), event.getTimeToStopThreads(), event.getDurationMicros(),
+                event.getLogEntry());
     }
 
     /**
@@ -347,25 +361,7 @@ public class JvmDao {
      */
     public synchronized void cleanup() {
         this.blockingEvents.clear();
-        JvmDao.created = false;
-        // TODO: Remove below when hsqldb dependency removed
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_DELETE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_DELETE_SQL[i]);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error deleting rows from tables.");
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
+        this.blockingEventsByType = new EnumMap<>(LogEventType.class);
     }
 
     public List<Analysis> getAnalysis() {
@@ -390,6 +386,15 @@ public class JvmDao {
         return this.blockingEvents.stream().map(JvmDao::toBlockingEvent).collect(toList());
     }
 
+    /**
+     * Retrieve all <code>BlockingEvent</code>s without copying, for streaming them in timestamp order.
+     * 
+     * @return Unmodifiable view of the <code>List</code> of events.
+     */
+    public List<BlockingEvent> getBlockingEventsView() {
+        return Collections.unmodifiableList(blockingEvents);
+    }
+
     /**
      * Retrieve all <code>BlockingEvent</code>s of the specified type.
      * 
@@ -398,8 +403,35 @@ public class JvmDao {
      * @return <code>List</code> of events.
      */
     public synchronized List<BlockingEvent> getBlockingEvents(LogEventType eventType) {
-        return this.blockingEvents.stream().filter(e -> e.getName().equals(eventType.toString()))
-                .map(JvmDao::toBlockingEvent).collect(toList());
+        List<BlockingEvent> events = getBlockingEventsByType().get(eventType);
+        return events == null ? new ArrayList<>() : new ArrayList<>(events);
+    }
+
+    /**
+     * Retrieve all <code>BlockingEvent</code>s of the specified types, in timestamp order.
+     * 
+     * @param eventTypes
+     *            The event types to retrieve.
+     * @return <code>List</code> of events.
+     */
+    public synchronized List<BlockingEvent> getBlockingEvents(EnumSet<LogEventType> eventTypes) {
+        if (eventTypes.size() == 1) {
+            return getBlockingEvents(eventTypes.iterator().next());
+        }
+        return this.blockingEvents.stream().filter(e -> eventTypes.contains(e.getLogEventType())).collect(toList());
+    }
+
+    /**
+     * @return The <code>BlockingEvent</code>s by event type, rebuilding the index if needed.
+     */
+    private EnumMap<LogEventType, List<BlockingEvent>> getBlockingEventsByType() {
+        if (blockingEventsByType == null) {
+            blockingEventsByType = new EnumMap<>(LogEventType.class);
+            for (BlockingEvent event : blockingEvents) {
+                blockingEventsByType.computeIfAbsent(event.getLogEventType(), k -> new ArrayList<>()).add(event);
+            }
+        }
+        return blockingEventsByType;
     }
 
     /**
@@ -412,6 +444,10 @@ public class JvmDao {
                 .map(JvmDao::toBlockingEvent).collect(toList());
     }
 
+    public ConcurrentGcStats getConcurrentGcStats() {
+        return concurrentGcStats;
+    }
+
     /**
      * The maximum <code>BlockingEvent</code> pause time.
      * 
@@ -696,6 +732,10 @@ public class JvmDao {
         return memory;
     }
 
+    public OccupancySeries getOccupancySeries() {
+        return occupancySeries;
+    }
+
     public long getOtherTimeMax() {
         return otherTimeMax;
     }
@@ -711,6 +751,14 @@ public class JvmDao {
         return parallelCount;
     }
 
+    public LatencyHistogram getPauseHistogram() {
+        return pauseHistogram;
+    }
+
+    public DownsampledSeries getPauseSeries() {
+        return pauseSeries;
+    }
+
     /**
      * @return The JVM environment physical memory (bytes).
      */
@@ -729,6 +777,10 @@ public class JvmDao {
         return preprocessEvents;
     }
 
+    public long getQuarantinedLogLineCount() {
+        return quarantinedLogLineCount;
+    }
+
     /**
      * Retrieve all <code>SafepointEvent</code>s.
      * 
@@ -748,73 +800,24 @@ public class JvmDao {
      * @return <code>List</code> of <code>SafepointEventSummary</code>s.
      */
     public synchronized List<SafepointEventSummary> getSafepointEventSummaries() {
-        List<SafepointEventSummary> safepointEventSummaries = new ArrayList<SafepointEventSummary>();
-
-        PreparedStatement pst = null;
-        try {
-            String sqlInsertSafepointEvent = "insert into safepoint_event (time_stamp, trigger_type, duration, "
-                    + "log_entry) values (?, ?, ?, ?)";
-
-            final int TIME_STAMP_INDEX = 1;
-            final int TRIGGER_TYPE_INDEX = 2;
-            final int DURATION_INDEX = 3;
-            final int LOG_ENTRY_INDEX = 4;
-
-            pst = connection.prepareStatement(sqlInsertSafepointEvent);
-
-            for (int i = 0; i < unifiedSafepointEvents.size(); i++) {
-                UnifiedSafepointEvent event = unifiedSafepointEvents.get(i);
-                pst.setLong(TIME_STAMP_INDEX, event.getTimestamp());
-                // Use trigger for event name
-                pst.setString(TRIGGER_TYPE_INDEX, event.getTrigger().toString());
-                pst.setLong(DURATION_INDEX, event.getDurationMicros());
-                pst.setString(LOG_ENTRY_INDEX, event.getLogEntry());
-                pst.addBatch();
-            }
-            pst.executeBatch();
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error inserting safepoint event.");
-        } finally {
-            try {
-                pst.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closingPreparedStatement.");
+        // Count, total and max duration by trigger, in the order the triggers first occur
+        Map<Trigger, long[]> totals = new LinkedHashMap<Trigger, long[]>();
+        for (UnifiedSafepointEvent event : unifiedSafepointEvents) {
+            long[] total = totals.get(event.getTrigger());
+            if (total == null) {
+                total = new long[3];
+                totals.put(event.getTrigger(), total);
             }
+            total[0]++;
+            total[1] += event.getDurationMicros();
+            total[2] = Math.max(total[2], event.getDurationMicros());
         }
-
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            StringBuffer sql = new StringBuffer();
-            sql.append("select trigger_type, count(id), sum(duration), max(duration) from safepoint_event group by "
-                    + "trigger_type order by sum(duration) desc");
-            rs = statement.executeQuery(sql.toString());
-            while (rs.next()) {
-                Trigger trigger = UnifiedSafepoint.identifyTrigger(rs.getString(1));
-                SafepointEventSummary summary = new SafepointEventSummary(trigger, rs.getLong(2), rs.getLong(3),
-                        rs.getLong(4));
-                safepointEventSummaries.add(summary);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error retrieving safepoint event summaries.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
+        List<SafepointEventSummary> safepointEventSummaries = new ArrayList<SafepointEventSummary>();
+        for (Map.Entry<Trigger, long[]> entry : totals.entrySet()) {
+            long[] total = entry.getValue();
+            safepointEventSummaries.add(new SafepointEventSummary(entry.getKey(), total[0], total[1], total[2]));
         }
+        safepointEventSummaries.sort(Comparator.comparingLong(SafepointEventSummary::getPauseTotal).reversed());
         return safepointEventSummaries;
     }
 
@@ -875,7 +878,21 @@ public class JvmDao {
         return sysGtUserCount;
     }
 
-    public List<String> getUnidentifiedLogLines() {
+    /**
+     * Time to safepoint statistics, from <code>ApplicationStoppedTimeEvent</code>s if there are any, otherwise from
+     * <code>UnifiedSafepointEvent</code>s (consistent with {@link #getSafepointEvents()}).
+     * 
+     * @return The time to safepoint statistics.
+     */
+    public synchronized TimeToSafepointStats getTimeToSafepointStats() {
+        if (!this.stoppedTimeEvents.isEmpty()) {
+            return stoppedTimeTtspStats;
+        } else {
+            return unifiedSafepointTtspStats;
+        }
+    }
+
+    public RetainedList<String> getUnidentifiedLogLines() {
         return unidentifiedLogLines;
     }
 
@@ -912,6 +929,10 @@ public class JvmDao {
         return vmInfo;
     }
 
+    public WorkerEfficiencyStats getWorkerEfficiencyStats() {
+        return workerEfficiencyStats;
+    }
+
     /**
      * @return The <code>ParallelCollection</code> event with the lowest "inverted" parallelism.
      */
@@ -1063,6 +1084,10 @@ public class JvmDao {
         this.physicalMemoryFree = physicalMemoryFree;
     }
 
+    public void setQuarantinedLogLineCount(long quarantinedLogLineCount) {
+        this.quarantinedLogLineCount = quarantinedLogLineCount;
+    }
+
     /**
      * @param serialCount
      *            The number of <code>SerialCollection</code> events.
@@ -1095,6 +1120,19 @@ public class JvmDao {
         this.sysGtUserCount = sysGtUserCount;
     }
 
+    /**
+     * Set the number of unidentified log lines to retain for reporting. Set before log lines are stored; the
+     * unidentified log lines retained so far are discarded.
+     * 
+     * @param firstLimit
+     *            The number of first unidentified log lines to retain.
+     * @param sampleLimit
+     *            The number of randomly sampled unidentified log lines after the first ones to retain.
+     */
+    public void setUnidentifiedLogLineLimits(int firstLimit, int sampleLimit) {
+        unidentifiedLogLines = new RetainedList<>(firstLimit, sampleLimit);
+    }
+
     public void setVmInfo(String vmInfo) {
         this.vmInfo = vmInfo;
     }
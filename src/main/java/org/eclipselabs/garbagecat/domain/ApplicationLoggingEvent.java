@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -120,11 +121,11 @@ public class ApplicationLoggingEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean isMatch = false;
         for (int i = 0; i < REGEX_LIST.size(); i++) {
             Pattern pattern = REGEX_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (RegexGuard.matches(pattern, logLine)) {
                 isMatch = true;
                 break;
             }
@@ -156,6 +157,10 @@ public class ApplicationLoggingEvent implements ThrowAwayEvent {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.APPLICATION_LOGGING;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.APPLICATION_LOGGING.toString();
     }
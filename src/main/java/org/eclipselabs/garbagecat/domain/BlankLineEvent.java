@@ -12,6 +12,9 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain;
 
+import java.util.regex.Pattern;
+
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -30,6 +33,8 @@ public class BlankLineEvent implements ThrowAwayEvent {
      */
     private static final String _REGEX = JdkRegEx.BLANK_LINE;
 
+    private static final Pattern PATTERN = Pattern.compile(_REGEX);
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -37,8 +42,8 @@ public class BlankLineEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return logLine.matches(_REGEX) || logLine.length() == 0;
+    public static final boolean match(CharSequence logLine) {
+        return logLine.length() == 0 || RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -66,6 +71,10 @@ public class BlankLineEvent implements ThrowAwayEvent {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.BLANK_LINE;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.BLANK_LINE.toString();
     }
@@ -0,0 +1,64 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.domain;
+
+/**
+ * <p>
+ * Data for a garbage collection phase that runs concurrently with application threads. There is no application pause
+ * time, but concurrent phases compete with application threads for cpu.
+ * </p>
+ * 
+ * <p>
+ * Only the logging at the end of a phase includes the phase duration. Logging at the start of a phase and informational
+ * logging have no phase.
+ * </p>
+ * 
+ * <h2>Example Logging</h2>
+ * 
+ * <pre>
+ * [0.116s][info][gc,marking   ] GC(2) Concurrent Mark (0.114s, 0.116s) 1.204ms
+ * </pre>
+ * 
+ * <pre>
+ * 251.781: [GC concurrent-mark-end, 0.1371470 secs]
+ * </pre>
+ * 
+ * <pre>
+ * 3.169: [CMS-concurrent-mark: 0.053/0.071 secs] [Times: user=0.07 sys=0.00, real=0.07 secs]
+ * </pre>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public interface ConcurrentData {
+
+    /**
+     * @return The phase duration (microseconds), or 0 if the logging has no phase.
+     */
+    long getDurationMicros();
+
+    /**
+     * @return The phase as logged (e.g. "Concurrent Mark"), or null if the logging is not the end of a phase.
+     */
+    String getPhase();
+
+    /**
+     * @return true if the phase is a complete concurrent cycle (e.g. G1 "Concurrent Cycle"), false otherwise.
+     */
+    boolean isCycle();
+
+    /**
+     * @return true if the phase is concurrent marking (one per concurrent cycle), false otherwise.
+     */
+    boolean isMark();
+}
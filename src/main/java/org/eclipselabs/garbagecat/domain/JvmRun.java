@@ -31,6 +31,7 @@ import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_APPLICATION_STOP
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_GC_SAFEPOINT_RATIO;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_GC_STOPPED_RATIO;
+import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PARALLELISM_COLLAPSE;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PARALLELISM_INVERTED;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PERM_MIN_NOT_EQUAL_MAX;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PERM_SIZE_NOT_SET;
@@ -39,6 +40,7 @@ import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PRINT_COMMANDLIN
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PRINT_GC_CAUSE_DISABLED;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PRINT_GC_CAUSE_MISSING;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED;
+import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_SAFEPOINT_TTSP;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_SERIALISM_INVERTED;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_SERIAL_GC;
 import static org.eclipselabs.garbagecat.util.jdk.Analysis.WARN_SYS_GT_USER;
@@ -52,18 +54,29 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction.PreprocessEvent;
+import org.eclipselabs.garbagecat.util.Bottleneck;
+import org.eclipselabs.garbagecat.util.BottleneckDetector;
+import org.eclipselabs.garbagecat.util.ConcurrentGcStats;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.DownsampledSeries;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.LatencyHistogram;
+import org.eclipselabs.garbagecat.util.Lazy;
 import org.eclipselabs.garbagecat.util.Memory;
 import org.eclipselabs.garbagecat.util.Memory.Unit;
 import org.eclipselabs.garbagecat.util.MemoryAllocation;
+import org.eclipselabs.garbagecat.util.OccupancySeries;
+import org.eclipselabs.garbagecat.util.RetainedList;
 import org.eclipselabs.garbagecat.util.RunTimeWindow;
+import org.eclipselabs.garbagecat.util.TimeToSafepointStats;
+import org.eclipselabs.garbagecat.util.WorkerEfficiencyStats;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
@@ -76,7 +89,14 @@ import org.github.joa.domain.GarbageCollector;
 import org.github.joa.domain.JvmContext;
 
 /**
+ * <p>
  * JVM run data.
+ * </p>
+ * 
+ * <p>
+ * Sections that are expensive to compute (memory allocations, run time windows, bottlenecks, safepoint summaries) are
+ * set as suppliers and computed on first access, so a caller that only needs a few values does not pay for them.
+ * </p>
  * 
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
  * 
@@ -87,11 +107,22 @@ public class JvmRun {
      * Min, Max, High memory being allocated per second (kilobytes) between two collections in row.
      * Avg memory being allocated per second (kilobytes).
      */
-    private List<MemoryAllocation> minMaxAvgHighMemoryAllocations;
+    private Lazy<List<MemoryAllocation>> minMaxAvgHighMemoryAllocations;
 
-    private List<RunTimeWindow> runTimeWindows;
+    /**
+     * The number of high memory allocations, including those not retained, computed on first access.
+     */
+    private Lazy<Long> highMemoryAllocationCount;
+
+    /**
+     * Run time windows, computed on first access.
+     */
+    private Lazy<List<RunTimeWindow>> runTimeWindows;
 
-    private Map<String, String> runTimeWindowsHistogram;
+    /**
+     * Run time windows histogram, computed on first access.
+     */
+    private Lazy<Map<String, String>> runTimeWindowsHistogram;
 
     /**
      * Analysis.
@@ -103,6 +134,11 @@ public class JvmRun {
      */
     private int blockingEventCount;
 
+    /**
+     * Concurrent GC phase statistics.
+     */
+    private ConcurrentGcStats concurrentGcStats;
+
     /**
      * Maximum GC pause duration (microseconds).
      */
@@ -144,9 +180,10 @@ public class JvmRun {
     private SafepointEvent firstSafepointEvent;
 
     /**
-     * <code>BlockingEvent</code>s where throughput does not meet the throughput goal.
+     * The <code>BlockingEvent</code> intervals where throughput does not meet the throughput goal, computed on first
+     * access.
      */
-    private List<String> gcBottlenecks;
+    private Lazy<BottleneckDetector> gcBottlenecks;
 
     /**
      * GC triggers.
@@ -263,6 +300,11 @@ public class JvmRun {
      */
     private String memory;
 
+    /**
+     * Downsampled heap and metaspace occupancy series.
+     */
+    private OccupancySeries occupancySeries;
+
     /**
      * Maximum "Other" time (microseconds).
      */
@@ -278,6 +320,16 @@ public class JvmRun {
      */
     private long parallelCount;
 
+    /**
+     * Blocking event pause (microseconds) distribution.
+     */
+    private LatencyHistogram pauseHistogram;
+
+    /**
+     * Downsampled blocking event pause (microseconds) series.
+     */
+    private DownsampledSeries pauseSeries;
+
     /**
      * Physical memory.
      */
@@ -299,14 +351,20 @@ public class JvmRun {
     List<PreprocessEvent> preprocessEvents = new ArrayList<>();
 
     /**
-     * <code>SafepointEvent</code>s where throughput does not meet the throughput goal.
+     * Number of unidentified log lines where a regular expression match was aborted (see <code>RegexGuard</code>).
      */
-    private List<String> safepointBottlenecks;
+    private long quarantinedLogLineCount;
 
     /**
-     * <code>SafepointEventSummary</code> used for reporting.
+     * The <code>SafepointEvent</code> intervals where throughput does not meet the throughput goal, computed on first
+     * access.
      */
-    private List<SafepointEventSummary> safepointEventSummaries = null;
+    private Lazy<BottleneckDetector> safepointBottlenecks;
+
+    /**
+     * <code>SafepointEventSummary</code> used for reporting, computed on first access.
+     */
+    private Lazy<List<SafepointEventSummary>> safepointEventSummaries;
 
     /**
      * Number of <code>SerialCollection</code> events.
@@ -354,6 +412,11 @@ public class JvmRun {
      */
     private int throughputThreshold;
 
+    /**
+     * Time to safepoint statistics.
+     */
+    private TimeToSafepointStats timeToSafepointStats;
+
     /**
      * The maximum memory allocation threshold (memory unit/s) to not be flagged a high memory pressure.
      */
@@ -365,9 +428,9 @@ public class JvmRun {
     private Unit memoryUnit;
 
     /**
-     * Log lines that do not match any existing logging patterns.
+     * Log lines that do not match any existing logging patterns (the first lines and a sample of the rest).
      */
-    private List<String> unidentifiedLogLines;
+    private RetainedList<String> unidentifiedLogLines;
 
     /**
      * Total number of {@link org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent}.
@@ -389,6 +452,11 @@ public class JvmRun {
      */
     private String vmInfo;
 
+    /**
+     * GC worker efficiency statistics.
+     */
+    private WorkerEfficiencyStats workerEfficiencyStats;
+
     /**
      * <code>ParallelCollection</code> event with the lowest "inverted" parallelism.
      */
@@ -493,6 +561,11 @@ public class JvmRun {
                 && getUnifiedSafepointThroughput() != getGcThroughput()) {
             analysis.add(WARN_GC_SAFEPOINT_RATIO);
         }
+        // Check for safepoint time dominated by time to safepoint
+        if (timeToSafepointStats != null && timeToSafepointStats.getCount() > 0
+                && timeToSafepointStats.getTtspRatio() >= Constants.TTSP_RATIO_THRESHOLD) {
+            analysis.add(WARN_SAFEPOINT_TTSP);
+        }
         // Check if logging indicates gc details missing
         if (!hasAnalysis(org.github.joa.util.Analysis.WARN_JDK8_PRINT_GC_DETAILS_MISSING.getKey())
                 && !hasAnalysis(org.github.joa.util.Analysis.WARN_JDK8_PRINT_GC_DETAILS_DISABLED.getKey())) {
@@ -545,6 +618,10 @@ public class JvmRun {
         if (getInvertedParallelismCount() > 0) {
             analysis.add(WARN_PARALLELISM_INVERTED);
         }
+        // Check for sustained parallelism collapse (e.g. cgroup cpu throttling)
+        if (workerEfficiencyStats != null && workerEfficiencyStats.getCollapseCount() > 0) {
+            analysis.add(WARN_PARALLELISM_COLLAPSE);
+        }
         // Check for inverted serialism
         if (getInvertedSerialismCount() > 0) {
             analysis.add(WARN_SERIALISM_INVERTED);
@@ -682,15 +759,15 @@ public class JvmRun {
      * @return The list with min, max, avg and high memory allocations
      */
     public List<MemoryAllocation> getMinMaxAvgHighMemoryAllocations() {
-        return minMaxAvgHighMemoryAllocations;
+        return minMaxAvgHighMemoryAllocations == null ? null : minMaxAvgHighMemoryAllocations.get();
     }
 
     public List<RunTimeWindow> getRunTimeWindows() {
-        return runTimeWindows;
+        return runTimeWindows == null ? null : runTimeWindows.get();
     }
 
     public Map<String, String> getRunTimeWindowsHistogram() {
-        return runTimeWindowsHistogram;
+        return runTimeWindowsHistogram == null ? null : runTimeWindowsHistogram.get();
     }
 
     /**
@@ -759,6 +836,10 @@ public class JvmRun {
         return blockingEventCount;
     }
 
+    public ConcurrentGcStats getConcurrentGcStats() {
+        return concurrentGcStats;
+    }
+
     /**
      * @return The compressed class space in bytes, or 0 if not set.
      */
@@ -856,8 +937,12 @@ public class JvmRun {
         return firstSafepointEvent;
     }
 
-    public List<String> getGcBottlenecks() {
-        return gcBottlenecks;
+    public int getGcBottleneckCount() {
+        return gcBottlenecks == null ? 0 : gcBottlenecks.get().getIntervalCount();
+    }
+
+    public List<Bottleneck> getGcBottlenecks() {
+        return gcBottlenecks == null ? null : gcBottlenecks.get().getBottlenecks();
     }
 
     /**
@@ -1099,6 +1184,10 @@ public class JvmRun {
         return ratio.intValue();
     }
 
+    public OccupancySeries getOccupancySeries() {
+        return occupancySeries;
+    }
+
     public long getOtherTimeMax() {
         return otherTimeMax;
     }
@@ -1111,6 +1200,14 @@ public class JvmRun {
         return parallelCount;
     }
 
+    public LatencyHistogram getPauseHistogram() {
+        return pauseHistogram;
+    }
+
+    public DownsampledSeries getPauseSeries() {
+        return pauseSeries;
+    }
+
     /**
      * @return The percentage of swap that is free. 100 means no swap used. 0 means all swap used.
      */
@@ -1136,12 +1233,20 @@ public class JvmRun {
         return preprocessEvents;
     }
 
-    public List<String> getSafepointBottlenecks() {
-        return safepointBottlenecks;
+    public long getQuarantinedLogLineCount() {
+        return quarantinedLogLineCount;
+    }
+
+    public int getSafepointBottleneckCount() {
+        return safepointBottlenecks == null ? 0 : safepointBottlenecks.get().getIntervalCount();
+    }
+
+    public List<Bottleneck> getSafepointBottlenecks() {
+        return safepointBottlenecks == null ? null : safepointBottlenecks.get().getBottlenecks();
     }
 
     public List<SafepointEventSummary> getSafepointEventSummaries() {
-        return safepointEventSummaries;
+        return safepointEventSummaries == null ? null : safepointEventSummaries.get();
     }
 
     public long getSerialCount() {
@@ -1201,11 +1306,30 @@ public class JvmRun {
         return throughputThreshold;
     }
 
+    public TimeToSafepointStats getTimeToSafepointStats() {
+        return timeToSafepointStats;
+    }
+
+    /**
+     * @return The number of high memory allocations, including those not retained in
+     *         {@link #getMinMaxAvgHighMemoryAllocations()}.
+     */
+    public long getHighMemoryAllocationCount() {
+        return highMemoryAllocationCount == null ? 0 : highMemoryAllocationCount.get();
+    }
+
     public long getHighMemoryAllocationThreshold() {
         return highMemoryAllocationThreshold;
     }
 
-    public List<String> getUnidentifiedLogLines() {
+    /**
+     * @return The number of unidentified log lines, including those not retained in {@link #getUnidentifiedLogLines()}.
+     */
+    public long getUnidentifiedLogLineCount() {
+        return unidentifiedLogLines == null ? 0 : unidentifiedLogLines.getCount();
+    }
+
+    public RetainedList<String> getUnidentifiedLogLines() {
         return unidentifiedLogLines;
     }
 
@@ -1244,6 +1368,10 @@ public class JvmRun {
         return vmInfo;
     }
 
+    public WorkerEfficiencyStats getWorkerEfficiencyStats() {
+        return workerEfficiencyStats;
+    }
+
     public LogEvent getWorstInvertedParallelismEvent() {
         return worstInvertedParallelismEvent;
     }
@@ -1305,16 +1433,20 @@ public class JvmRun {
         return preprocessed;
     }
 
-    public void setMinMaxAvgHighMemoryAllocations(List<MemoryAllocation> allocations) {
-        this.minMaxAvgHighMemoryAllocations = allocations;
+    public void setHighMemoryAllocationCount(Supplier<Long> count) {
+        this.highMemoryAllocationCount = Lazy.of(count);
     }
 
-    public void setRunTimeWindows(List<RunTimeWindow> windows) {
-        this.runTimeWindows = windows;
+    public void setMinMaxAvgHighMemoryAllocations(Supplier<List<MemoryAllocation>> allocations) {
+        this.minMaxAvgHighMemoryAllocations = Lazy.of(allocations);
     }
 
-    public void setRunTimeWindowsHistogram(Map<String, String> histogram) {
-        this.runTimeWindowsHistogram = histogram;
+    public void setRunTimeWindows(Supplier<List<RunTimeWindow>> windows) {
+        this.runTimeWindows = Lazy.of(windows);
+    }
+
+    public void setRunTimeWindowsHistogram(Supplier<Map<String, String>> histogram) {
+        this.runTimeWindowsHistogram = Lazy.of(histogram);
     }
 
     public void setAnalysis(List<Analysis> analysis) {
@@ -1325,6 +1457,10 @@ public class JvmRun {
         this.blockingEventCount = blockingEventCount;
     }
 
+    public void setConcurrentGcStats(ConcurrentGcStats concurrentGcStats) {
+        this.concurrentGcStats = concurrentGcStats;
+    }
+
     public void setEventTypes(List<LogEventType> eventTypes) {
         this.eventTypes = eventTypes;
     }
@@ -1349,8 +1485,8 @@ public class JvmRun {
         this.firstSafepointEvent = firstSafepointEvent;
     }
 
-    public void setGcBottlenecks(List<String> gcBottlenecks) {
-        this.gcBottlenecks = gcBottlenecks;
+    public void setGcBottlenecks(Supplier<BottleneckDetector> gcBottlenecks) {
+        this.gcBottlenecks = Lazy.of(gcBottlenecks);
     }
 
     public void setGcPauseMax(long gcPauseMax) {
@@ -1461,6 +1597,10 @@ public class JvmRun {
         this.memoryUnit = memoryUnit;
     }
 
+    public void setOccupancySeries(OccupancySeries occupancySeries) {
+        this.occupancySeries = occupancySeries;
+    }
+
     public void setOtherTimeMax(long otherTimeMax) {
         this.otherTimeMax = otherTimeMax;
     }
@@ -1473,6 +1613,14 @@ public class JvmRun {
         this.parallelCount = parallelCount;
     }
 
+    public void setPauseHistogram(LatencyHistogram pauseHistogram) {
+        this.pauseHistogram = pauseHistogram;
+    }
+
+    public void setPauseSeries(DownsampledSeries pauseSeries) {
+        this.pauseSeries = pauseSeries;
+    }
+
     public void setPhysicalMemory(Memory physicalMemory) {
         this.physicalMemory = physicalMemory;
     }
@@ -1489,12 +1637,16 @@ public class JvmRun {
         this.preprocessEvents = preprocessEvents;
     }
 
-    public void setSafepointBottlenecks(List<String> safepointBottlenecks) {
-        this.safepointBottlenecks = safepointBottlenecks;
+    public void setQuarantinedLogLineCount(long quarantinedLogLineCount) {
+        this.quarantinedLogLineCount = quarantinedLogLineCount;
+    }
+
+    public void setSafepointBottlenecks(Supplier<BottleneckDetector> safepointBottlenecks) {
+        this.safepointBottlenecks = Lazy.of(safepointBottlenecks);
     }
 
-    public void setSafepointEventSummaries(List<SafepointEventSummary> safepointEventSummaries) {
-        this.safepointEventSummaries = safepointEventSummaries;
+    public void setSafepointEventSummaries(Supplier<List<SafepointEventSummary>> safepointEventSummaries) {
+        this.safepointEventSummaries = Lazy.of(safepointEventSummaries);
     }
 
     public void setSerialCount(long serialCount) {
@@ -1533,7 +1685,11 @@ public class JvmRun {
         this.throughputThreshold = throughputThreshold;
     }
 
-    public void setUnidentifiedLogLines(List<String> unidentifiedLogLines) {
+    public void setTimeToSafepointStats(TimeToSafepointStats timeToSafepointStats) {
+        this.timeToSafepointStats = timeToSafepointStats;
+    }
+
+    public void setUnidentifiedLogLines(RetainedList<String> unidentifiedLogLines) {
         this.unidentifiedLogLines = unidentifiedLogLines;
     }
 
@@ -1553,6 +1709,10 @@ public class JvmRun {
         this.vmInfo = vmInfo;
     }
 
+    public void setWorkerEfficiencyStats(WorkerEfficiencyStats workerEfficiencyStats) {
+        this.workerEfficiencyStats = workerEfficiencyStats;
+    }
+
     public void setWorstInvertedParallelismEvent(LogEvent worstInvertedParallelismEvent) {
         this.worstInvertedParallelismEvent = worstInvertedParallelismEvent;
     }
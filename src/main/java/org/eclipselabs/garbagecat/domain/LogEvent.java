@@ -12,6 +12,8 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain;
 
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
 /**
  * Base logging event.
  * 
@@ -26,9 +28,12 @@ public interface LogEvent {
     String getLogEntry();
 
     /**
-     * TODO: Change to LogEventType.
-     * 
-     * @return The event identifier.
+     * @return The event type. Used to filter events by type without comparing names.
+     */
+    LogEventType getLogEventType();
+
+    /**
+     * @return The event identifier (the <code>LogEventType</code> name).
      */
     String getName();
 
@@ -26,4 +26,13 @@ public interface SafepointEvent extends LogEvent {
      */
     long getDurationMicros();
 
+    /**
+     * Replace the log entry retained by the event, for example with a <code>LogEntryReference</code> resolved from a
+     * <code>LogEntrySpill</code> only when the log entry is requested.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     */
+    void setLogEntry(CharSequence logEntry);
+
 }
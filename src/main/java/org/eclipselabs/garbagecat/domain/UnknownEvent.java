@@ -41,6 +41,10 @@ public class UnknownEvent implements LogEvent {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.UNKNOWN;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.UNKNOWN.toString();
     }
@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -61,14 +62,18 @@ public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     public String getLogEntry() {
         throw new UnsupportedOperationException("Event does not include log entry information");
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME.toString();
     }
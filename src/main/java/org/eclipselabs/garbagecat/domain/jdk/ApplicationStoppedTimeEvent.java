@@ -16,9 +16,11 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.LineScanner;
 
 /**
  * <p>
@@ -114,14 +116,71 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static boolean match(CharSequence logLine) {
+        return scan(logLine, null) || RegexGuard.matches(PATTERN, logLine);
+    }
+
+    /**
+     * Hand-written scanner for the logging, one of the most frequent lines in logs with safepoint logging enabled.
+     * Tried before the regular expression, which handles the datestamp only decorator and negative times.
+     * 
+     * @param logLine
+     *            The log line.
+     * @param event
+     *            The event to set from the log line, or null to only test the log line.
+     * @return true if the log line is logging the scanner handles, false otherwise.
+     */
+    private static final boolean scan(CharSequence logLine, ApplicationStoppedTimeEvent event) {
+        LineScanner scanner = new LineScanner(logLine);
+        long endTimestamp = 0;
+        if (scanner.isDigit()) {
+            boolean datestamp = scanner.readDatestamp();
+            endTimestamp = datestamp ? 0 : scanner.readDecimal(0, 12, 3, 3);
+            if (endTimestamp == LineScanner.NO_NUMBER || !scanner.skip(": ")) {
+                return false;
+            }
+            if (scanner.isDigit()) {
+                endTimestamp = scanner.readDecimal(0, 12, 3, 3);
+                if (endTimestamp == LineScanner.NO_NUMBER || !scanner.skip(": ")) {
+                    return false;
+                }
+            } else if (datestamp) {
+                // Datestamp only.
+                return false;
+            }
+        }
+        if (!scanner.skip("Total time for which application threads were stopped: ")) {
+            return false;
+        }
+        long timeThreadsStopped = scanner.readDecimal(1, 4, 7, 6);
+        if (timeThreadsStopped == LineScanner.NO_NUMBER || !scanner.skip(" seconds")) {
+            return false;
+        }
+        long timeToStopThreads = 0;
+        if (scanner.skip(", Stopping threads took: ")) {
+            timeToStopThreads = scanner.readDecimal(1, 4, 7, 6);
+            if (timeToStopThreads == LineScanner.NO_NUMBER || !scanner.skip(" seconds")) {
+                return false;
+            }
+        }
+        scanner.skipSpaces();
+        if (!scanner.isEnd()) {
+            return false;
+        }
+        if (event != null) {
+            event.timeThreadsStopped = (int) timeThreadsStopped;
+            event.timeToStopThreads = (int) timeToStopThreads;
+            if (endTimestamp > 0) {
+                event.timestamp = endTimestamp - JdkMath.convertMicrosToMillis(event.getDurationMicros()).longValue();
+            }
+        }
+        return true;
     }
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * The time when the GC event started in milliseconds after JVM startup.
@@ -145,6 +204,9 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
      */
     public ApplicationStoppedTimeEvent(String logEntry) {
         this.logEntry = logEntry;
+        if (scan(logEntry, this)) {
+            return;
+        }
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             long endTimestamp = 0;
@@ -197,7 +259,11 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.APPLICATION_STOPPED_TIME;
     }
 
     public String getName() {
@@ -215,4 +281,8 @@ public class ApplicationStoppedTimeEvent implements SafepointEvent {
     public long getTimeToStopThreads() {
         return timeToStopThreads;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
@@ -18,6 +18,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -119,11 +120,11 @@ public class ClassHistogramEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean isMatch = false;
         for (int i = 0; i < REGEX_LIST.size(); i++) {
             Pattern pattern = REGEX_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (RegexGuard.matches(pattern, logLine)) {
                 isMatch = true;
                 break;
             }
@@ -156,6 +157,10 @@ public class ClassHistogramEvent implements ThrowAwayEvent {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.CLASS_HISTOGRAM;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.CLASS_HISTOGRAM.toString();
     }
@@ -12,11 +12,15 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.eclipselabs.garbagecat.domain.ConcurrentData;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegexGuard;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.github.joa.domain.GarbageCollector;
@@ -76,15 +80,15 @@ import org.github.joa.domain.GarbageCollector;
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
  * 
  */
-public class CmsConcurrentEvent extends CmsCollector implements LogEvent, ParallelEvent {
+public class CmsConcurrentEvent extends CmsCollector implements LogEvent, ParallelEvent, ConcurrentData, TimesData {
 
     /**
      * Regular expression defining the logging.
      */
     private static final String _REGEX = "^( CMS: abort preclean due to time )?(" + JdkRegEx.DECORATOR + " \\[CMS)?"
             + JdkRegEx.DECORATOR
-            + " \\[CMS-concurrent-(abortable-preclean|abortable-preclean-start|mark|mark-start|preclean|preclean-start|"
-            + "reset|reset-start|sweep|sweep-start)(: " + JdkRegEx.DURATION_FRACTION + ")?\\]" + TimesData.REGEX
+            + " \\[(CMS-concurrent-(abortable-preclean|abortable-preclean-start|mark|mark-start|preclean|preclean-start|"
+            + "reset|reset-start|sweep|sweep-start))(: " + JdkRegEx.DURATION_FRACTION + ")?\\]" + TimesData.REGEX
             + "?[ ]*$";
 
     private static Pattern PATTERN = Pattern.compile(_REGEX);
@@ -96,8 +100,64 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
+    }
+
+    /**
+     * The phase duration (wall time) in microseconds.
+     */
+    private long duration;
+
+    /**
+     * The log entry for the event.
+     */
+    private String logEntry;
+
+    /**
+     * Whether the log entry has been parsed. Parsing is deferred until the data is used, so identifying the logging
+     * (e.g. when preprocessing) does not pay for it.
+     */
+    private boolean parsed;
+
+    /**
+     * The phase, or null if the logging is not the end of a phase.
+     */
+    private String phase;
+
+    /**
+     * The wall (clock) time in centiseconds.
+     */
+    private int timeReal = TimesData.NO_DATA;
+
+    /**
+     * The time when the GC event started in milliseconds after JVM startup.
+     */
+    private long timestamp;
+
+    /**
+     * The time of all system (kernel) threads added together in centiseconds.
+     */
+    private int timeSys = TimesData.NO_DATA;
+
+    /**
+     * The time of all user (non-kernel) threads added together in centiseconds.
+     */
+    private int timeUser = TimesData.NO_DATA;
+
+    /**
+     * Create event from log entry.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     */
+    public CmsConcurrentEvent(String logEntry) {
+        this.logEntry = logEntry;
+    }
+
+    public long getDurationMicros() {
+        parse();
+        return duration;
     }
 
     @Override
@@ -106,14 +166,97 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
     }
 
     public String getLogEntry() {
-        throw new UnsupportedOperationException("Event does not include log entry information");
+        return logEntry;
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.CMS_CONCURRENT;
     }
 
     public String getName() {
         return JdkUtil.LogEventType.CMS_CONCURRENT.toString();
     }
 
+    public int getParallelism() {
+        parse();
+        return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
+    }
+
+    public String getPhase() {
+        parse();
+        return phase;
+    }
+
+    public int getTimeReal() {
+        parse();
+        return timeReal;
+    }
+
     public long getTimestamp() {
-        return 0;
+        parse();
+        return timestamp;
+    }
+
+    public int getTimeSys() {
+        parse();
+        return timeSys;
+    }
+
+    public int getTimeUser() {
+        parse();
+        return timeUser;
+    }
+
+    public boolean isCycle() {
+        return false;
+    }
+
+    public boolean isMark() {
+        String phase = getPhase();
+        return phase != null && phase.equals("CMS-concurrent-mark");
+    }
+
+    /**
+     * Parse the phase, duration, and times data. Numbers are parsed in place to limit allocation, since concurrent
+     * logging is high volume.
+     */
+    private void parse() {
+        if (parsed) {
+            return;
+        }
+        parsed = true;
+        if (logEntry == null) {
+            return;
+        }
+        Matcher matcher = PATTERN.matcher(logEntry);
+        if (!matcher.matches()) {
+            return;
+        }
+        if (matcher.group(JdkUtil.DECORATOR_SIZE + 15) != null
+                && matcher.group(JdkUtil.DECORATOR_SIZE + 15).matches(JdkRegEx.TIMESTAMP)) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(JdkUtil.DECORATOR_SIZE + 15)).longValue();
+        } else if (matcher.group(JdkUtil.DECORATOR_SIZE + 3).matches(JdkRegEx.TIMESTAMP)) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(JdkUtil.DECORATOR_SIZE + 3)).longValue();
+        } else {
+            // Datestamp only.
+            timestamp = JdkUtil.convertDatestampToMillis(matcher.group(JdkUtil.DECORATOR_SIZE + 3));
+        }
+        if (matcher.group(JdkUtil.DECORATOR_SIZE + 18) != null) {
+            // "cpu/wall secs"
+            int fractionStart = matcher.start(JdkUtil.DECORATOR_SIZE + 19);
+            int fractionEnd = matcher.end(JdkUtil.DECORATOR_SIZE + 19);
+            int wallStart = logEntry.indexOf('/', fractionStart) + 1;
+            phase = matcher.group(JdkUtil.DECORATOR_SIZE + 16);
+            duration = JdkMath.parseDecimal(logEntry, wallStart, fractionEnd, 6);
+            timestamp = timestamp - duration / 1000;
+        }
+        if (matcher.group(JdkUtil.DECORATOR_SIZE + 20) != null) {
+            timeUser = (int) JdkMath.parseDecimal(logEntry, matcher.start(JdkUtil.DECORATOR_SIZE + 21),
+                    matcher.end(JdkUtil.DECORATOR_SIZE + 21), 2);
+            timeSys = (int) JdkMath.parseDecimal(logEntry, matcher.start(JdkUtil.DECORATOR_SIZE + 22),
+                    matcher.end(JdkUtil.DECORATOR_SIZE + 22), 2);
+            timeReal = (int) JdkMath.parseDecimal(logEntry, matcher.start(JdkUtil.DECORATOR_SIZE + 23),
+                    matcher.end(JdkUtil.DECORATOR_SIZE + 23), 2);
+        }
     }
 }
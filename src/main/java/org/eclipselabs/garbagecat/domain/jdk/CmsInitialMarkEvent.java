@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -75,8 +76,8 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -87,7 +88,7 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * The wall (clock) time in centiseconds.
@@ -170,7 +171,11 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.CMS_INITIAL_MARK;
     }
 
     public String getName() {
@@ -200,4 +205,8 @@ public class CmsInitialMarkEvent extends CmsCollector implements BlockingEvent,
     public GcTrigger getTrigger() {
         return trigger;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
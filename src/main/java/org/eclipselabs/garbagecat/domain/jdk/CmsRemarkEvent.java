@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -182,9 +183,9 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() || REGEX_CLASS_UNLOADING_PATTERN.matcher(logLine).matches()
-                || REGEX_TRUNCATED_PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(REGEX_PATTERN, logLine) || RegexGuard.matches(REGEX_CLASS_UNLOADING_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_TRUNCATED_PATTERN, logLine);
     }
 
     /**
@@ -201,7 +202,7 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * The wall (clock) time in centiseconds.
@@ -346,7 +347,11 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.CMS_REMARK;
     }
 
     public String getName() {
@@ -380,4 +385,8 @@ public class CmsRemarkEvent extends CmsIncrementalModeCollector
     public boolean isClassUnloading() {
         return classUnloading;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
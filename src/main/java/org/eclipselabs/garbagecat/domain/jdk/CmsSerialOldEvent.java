@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -222,8 +223,8 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static boolean match(String logLine) {
-        return REGEX_FULL_GC_PATTERN.matcher(logLine).matches() || REGEX_GC_PATTERN.matcher(logLine).matches();
+    public static boolean match(CharSequence logLine) {
+        return RegexGuard.matches(REGEX_FULL_GC_PATTERN, logLine) || RegexGuard.matches(REGEX_GC_PATTERN, logLine);
     }
 
     /**
@@ -234,7 +235,7 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Old generation size at beginning of GC event.
@@ -452,7 +453,11 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.CMS_SERIAL_OLD;
     }
 
     public String getName() {
@@ -527,6 +532,10 @@ public class CmsSerialOldEvent extends CmsIncrementalModeCollector
         this.logEntry = logEntry;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+
     protected void setOldOccupancyEnd(Memory oldEnd) {
         this.oldEnd = oldEnd;
     }
@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 
@@ -559,11 +560,11 @@ public class FooterStatsEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean match = false;
         for (int i = 0; i < REGEX_PATTERN_LIST.size(); i++) {
             Pattern pattern = REGEX_PATTERN_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (RegexGuard.matches(pattern, logLine)) {
                 match = true;
                 break;
             }
@@ -596,6 +597,10 @@ public class FooterStatsEvent implements ThrowAwayEvent {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.FOOTER_STATS;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.FOOTER_STATS.toString();
     }
@@ -23,6 +23,7 @@ import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -87,8 +88,8 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -114,7 +115,7 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * The wall (clock) time in centiseconds.
@@ -201,7 +202,11 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.G1_CLEANUP;
     }
 
     public String getName() {
@@ -227,4 +232,8 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
     public int getTimeUser() {
         return timeUser;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
@@ -15,9 +15,11 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.eclipselabs.garbagecat.domain.ConcurrentData;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -106,14 +108,14 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  * @author James Livingston
  * 
  */
-public class G1ConcurrentEvent extends G1Collector implements LogEvent, ParallelEvent {
+public class G1ConcurrentEvent extends G1Collector implements LogEvent, ParallelEvent, ConcurrentData, TimesData {
 
     /**
      * Regular expressions defining the logging.
      */
     private static final String _REGEX = "^" + JdkRegEx.DECORATOR
-            + " \\[GC concurrent-(((root-region-scan|mark|cleanup)-(start|end|abort|reset-for-overflow))"
-            + "|string-deduplication)(\\])?(,)?( " + JdkRegEx.DURATION + ")?(\\])?( " + JdkRegEx.SIZE + "->"
+            + " \\[GC ((concurrent-(root-region-scan|mark|cleanup))-(start|end|abort|reset-for-overflow)"
+            + "|(concurrent-string-deduplication))(\\])?(,)?( " + JdkRegEx.DURATION + ")?(\\])?( " + JdkRegEx.SIZE + "->"
             + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\))?(, avg " + JdkRegEx.PERCENT + ", " + JdkRegEx.DURATION
             + "\\])?" + TimesData.REGEX + "?[ ]*$";
 
@@ -126,20 +128,51 @@ public class G1ConcurrentEvent extends G1Collector implements LogEvent, Parallel
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
+    /**
+     * The phase duration in microseconds.
+     */
+    private long duration;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
     private String logEntry;
 
+    /**
+     * The index in the log entry of the start of the phase, or -1 if the logging is not the end of a phase. The phase
+     * is only extracted if it is used.
+     */
+    private int phaseStart = -1;
+
+    /**
+     * The index in the log entry after the end of the phase.
+     */
+    private int phaseEnd;
+
+    /**
+     * The wall (clock) time in centiseconds.
+     */
+    private int timeReal = TimesData.NO_DATA;
+
     /**
      * The time when the GC event started in milliseconds after JVM startup.
      */
     private long timestamp;
 
+    /**
+     * The time of all system (kernel) threads added together in centiseconds.
+     */
+    private int timeSys = TimesData.NO_DATA;
+
+    /**
+     * The time of all user (non-kernel) threads added together in centiseconds.
+     */
+    private int timeUser = TimesData.NO_DATA;
+
     /**
      * Create event from log entry.
      * 
@@ -158,18 +191,69 @@ public class G1ConcurrentEvent extends G1Collector implements LogEvent, Parallel
                 // Datestamp only.
                 timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
             }
+            // Phase end durations are parsed in place to limit allocation, since concurrent logging is high volume.
+            if (matcher.group(22) != null && "end".equals(matcher.group(17))) {
+                phaseStart = matcher.start(15);
+                phaseEnd = matcher.end(15);
+                duration = JdkMath.parseDecimal(logEntry, matcher.start(22), matcher.end(22), 6);
+            } else if (matcher.group(37) != null) {
+                phaseStart = matcher.start(18);
+                phaseEnd = matcher.end(18);
+                duration = JdkMath.parseDecimal(logEntry, matcher.start(37), matcher.end(37), 6);
+            }
+            if (matcher.group(40) != null) {
+                timeUser = (int) JdkMath.parseDecimal(logEntry, matcher.start(41), matcher.end(41), 2);
+                timeSys = (int) JdkMath.parseDecimal(logEntry, matcher.start(42), matcher.end(42), 2);
+                timeReal = (int) JdkMath.parseDecimal(logEntry, matcher.start(43), matcher.end(43), 2);
+            }
         }
     }
 
+    public long getDurationMicros() {
+        return duration;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.G1_CONCURRENT;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.G1_CONCURRENT.toString();
     }
 
+    public int getParallelism() {
+        return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
+    }
+
+    public String getPhase() {
+        return phaseStart < 0 ? null : logEntry.substring(phaseStart, phaseEnd);
+    }
+
+    public int getTimeReal() {
+        return timeReal;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
+
+    public int getTimeSys() {
+        return timeSys;
+    }
+
+    public int getTimeUser() {
+        return timeUser;
+    }
+
+    public boolean isCycle() {
+        return false;
+    }
+
+    public boolean isMark() {
+        return phaseStart >= 0 && logEntry.startsWith("concurrent-mark", phaseStart);
+    }
 }
@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -121,8 +122,8 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches() || PATTERN_PREPROCESSED.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine) || RegexGuard.matches(PATTERN_PREPROCESSED, logLine);
     }
 
     /**
@@ -148,7 +149,7 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Permanent generation size at beginning of GC event.
@@ -291,7 +292,11 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.G1_FULL_GC_SERIAL;
     }
 
     public String getName() {
@@ -342,6 +347,10 @@ public class G1FullGcEvent extends G1Collector implements BlockingEvent, YoungCo
         this.logEntry = logEntry;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+
     protected void setPermOccupancyEnd(Memory permGenEnd) {
         this.permGenEnd = permGenEnd;
     }
@@ -26,6 +26,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -115,8 +116,8 @@ public class G1MixedPauseEvent extends G1Collector implements BlockingEvent, Par
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() || REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(REGEX_PATTERN, logLine) || RegexGuard.matches(REGEX_PREPROCESSED_PATTERN, logLine);
     }
 
     /**
@@ -147,7 +148,7 @@ public class G1MixedPauseEvent extends G1Collector implements BlockingEvent, Par
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Time spent outside of garbage collection in microseconds (rounded).
@@ -291,7 +292,11 @@ public class G1MixedPauseEvent extends G1Collector implements BlockingEvent, Par
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.G1_MIXED_PAUSE;
     }
 
     public String getName() {
@@ -326,4 +331,8 @@ public class G1MixedPauseEvent extends G1Collector implements BlockingEvent, Par
     public GcTrigger getTrigger() {
         return trigger;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
@@ -18,6 +18,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -69,8 +70,8 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -81,7 +82,7 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * The wall (clock) time in centiseconds.
@@ -151,7 +152,11 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.G1_REMARK;
     }
 
     public String getName() {
@@ -177,4 +182,8 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
     public int getTimeUser() {
         return timeUser;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
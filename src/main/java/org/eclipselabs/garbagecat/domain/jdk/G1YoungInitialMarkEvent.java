@@ -26,6 +26,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -116,8 +117,8 @@ public class G1YoungInitialMarkEvent extends G1Collector implements BlockingEven
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() || REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(REGEX_PATTERN, logLine) || RegexGuard.matches(REGEX_PREPROCESSED_PATTERN, logLine);
     }
 
     /**
@@ -147,7 +148,7 @@ public class G1YoungInitialMarkEvent extends G1Collector implements BlockingEven
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Time spent outside of garbage collection in microseconds (rounded).
@@ -301,7 +302,11 @@ public class G1YoungInitialMarkEvent extends G1Collector implements BlockingEven
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.G1_YOUNG_INITIAL_MARK;
     }
 
     public String getName() {
@@ -336,4 +341,8 @@ public class G1YoungInitialMarkEvent extends G1Collector implements BlockingEven
     public GcTrigger getTrigger() {
         return trigger;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
@@ -27,6 +27,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -164,10 +165,11 @@ public class G1YoungPauseEvent extends G1Collector implements BlockingEvent, You
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return REGEX_PATTERN.matcher(logLine).matches() || REGEX_PREPROCESSED_DETAILS_PATTERN.matcher(logLine).matches()
-                || REGEX_PREPROCESSED_PATTERN.matcher(logLine).matches()
-                || REGEX_PREPROCESSED_NO_DURATION_PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(REGEX_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_PREPROCESSED_DETAILS_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_PREPROCESSED_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_PREPROCESSED_NO_DURATION_PATTERN, logLine);
     }
 
     /**
@@ -209,7 +211,7 @@ public class G1YoungPauseEvent extends G1Collector implements BlockingEvent, You
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Time spent outside of garbage collection in microseconds (rounded).
@@ -405,7 +407,11 @@ public class G1YoungPauseEvent extends G1Collector implements BlockingEvent, You
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.G1_YOUNG_PAUSE;
     }
 
     public String getName() {
@@ -440,4 +446,8 @@ public class G1YoungPauseEvent extends G1Collector implements BlockingEvent, You
     public GcTrigger getTrigger() {
         return trigger;
     }
-}
\ No newline at end of file
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+}
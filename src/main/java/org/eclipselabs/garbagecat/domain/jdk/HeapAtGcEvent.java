@@ -12,11 +12,8 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
-
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.PatternFilter;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -258,13 +255,10 @@ public class HeapAtGcEvent implements ThrowAwayEvent {
             //
     };
 
-    private static final List<Pattern> REGEX_LIST = new ArrayList<>(REGEX.length);
-
-    static {
-        for (String regex : REGEX) {
-            REGEX_LIST.add(Pattern.compile(regex));
-        }
-    }
+    /**
+     * Matches the event patterns.
+     */
+    private static final PatternFilter PATTERN_FILTER = new PatternFilter("HEAP_AT_GC", REGEX);
 
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
@@ -273,14 +267,10 @@ public class HeapAtGcEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean isMatch = false;
-        for (int i = 0; i < REGEX_LIST.size(); i++) {
-            Pattern pattern = REGEX_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
-                isMatch = true;
-                break;
-            }
+        if (PATTERN_FILTER.matches(logLine)) {
+            isMatch = true;
         }
         return isMatch;
     }
@@ -310,6 +300,10 @@ public class HeapAtGcEvent implements ThrowAwayEvent {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.HEAP_AT_GC;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.HEAP_AT_GC.toString();
     }
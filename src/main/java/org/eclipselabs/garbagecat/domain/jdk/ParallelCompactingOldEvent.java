@@ -27,6 +27,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -116,8 +117,8 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -128,7 +129,7 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Old generation size at beginning of GC event.
@@ -266,7 +267,11 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.PARALLEL_COMPACTING_OLD;
     }
 
     public String getName() {
@@ -332,4 +337,8 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
     public Memory getYoungSpace() {
         return youngAvailable;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
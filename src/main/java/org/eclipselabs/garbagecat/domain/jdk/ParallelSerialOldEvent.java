@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -108,8 +109,8 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -120,7 +121,7 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Old generation size at beginning of GC event.
@@ -259,7 +260,11 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.PARALLEL_SERIAL_OLD;
     }
 
     public String getName() {
@@ -334,6 +339,10 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
         this.logEntry = logEntry;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+
     protected void setOldOccupancyEnd(Memory oldEnd) {
         this.oldEnd = oldEnd;
     }
@@ -25,6 +25,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -104,8 +105,8 @@ public class SerialNewEvent extends SerialCollector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -116,7 +117,7 @@ public class SerialNewEvent extends SerialCollector
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Old generation size at beginning of GC event.
@@ -232,7 +233,11 @@ public class SerialNewEvent extends SerialCollector
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.SERIAL_NEW;
     }
 
     public String getName() {
@@ -295,6 +300,10 @@ public class SerialNewEvent extends SerialCollector
         return youngAvailable;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+
     protected void setTrigger(GcTrigger trigger) {
         this.trigger = trigger;
     }
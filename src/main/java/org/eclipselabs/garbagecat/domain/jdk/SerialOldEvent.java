@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -123,8 +124,8 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -135,7 +136,7 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Old generation size at beginning of GC event.
@@ -281,7 +282,11 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.SERIAL_OLD;
     }
 
     public String getName() {
@@ -356,6 +361,10 @@ public class SerialOldEvent extends SerialCollector implements BlockingEvent, Yo
         this.logEntry = logEntry;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+
     protected void setOldOccupancyEnd(Memory oldEnd) {
         this.oldEnd = oldEnd;
     }
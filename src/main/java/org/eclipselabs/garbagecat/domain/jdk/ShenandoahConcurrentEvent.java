@@ -19,10 +19,12 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.ConcurrentData;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -147,16 +149,16 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
  * 
  */
 public class ShenandoahConcurrentEvent extends ShenandoahCollector
-        implements LogEvent, ParallelEvent, CombinedData, PermMetaspaceData {
+        implements LogEvent, ParallelEvent, CombinedData, PermMetaspaceData, ConcurrentData {
 
     /**
      * Regular expressions defining the logging.
      */
     private static final String _REGEX = "^(" + JdkRegEx.DECORATOR + "|" + UnifiedRegEx.DECORATOR
-            + ") [\\[]{0,1}Concurrent (class unloading|cleanup|evacuation|"
+            + ") [\\[]{0,1}(Concurrent (class unloading|cleanup|evacuation|"
             + "marking( \\((process weakrefs|unload classes|update refs)\\)| roots)?"
             + "( \\((process weakrefs|unload classes)\\))?|precleaning|reset|uncommit|uncommit, start|"
-            + "(update|weak) references|(strong|thread|update thread|weak) roots)(( " + JdkRegEx.SIZE + "->"
+            + "(update|weak) references|(strong|thread|update thread|weak) roots))(( " + JdkRegEx.SIZE + "->"
             + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\))?[,]{0,1} " + JdkRegEx.DURATION_MS
             + ")?[\\]]{0,1}([,]{0,1} [\\[]{0,1}Metaspace: " + JdkRegEx.SIZE + "(\\(" + JdkRegEx.SIZE + "\\))?->"
             + JdkRegEx.SIZE + "\\(" + JdkRegEx.SIZE + "\\)[\\]]{0,1})?[ ]*$";
@@ -170,8 +172,8 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -189,6 +191,11 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
      */
     private Memory combinedEnd;
 
+    /**
+     * The phase duration in microseconds.
+     */
+    private long duration;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -209,6 +216,17 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
      */
     private Memory permGenEnd;
 
+    /**
+     * The index in the log entry after the end of the phase.
+     */
+    private int phaseEnd;
+
+    /**
+     * The index in the log entry of the start of the phase, or -1 if the logging is not the end of a phase. The phase
+     * is only extracted if it is used.
+     */
+    private int phaseStart = -1;
+
     /**
      * The time when the GC event started in milliseconds after JVM startup.
      */
@@ -225,11 +243,16 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
         Matcher matcher = PATTERN.matcher(logEntry);
         if (matcher.find()) {
             int duration = 0;
-            if (matcher.group(JdkUtil.DECORATOR_SIZE + UnifiedRegEx.DECORATOR_SIZE + 20) != null) {
+            if (matcher.group(JdkUtil.DECORATOR_SIZE + UnifiedRegEx.DECORATOR_SIZE + 21) != null) {
                 duration = JdkMath
-                        .convertMillisToMicros(matcher.group(JdkUtil.DECORATOR_SIZE + UnifiedRegEx.DECORATOR_SIZE + 20))
+                        .convertMillisToMicros(matcher.group(JdkUtil.DECORATOR_SIZE + UnifiedRegEx.DECORATOR_SIZE + 21))
                         .intValue();
             }
+            if (duration > 0) {
+                phaseStart = matcher.start(JdkUtil.DECORATOR_SIZE + UnifiedRegEx.DECORATOR_SIZE + 2);
+                phaseEnd = matcher.end(JdkUtil.DECORATOR_SIZE + UnifiedRegEx.DECORATOR_SIZE + 2);
+                this.duration = duration;
+            }
             if (matcher.group(1).matches(UnifiedRegEx.DECORATOR)) {
                 long endTimestamp;
                 if (matcher.group(JdkUtil.DECORATOR_SIZE + 3).matches(UnifiedRegEx.UPTIMEMILLIS)) {
@@ -262,20 +285,20 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
                     timestamp = JdkUtil.convertDatestampToMillis(matcher.group(2));
                 }
             }
-            if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 23) != null) {
-                combined = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 24),
-                        matcher.group(UnifiedRegEx.DECORATOR_SIZE + 26).charAt(0)).convertTo(KILOBYTES);
-                combinedEnd = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 27),
-                        matcher.group(UnifiedRegEx.DECORATOR_SIZE + 29).charAt(0)).convertTo(KILOBYTES);
-                combinedAvailable = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 30),
-                        matcher.group(UnifiedRegEx.DECORATOR_SIZE + 32).charAt(0)).convertTo(KILOBYTES);
-                if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 34) != null) {
-                    permGen = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 35),
-                            matcher.group(UnifiedRegEx.DECORATOR_SIZE + 37).charAt(0)).convertTo(KILOBYTES);
-                    permGenEnd = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 42),
-                            matcher.group(UnifiedRegEx.DECORATOR_SIZE + 44).charAt(0)).convertTo(KILOBYTES);
-                    permGenAllocation = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 45),
-                            matcher.group(UnifiedRegEx.DECORATOR_SIZE + 47).charAt(0)).convertTo(KILOBYTES);
+            if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 24) != null) {
+                combined = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 25),
+                        matcher.group(UnifiedRegEx.DECORATOR_SIZE + 27).charAt(0)).convertTo(KILOBYTES);
+                combinedEnd = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 28),
+                        matcher.group(UnifiedRegEx.DECORATOR_SIZE + 30).charAt(0)).convertTo(KILOBYTES);
+                combinedAvailable = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 31),
+                        matcher.group(UnifiedRegEx.DECORATOR_SIZE + 33).charAt(0)).convertTo(KILOBYTES);
+                if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 35) != null) {
+                    permGen = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 36),
+                            matcher.group(UnifiedRegEx.DECORATOR_SIZE + 38).charAt(0)).convertTo(KILOBYTES);
+                    permGenEnd = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 43),
+                            matcher.group(UnifiedRegEx.DECORATOR_SIZE + 45).charAt(0)).convertTo(KILOBYTES);
+                    permGenAllocation = memory(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 46),
+                            matcher.group(UnifiedRegEx.DECORATOR_SIZE + 48).charAt(0)).convertTo(KILOBYTES);
                 }
             }
 
@@ -294,10 +317,18 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
         return combinedAvailable;
     }
 
+    public long getDurationMicros() {
+        return duration;
+    }
+
     public String getLogEntry() {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_CONCURRENT;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.SHENANDOAH_CONCURRENT.toString();
     }
@@ -314,10 +345,23 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
         return permGenAllocation;
     }
 
+    public String getPhase() {
+        return phaseStart < 0 ? null : logEntry.substring(phaseStart, phaseEnd);
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
 
+    public boolean isCycle() {
+        return false;
+    }
+
+    public boolean isMark() {
+        return phaseStart >= 0 && logEntry.startsWith("Concurrent marking", phaseStart)
+                && !logEntry.startsWith("Concurrent marking roots", phaseStart);
+    }
+
     protected void setPermOccupancyEnd(Memory permGenEnd) {
         this.permGenEnd = permGenEnd;
     }
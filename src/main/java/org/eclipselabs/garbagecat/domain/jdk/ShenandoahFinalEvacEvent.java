@@ -17,6 +17,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -69,8 +70,8 @@ public class ShenandoahFinalEvacEvent extends ShenandoahCollector implements Blo
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -81,7 +82,7 @@ public class ShenandoahFinalEvacEvent extends ShenandoahCollector implements Blo
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * The time when the GC event started in milliseconds after JVM startup.
@@ -157,7 +158,11 @@ public class ShenandoahFinalEvacEvent extends ShenandoahCollector implements Blo
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.SHENANDOAH_FINAL_EVAC;
     }
 
     public String getName() {
@@ -167,4 +172,8 @@ public class ShenandoahFinalEvacEvent extends ShenandoahCollector implements Blo
     public long getTimestamp() {
         return timestamp;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
@@ -12,7 +12,12 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -140,6 +145,14 @@ public class TenuringDistributionEvent implements ThrowAwayEvent {
             //
             "^- age[ ]+\\d{1,2}:[ ]+\\d{1,11} bytes,[ ]+\\d{1,11} total$" };
 
+    private static final List<Pattern> REGEX_PATTERN_LIST = new ArrayList<>(REGEX.length);
+
+    static {
+        for (String regex : REGEX) {
+            REGEX_PATTERN_LIST.add(Pattern.compile(regex));
+        }
+    }
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -147,10 +160,11 @@ public class TenuringDistributionEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean isMatch = false;
-        for (int i = 0; i < REGEX.length; i++) {
-            if (logLine.matches(REGEX[i])) {
+        for (int i = 0; i < REGEX_PATTERN_LIST.size(); i++) {
+            Pattern pattern = REGEX_PATTERN_LIST.get(i);
+            if (RegexGuard.matches(pattern, logLine)) {
                 isMatch = true;
                 break;
             }
@@ -183,6 +197,10 @@ public class TenuringDistributionEvent implements ThrowAwayEvent {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.TENURING_DISTRIBUTION;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.TENURING_DISTRIBUTION.toString();
     }
@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -161,9 +162,9 @@ public class ThreadDumpEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         for (int i = 0; i < PATTERN.length; i++) {
-            if (PATTERN[i].matcher(logLine).matches()) {
+            if (RegexGuard.matches(PATTERN[i], logLine)) {
                 return true;
             }
         }
@@ -194,6 +195,10 @@ public class ThreadDumpEvent implements ThrowAwayEvent {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.THREAD_DUMP;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.THREAD_DUMP.toString();
     }
@@ -14,14 +14,19 @@ package org.eclipselabs.garbagecat.domain.jdk.unified;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.eclipselabs.garbagecat.domain.ConcurrentData;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.jdk.UnknownCollector;
+import org.eclipselabs.garbagecat.util.RegexGuard;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -192,7 +197,8 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
  * 
  */
-public class UnifiedConcurrentEvent extends UnknownCollector implements UnifiedLogging, ParallelEvent {
+public class UnifiedConcurrentEvent extends UnknownCollector
+        implements UnifiedLogging, ParallelEvent, ConcurrentData, TimesData {
 
     /**
      * Regular expressions defining the logging.
@@ -230,11 +236,11 @@ public class UnifiedConcurrentEvent extends UnknownCollector implements UnifiedL
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean match = false;
         for (int i = 0; i < REGEX_PATTERN_LIST.size(); i++) {
             Pattern pattern = REGEX_PATTERN_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
+            if (RegexGuard.matches(pattern, logLine)) {
                 match = true;
                 break;
             }
@@ -242,25 +248,174 @@ public class UnifiedConcurrentEvent extends UnknownCollector implements UnifiedL
         return match;
     }
 
+    /**
+     * The phase duration in microseconds.
+     */
+    private long duration;
+
+    /**
+     * The log entry for the event.
+     */
+    private String logEntry;
+
+    /**
+     * Whether the log entry has been parsed. Parsing is deferred until the data is used, so identifying the logging
+     * (e.g. when preprocessing) does not pay for it.
+     */
+    private boolean parsed;
+
+    /**
+     * The phase, or null if the logging is not the end of a phase.
+     */
+    private String phase;
+
+    /**
+     * The wall (clock) time in centiseconds.
+     */
+    private int timeReal = TimesData.NO_DATA;
+
+    /**
+     * The time when the phase started in milliseconds after JVM startup.
+     */
+    private long timestamp;
+
+    /**
+     * The time of all system (kernel) threads added together in centiseconds.
+     */
+    private int timeSys = TimesData.NO_DATA;
+
+    /**
+     * The time of all user (non-kernel) threads added together in centiseconds.
+     */
+    private int timeUser = TimesData.NO_DATA;
+
+    /**
+     * Create event from log entry.
+     * 
+     * @param logEntry
+     *            The log entry for the event.
+     */
+    public UnifiedConcurrentEvent(String logEntry) {
+        this.logEntry = logEntry;
+    }
+
+    public long getDurationMicros() {
+        parse();
+        return duration;
+    }
+
     public String getLogEntry() {
-        throw new UnsupportedOperationException("Event does not include log entry information");
+        return logEntry;
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.UNIFIED_CONCURRENT;
     }
 
     public String getName() {
         return JdkUtil.LogEventType.UNIFIED_CONCURRENT.toString();
     }
 
+    public int getParallelism() {
+        parse();
+        return JdkMath.calcParallelism(timeUser, timeSys, timeReal);
+    }
+
+    public String getPhase() {
+        parse();
+        return phase;
+    }
+
     @Override
     public Tag getTag() {
         return Tag.UNKNOWN;
     }
 
+    public int getTimeReal() {
+        parse();
+        return timeReal;
+    }
+
     public long getTimestamp() {
-        return 0;
+        parse();
+        return timestamp;
+    }
+
+    public int getTimeSys() {
+        parse();
+        return timeSys;
+    }
+
+    public int getTimeUser() {
+        parse();
+        return timeUser;
+    }
+
+    public boolean isCycle() {
+        String phase = getPhase();
+        return phase != null && (phase.equals("Concurrent Cycle") || phase.equals("Concurrent Mark Cycle")
+                || phase.equals("Concurrent Undo Cycle"));
     }
 
     public boolean isEndstamp() {
         boolean isEndStamp = false;
         return isEndStamp;
     }
+
+    /**
+     * Generational ZGC marks the young and old generations separately in a major collection, so only the young
+     * generation mark, which is part of every collection, is counted.
+     */
+    public boolean isMark() {
+        String phase = getPhase();
+        return phase != null
+                && (phase.equals("Concurrent Mark") || phase.equals("Y: Concurrent Mark")
+                        || phase.equals("y: Concurrent Mark"));
+    }
+
+    /**
+     * Parse the phase, duration, and times data. Numbers are parsed in place to limit allocation, since concurrent
+     * logging is high volume.
+     */
+    private void parse() {
+        if (parsed) {
+            return;
+        }
+        parsed = true;
+        if (logEntry == null) {
+            return;
+        }
+        Matcher matcher = REGEX_PATTERN_LIST.get(1).matcher(logEntry);
+        if (matcher.matches()) {
+            if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 9) != null) {
+                // Include the generation (e.g. "Y: Concurrent Mark") with generational collectors.
+                int phaseStart = matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1) == null
+                        ? matcher.start(UnifiedRegEx.DECORATOR_SIZE + 2)
+                        : matcher.start(UnifiedRegEx.DECORATOR_SIZE + 1) + 1;
+                phase = logEntry.substring(phaseStart, matcher.end(UnifiedRegEx.DECORATOR_SIZE + 2));
+                duration = JdkMath.parseDecimal(logEntry, matcher.start(UnifiedRegEx.DECORATOR_SIZE + 9),
+                        matcher.end(UnifiedRegEx.DECORATOR_SIZE + 9), 3);
+            }
+            if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 10) != null) {
+                timeUser = (int) JdkMath.parseDecimal(logEntry, matcher.start(UnifiedRegEx.DECORATOR_SIZE + 11),
+                        matcher.end(UnifiedRegEx.DECORATOR_SIZE + 11), 2);
+                timeSys = (int) JdkMath.parseDecimal(logEntry, matcher.start(UnifiedRegEx.DECORATOR_SIZE + 12),
+                        matcher.end(UnifiedRegEx.DECORATOR_SIZE + 12), 2);
+                timeReal = (int) JdkMath.parseDecimal(logEntry, matcher.start(UnifiedRegEx.DECORATOR_SIZE + 13),
+                        matcher.end(UnifiedRegEx.DECORATOR_SIZE + 13), 2);
+            }
+        } else {
+            matcher = REGEX_PATTERN_LIST.get(0).matcher(logEntry);
+            if (!matcher.matches()) {
+                // Informational logging.
+                return;
+            }
+            if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1) != null) {
+                phase = "Concurrent Cycle";
+                duration = JdkMath.parseDecimal(logEntry, matcher.start(UnifiedRegEx.DECORATOR_SIZE + 2),
+                        matcher.end(UnifiedRegEx.DECORATOR_SIZE + 2), 3);
+            }
+        }
+        timestamp = UnifiedUtil.calculateTime(matcher) - duration / 1000;
+    }
 }
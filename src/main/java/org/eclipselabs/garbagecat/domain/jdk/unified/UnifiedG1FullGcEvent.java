@@ -95,7 +95,7 @@ public class UnifiedG1FullGcEvent extends G1Collector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean match = false;
         Matcher matcher = PATTERN.matcher(logLine);
         if (matcher.find()) {
@@ -142,7 +142,7 @@ public class UnifiedG1FullGcEvent extends G1Collector
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Permanent generation size at beginning of GC event.
@@ -260,7 +260,11 @@ public class UnifiedG1FullGcEvent extends G1Collector
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.G1_FULL_GC_PARALLEL;
     }
 
     public String getName() {
@@ -311,10 +315,14 @@ public class UnifiedG1FullGcEvent extends G1Collector
     public boolean isEndstamp() {
         // default assumes gc,start not logged (e.g. not preprocessed)
         boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
+        isEndStamp = !getLogEntry().matches(UnifiedRegEx.TAG_GC_START);
         return isEndStamp;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+
     protected void setPermOccupancyEnd(Memory permGenEnd) {
         this.permGenEnd = permGenEnd;
     }
@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -89,8 +90,8 @@ public class UnifiedG1MixedPauseEvent extends G1Collector implements UnifiedLogg
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -115,7 +116,7 @@ public class UnifiedG1MixedPauseEvent extends G1Collector implements UnifiedLogg
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
     /**
      * Time spent outside of garbage collection in microseconds (rounded).
      */
@@ -242,7 +243,11 @@ public class UnifiedG1MixedPauseEvent extends G1Collector implements UnifiedLogg
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.UNIFIED_G1_MIXED_PAUSE;
     }
 
     public String getName() {
@@ -298,10 +303,14 @@ public class UnifiedG1MixedPauseEvent extends G1Collector implements UnifiedLogg
     public boolean isEndstamp() {
         // default assumes gc,start not logged (e.g. not preprocessed)
         boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
+        isEndStamp = !getLogEntry().matches(UnifiedRegEx.TAG_GC_START);
         return isEndStamp;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+
     protected void setPermOccupancyEnd(Memory permGenEnd) {
         this.permGenEnd = permGenEnd;
     }
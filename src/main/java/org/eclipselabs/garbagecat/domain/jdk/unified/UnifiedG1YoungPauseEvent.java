@@ -31,6 +31,7 @@ import org.eclipselabs.garbagecat.domain.jdk.G1ExtRootScanningData;
 import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -118,8 +119,8 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -150,7 +151,7 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * Time spent outside of garbage collection in microseconds (rounded).
@@ -286,7 +287,11 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.UNIFIED_G1_YOUNG_PAUSE;
     }
 
     public String getName() {
@@ -342,7 +347,7 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
     public boolean isEndstamp() {
         // default assumes gc,start not logged (e.g. not preprocessed)
         boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
+        isEndStamp = !getLogEntry().matches(UnifiedRegEx.TAG_GC_START);
         return isEndStamp;
     }
 
@@ -351,10 +356,14 @@ public class UnifiedG1YoungPauseEvent extends G1Collector implements UnifiedLogg
      */
     public boolean isToSpaceExhausted() {
         boolean isTooSpaceExhausted = false;
-        isTooSpaceExhausted = logEntry.matches("^.+ " + Constants.G1_TO_SPACE_EXHAUSTED + ".*");
+        isTooSpaceExhausted = getLogEntry().matches("^.+ " + Constants.G1_TO_SPACE_EXHAUSTED + ".*");
         return isTooSpaceExhausted;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+
     protected void setPermOccupancyEnd(Memory permGenEnd) {
         this.permGenEnd = permGenEnd;
     }
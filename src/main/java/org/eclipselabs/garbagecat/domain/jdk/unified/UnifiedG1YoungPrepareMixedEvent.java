@@ -28,6 +28,7 @@ import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
@@ -94,8 +95,8 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -120,7 +121,7 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
     /**
      * Time spent outside of garbage collection in microseconds (rounded).
      */
@@ -245,7 +246,11 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED;
     }
 
     public String getName() {
@@ -301,10 +306,14 @@ public class UnifiedG1YoungPrepareMixedEvent extends G1Collector implements Unif
     public boolean isEndstamp() {
         // default assumes gc,start not logged (e.g. not preprocessed)
         boolean isEndStamp = true;
-        isEndStamp = !logEntry.matches(UnifiedRegEx.TAG_GC_START);
+        isEndStamp = !getLogEntry().matches(UnifiedRegEx.TAG_GC_START);
         return isEndStamp;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
+
     protected void setPermOccupancyEnd(Memory permGenEnd) {
         this.permGenEnd = permGenEnd;
     }
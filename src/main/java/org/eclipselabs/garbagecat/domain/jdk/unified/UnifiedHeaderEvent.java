@@ -16,6 +16,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
@@ -200,6 +201,14 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
 
     private static Pattern PATTERN = Pattern.compile(_REGEX);
 
+    private static final Pattern GARBAGE_COLLECTOR_PATTERN = Pattern.compile(__REGEX_GARBAGE_COLLECTOR);
+
+    private static final Pattern UPTIME_PATTERN = Pattern.compile(UnifiedRegEx.UPTIME);
+
+    private static final Pattern UPTIMEMILLIS_PATTERN = Pattern.compile(UnifiedRegEx.UPTIMEMILLIS);
+
+    private static final Pattern VERSION_PATTERN = Pattern.compile(__REGEX_VERSION);
+
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -207,8 +216,8 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -228,15 +237,15 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
      */
     public UnifiedHeaderEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = PATTERN.matcher(logEntry);
-        if (matcher.find()) {
-            if (matcher.group(2).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+        Matcher matcher = RegexGuard.matcher(PATTERN, logEntry);
+        if (matcher != null) {
+            if (RegexGuard.matches(UPTIMEMILLIS_PATTERN, matcher.group(2))) {
                 timestamp = Long.parseLong(matcher.group(13));
-            } else if (matcher.group(2).matches(UnifiedRegEx.UPTIME)) {
+            } else if (RegexGuard.matches(UPTIME_PATTERN, matcher.group(2))) {
                 timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
             } else {
                 if (matcher.group(15) != null) {
-                    if (matcher.group(15).matches(UnifiedRegEx.UPTIMEMILLIS)) {
+                    if (RegexGuard.matches(UPTIMEMILLIS_PATTERN, matcher.group(15))) {
                         timestamp = Long.parseLong(matcher.group(17));
                     } else {
                         timestamp = JdkMath.convertSecsToMillis(matcher.group(16)).longValue();
@@ -317,6 +326,10 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
         return logEntry;
     }
 
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.UNIFIED_HEADER;
+    }
+
     public String getName() {
         return JdkUtil.LogEventType.UNIFIED_HEADER.toString();
     }
@@ -340,10 +353,11 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
      */
     public boolean isGarbageCollector() {
         boolean isGarbageCollector = false;
-        Matcher matcher = PATTERN.matcher(logEntry);
-        if (matcher.matches()) {
+        Matcher matcher = RegexGuard.matcher(PATTERN, logEntry);
+        if (matcher != null) {
             if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1) != null) {
-                isGarbageCollector = matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1).matches(__REGEX_GARBAGE_COLLECTOR);
+                isGarbageCollector = RegexGuard.matches(GARBAGE_COLLECTOR_PATTERN,
+                        matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1));
             }
         }
         return isGarbageCollector;
@@ -354,10 +368,10 @@ public class UnifiedHeaderEvent implements LogEvent, UnifiedLogging {
      */
     public boolean isVersion() {
         boolean isVersion = false;
-        Matcher matcher = PATTERN.matcher(logEntry);
-        if (matcher.matches()) {
+        Matcher matcher = RegexGuard.matcher(PATTERN, logEntry);
+        if (matcher != null) {
             if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1) != null) {
-                isVersion = matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1).matches(__REGEX_VERSION);
+                isVersion = RegexGuard.matches(VERSION_PATTERN, matcher.group(UnifiedRegEx.DECORATOR_SIZE + 1));
             }
         }
         return isVersion;
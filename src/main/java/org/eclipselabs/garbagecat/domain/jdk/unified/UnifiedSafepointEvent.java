@@ -17,8 +17,10 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.SafepointEvent;
 import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.LineScanner;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
@@ -160,14 +162,82 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches() || PATTERN_JDK17.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return scanJdk17(logLine, null) || RegexGuard.matches(PATTERN, logLine)
+                || RegexGuard.matches(PATTERN_JDK17, logLine);
     }
 
+    /**
+     * Hand-written scanner for the JDK17+ logging, the large majority of lines in logs with safepoint logging enabled.
+     * Tried before the regular expressions, which handle the decorator forms and logging the scanner does not.
+     * 
+     * @param logLine
+     *            The log line.
+     * @param event
+     *            The event to set from the log line, or null to only test the log line.
+     * @return true if the log line is JDK17+ logging the scanner handles, false otherwise.
+     */
+    private static final boolean scanJdk17(CharSequence logLine, UnifiedSafepointEvent event) {
+        LineScanner scanner = new LineScanner(logLine);
+        long time = UnifiedUtil.scanTime(scanner, "safepoint");
+        if (time == LineScanner.NO_NUMBER || !scanner.skip(' ')) {
+            return false;
+        }
+        boolean jdk17u8 = scanner.skip(UnifiedPreprocessAction.JDK17U8);
+        if ((jdk17u8 && !scanner.skip(' ')) || !scanner.skip("Safepoint \"")) {
+            return false;
+        }
+        int triggerStart = scanner.getPosition();
+        int triggerEnd = scanner.skipTo('"');
+        Trigger trigger = triggerEnd < 0 ? null : UnifiedSafepoint.getTrigger(logLine, triggerStart, triggerEnd);
+        if (trigger == null || !scanner.skip("\", Time since last: ")
+                || scanner.readLong(" ns, Reaching safepoint: ") == LineScanner.NO_NUMBER) {
+            return false;
+        }
+        long timeToStopThreads = scanner.readLong(" ns");
+        long timeCleanup = 0;
+        if (timeToStopThreads == LineScanner.NO_NUMBER || (scanner.skip(", Cleanup: ")
+                && (timeCleanup = scanner.readLong(" ns")) == LineScanner.NO_NUMBER)) {
+            return false;
+        }
+        if (!scanner.skip(", At safepoint: ")) {
+            return false;
+        }
+        long timeThreadsStopped = scanner.readLong(" ns, Total: ");
+        if (timeThreadsStopped == LineScanner.NO_NUMBER || scanner.readLong(" ns") == LineScanner.NO_NUMBER) {
+            return false;
+        }
+        scanner.skipSpaces();
+        if (!scanner.isEnd()) {
+            return false;
+        }
+        if (event != null) {
+            event.trigger = trigger;
+            event.timeToStopThreads = timeToStopThreads;
+            event.timeCleanup = timeCleanup;
+            event.timeThreadsStopped = timeThreadsStopped;
+            event.jdk17 = true;
+            event.jdk17u8 = jdk17u8;
+            event.timestamp = time - JdkMath.convertNanosToMillis(event.getDurationNanos()).longValue();
+        }
+        return true;
+    }
+
+    /**
+     * Whether the logging is JDK17+, where the time in the decorator is the end of the safepoint.
+     */
+    private boolean jdk17;
+
+    /**
+     * Whether the logging is JDK17 update 8+ or JDK21, where {@link #timeCleanup} is not included in
+     * {@link #timeToStopThreads}.
+     */
+    private boolean jdk17u8;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * The elapsed clock time spent on internal VM cleanup activities.
@@ -205,6 +275,9 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
      */
     public UnifiedSafepointEvent(String logEntry) {
         this.logEntry = logEntry;
+        if (scanJdk17(logEntry, this)) {
+            return;
+        }
         Matcher matcher;
         if ((matcher = PATTERN.matcher(logEntry)).matches()) {
             matcher.reset();
@@ -235,6 +308,8 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
         } else if ((matcher = PATTERN_JDK17.matcher(logEntry)).matches()) {
             matcher.reset();
             if (matcher.find()) {
+                jdk17 = true;
+                jdk17u8 = matcher.group(UnifiedRegEx.DECORATOR_SIZE + 2) != null;
                 trigger = UnifiedSafepoint.getTrigger(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 3));
                 timeToStopThreads = Long.parseLong(matcher.group(UnifiedRegEx.DECORATOR_SIZE + 4));
                 if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 5) != null) {
@@ -259,13 +334,8 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
      */
     public long getDurationNanos() {
         long durationNanos;
-        Matcher matcher = PATTERN_JDK17.matcher(logEntry);
-        if (matcher.matches()) {
-            if (matcher.group(UnifiedRegEx.DECORATOR_SIZE + 2) != null) {
-                durationNanos = timeThreadsStopped + timeToStopThreads + timeCleanup;
-            } else {
-                durationNanos = timeThreadsStopped + timeToStopThreads;
-            }
+        if (jdk17u8) {
+            durationNanos = timeThreadsStopped + timeToStopThreads + timeCleanup;
         } else {
             durationNanos = timeThreadsStopped + timeToStopThreads;
         }
@@ -273,7 +343,11 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.UNIFIED_SAFEPOINT;
     }
 
     public String getName() {
@@ -306,7 +380,10 @@ public class UnifiedSafepointEvent implements SafepointEvent, UnifiedLogging {
     }
 
     public boolean isEndstamp() {
-        return PATTERN_JDK17.matcher(logEntry).matches();
+        return jdk17;
     }
 
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
@@ -16,6 +16,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -56,8 +57,8 @@ public class ZMarkEndOldEvent extends ZCollector implements UnifiedLogging, Bloc
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -68,7 +69,7 @@ public class ZMarkEndOldEvent extends ZCollector implements UnifiedLogging, Bloc
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * The time when the GC event started in milliseconds after JVM startup.
@@ -116,7 +117,11 @@ public class ZMarkEndOldEvent extends ZCollector implements UnifiedLogging, Bloc
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.Z_MARK_END_OLD;
     }
 
     public String getName() {
@@ -135,4 +140,8 @@ public class ZMarkEndOldEvent extends ZCollector implements UnifiedLogging, Bloc
     public boolean isEndstamp() {
         return true;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
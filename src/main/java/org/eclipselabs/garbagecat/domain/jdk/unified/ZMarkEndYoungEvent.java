@@ -16,6 +16,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -56,8 +57,8 @@ public class ZMarkEndYoungEvent extends ZCollector implements UnifiedLogging, Bl
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(PATTERN, logLine);
     }
 
     /**
@@ -67,7 +68,7 @@ public class ZMarkEndYoungEvent extends ZCollector implements UnifiedLogging, Bl
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
-    private String logEntry;
+    private CharSequence logEntry;
 
     /**
      * The time when the GC event started in milliseconds after JVM startup.
@@ -115,7 +116,11 @@ public class ZMarkEndYoungEvent extends ZCollector implements UnifiedLogging, Bl
     }
 
     public String getLogEntry() {
-        return logEntry;
+        return logEntry.toString();
+    }
+
+    public JdkUtil.LogEventType getLogEventType() {
+        return JdkUtil.LogEventType.Z_MARK_END_YOUNG;
     }
 
     public String getName() {
@@ -134,4 +139,8 @@ public class ZMarkEndYoungEvent extends ZCollector implements UnifiedLogging, Bl
     public boolean isEndstamp() {
         return true;
     }
+
+    public void setLogEntry(CharSequence logEntry) {
+        this.logEntry = logEntry;
+    }
 }
@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -254,15 +255,15 @@ public class ApplicationStoppedTimePreprocessAction implements PreprocessAction
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return REGEX_NO_PREPROCESSING_PATTERN.matcher(logLine).matches()
-                || REGEX_DECORATOR_MISSING_PATTERN.matcher(logLine).matches()
-                || REGEX_TIMESTAMP_PATTERN.matcher(logLine).matches()
-                || REGEX_DATESTAMP_DATESTAMP_PATTERN.matcher(logLine).matches()
-                || REGEX_DATESTAMP_DATESTAMP_TIMESTAMP_PATTERN.matcher(logLine).matches()
-                || REGEX_DATESTAMP_TIMESTAMP_DATESTAMP_PATTERN.matcher(logLine).matches()
-                || REGEX_DATESTAMP_DATESTAMP_TIMESTAMP_TIMESTAMP_PATTERN.matcher(logLine).matches()
-                || REGEX_DATESTAMP_TIMESTAMP_DATESTAMP_TIMESTAMP_PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(REGEX_NO_PREPROCESSING_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_DECORATOR_MISSING_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_TIMESTAMP_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_DATESTAMP_DATESTAMP_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_DATESTAMP_DATESTAMP_TIMESTAMP_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_DATESTAMP_TIMESTAMP_DATESTAMP_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_DATESTAMP_DATESTAMP_TIMESTAMP_TIMESTAMP_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_DATESTAMP_TIMESTAMP_DATESTAMP_TIMESTAMP_PATTERN, logLine);
     }
 
     /**
@@ -20,6 +20,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -582,31 +583,33 @@ public class CmsPreprocessAction implements PreprocessAction {
      *            The next log entry processed.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine, String priorLogLine, String nextLogLine) {
-        return REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SERIAL_BAILING_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SERIAL_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PARNEW_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PARNEW_BAILING_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_STOPPED_TIME_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_CMS_REMARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_PAR_NEW_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_DURATION_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_PAR_NEW_PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine, CharSequence priorLogLine,
+            CharSequence nextLogLine) {
+        return RegexGuard.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_SERIAL_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_PARNEW_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME_PATTERN,
+                        logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_STOPPED_TIME_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_CONCURRENT_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_CMS_REMARK_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_END_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_END_PAR_NEW_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_DURATION_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_PAR_NEW_PATTERN, logLine);
     }
 
     /**
@@ -12,7 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.preprocess.jdk;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -22,6 +21,8 @@ import org.eclipselabs.garbagecat.domain.OtherTime;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.PatternFilter;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -809,7 +810,10 @@ public class G1PreprocessAction implements PreprocessAction {
             //
     };
 
-    private static final List<Pattern> THROWAWAY_PATTERN_LIST = new ArrayList<>(REGEX_THROWAWAY.length);
+    /**
+     * Matches the throwaway patterns.
+     */
+    private static final PatternFilter THROWAWAY_PATTERN_FILTER = new PatternFilter("G1_THROWAWAY", REGEX_THROWAWAY);
 
     /**
      * Log entry in the entangle log list used to indicate the current high level preprocessor (e.g. CMS, G1). This
@@ -820,12 +824,6 @@ public class G1PreprocessAction implements PreprocessAction {
      */
     public static final String TOKEN = "G1_PREPROCESS_ACTION_TOKEN";
 
-    static {
-        for (String regex : REGEX_THROWAWAY) {
-            THROWAWAY_PATTERN_LIST.add(Pattern.compile(regex));
-        }
-    }
-
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -837,35 +835,34 @@ public class G1PreprocessAction implements PreprocessAction {
      *            The next log entry processed.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine, String priorLogLine, String nextLogLine) {
-        if (REGEX_RETAIN_BEGINNING_YOUNG_PAUSE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_FULL_GC_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_CLASS_HISTOGRAM_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_REMARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_MIXED_PATTERN.matcher(logLine).matches()
-                || (REGEX_RETAIN_BEGINNING_CLEANUP_PATTERN.matcher(logLine).matches()
+    public static final boolean match(CharSequence logLine, CharSequence priorLogLine,
+            CharSequence nextLogLine) {
+        if (RegexGuard.matches(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_FULL_GC_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_CLASS_HISTOGRAM_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_REMARK_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_MIXED_PATTERN, logLine)
+                || (RegexGuard.matches(REGEX_RETAIN_BEGINNING_CLEANUP_PATTERN, logLine)
                         && REGEX_RETAIN_END_PATTERN.matcher(nextLogLine).matches())
-                || REGEX_RETAIN_BEGINNING_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_FULL_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_YOUNG_PAUSE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_OTHER_TIME_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_EXT_ROOT_SCANNING_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_EDEN_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_DURATION_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_CONCURRENT_YOUNG_PATTERN.matcher(logLine).matches()) {
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_CONCURRENT_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_OTHER_TIME_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_EXT_ROOT_SCANNING_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_EDEN_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_DURATION_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_END_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_END_CONCURRENT_YOUNG_PATTERN, logLine)) {
             return true;
         }
         // TODO: Get rid of this and make them throwaway events?
-        for (Pattern pattern : THROWAWAY_PATTERN_LIST) {
-            if (pattern.matcher(logLine).matches()) {
-                return true;
-            }
+        if (THROWAWAY_PATTERN_FILTER.matches(logLine)) {
+            return true;
         }
         return false;
     }
@@ -12,7 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.preprocess.jdk;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -21,6 +20,8 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.PatternFilter;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -176,7 +177,11 @@ public class ParallelPreprocessAction implements PreprocessAction {
             //
     };
 
-    private static final List<Pattern> REGEX_THROWAWAY_LIST = new ArrayList<>(REGEX_THROWAWAY.length);
+    /**
+     * Matches the throwaway patterns.
+     */
+    private static final PatternFilter THROWAWAY_PATTERN_FILTER =
+            new PatternFilter("PARALLEL_THROWAWAY", REGEX_THROWAWAY);
 
     /**
      * Log entry in the entangle log list used to indicate the current high level preprocessor (e.g. CMS, G1). This
@@ -184,12 +189,6 @@ public class ParallelPreprocessAction implements PreprocessAction {
      */
     public static final String TOKEN = "PARALLEL_PREPROCESS_ACTION_TOKEN";
 
-    static {
-        for (String regex : REGEX_THROWAWAY) {
-            REGEX_THROWAWAY_LIST.add(Pattern.compile(regex));
-        }
-    }
-
     /**
      * Determine if the logLine matches the logging pattern(s) for this event.
      * 
@@ -197,23 +196,19 @@ public class ParallelPreprocessAction implements PreprocessAction {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean match = false;
-        if (REGEX_BEGINNING_UNLOADING_CLASS_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SCAVENGE_ADAPTIVE_SIZE_POLICY_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_OLD_ADAPTIVE_SIZE_POLICY_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_PATTERN.matcher(logLine).matches()) {
+        if (RegexGuard.matches(REGEX_BEGINNING_UNLOADING_CLASS_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_SCAVENGE_ADAPTIVE_SIZE_POLICY_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_OLD_ADAPTIVE_SIZE_POLICY_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_END_PATTERN, logLine)) {
             match = true;
         } else {
             // TODO: Get rid of this and make them throwaway events?
-            for (int i = 0; i < REGEX_THROWAWAY_LIST.size(); i++) {
-                Pattern pattern = REGEX_THROWAWAY_LIST.get(i);
-                if (pattern.matcher(logLine).matches()) {
-                    match = true;
-                    break;
-                }
+            if (THROWAWAY_PATTERN_FILTER.matches(logLine)) {
+                match = true;
             }
         }
         return match;
@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -68,6 +69,8 @@ public class SerialPreprocessAction implements PreprocessAction {
     private static final String REGEX_RETAIN_BEGINNING = "^(" + JdkRegEx.TIMESTAMP + ": \\[GC " + JdkRegEx.TIMESTAMP
             + ": \\[DefNew)$";
 
+    private static final Pattern REGEX_RETAIN_BEGINNING_PATTERN = Pattern.compile(REGEX_RETAIN_BEGINNING);
+
     /**
      * Regular expression for retained end of collection.
      * 
@@ -77,6 +80,8 @@ public class SerialPreprocessAction implements PreprocessAction {
             + JdkRegEx.SIZE_K + "\\), " + JdkRegEx.DURATION + "\\] " + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\("
             + JdkRegEx.SIZE_K + "\\), " + JdkRegEx.DURATION + "\\])$";
 
+    private static final Pattern REGEX_RETAIN_END_PATTERN = Pattern.compile(REGEX_RETAIN_END);
+
     /**
      * Log entry in the entangle log list used to indicate the current high level preprocessor (e.g. CMS, G1). This
      * context is necessary to detangle multi-line events where logging patterns are shared among preprocessors.
@@ -90,8 +95,9 @@ public class SerialPreprocessAction implements PreprocessAction {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return logLine.matches(REGEX_RETAIN_BEGINNING) || logLine.matches(REGEX_RETAIN_END);
+    public static final boolean match(CharSequence logLine) {
+        return RegexGuard.matches(REGEX_RETAIN_BEGINNING_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_END_PATTERN, logLine);
     }
 
     /**
@@ -118,8 +124,7 @@ public class SerialPreprocessAction implements PreprocessAction {
 
         // Beginning logging
         if (logEntry.matches(REGEX_RETAIN_BEGINNING)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = REGEX_RETAIN_BEGINNING_PATTERN.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
@@ -127,8 +132,7 @@ public class SerialPreprocessAction implements PreprocessAction {
             context.add(TOKEN);
         } else if (logEntry.matches(REGEX_RETAIN_END)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
-            Matcher matcher = pattern.matcher(logEntry);
+            Matcher matcher = REGEX_RETAIN_END_PATTERN.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
@@ -12,12 +12,12 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.preprocess.jdk;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.jdk.ShenandoahConcurrentEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ShenandoahDegeneratedGcEvent;
@@ -29,8 +29,11 @@ import org.eclipselabs.garbagecat.domain.jdk.ShenandoahInitUpdateEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ShenandoahMetaspaceEvent;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.PatternFilter;
+import org.eclipselabs.garbagecat.util.RegexGuard;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 
 /**
@@ -359,7 +362,11 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
             "^" + UnifiedRegEx.DECORATOR
                     + " (Bad|Good) progress for (ex|in)ternal fragmentation: (-)?\\d{1,3}.\\d%, need \\d{1,3}.\\d%$" };
 
-    private static final List<Pattern> THROWAWAY_PATTERN_LIST = new ArrayList<>(REGEX_THROWAWAY.length);
+    /**
+     * Matches the throwaway patterns.
+     */
+    private static final PatternFilter THROWAWAY_PATTERN_FILTER =
+            new PatternFilter("SHENANDOAH_THROWAWAY", REGEX_THROWAWAY);
 
     /**
      * Log entry in the entangle log list used to indicate the current high level preprocessor (e.g. Shenandoah, G1).
@@ -386,25 +393,15 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
      */
     private static final String TOKEN_BEGINNING_SHENANDOAH_CONCURRENT = "TOKEN_BEGINNING_OF_SHENANDOAH_CONCURRENT";
 
-    static {
-        for (String regex : REGEX_THROWAWAY) {
-            THROWAWAY_PATTERN_LIST.add(Pattern.compile(regex));
-        }
-    }
-
     /**
      * Determine if the log line is can be thrown away
      * 
      * @return true if the log line matches a throwaway pattern, false otherwise.
      */
-    private static final boolean isThrowaway(String logLine) {
+    private static final boolean isThrowaway(CharSequence logLine) {
         boolean throwaway = false;
-        for (int i = 0; i < THROWAWAY_PATTERN_LIST.size(); i++) {
-            Pattern pattern = THROWAWAY_PATTERN_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
-                throwaway = true;
-                break;
-            }
+        if (THROWAWAY_PATTERN_FILTER.matches(logLine)) {
+            throwaway = true;
         }
         return throwaway;
     }
@@ -414,24 +411,27 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean match = false;
-        if (REGEX_RETAIN_BEGINNING_CONCURRENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_EVENT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_METASPACE_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_METASPACE_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_DURATION_PATTERN.matcher(logLine).matches()
-                || JdkUtil.parseLogLine(logLine, null) instanceof ShenandoahConcurrentEvent
-                || JdkUtil.parseLogLine(logLine, null) instanceof ShenandoahDegeneratedGcEvent
-                || JdkUtil.parseLogLine(logLine, null) instanceof ShenandoahInitUpdateEvent
-                || JdkUtil.parseLogLine(logLine, null) instanceof ShenandoahInitMarkEvent
-                || JdkUtil.parseLogLine(logLine, null) instanceof ShenandoahFinalMarkEvent
-                || JdkUtil.parseLogLine(logLine, null) instanceof ShenandoahFinalRootsEvent
-                || JdkUtil.parseLogLine(logLine, null) instanceof ShenandoahFinalUpdateEvent
-                || JdkUtil.parseLogLine(logLine, null) instanceof ShenandoahMetaspaceEvent) {
-            match = true;
-        } else if (isThrowaway(logLine)) {
+        if (RegexGuard.matches(REGEX_RETAIN_BEGINNING_CONCURRENT_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_BEGINNING_EVENT_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_MIDDLE_METASPACE_DATA_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_END_METASPACE_PATTERN, logLine)
+                || RegexGuard.matches(REGEX_RETAIN_DURATION_PATTERN, logLine)) {
             match = true;
+        } else {
+            LogEventType eventType = JdkUtil.identifyEventType(logLine, null);
+            if (eventType == LogEventType.SHENANDOAH_CONCURRENT || eventType == LogEventType.SHENANDOAH_DEGENERATED_GC
+                    || eventType == LogEventType.SHENANDOAH_INIT_UPDATE
+                    || eventType == LogEventType.SHENANDOAH_INIT_MARK
+                    || eventType == LogEventType.SHENANDOAH_FINAL_MARK
+                    || eventType == LogEventType.SHENANDOAH_FINAL_ROOTS
+                    || eventType == LogEventType.SHENANDOAH_FINAL_UPDATE
+                    || eventType == LogEventType.SHENANDOAH_METASPACE) {
+                match = true;
+            } else if (isThrowaway(logLine)) {
+                match = true;
+            }
         }
         return match;
     }
@@ -508,27 +508,26 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
             }
             context.remove(PreprocessAction.NEWLINE);
             context.remove(TOKEN_BEGINNING_SHENANDOAH_CONCURRENT);
-        } else if (JdkUtil.parseLogLine(logEntry, null) instanceof ShenandoahDegeneratedGcEvent
-                || JdkUtil.parseLogLine(logEntry, null) instanceof ShenandoahFinalMarkEvent
-                || JdkUtil.parseLogLine(logEntry, null) instanceof ShenandoahFinalRootsEvent
-                || JdkUtil.parseLogLine(logEntry, null) instanceof ShenandoahFinalUpdateEvent
-                || JdkUtil.parseLogLine(logEntry, null) instanceof ShenandoahInitMarkEvent
-                || JdkUtil.parseLogLine(logEntry, null) instanceof ShenandoahInitUpdateEvent) {
-            this.logEntry = logEntry;
-            context.add(PreprocessAction.NEWLINE);
-            context.remove(TOKEN_BEGINNING_SHENANDOAH);
-            context.remove(TOKEN_BEGINNING_SHENANDOAH_CONCURRENT);
-        } else if (JdkUtil.parseLogLine(logEntry, null) instanceof ShenandoahConcurrentEvent
-                && !isThrowaway(logEntry)) {
-            // Stand alone event
-            if (!(context.contains(TOKEN_BEGINNING_SHENANDOAH_CONCURRENT)
-                    || context.contains(TOKEN_BEGINNING_SHENANDOAH))) {
+        } else {
+            LogEvent event = JdkUtil.parseLogLine(logEntry, null);
+            if (event instanceof ShenandoahDegeneratedGcEvent || event instanceof ShenandoahFinalMarkEvent
+                    || event instanceof ShenandoahFinalRootsEvent || event instanceof ShenandoahFinalUpdateEvent
+                    || event instanceof ShenandoahInitMarkEvent || event instanceof ShenandoahInitUpdateEvent) {
                 this.logEntry = logEntry;
                 context.add(PreprocessAction.NEWLINE);
-            } else {
-                // output intermingled lines at end
-                entangledLogLines.add(logEntry);
-                context.remove(PreprocessAction.NEWLINE);
+                context.remove(TOKEN_BEGINNING_SHENANDOAH);
+                context.remove(TOKEN_BEGINNING_SHENANDOAH_CONCURRENT);
+            } else if (event instanceof ShenandoahConcurrentEvent && !isThrowaway(logEntry)) {
+                // Stand alone event
+                if (!(context.contains(TOKEN_BEGINNING_SHENANDOAH_CONCURRENT)
+                        || context.contains(TOKEN_BEGINNING_SHENANDOAH))) {
+                    this.logEntry = logEntry;
+                    context.add(PreprocessAction.NEWLINE);
+                } else {
+                    // output intermingled lines at end
+                    entangledLogLines.add(logEntry);
+                    context.remove(PreprocessAction.NEWLINE);
+                }
             }
         }
     }
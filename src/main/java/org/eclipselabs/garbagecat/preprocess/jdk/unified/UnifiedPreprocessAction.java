@@ -12,7 +12,6 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.preprocess.jdk.unified;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -27,9 +26,12 @@ import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.ZMarkStartYoungAndOldEvent;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.PatternFilter;
+import org.eclipselabs.garbagecat.util.PatternSet;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint;
 
@@ -1022,7 +1024,26 @@ public class UnifiedPreprocessAction implements PreprocessAction {
 
     private static final Pattern REGEX_TO_SPACE_EXHAUSTED_PATTERN = Pattern.compile(REGEX_TO_SPACE_EXHAUSTED);
 
-    private static final List<Pattern> THROWAWAY_PATTERN_LIST = new ArrayList<>(REGEX_THROWAWAY.length);
+    /**
+     * The retained logging patterns combined into one matcher.
+     */
+    private static final PatternSet RETAIN_PATTERN_SET = new PatternSet(UnifiedSafepointEvent.PATTERN_JDK17,
+            REGEX_RETAIN_BEGINNING_UNIFIED_CMS_INITIAL_MARK_PATTERN, REGEX_RETAIN_BEGINNING_UNIFIED_REMARK_PATTERN,
+            REGEX_RETAIN_BEGINNING_PAUSE_YOUNG_PATTERN, REGEX_RETAIN_BEGINNING_OLD_PATTERN,
+            REGEX_RETAIN_BEGINNING_G1_FULL_GC_PATTERN, REGEX_RETAIN_BEGINNING_YOUNG_PATTERN,
+            REGEX_RETAIN_BEGINNING_G1_CLEANUP_PATTERN, REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN,
+            REGEX_RETAIN_MIDDLE_G1_HUMONGOUS_PATTERN, REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA_PATTERN,
+            REGEX_RETAIN_MIDDLE_OTHER_TIME_PATTERN, REGEX_RETAIN_MIDDLE_EXT_ROOT_SCANNING_PATTERN,
+            REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA_PATTERN, REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA_PATTERN,
+            REGEX_RETAIN_MIDDLE_SPACE_DATA_PATTERN, REGEX_RETAIN_MIDDLE_METASPACE_DATA_PATTERN,
+            REGEX_RETAIN_MIDDLE_PROMOTION_FAILED_PATTERN, REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN,
+            REGEX_RETAIN_END_SAFEPOINT_PATTERN, REGEX_RETAIN_END_TIMES_DATA_PATTERN, REGEX_TO_SPACE_EXHAUSTED_PATTERN);
+
+    /**
+     * Matches the throwaway patterns.
+     */
+    private static final PatternFilter THROWAWAY_PATTERN_FILTER =
+            new PatternFilter("UNIFIED_THROWAWAY", REGEX_THROWAWAY);
 
     /**
      * Log entry in the entangle log list used to indicate the current high level preprocessor (e.g. CMS, G1). This
@@ -1063,25 +1084,15 @@ public class UnifiedPreprocessAction implements PreprocessAction {
      */
     private static final String TOKEN_BEGINNING_OF_UNIFIED_SAFEPOINT = "TOKEN_BEGINNING_OF_UNIFIED_SAFEPOINT";
 
-    static {
-        for (String regex : REGEX_THROWAWAY) {
-            THROWAWAY_PATTERN_LIST.add(Pattern.compile(regex));
-        }
-    }
-
     /**
      * Determine if the log line is can be thrown away
      * 
      * @return true if the log line matches a throwaway pattern, false otherwise.
      */
-    private static final boolean isThrowaway(String logLine) {
+    private static final boolean isThrowaway(CharSequence logLine) {
         boolean throwaway = false;
-        for (int i = 0; i < THROWAWAY_PATTERN_LIST.size(); i++) {
-            Pattern pattern = THROWAWAY_PATTERN_LIST.get(i);
-            if (pattern.matcher(logLine).matches()) {
-                throwaway = true;
-                break;
-            }
+        if (THROWAWAY_PATTERN_FILTER.matches(logLine)) {
+            throwaway = true;
         }
         return throwaway;
     }
@@ -1091,35 +1102,17 @@ public class UnifiedPreprocessAction implements PreprocessAction {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean match = false;
-        if (UnifiedSafepointEvent.PATTERN_JDK17.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_UNIFIED_CMS_INITIAL_MARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_UNIFIED_REMARK_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_PAUSE_YOUNG_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_OLD_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_G1_FULL_GC_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_YOUNG_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_G1_CLEANUP_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_BEGINNING_SAFEPOINT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_G1_HUMONGOUS_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_OTHER_TIME_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_EXT_ROOT_SCANNING_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_SPACE_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_METASPACE_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_PROMOTION_FAILED_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_MIDDLE_SAFEPOINT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_SAFEPOINT_PATTERN.matcher(logLine).matches()
-                || REGEX_RETAIN_END_TIMES_DATA_PATTERN.matcher(logLine).matches()
-                || REGEX_TO_SPACE_EXHAUSTED_PATTERN.matcher(logLine).matches()
-                || JdkUtil.parseLogLine(logLine, null) instanceof UnifiedConcurrentEvent
-                || JdkUtil.parseLogLine(logLine, null) instanceof ZMarkStartYoungAndOldEvent) {
-            match = true;
-        } else if (isThrowaway(logLine)) {
+        if (RETAIN_PATTERN_SET.matches(logLine)) {
             match = true;
+        } else {
+            LogEventType eventType = JdkUtil.identifyEventType(logLine, null);
+            if (eventType == LogEventType.UNIFIED_CONCURRENT || eventType == LogEventType.Z_MARK_START_YOUNG_AND_OLD) {
+                match = true;
+            } else if (isThrowaway(logLine)) {
+                match = true;
+            }
         }
         return match;
     }
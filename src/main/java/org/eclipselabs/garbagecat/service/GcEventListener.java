@@ -0,0 +1,72 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+
+/**
+ * <p>
+ * Receives garbage collection logging events as they are parsed and stored (see
+ * {@link GcManager#addListener(GcEventListener)} and {@link GcLogStream}).
+ * </p>
+ * 
+ * <p>
+ * Listeners are called on the thread storing the logging, before the store call returns, so a slow listener slows
+ * down the producer feeding the logging (back-pressure) instead of events being queued. All methods do nothing by
+ * default, so only the events of interest need to be implemented.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public interface GcEventListener {
+
+    /**
+     * An analysis item was identified for the first time.
+     * 
+     * @param analysis
+     *            The analysis item.
+     */
+    default void onAnalysis(Analysis analysis) {
+    }
+
+    /**
+     * A blocking (stop the world) garbage collection event was stored.
+     * 
+     * @param event
+     *            The blocking event.
+     */
+    default void onBlockingEvent(BlockingEvent event) {
+    }
+
+    /**
+     * A safepoint event that is not a garbage collection (<code>ApplicationStoppedTimeEvent</code> or
+     * <code>UnifiedSafepointEvent</code>) was stored.
+     * 
+     * @param event
+     *            The safepoint event.
+     */
+    default void onSafepoint(SafepointEvent event) {
+    }
+
+    /**
+     * A log line was not identified.
+     * 
+     * @param logLine
+     *            The log line.
+     */
+    default void onUnidentified(String logLine) {
+    }
+}
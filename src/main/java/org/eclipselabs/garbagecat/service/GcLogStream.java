@@ -0,0 +1,231 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.util.Constants;
+
+/**
+ * <p>
+ * Push-style garbage collection logging input for embedding garbagecat as a library. Log lines or raw bytes are fed
+ * as they are produced, and each complete log line is (optionally) preprocessed and stored as soon as possible, with
+ * registered <code>GcEventListener</code>s notified before the feeding call returns. The logging is not held in
+ * memory.
+ * </p>
+ * 
+ * <p>
+ * Preprocessing needs one log line of lookahead, so a log entry is stored when the following log line is fed. The
+ * initial log lines (up to {@link Constants#HEADER_LINE_LIMIT}) are held until the JDK version header is found (see
+ * {@link HeaderSniffer}). Call {@link #close()} at the end of the logging to store the remaining log entries, then get
+ * the JVM run data from the <code>GcManager</code>.
+ * </p>
+ * 
+ * <p>
+ * For example:
+ * </p>
+ * 
+ * <pre>
+ * GcManager gcManager = new GcManager();
+ * gcManager.addListener(new GcEventListener() {
+ *     public void onBlockingEvent(BlockingEvent event) {
+ *         ...
+ *     }
+ * });
+ * try (GcLogStream stream = new GcLogStream(gcManager, true, null, false)) {
+ *     while (channel.read(buffer) != -1) {
+ *         buffer.flip();
+ *         stream.write(buffer);
+ *         buffer.clear();
+ *     }
+ * }
+ * JvmRun jvmRun = gcManager.getJvmRun(null, DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+ *         DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+ * </pre>
+ * 
+ * <p>
+ * Not thread safe.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class GcLogStream implements Closeable {
+
+    /**
+     * Whether or not the stream has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * The <code>GcManager</code> storing the logging.
+     */
+    private final GcManager gcManager;
+
+    /**
+     * Determines the logging format from the initial log lines.
+     */
+    private final HeaderSniffer headerSniffer = new HeaderSniffer();
+
+    /**
+     * The initial log lines held until the JDK version is known.
+     */
+    private final List<String> headerLogLines = new ArrayList<String>();
+
+    /**
+     * The date and time the JVM was started.
+     */
+    private final Date jvmStartDate;
+
+    /**
+     * The bytes of an incomplete log line.
+     */
+    private byte[] partialLine = new byte[256];
+
+    /**
+     * The number of bytes of an incomplete log line.
+     */
+    private int partialLineLength;
+
+    /**
+     * Whether or not to do preprocessing.
+     */
+    private final boolean preprocess;
+
+    /**
+     * The preprocessor, or null if preprocessing has not started.
+     */
+    private GcManager.Preprocessor preprocessor;
+
+    /**
+     * Whether or not to allow logging to be reordered by timestamp.
+     */
+    private final boolean reorder;
+
+    /**
+     * @param gcManager
+     *            The <code>GcManager</code> to store the logging.
+     * @param preprocess
+     *            Whether or not to do preprocessing.
+     * @param jvmStartDate
+     *            The date and time the JVM was started, or null if not known.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public GcLogStream(GcManager gcManager, boolean preprocess, Date jvmStartDate, boolean reorder) {
+        this.gcManager = gcManager;
+        this.preprocess = preprocess;
+        this.jvmStartDate = jvmStartDate;
+        this.reorder = reorder;
+        gcManager.setHeaderSniffer(headerSniffer);
+    }
+
+    /**
+     * Store any incomplete last log line and the log entries held for preprocessing.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (partialLineLength > 0) {
+            writeLine();
+        }
+        closed = true;
+        if (preprocess) {
+            if (preprocessor == null) {
+                startPreprocessing(null);
+            }
+            preprocessor.finish();
+        }
+    }
+
+    /**
+     * Start preprocessing with the held initial log lines.
+     * 
+     * @param jdkVersion
+     *            The JDK major and minor version, or null if not known.
+     */
+    private void startPreprocessing(int[] jdkVersion) {
+        preprocessor = gcManager.new Preprocessor(jdkVersion, jvmStartDate,
+                logEntry -> gcManager.store(logEntry, reorder));
+        for (String logLine : headerLogLines) {
+            preprocessor.add(logLine);
+        }
+        headerLogLines.clear();
+    }
+
+    /**
+     * Feed logging bytes (UTF-8). Lines may be split across calls; an incomplete last line is held until the rest of it
+     * is fed or the stream is closed.
+     * 
+     * @param bytes
+     *            The logging bytes from the buffer position to the limit. The buffer position is advanced to the limit.
+     */
+    public void write(ByteBuffer bytes) {
+        while (bytes.hasRemaining()) {
+            byte b = bytes.get();
+            if (b == '\n') {
+                writeLine();
+            } else {
+                if (partialLineLength == partialLine.length) {
+                    partialLine = Arrays.copyOf(partialLine, partialLine.length * 2);
+                }
+                partialLine[partialLineLength++] = b;
+            }
+        }
+    }
+
+    /**
+     * Feed the next log line.
+     * 
+     * @param logLine
+     *            The log line, without a line terminator.
+     */
+    public void write(String logLine) {
+        if (closed) {
+            throw new IllegalStateException("Log stream closed.");
+        }
+        if (!headerSniffer.isDone()) {
+            headerSniffer.add(logLine);
+        }
+        if (!preprocess) {
+            gcManager.store(logLine, reorder);
+        } else if (preprocessor != null) {
+            preprocessor.add(logLine);
+        } else {
+            headerLogLines.add(logLine);
+            if (headerSniffer.getJdkVersion() != null || headerSniffer.isDone()) {
+                startPreprocessing(headerSniffer.getJdkVersion());
+            }
+        }
+    }
+
+    /**
+     * Feed the held bytes as a log line, without a trailing carriage return.
+     */
+    private void writeLine() {
+        int length = partialLineLength;
+        if (length > 0 && partialLine[length - 1] == '\r') {
+            length--;
+        }
+        partialLineLength = 0;
+        write(new String(partialLine, 0, length, StandardCharsets.UTF_8));
+    }
+}
@@ -12,26 +12,32 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.service;
 
-import static java.util.stream.Collectors.toList;
 import static org.eclipselabs.garbagecat.util.Constants.DEFAULT_MEMORY_UNIT;
+import static org.eclipselabs.garbagecat.util.Constants.HIGH_ALLOCATION_FIRST_LIMIT;
+import static org.eclipselabs.garbagecat.util.Constants.HIGH_ALLOCATION_SAMPLE_LIMIT;
+import static org.eclipselabs.garbagecat.util.Constants.RUN_TIME_WINDOW_ENTRY_FIRST_LIMIT;
+import static org.eclipselabs.garbagecat.util.Constants.RUN_TIME_WINDOW_ENTRY_SAMPLE_LIMIT;
 import static org.eclipselabs.garbagecat.util.Memory.kilobytes;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.BYTES;
 import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
 
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 
-import org.eclipselabs.garbagecat.Main;
 import org.eclipselabs.garbagecat.dao.JvmDao;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.ConcurrentData;
 import org.eclipselabs.garbagecat.domain.JvmRun;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.OtherTime;
@@ -45,6 +51,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.UnknownEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
+import org.eclipselabs.garbagecat.domain.jdk.CmsConcurrentEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsIncrementalModeCollector;
 import org.eclipselabs.garbagecat.domain.jdk.CmsInitialMarkEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsRemarkEvent;
@@ -62,6 +69,7 @@ import org.eclipselabs.garbagecat.domain.jdk.HeaderVmInfoEvent;
 import org.eclipselabs.garbagecat.domain.jdk.LogFileEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ShenandoahConcurrentEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ShenandoahFullGcEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedConcurrentEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedHeaderEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
@@ -69,16 +77,18 @@ import org.eclipselabs.garbagecat.domain.jdk.unified.VmWarningEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.ZStatsEvent;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationStoppedTimePreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.CmsPreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.ParallelPreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
-import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+import org.eclipselabs.garbagecat.util.BottleneckDetector;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.Lazy;
+import org.eclipselabs.garbagecat.util.LogEntrySpill;
 import org.eclipselabs.garbagecat.util.Memory;
 import org.eclipselabs.garbagecat.util.MemoryAllocation;
+import org.eclipselabs.garbagecat.util.Profiler;
+import org.eclipselabs.garbagecat.util.Profiler.Stage;
+import org.eclipselabs.garbagecat.util.RegexGuard;
+import org.eclipselabs.garbagecat.util.RetainedList;
 import org.eclipselabs.garbagecat.util.RunTimeWindow;
 import org.eclipselabs.garbagecat.util.Memory.Unit;
 import org.eclipselabs.garbagecat.util.MemoryAllocation.AllocationType;
@@ -86,8 +96,10 @@ import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.GcTrigger;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.eclipselabs.garbagecat.util.jfr.ProcessingEvents;
 import org.github.joa.JvmOptions;
 import org.github.joa.domain.Bit;
 import org.github.joa.domain.GarbageCollector;
@@ -103,6 +115,12 @@ import org.github.joa.domain.GarbageCollector;
  */
 public class GcManager {
 
+    /**
+     * The profile counter of the single line <code>ApplicationStoppedTimePreprocessAction</code>.
+     */
+    private static final Profiler.Counter APPLICATION_STOPPED_TIME_COUNTER = Profiler.getCounter("preprocess",
+            "APPLICATION_STOPPED_TIME");
+
     private static boolean greater(Memory memory, int value) {
         return memory != null && memory.getValue(KILOBYTES) > value;
     }
@@ -112,11 +130,47 @@ public class GcManager {
      */
     private JvmDao jvmDao;
 
+    /**
+     * The collector families of the collector specific events identified. Used to identify log lines with the events
+     * of one collector family first.
+     */
+    private final Set<CollectorFamily> collectorFamilies = EnumSet.noneOf(CollectorFamily.class);
+
+    /**
+     * Counts the stored log lines for JFR chunk events.
+     */
+    private final ProcessingEvents.Chunk chunk = new ProcessingEvents.Chunk();
+
+    /**
+     * The logging format determined from the beginning of the logging, or null if not known.
+     */
+    private HeaderSniffer headerSniffer;
+
+    /**
+     * The number of first high memory allocations to retain for reporting.
+     */
+    private int highAllocationFirstLimit = HIGH_ALLOCATION_FIRST_LIMIT;
+
+    /**
+     * The number of highest high memory allocations after the first ones to retain for reporting.
+     */
+    private int highAllocationSampleLimit = HIGH_ALLOCATION_SAMPLE_LIMIT;
+
+    /**
+     * Listeners notified as log lines are stored.
+     */
+    private final List<GcEventListener> listeners = new CopyOnWriteArrayList<GcEventListener>();
+
     /**
      * The date and time the JVM was started.
      */
     private Date jvmStartDate;
 
+    /**
+     * The spill retained event log entries are written to, or null to retain log entries in memory.
+     */
+    private LogEntrySpill logEntrySpill;
+
     /**
      * The memory unit used for reporting.
      */
@@ -132,6 +186,32 @@ public class GcManager {
      */
     private boolean preprocessed;
 
+    /**
+     * The prior stored <code>BlockingEvent</code>, used to verify logging is in timestamp order.
+     */
+    private BlockingEvent priorBlockingEvent;
+
+    /**
+     * The prior stored log line.
+     */
+    private String priorStoredLogLine;
+
+    /**
+     * The number of first log entries to retain per run time window for reporting.
+     */
+    private int runTimeWindowEntryFirstLimit = RUN_TIME_WINDOW_ENTRY_FIRST_LIMIT;
+
+    /**
+     * The number of longest pause log entries after the first ones to retain per run time window for reporting.
+     */
+    private int runTimeWindowEntrySampleLimit = RUN_TIME_WINDOW_ENTRY_SAMPLE_LIMIT;
+
+    /**
+     * Whether or not the event of each event type identified in preprocessing is a <code>ThrowAwayEvent</code>.
+     */
+    private final Map<LogEventType, Boolean> throwAwayEventTypes = new EnumMap<LogEventType, Boolean>(
+            LogEventType.class);
+
     /**
      * Default constructor.
      */
@@ -151,23 +231,30 @@ public class GcManager {
         this.memoryUnit = memoryUnit;
     }
 
+    /**
+     * Register a listener to be notified as log lines are stored.
+     * 
+     * @param listener
+     *            The listener.
+     */
+    public void addListener(GcEventListener listener) {
+        listeners.add(listener);
+    }
+
     /**
      * Determine <code>MemoryAllocation</code>s where throughput is max, min, avg or high.
      * 
      * @param highMemoryAllocationThreshold
      *            The high memory reporting threshold.
+     * @param highMemoryAllocations
+     *            The high memory allocations (the first ones and the highest after them are retained).
      * @return A <code>List</code> of <code>MemoryAllocation</code>s with max, min, avg or high memory allocation.
      */
-    private List<MemoryAllocation> getMinMaxAvgHighMemoryAllocations(long highMemoryAllocationThreshold) {
-        List<MemoryAllocation> allocations = new ArrayList<MemoryAllocation>();
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents().stream()
-        .filter(e -> e.getName().equals(LogEventType.UNIFIED_G1_YOUNG_PAUSE.toString())
-                || e.getName().equals(LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED.toString())
-                || e.getName().equals(LogEventType.UNIFIED_G1_MIXED_PAUSE.toString())
-                || e.getName().equals(LogEventType.UNIFIED_G1_CLEANUP.toString())
-                || e.getName().equals(LogEventType.UNIFIED_REMARK.toString())
-                || e.getName().equals(LogEventType.G1_FULL_GC_PARALLEL.toString()))
-        .collect(toList());
+    private List<MemoryAllocation> getMinMaxAvgHighMemoryAllocations(long highMemoryAllocationThreshold,
+            RetainedList<MemoryAllocation> highMemoryAllocations) {
+        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents(EnumSet.of(LogEventType.UNIFIED_G1_YOUNG_PAUSE,
+                LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED, LogEventType.UNIFIED_G1_MIXED_PAUSE,
+                LogEventType.UNIFIED_G1_CLEANUP, LogEventType.UNIFIED_REMARK, LogEventType.G1_FULL_GC_PARALLEL));
 
         MemoryAllocation maxMemoryAllocation = new MemoryAllocation(Memory.memory(0, KILOBYTES), AllocationType.MAX);
         MemoryAllocation minMemoryAllocation = new MemoryAllocation(Memory.memory(0, KILOBYTES), AllocationType.MIN);
@@ -223,7 +310,7 @@ public class GcManager {
                         highMemoryAllocation.setInitLogEntryTimestamp(prior.getTimestamp());
                         highMemoryAllocation.setEndLogEntry(young.getLogEntry());
                         highMemoryAllocation.setEndLogEntryTimestamp(young.getTimestamp());
-                        allocations.add(highMemoryAllocation);
+                        highMemoryAllocations.add(highMemoryAllocation, allocatedKbPerSec);
                     }
 
                     totalAllocatedMemory += allocatedKb;
@@ -239,6 +326,7 @@ public class GcManager {
             avgMemoryAllocation.setEndLogEntryTimestamp(prior.getTimestamp());
         }
 
+        List<MemoryAllocation> allocations = new ArrayList<MemoryAllocation>(highMemoryAllocations);
         allocations.add(avgMemoryAllocation);
         allocations.add(maxMemoryAllocation);
         allocations.add(minMemoryAllocation);
@@ -252,7 +340,7 @@ public class GcManager {
         
         //convert from secs to micros
         interval = interval * 1000000;
-        RunTimeWindow window = new RunTimeWindow(0, 0);
+        RunTimeWindow window = new RunTimeWindow(0, 0, runTimeWindowEntryFirstLimit, runTimeWindowEntrySampleLimit);
         
         for (SafepointEvent event : blockingEvents) {
             long eventDuration = event.getDurationMicros();
@@ -263,33 +351,36 @@ public class GcManager {
 
             if (window.getNumber() != currentWindowNumber) {
                 windows.add(window);
-                window = new RunTimeWindow(currentWindowNumber, interval);
+                window = new RunTimeWindow(currentWindowNumber, interval, runTimeWindowEntryFirstLimit,
+                        runTimeWindowEntrySampleLimit);
             }
 
             if (currentEventEndTime < currentWindowEndTime) {
                 window.addPauseTime(eventDuration);
-                window.addLogEntry(event.getLogEntry());
+                window.addLogEntry(event.getLogEntry(), eventDuration);
                 continue;
             }
             if (currentEventEndTime > currentWindowEndTime) {
                 window.addPauseTime(currentWindowEndTime - currentEventStartTime);
-                window.addLogEntry(event.getLogEntry());
+                window.addLogEntry(event.getLogEntry(), eventDuration);
                 windows.add(window);
 
                 long remaining = currentEventEndTime - currentWindowEndTime;
                 while (remaining > interval) {
                     currentWindowNumber += 1;
-                    window = new RunTimeWindow(currentWindowNumber, interval);
+                    window = new RunTimeWindow(currentWindowNumber, interval, runTimeWindowEntryFirstLimit,
+                            runTimeWindowEntrySampleLimit);
                     window.setPauseTime(interval);
-                    window.addLogEntry(event.getLogEntry());
+                    window.addLogEntry(event.getLogEntry(), eventDuration);
                     windows.add(window);
                     remaining -= interval;
                 }
 
                 currentWindowNumber += 1;
-                window = new RunTimeWindow(currentWindowNumber, interval);
+                window = new RunTimeWindow(currentWindowNumber, interval, runTimeWindowEntryFirstLimit,
+                        runTimeWindowEntrySampleLimit);
                 window.addPauseTime(remaining);
-                window.addLogEntry(event.getLogEntry());
+                window.addLogEntry(event.getLogEntry(), eventDuration);
             }
         }
         windows.add(window);
@@ -316,60 +407,27 @@ public class GcManager {
     }
 
     /**
-     * Determine <code>BlockingEvent</code>s where throughput since last event does not meet the throughput goal.
+     * Determine intervals where throughput between consecutive events does not meet the throughput goal.
      * 
+     * @param events
+     *            The <code>SafepointEvent</code>s in timestamp order.
      * @param throughputThreshold
      *            The bottleneck reporting throughput threshold.
-     * @return A <code>List</code> of <code>BlockingEvent</code>s where the throughput between events is less than the
-     *         throughput threshold goal.
+     * @return A <code>BottleneckDetector</code> holding the merged bottleneck intervals.
      */
-    private List<String> getGcBottlenecks(int throughputThreshold) {
-        List<String> bottlenecks = new ArrayList<String>();
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents();
-        BlockingEvent priorEvent = null;
-        for (BlockingEvent event : blockingEvents) {
-            if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
-                if (bottlenecks.isEmpty()) {
-                    // Add current and prior event
-                    if (jvmStartDate != null) {
-                        // Convert uptime to datetime
-                        bottlenecks.add(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvmStartDate));
-                        bottlenecks
-                                .add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                    } else {
-                        bottlenecks.add(priorEvent.getLogEntry());
-                        bottlenecks.add(event.getLogEntry());
-                    }
-                } else {
-                    if (jvmStartDate != null) {
-                        // Compare datetime, since bottleneck has datetime
-                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvmStartDate)
-                                .equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                    jvmStartDate));
-                            bottlenecks.add(
-                                    JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                        } else {
-                            bottlenecks.add(
-                                    JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                        }
-                    } else {
-                        // Compare timestamps, since bottleneck has timestamp
-                        if (!priorEvent.getLogEntry().equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(priorEvent.getLogEntry());
-                            bottlenecks.add(event.getLogEntry());
-                        } else {
-                            bottlenecks.add(event.getLogEntry());
-                        }
-                    }
-                }
-            }
-            priorEvent = event;
+    private BottleneckDetector getBottlenecks(List<? extends SafepointEvent> events, int throughputThreshold) {
+        BottleneckDetector detector = new BottleneckDetector(throughputThreshold, Constants.DEFAULT_BOTTLENECK_LIMIT);
+        for (SafepointEvent event : events) {
+            detector.add(event);
         }
-        return bottlenecks;
+        return detector;
+    }
+
+    /**
+     * @return Unmodifiable view of the stored <code>BlockingEvent</code>s in timestamp order.
+     */
+    public List<BlockingEvent> getBlockingEvents() {
+        return jvmDao.getBlockingEventsView();
     }
 
     /**
@@ -383,9 +441,11 @@ public class GcManager {
      *            The throughput threshold for bottleneck reporting.
      * @param highMemoryAllocationThreshold
      *            The high memory reporting threshold.
-     * @return The JVM run data.
+     * @return The JVM run data. Memory allocations, run time windows, bottlenecks, and safepoint summaries are computed
+     *         from the stored events on first access.
      */
     public JvmRun getJvmRun(String jvmOptions, int throughputThreshold, long highMemoryAllocationThreshold) {
+        chunk.flush();
         JvmRun jvmRun = new JvmRun(throughputThreshold, highMemoryAllocationThreshold, jvmStartDate);
         // Use jvm options passed in on the command line if none found in the logging
         // TODO: jvm options passed on the command line should override options found in the logging header because the
@@ -395,22 +455,34 @@ public class GcManager {
         }
         jvmRun.setJvmOptions(new JvmOptions(jvmDao.getJvmContext()));
         jvmRun.setMemoryUnit(memoryUnit);
-        jvmRun.setMinMaxAvgHighMemoryAllocations(getMinMaxAvgHighMemoryAllocations(jvmRun.getHighMemoryAllocationThreshold()));
+        // Expensive sections are computed on first access
+        RetainedList<MemoryAllocation> highMemoryAllocations = new RetainedList<MemoryAllocation>(
+                highAllocationFirstLimit, highAllocationSampleLimit);
+        Lazy<List<MemoryAllocation>> allocations = new Lazy<List<MemoryAllocation>>(
+                () -> ProcessingEvents.analysisPhase("ALLOCATIONS", () -> getMinMaxAvgHighMemoryAllocations(
+                        jvmRun.getHighMemoryAllocationThreshold(), highMemoryAllocations)));
+        jvmRun.setMinMaxAvgHighMemoryAllocations(allocations);
+        jvmRun.setHighMemoryAllocationCount(() -> {
+            allocations.get();
+            return highMemoryAllocations.getCount();
+        });
         // TODO: window interval and number of slices should be adjustable from cmd
-        List<RunTimeWindow> windows = getRunTimeWindows(2);
+        Lazy<List<RunTimeWindow>> windows = new Lazy<List<RunTimeWindow>>(
+                () -> ProcessingEvents.analysisPhase("RUN_TIME_WINDOWS", () -> getRunTimeWindows(2)));
         jvmRun.setRunTimeWindows(windows);
-        jvmRun.setRunTimeWindowsHistogram(
-                createRunTimeWindowsHistogram(windows, 2, 5));
+        jvmRun.setRunTimeWindowsHistogram(() -> createRunTimeWindowsHistogram(windows.get(), 2, 5));
 
         jvmRun.setAnalysis(jvmDao.getAnalysis());
         jvmRun.setBlockingEventCount(jvmDao.getBlockingEventCount());
+        jvmRun.setConcurrentGcStats(jvmDao.getConcurrentGcStats());
         jvmRun.setEventTypes(jvmDao.getEventTypes());
         jvmRun.setExtRootScanningTimeMax(jvmDao.getExtRootScanningTimeMax());
         jvmRun.setExtRootScanningTimeTotal(jvmDao.getExtRootScanningTimeTotal());
         jvmRun.setFirstGcEvent(jvmDao.getFirstGcEvent());
         jvmRun.setFirstLogEvent(jvmDao.getFirstLogEvent());
         jvmRun.setFirstSafepointEvent(jvmDao.getFirstSafepointEvent());
-        jvmRun.setGcBottlenecks(getGcBottlenecks(throughputThreshold));
+        jvmRun.setGcBottlenecks(() -> ProcessingEvents.analysisPhase("GC_BOTTLENECKS",
+                () -> getBottlenecks(jvmDao.getBlockingEvents(), throughputThreshold)));
         jvmRun.setGcPauseMax(jvmDao.getDurationMax());
         jvmRun.setGcPauseTotal(jvmDao.getDurationTotal());
         jvmRun.setGcTriggers(jvmDao.getGcTriggers());
@@ -435,13 +507,17 @@ public class GcManager {
         jvmRun.setMaxPermSpaceNonBlocking(kilobytes(jvmDao.getMaxPermSpaceNonBlocking()));
         jvmRun.setMaxYoungSpace(kilobytes(jvmDao.getMaxYoungSpace()));
         jvmRun.setMemory(jvmDao.getMemory());
+        jvmRun.setOccupancySeries(jvmDao.getOccupancySeries());
         jvmRun.setOtherTimeMax(jvmDao.getOtherTimeMax());
         jvmRun.setOtherTimeTotal(jvmDao.getOtherTimeTotal());
         jvmRun.setParallelCount(jvmDao.getParallelCount());
+        jvmRun.setPauseHistogram(jvmDao.getPauseHistogram());
+        jvmRun.setPauseSeries(jvmDao.getPauseSeries());
         jvmRun.setPhysicalMemory(new Memory(jvmDao.getPhysicalMemory(), BYTES));
         jvmRun.setPhysicalMemoryFree(new Memory(jvmDao.getPhysicalMemoryFree(), BYTES));
-        jvmRun.setSafepointBottlenecks(getSafepointBottlenecks(jvmStartDate, throughputThreshold));
-        jvmRun.setSafepointEventSummaries(jvmDao.getSafepointEventSummaries());
+        jvmRun.setSafepointBottlenecks(() -> ProcessingEvents.analysisPhase("SAFEPOINT_BOTTLENECKS",
+                () -> getBottlenecks(jvmDao.getSafepointEvents(), throughputThreshold)));
+        jvmRun.setSafepointEventSummaries(jvmDao::getSafepointEventSummaries);
         jvmRun.setSerialCount(jvmDao.getSerialCount());
         jvmRun.setStoppedTimeEventCount(jvmDao.getStoppedTimeEventCount());
         jvmRun.setStoppedTimeMax(jvmDao.getStoppedTimeMax());
@@ -449,10 +525,13 @@ public class GcManager {
         jvmRun.setSwap(new Memory(jvmDao.getSwap(), BYTES));
         jvmRun.setSwapFree(new Memory(jvmDao.getSwapFree(), BYTES));
         jvmRun.setSysGtUserCount(jvmDao.getSysGtUserCount());
+        jvmRun.setTimeToSafepointStats(jvmDao.getTimeToSafepointStats());
+        jvmRun.setQuarantinedLogLineCount(jvmDao.getQuarantinedLogLineCount());
         jvmRun.setUnidentifiedLogLines(jvmDao.getUnidentifiedLogLines());
         jvmRun.setUnifiedSafepointEventCount(jvmDao.getUnifiedSafepointEventCount());
         jvmRun.setUnifiedSafepointTimeMax(jvmDao.getUnifiedSafepointTimeMax());
         jvmRun.setUnifiedSafepointTimeTotal(jvmDao.getUnifiedSafepointTimeTotal());
+        jvmRun.setWorkerEfficiencyStats(jvmDao.getWorkerEfficiencyStats());
         jvmRun.setWorstInvertedParallelismEvent(jvmDao.getWorstInvertedParallelismEvent());
         jvmRun.setWorstInvertedSerialismEvent(jvmDao.getWorstInvertedSerialismEvent());
         jvmRun.setWorstSysGtUserEvent(jvmDao.getWorstSysGtUserEvent());
@@ -483,15 +562,31 @@ public class GcManager {
             }
         }
 
-        jvmRun.doAnalysis();
+        ProcessingEvents.analysisPhase("ANALYSIS", jvmRun::doAnalysis);
 
         return jvmRun;
     }
 
+    /**
+     * @return The collector family of the logging, or null if not known or the logging has events of more than one
+     *         collector family.
+     */
+    private CollectorFamily getCollectorFamily() {
+        return collectorFamilies.size() == 1 ? collectorFamilies.iterator().next() : null;
+    }
+
+    public HeaderSniffer getHeaderSniffer() {
+        return headerSniffer;
+    }
+
     public String getLastLogLineUnprocessed() {
         return lastLogLineUnprocessed;
     }
 
+    public LogEntrySpill getLogEntrySpill() {
+        return logEntrySpill;
+    }
+
     /**
      * Determine the preprocessed log entry.
      * 
@@ -517,106 +612,51 @@ public class GcManager {
      * @return The preprocessed log line(s), or null if it will be thrown away. Multiple lines are delimited by a
      *         newline.
      */
-    public String getPreprocessedLogEntry(String currentLogLine, String priorLogLine, String nextLogLine,
-            Date jvmStartDate, List<String> entangledLogLines, Set<String> context) {
+    public String getPreprocessedLogEntry(CharSequence currentLogLine, CharSequence priorLogLine,
+            CharSequence nextLogLine, Date jvmStartDate, List<String> entangledLogLines, Set<String> context) {
 
         String preprocessedLogLine = null;
+        PreprocessFamily family;
 
         if (currentLogLine != null) {
-            if (isThrowawayEvent(currentLogLine, priorLogLine)) {
-                LogEvent throwAwayEvent = JdkUtil.parseLogLine(currentLogLine, priorLogLine);
-                JdkUtil.LogEventType throwAwayEventType = JdkUtil.determineEventType(throwAwayEvent.getName());
-                if (!jvmDao.getEventTypes().contains(throwAwayEventType)) {
-                    jvmDao.getEventTypes().add(throwAwayEventType);
+            // A String is only created for log lines that are not thrown away.
+            LogEventType eventType = identifyEventType(currentLogLine, priorLogLine);
+            if (isThrowAway(eventType, currentLogLine, priorLogLine)) {
+                if (!jvmDao.getEventTypes().contains(eventType)) {
+                    jvmDao.getEventTypes().add(eventType);
                 } else {
-                    if (throwAwayEvent instanceof ZStatsEvent && ((ZStatsEvent) throwAwayEvent).isHeader()
-                            && !jvmDao.getAnalysis().contains(Analysis.INFO_Z_STATISTICS_INTERVAL)) {
+                    if (eventType == LogEventType.Z_STATS
+                            && !jvmDao.getAnalysis().contains(Analysis.INFO_Z_STATISTICS_INTERVAL)
+                            && new ZStatsEvent(currentLogLine.toString()).isHeader()) {
                         jvmDao.addAnalysis(Analysis.INFO_Z_STATISTICS_INTERVAL);
                     }
                 }
-                currentLogLine = null;
-            } else if (!context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                    && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                    // TODO: Remove Shenandoah dependency on UnifiedPreprocessAction (e.g. UnifiedSafepointEvent)
-                    // && !context.contains(UnifiedPreprocessAction.TOKEN)
-                    && ShenandoahPreprocessAction.match(currentLogLine)) {
-                ShenandoahPreprocessAction action = new ShenandoahPreprocessAction(priorLogLine, currentLogLine,
-                        nextLogLine, entangledLogLines, context);
-                if (action.getLogEntry() != null) {
-                    preprocessedLogLine = action.getLogEntry();
-                }
-            } else if (!context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                    && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                    // TODO: Remove Unified dependency on ShenandoahPreprocessAction
-                    // && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                    && UnifiedPreprocessAction.match(currentLogLine)) {
-                UnifiedPreprocessAction action = new UnifiedPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
-                        entangledLogLines, context);
-                if (action.getLogEntry() != null) {
-                    preprocessedLogLine = action.getLogEntry();
-                }
-            } else if (!context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                    && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(UnifiedPreprocessAction.TOKEN)
-                    && ParallelPreprocessAction.match(currentLogLine)) {
-                ParallelPreprocessAction action = new ParallelPreprocessAction(priorLogLine, currentLogLine,
-                        nextLogLine, entangledLogLines, context);
+            } else if ((family = getPreprocessFamily(priorLogLine, currentLogLine, nextLogLine, context)) != null) {
+                PreprocessAction action = family.preprocess(toString(priorLogLine), currentLogLine.toString(),
+                        toString(nextLogLine), entangledLogLines, context, jvmDao.getPreprocessEvents());
                 if (action.getLogEntry() != null) {
                     preprocessedLogLine = action.getLogEntry();
                 }
-            } else if (!context.contains(SerialPreprocessAction.TOKEN)
-                    && !context.contains(ParallelPreprocessAction.TOKEN) && !context.contains(G1PreprocessAction.TOKEN)
-                    && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                    && !context.contains(UnifiedPreprocessAction.TOKEN)
-                    && CmsPreprocessAction.match(currentLogLine, priorLogLine, nextLogLine)) {
-                CmsPreprocessAction action = new CmsPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
-                        entangledLogLines, context);
-                if (action.getLogEntry() != null) {
-                    preprocessedLogLine = action.getLogEntry();
-                }
-            } else if (!context.contains(SerialPreprocessAction.TOKEN)
-                    && !context.contains(ParallelPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                    && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                    && !context.contains(UnifiedPreprocessAction.TOKEN)
-                    && G1PreprocessAction.match(currentLogLine, priorLogLine, nextLogLine)) {
-                G1PreprocessAction action = new G1PreprocessAction(priorLogLine, currentLogLine, nextLogLine,
-                        entangledLogLines, context, jvmDao.getPreprocessEvents());
-                if (action.getLogEntry() != null) {
-                    preprocessedLogLine = action.getLogEntry();
-                }
-            } else if (!context.contains(ParallelPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                    && !context.contains(G1PreprocessAction.TOKEN)
-                    && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                    && !context.contains(UnifiedPreprocessAction.TOKEN)
-                    && SerialPreprocessAction.match(currentLogLine)) {
-                SerialPreprocessAction action = new SerialPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
-                        entangledLogLines, context);
-                if (action.getLogEntry() != null) {
-                    preprocessedLogLine = action.getLogEntry();
-                }
-            } else if (ApplicationStoppedTimePreprocessAction.match(currentLogLine)) {
+            } else if (matchApplicationStoppedTime(currentLogLine)) {
                 // single line preprocessing
-                ApplicationStoppedTimePreprocessAction action = new ApplicationStoppedTimePreprocessAction(priorLogLine,
-                        currentLogLine, nextLogLine, entangledLogLines, context);
+                ApplicationStoppedTimePreprocessAction action = new ApplicationStoppedTimePreprocessAction(
+                        toString(priorLogLine), currentLogLine.toString(), toString(nextLogLine), entangledLogLines,
+                        context);
                 if (action.getLogEntry() != null) {
                     preprocessedLogLine = action.getLogEntry();
                 }
             } else {
                 // Output any entangled log lines
                 if (entangledLogLines != null && !entangledLogLines.isEmpty()) {
+                    StringBuilder logLines = new StringBuilder();
                     for (String logLine : entangledLogLines) {
-                        if (preprocessedLogLine == null) {
-                            preprocessedLogLine = logLine;
-                        } else {
-                            preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + logLine;
-                        }
+                        logLines.append(logLine).append(Constants.LINE_SEPARATOR);
                     }
+                    preprocessedLogLine = logLines.append(currentLogLine).toString();
                     // Reset entangled log lines
                     entangledLogLines.clear();
-                }
-                if (preprocessedLogLine == null) {
-                    preprocessedLogLine = currentLogLine;
                 } else {
-                    preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + currentLogLine;
+                    preprocessedLogLine = currentLogLine.toString();
                 }
                 context.add(PreprocessAction.NEWLINE);
             }
@@ -625,62 +665,73 @@ public class GcManager {
     }
 
     /**
-     * Determine <code>SafepointEvent</code>s where throughput since last event does not meet the throughput goal.
-     * 
-     * @param jvmStartDate
-     *            The JVM start date.
-     * @param throughputThreshold
-     *            The bottleneck reporting throughput threshold.
-     * @return A <code>List</code> of <code>SafepointEvent</code>s where the throughput between events is less than the
-     *         throughput threshold goal.
+     * @param priorLogLine
+     *            The previous log line.
+     * @param currentLogLine
+     *            The current log line.
+     * @param nextLogLine
+     *            The next log line.
+     * @param context
+     *            Information to make preprocessing decisions.
+     * @return The first collector family whose action matches the log line, of the families not excluded by the
+     *         context, or null if none match.
      */
-    private List<String> getSafepointBottlenecks(Date jvmStartDate, int throughputThreshold) {
-        List<String> bottlenecks = new ArrayList<String>();
-        List<SafepointEvent> safepointEvents = jvmDao.getSafepointEvents();
-        SafepointEvent priorEvent = null;
-        for (SafepointEvent event : safepointEvents) {
-            if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
-                if (bottlenecks.isEmpty()) {
-                    // Add current and prior event
-                    if (jvmStartDate != null) {
-                        // Convert timestamps to date/time
-                        bottlenecks.add(
-                                JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvmStartDate));
-                        bottlenecks
-                                .add(JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                    } else {
-                        bottlenecks.add(priorEvent.getLogEntry());
-                        bottlenecks.add(event.getLogEntry());
-                    }
-                } else {
-                    if (jvmStartDate != null) {
-                        // Compare datetime, since bottleneck has datetime
-                        if (!JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(), jvmStartDate)
-                                .equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(JdkUtil.convertLogEntryTimestampsToDateStamp(priorEvent.getLogEntry(),
-                                    jvmStartDate));
-                            bottlenecks.add(
-                                    JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                        } else {
-                            bottlenecks.add(
-                                    JdkUtil.convertLogEntryTimestampsToDateStamp(event.getLogEntry(), jvmStartDate));
-                        }
-                    } else {
-                        // Compare timestamps, since bottleneck has timestamp
-                        if (!priorEvent.getLogEntry().equals(bottlenecks.get(bottlenecks.size() - 1))) {
-                            bottlenecks.add("...");
-                            bottlenecks.add(priorEvent.getLogEntry());
-                            bottlenecks.add(event.getLogEntry());
-                        } else {
-                            bottlenecks.add(event.getLogEntry());
-                        }
-                    }
-                }
+    private PreprocessFamily getPreprocessFamily(CharSequence priorLogLine, CharSequence currentLogLine,
+            CharSequence nextLogLine, Set<String> context) {
+        boolean profile = Profiler.isEnabled();
+        boolean timed = profile && Profiler.isTimed();
+        for (PreprocessFamily family : PreprocessFamily.getFamilies(PreprocessFamily.getTokens(context),
+                isShenandoahLogging())) {
+            long start = timed ? System.nanoTime() : 0;
+            boolean hit = family.match(priorLogLine, currentLogLine, nextLogLine);
+            if (timed) {
+                family.getCounter().record(hit, System.nanoTime() - start);
+            } else if (profile) {
+                family.getCounter().record(hit);
+            }
+            if (hit) {
+                return family;
             }
-            priorEvent = event;
         }
-        return bottlenecks;
+        return null;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @return true if the log line matches the single line <code>ApplicationStoppedTimePreprocessAction</code>.
+     */
+    private boolean matchApplicationStoppedTime(CharSequence logLine) {
+        if (!Profiler.isEnabled()) {
+            return ApplicationStoppedTimePreprocessAction.match(logLine);
+        } else if (!Profiler.isTimed()) {
+            boolean hit = ApplicationStoppedTimePreprocessAction.match(logLine);
+            APPLICATION_STOPPED_TIME_COUNTER.record(hit);
+            return hit;
+        }
+        long start = System.nanoTime();
+        boolean hit = ApplicationStoppedTimePreprocessAction.match(logLine);
+        APPLICATION_STOPPED_TIME_COUNTER.record(hit, System.nanoTime() - start);
+        return hit;
+    }
+
+    /**
+     * Identify a log line, trying the events of the collector family of the logging first (see
+     * {@link #parseLogLine(String, String)}).
+     * 
+     * @param logLine
+     *            The log line.
+     * @param priorLogLine
+     *            The prior log line.
+     * @return The <code>LogEventType</code> of the log line.
+     */
+    private LogEventType identifyEventType(CharSequence logLine, CharSequence priorLogLine) {
+        LogEventType eventType = JdkUtil.identifyEventType(logLine, priorLogLine, getCollectorFamily());
+        CollectorFamily collectorFamily = JdkUtil.getCollectorFamily(eventType);
+        if (collectorFamily != null) {
+            collectorFamilies.add(collectorFamily);
+        }
+        return eventType;
     }
 
     public boolean isPreprocessed() {
@@ -688,16 +739,155 @@ public class GcManager {
     }
 
     /**
-     * Determine whether or not the logging line is essential for GC analysis.
+     * @param eventType
+     *            The event type of the log line.
+     * @param logLine
+     *            The log line.
+     * @param priorLogLine
+     *            The prior log line.
+     * @return true if the event of the log line is a <code>ThrowAwayEvent</code>. The event is only created for the
+     *         first log line of each event type.
+     */
+    private boolean isThrowAway(LogEventType eventType, CharSequence logLine, CharSequence priorLogLine) {
+        Boolean throwAway = throwAwayEventTypes.get(eventType);
+        if (throwAway == null) {
+            throwAway = JdkUtil.parseLogLine(logLine.toString(), toString(priorLogLine),
+                    getCollectorFamily()) instanceof ThrowAwayEvent;
+            throwAwayEventTypes.put(eventType, throwAway);
+        }
+        return throwAway;
+    }
+
+    /**
+     * @return false if the events of another collector family and no Shenandoah events have been identified, true
+     *         otherwise. Logging can start with many log lines of no collector family (e.g. safepoint logging in a
+     *         rotated log), so Shenandoah preprocessing is only skipped on evidence of another collector. Each log line
+     *         is identified before it is preprocessed, so it is tried again as soon as a Shenandoah event is found.
+     */
+    private boolean isShenandoahLogging() {
+        return collectorFamilies.isEmpty() || collectorFamilies.contains(CollectorFamily.SHENANDOAH);
+    }
+
+    /**
+     * Notify listeners of a stored log line.
+     * 
+     * @param event
+     *            The parsed log event.
+     * @param logLine
+     *            The log line.
+     * @param analysisCount
+     *            The number of analysis items before the log line was stored. Items added since are new.
+     */
+    private void notifyListeners(LogEvent event, String logLine, int analysisCount) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        List<Analysis> analysis = jvmDao.getAnalysis();
+        for (GcEventListener listener : listeners) {
+            if (event instanceof BlockingEvent) {
+                listener.onBlockingEvent((BlockingEvent) event);
+            } else if (event instanceof SafepointEvent) {
+                listener.onSafepoint((SafepointEvent) event);
+            } else if (event instanceof UnknownEvent) {
+                listener.onUnidentified(logLine);
+            }
+            for (int i = analysisCount; i < analysis.size(); i++) {
+                listener.onAnalysis(analysis.get(i));
+            }
+        }
+    }
+
+    /**
+     * Remove a registered listener.
+     * 
+     * @param listener
+     *            The listener.
+     */
+    public void removeListener(GcEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param headerSniffer
+     *            The logging format determined from the beginning of the logging (e.g. by a log stream).
+     */
+    void setHeaderSniffer(HeaderSniffer headerSniffer) {
+        this.headerSniffer = headerSniffer;
+    }
+
+    /**
+     * Write the log entries of stored <code>SafepointEvent</code>s to a spill, so retained events hold a
+     * <code>LogEntryReference</code> instead of the log entry. The spill must stay open until the events are no
+     * longer used (e.g. after reporting).
+     * 
+     * @param logEntrySpill
+     *            The spill, or null to retain log entries in memory.
+     */
+    public void setLogEntrySpill(LogEntrySpill logEntrySpill) {
+        this.logEntrySpill = logEntrySpill;
+    }
+
+    /**
+     * Set the number of high memory allocations to retain for reporting (default
+     * {@link Constants#HIGH_ALLOCATION_FIRST_LIMIT} and {@link Constants#HIGH_ALLOCATION_SAMPLE_LIMIT}). All high
+     * memory allocations are counted.
+     * 
+     * @param firstLimit
+     *            The number of first high memory allocations to retain.
+     * @param sampleLimit
+     *            The number of highest high memory allocations after the first ones to retain.
+     */
+    public void setHighAllocationLimits(int firstLimit, int sampleLimit) {
+        this.highAllocationFirstLimit = firstLimit;
+        this.highAllocationSampleLimit = sampleLimit;
+    }
+
+    /**
+     * Set the number of log entries to retain per run time window for reporting (default
+     * {@link Constants#RUN_TIME_WINDOW_ENTRY_FIRST_LIMIT} and {@link Constants#RUN_TIME_WINDOW_ENTRY_SAMPLE_LIMIT}).
+     * All log entries are counted.
+     * 
+     * @param firstLimit
+     *            The number of first log entries to retain per run time window.
+     * @param sampleLimit
+     *            The number of longest pause log entries after the first ones to retain per run time window.
+     */
+    public void setRunTimeWindowEntryLimits(int firstLimit, int sampleLimit) {
+        this.runTimeWindowEntryFirstLimit = firstLimit;
+        this.runTimeWindowEntrySampleLimit = sampleLimit;
+    }
+
+    /**
+     * Set the number of unidentified log lines to retain for reporting (default
+     * {@link Constants#UNIDENTIFIED_FIRST_LIMIT} and {@link Constants#UNIDENTIFIED_SAMPLE_LIMIT}). All unidentified log
+     * lines are counted. Set before log lines are stored.
+     * 
+     * @param firstLimit
+     *            The number of first unidentified log lines to retain.
+     * @param sampleLimit
+     *            The number of randomly sampled unidentified log lines after the first ones to retain.
+     */
+    public void setUnidentifiedLogLineLimits(int firstLimit, int sampleLimit) {
+        jvmDao.setUnidentifiedLogLineLimits(firstLimit, sampleLimit);
+    }
+
+    /**
+     * Parse a log line, trying the events of the collector family of the logging first. The collector family of the
+     * event is recorded, so logging with events of more than one collector family falls back to trying all events.
      * 
      * @param logLine
-     *            The log line to test.
+     *            The log line.
      * @param priorLogLine
      *            The prior log line.
-     * @return True if the logging event can be thrown away, false if it should be kept.
+     * @return The <code>LogEvent</code> for the log line.
      */
-    private boolean isThrowawayEvent(String logLine, String priorLogLine) {
-        return JdkUtil.parseLogLine(logLine, priorLogLine) instanceof ThrowAwayEvent;
+    private LogEvent parseLogLine(String logLine, String priorLogLine) {
+        LogEvent event = JdkUtil.parseLogLine(logLine, priorLogLine, getCollectorFamily());
+        CollectorFamily collectorFamily = JdkUtil.getCollectorFamily(event.getLogEventType());
+        if (collectorFamily != null) {
+            collectorFamilies.add(collectorFamily);
+        }
+        return event;
     }
 
     /**
@@ -717,154 +907,202 @@ public class GcManager {
 
         if (!logLines.isEmpty()) {
 
-            // Check if JDK version information is included in logging.
-            int jdkVersionMajor = Integer.MIN_VALUE;
-            int jdkVersionMinor = Integer.MIN_VALUE;
-            Iterator<String> iterator = logLines.iterator();
-            String priorLogLine = null;
-            while (iterator.hasNext()) {
-                String logLine = iterator.next();
-                LogEvent event = JdkUtil.parseLogLine(logLine, priorLogLine);
-                if (event instanceof HeaderVmInfoEvent) {
-                    jdkVersionMajor = ((HeaderVmInfoEvent) event).getJdkVersionMajor();
-                    jdkVersionMinor = ((HeaderVmInfoEvent) event).getJdkVersionMinor();
-                    break;
-                } else if (event instanceof UnifiedHeaderEvent && ((UnifiedHeaderEvent) event).isVersion()) {
-                    jdkVersionMajor = ((UnifiedHeaderEvent) event).getJdkVersionMajor();
-                    jdkVersionMinor = ((UnifiedHeaderEvent) event).getJdkVersionMinor();
-                    break;
-                }
-                priorLogLine = logLine;
-            }
+            // Check if JDK version information is included in logging (only the beginning is read).
+            headerSniffer = HeaderSniffer.sniff(logLines);
+            collectorFamilies.addAll(headerSniffer.getCollectorFamilies());
 
-            iterator = logLines.iterator();
-            // Used for de-tangling intermingled logging events that span multiple lines
-            List<String> entangledLogLines = new ArrayList<String>();
-            // Used to provide context for preprocessing decisions
-            Set<String> context = new HashSet<String>();
-            context.add(PreprocessAction.NEWLINE);
-            if ((jdkVersionMajor == 17 && jdkVersionMinor >= 8) || jdkVersionMajor >= 21) {
-                context.add(UnifiedPreprocessAction.JDK17U8);
+            Preprocessor preprocessor = new Preprocessor(headerSniffer.getJdkVersion(), jvmStartDate,
+                    preprocessedLogList::add);
+            for (String logLine : logLines) {
+                preprocessor.add(logLine);
             }
+            preprocessor.finish();
+        }
 
-            String priorLogEntry = Constants.LINE_SEPARATOR;
-            String currentLogLine = iterator.next();
-            priorLogLine = null;
-            String preprocessedLogLine = "";
-            String nextLogLine = null;
-
-            if (iterator.hasNext()) {
-                nextLogLine = iterator.next();
-            }
+        return preprocessedLogList;
 
-            while (nextLogLine != null) {
-                preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
-                        entangledLogLines, context);
-                if (preprocessedLogLine != null) {
-                    String[] preprocessedLogLines = preprocessedLogLine.split(Constants.LINE_SEPARATOR);
-                    if (context.contains(PreprocessAction.NEWLINE)
-                            && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                        for (int i = 0; i < preprocessedLogLines.length; i++) {
-                            if (preprocessedLogLines[i] != "") {
-                                preprocessedLogList.add(preprocessedLogLines[i]);
-                            }
-                        }
-                    } else {
-                        if (preprocessedLogList.isEmpty()) {
-                            preprocessedLogList.add(preprocessedLogLine);
+    }
 
-                        } else {
-                            if (!priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                                String lastPreprocessedLogEntry = preprocessedLogList
-                                        .get(preprocessedLogList.size() - 1);
-                                preprocessedLogList.remove(preprocessedLogList.size() - 1);
-                                preprocessedLogList.add(lastPreprocessedLogEntry + preprocessedLogLines[0]);
-                                if (preprocessedLogLines.length > 1) {
-                                    for (int i = 1; i < preprocessedLogLines.length; i++) {
-                                        if (preprocessedLogLines[i] != "") {
-                                            preprocessedLogList.add(preprocessedLogLines[i]);
-                                        }
-                                    }
-                                }
-                            } else {
-                                if (preprocessedLogLines.length > 1) {
-                                    for (int i = 0; i < preprocessedLogLines.length; i++) {
-                                        if (preprocessedLogLines[i] != "") {
-                                            preprocessedLogList.add(preprocessedLogLines[i]);
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    priorLogEntry = preprocessedLogLine;
-                }
+    /**
+     * <p>
+     * Incremental preprocessing. Log lines are preprocessed with one line of lookahead, and each preprocessed log entry
+     * is passed on as soon as no later log line can be appended to it, so the logging does not have to be held in
+     * memory.
+     * </p>
+     */
+    class Preprocessor {
+
+        /**
+         * Assembles preprocessed log lines into log entries.
+         */
+        private final LineAssembler assembler;
+
+        /**
+         * Information to make preprocessing decisions.
+         */
+        private final Set<String> context = new PreprocessContext();
+
+        /**
+         * The current log line (preprocessed when the next log line is added).
+         */
+        private CharSequence currentLogLine;
+
+        /**
+         * Used for de-tangling intermingled logging events that span multiple lines.
+         */
+        private final List<String> entangledLogLines = new ArrayList<String>();
+
+        /**
+         * The date and time the JVM was started.
+         */
+        private final Date jvmStartDate;
+
+        /**
+         * The prior preprocessed log line(s).
+         */
+        private String priorLogEntry = Constants.LINE_SEPARATOR;
+
+        /**
+         * The prior log line.
+         */
+        private CharSequence priorLogLine;
+
+        /**
+         * Whether or not the first log line has been added.
+         */
+        private boolean started;
+
+        /**
+         * @param jdkVersion
+         *            The JDK major and minor version, or null if not known.
+         * @param jvmStartDate
+         *            The date and time the JVM was started.
+         * @param logEntryConsumer
+         *            The receiver of preprocessed log entries.
+         */
+        Preprocessor(int[] jdkVersion, Date jvmStartDate, Consumer<String> logEntryConsumer) {
+            this.jvmStartDate = jvmStartDate;
+            this.assembler = new LineAssembler(logEntryConsumer);
+            context.add(PreprocessAction.NEWLINE);
+            if (jdkVersion != null && ((jdkVersion[0] == 17 && jdkVersion[1] >= 8) || jdkVersion[0] >= 21)) {
+                context.add(UnifiedPreprocessAction.JDK17U8);
+            }
+        }
 
-                priorLogLine = currentLogLine;
+        /**
+         * Add the next log line. The current log line is preprocessed.
+         * 
+         * @param nextLogLine
+         *            The next log line.
+         */
+        void add(CharSequence nextLogLine) {
+            if (!started) {
+                started = true;
                 currentLogLine = nextLogLine;
-                if (iterator.hasNext()) {
-                    nextLogLine = iterator.next();
-                } else {
-                    nextLogLine = null;
+                return;
+            }
+            String preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine,
+                    jvmStartDate, entangledLogLines, context);
+            if (preprocessedLogLine != null) {
+                if (context.contains(PreprocessAction.NEWLINE) && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                    assembler.add(preprocessedLogLine, false);
+                } else if (assembler.isEmpty()) {
+                    assembler.start(preprocessedLogLine);
+                } else if (!priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                    assembler.add(preprocessedLogLine, true);
+                } else if (LineAssembler.lines(preprocessedLogLine) > 1) {
+                    assembler.add(preprocessedLogLine, false);
                 }
+                priorLogEntry = preprocessedLogLine;
             }
+            priorLogLine = currentLogLine;
+            currentLogLine = nextLogLine;
+        }
 
+        /**
+         * Preprocess the last log line and pass on the remaining log entries.
+         */
+        void finish() {
+            if (!started) {
+                return;
+            }
             // Process last line
-            lastLogLineUnprocessed = currentLogLine;
-            preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
+            lastLogLineUnprocessed = currentLogLine.toString();
+            String preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, null, jvmStartDate,
                     entangledLogLines, context);
             if (preprocessedLogLine != null) {
-                String[] preprocessedLogLines = preprocessedLogLine.split(Constants.LINE_SEPARATOR);
                 if (context.contains(PreprocessAction.NEWLINE)) {
                     // Output on new line
-                    for (int i = 0; i < preprocessedLogLines.length; i++) {
-                        if (preprocessedLogLines[i] != "") {
-                            preprocessedLogList.add(preprocessedLogLines[i]);
-                        }
-                    }
-                } else {
-                    if (preprocessedLogList.isEmpty()) {
-                        preprocessedLogList.add(preprocessedLogLine);
-                    } else {
-                        // Add to prior line if prior line does not end with LINE_SEPARATOR
-                        String lastPreprocessedLogEntry = preprocessedLogList.get(preprocessedLogList.size() - 1);
-                        if (!lastPreprocessedLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                            preprocessedLogList.remove(preprocessedLogList.size() - 1);
-                            preprocessedLogList.add(lastPreprocessedLogEntry + preprocessedLogLines[0]);
-                            if (preprocessedLogLines.length > 1) {
-                                for (int i = 1; i < preprocessedLogLines.length; i++) {
-                                    if (preprocessedLogLines[i] != "") {
-                                        preprocessedLogList.add(preprocessedLogLines[i]);
-                                    }
-                                }
-                            }
-                        } else {
-                            if (preprocessedLogLines.length > 1) {
-                                for (int i = 0; i < preprocessedLogLines.length; i++) {
-                                    if (preprocessedLogLines[i] != "") {
-                                        preprocessedLogList.add(preprocessedLogLines[i]);
-                                    }
-                                }
-                            }
-                        }
-                    }
+                    assembler.add(preprocessedLogLine, false);
+                } else if (assembler.isEmpty()) {
+                    assembler.start(preprocessedLogLine);
+                } else if (!assembler.endsWith(Constants.LINE_SEPARATOR)) {
+                    // Add to prior line if prior line does not end with LINE_SEPARATOR
+                    assembler.add(preprocessedLogLine, true);
+                } else if (LineAssembler.lines(preprocessedLogLine) > 1) {
+                    assembler.add(preprocessedLogLine, false);
                 }
             }
 
             // output entangled log lines
             if (!entangledLogLines.isEmpty()) {
                 for (String logLine : entangledLogLines) {
-                    preprocessedLogList.add(logLine);
+                    assembler.start(logLine);
                 }
                 // Reset entangled log lines
                 entangledLogLines.clear();
             }
+            assembler.flush();
 
             preprocessed = true;
         }
+    }
 
-        return preprocessedLogList;
+    /**
+     * @param logLine
+     *            The log line, or null.
+     * @return The log line as a <code>String</code>, or null.
+     */
+    private static String toString(CharSequence logLine) {
+        return logLine == null ? null : logLine.toString();
+    }
 
+    /**
+     * Preprocess the garbage collection logging for the JVM run and store the data in the data store. Each
+     * preprocessed log entry is stored as soon as no later log line can be appended to it, so the preprocessed
+     * logging is not held in memory.
+     * 
+     * @param logLines
+     *            Raw garbage collection logging. A <code>String</code> is only created for the log lines that are not
+     *            thrown away.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void store(List<? extends CharSequence> logLines, Date jvmStartDate, boolean reorder) {
+        if (logLines == null)
+            throw new IllegalArgumentException("logLines == null!!");
+
+        if (logLines.isEmpty()) {
+            return;
+        }
+
+        headerSniffer = HeaderSniffer.sniff(logLines);
+        collectorFamilies.addAll(headerSniffer.getCollectorFamilies());
+        priorBlockingEvent = null;
+        priorStoredLogLine = null;
+        Preprocessor preprocessor = new Preprocessor(headerSniffer.getJdkVersion(), jvmStartDate, logEntry -> {
+            // The store stage is nested in the preprocess stage.
+            Profiler.Sample sample = Profiler.beginNested();
+            store(logEntry, reorder);
+            Profiler.endNested(Stage.STORE, Stage.PREPROCESS, sample);
+        });
+        for (CharSequence logLine : logLines) {
+            preprocessor.add(logLine);
+        }
+        preprocessor.finish();
+        chunk.flush();
     }
 
     /**
@@ -881,493 +1119,537 @@ public class GcManager {
             return;
         }
 
-        String logLine = null;
-        BlockingEvent priorBlockingEvent = null;
-        String priorLogLine = null;
-        Iterator<String> iterator = logLines.iterator();
-        while (iterator.hasNext()) {
-            logLine = iterator.next();
-            // If event has no timestamp, use most recent blocking timestamp.
-            LogEvent event = JdkUtil.parseLogLine(logLine, priorLogLine);
-            if (event instanceof BlockingEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-
-                // Verify logging in correct order. If overridden, logging will be stored and reordered by timestamp
-                // for analysis.
-                if (!reorder && priorBlockingEvent != null
-                        && event.getTimestamp() < priorBlockingEvent.getTimestamp()) {
-                    throw new TimeWarpException("Logging reversed: " + Constants.LINE_SEPARATOR
-                            + priorBlockingEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
-                }
+        if (headerSniffer == null) {
+            headerSniffer = HeaderSniffer.sniff(logLines);
+            collectorFamilies.addAll(headerSniffer.getCollectorFamilies());
+        }
+        priorBlockingEvent = null;
+        priorStoredLogLine = null;
+        for (String logLine : logLines) {
+            store(logLine, reorder);
+        }
+        chunk.flush();
+    }
+
+    /**
+     * Parse the next garbage collection log line and store the data in the data store. Registered
+     * <code>GcEventListener</code>s are notified before the method returns.
+     * 
+     * @param logLine
+     *            The next garbage collection log line.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     */
+    public void store(String logLine, boolean reorder) {
+        int analysisCount = jvmDao.getAnalysis().size();
+        long abortedMatches = RegexGuard.getAbortedMatches();
+        Object slowLineEvent = ProcessingEvents.beginLine();
+        // If event has no timestamp, use most recent blocking timestamp.
+        LogEvent event = parseLogLine(logLine, priorStoredLogLine);
+        ProcessingEvents.endLine(slowLineEvent, event.getLogEventType().name(), logLine);
+        chunk.add(logLine.length(), !(event instanceof UnknownEvent || event instanceof ThrowAwayEvent));
+        if (event instanceof BlockingEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+
+            // Verify logging in correct order. If overridden, logging will be stored and reordered by timestamp
+            // for analysis.
+            if (!reorder && priorBlockingEvent != null
+                    && event.getTimestamp() < priorBlockingEvent.getTimestamp()) {
+                throw new TimeWarpException("Logging reversed: " + Constants.LINE_SEPARATOR
+                        + priorBlockingEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
+            }
 
-                jvmDao.addBlockingEvent((BlockingEvent) event);
+            jvmDao.addBlockingEvent((BlockingEvent) event);
 
-                // Analysis
+            // Analysis
 
-                // 1) Explicit GC
-                if (event instanceof TriggerData) {
-                    GcTrigger trigger = ((TriggerData) event).getTrigger();
-                    if (trigger == GcTrigger.SYSTEM_GC) {
-                        GarbageCollector garbageCollector = ((GcEvent) event).getGarbageCollector();
-                        switch (garbageCollector) {
-                        case G1:
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1)
-                                    && event instanceof G1FullGcEvent) {
-                                jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1);
-                            } else if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK)
-                                    && event instanceof G1YoungInitialMarkEvent) {
-                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK);
-                            }
-                            break;
-                        case PARALLEL_OLD:
-                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_PARALLEL)) {
-                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_PARALLEL);
-                            }
-                            break;
-                        case PARALLEL_SERIAL_OLD:
-                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL)) {
-                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL);
-                            }
-                            break;
-                        case SERIAL_NEW:
-                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL)) {
-                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL);
-                            }
-                            break;
-                        case SERIAL_OLD:
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS)
-                                    && event instanceof CmsSerialOldEvent) {
-                                jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS);
-                            }
-                            break;
-                        case SHENANDOAH:
-                            break;
-                        case UNKNOWN:
-                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_UNKNOWN)) {
-                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_UNKNOWN);
-                            }
-                            break;
-                        default:
-                            break;
+            // 1) Explicit GC
+            if (event instanceof TriggerData) {
+                GcTrigger trigger = ((TriggerData) event).getTrigger();
+                if (trigger == GcTrigger.SYSTEM_GC) {
+                    GarbageCollector garbageCollector = ((GcEvent) event).getGarbageCollector();
+                    switch (garbageCollector) {
+                    case G1:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1)
+                                && event instanceof G1FullGcEvent) {
+                            jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1);
+                        } else if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK)
+                                && event instanceof G1YoungInitialMarkEvent) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK);
                         }
-                    }
-                }
-
-                // 2) Serial collections not caused by explicit GC
-                if (event instanceof SerialCollection) {
-                    GcTrigger trigger = null;
-                    if (event instanceof TriggerData) {
-                        trigger = ((TriggerData) event).getTrigger();
-                    }
-                    if (trigger == null || !(trigger == GcTrigger.SYSTEM_GC || trigger == GcTrigger.CLASS_HISTOGRAM
-                            || trigger == GcTrigger.HEAP_INSPECTION_INITIATED_GC
-                            || trigger == GcTrigger.HEAP_DUMP_INITIATED_GC)) {
-                        JdkUtil.LogEventType eventType = JdkUtil.determineEventType(event.getName());
-                        switch (eventType) {
-                        case G1_FULL_GC_SERIAL:
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_G1)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_G1);
-                            }
-                            break;
-                        case CMS_SERIAL_OLD:
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_CMS)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_CMS);
-                            }
-                            break;
-                        case PARALLEL_SERIAL_OLD:
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
-                            }
-                            break;
-                        case SERIAL_OLD:
-                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_SERIAL_GC)) {
-                                jvmDao.addAnalysis(Analysis.WARN_SERIAL_GC);
-                            }
-                            break;
-                        case UNKNOWN:
-                            break;
-                        default:
-                            break;
+                        break;
+                    case PARALLEL_OLD:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_PARALLEL)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_PARALLEL);
                         }
-                    }
-                }
-
-                // 3) CMS concurrent mode failure
-                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE)) {
-                    if (event instanceof CmsSerialOldEvent) {
-                        GcTrigger trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == GcTrigger.CONCURRENT_MODE_FAILURE) {
-                            jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE);
+                        break;
+                    case PARALLEL_SERIAL_OLD:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL);
+                        }
+                        break;
+                    case SERIAL_NEW:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL);
                         }
+                        break;
+                    case SERIAL_OLD:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS)
+                                && event instanceof CmsSerialOldEvent) {
+                            jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS);
+                        }
+                        break;
+                    case SHENANDOAH:
+                        break;
+                    case UNKNOWN:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_UNKNOWN)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_UNKNOWN);
+                        }
+                        break;
+                    default:
+                        break;
                     }
                 }
+            }
 
-                // 4) CMS concurrent mode interrupted
-                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED)) {
-                    if (event instanceof CmsSerialOldEvent) {
-                        GcTrigger trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == GcTrigger.CONCURRENT_MODE_INTERRUPTED) {
-                            jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED);
+            // 2) Serial collections not caused by explicit GC
+            if (event instanceof SerialCollection) {
+                GcTrigger trigger = null;
+                if (event instanceof TriggerData) {
+                    trigger = ((TriggerData) event).getTrigger();
+                }
+                if (trigger == null || !(trigger == GcTrigger.SYSTEM_GC || trigger == GcTrigger.CLASS_HISTOGRAM
+                        || trigger == GcTrigger.HEAP_INSPECTION_INITIATED_GC
+                        || trigger == GcTrigger.HEAP_DUMP_INITIATED_GC)) {
+                    JdkUtil.LogEventType eventType = event.getLogEventType();
+                    switch (eventType) {
+                    case G1_FULL_GC_SERIAL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_G1)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_G1);
+                        }
+                        break;
+                    case CMS_SERIAL_OLD:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_CMS)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_CMS);
                         }
+                        break;
+                    case PARALLEL_SERIAL_OLD:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
+                        }
+                        break;
+                    case SERIAL_OLD:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_SERIAL_GC)) {
+                            jvmDao.addAnalysis(Analysis.WARN_SERIAL_GC);
+                        }
+                        break;
+                    case UNKNOWN:
+                        break;
+                    default:
+                        break;
                     }
                 }
+            }
 
-                // 5) Heap dump initiated gc
-                if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_DUMP_INITIATED_GC)) {
-                    if (event instanceof TriggerData) {
-                        GcTrigger trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == GcTrigger.HEAP_DUMP_INITIATED_GC) {
-                            jvmDao.addAnalysis(Analysis.WARN_HEAP_DUMP_INITIATED_GC);
-                        }
+            // 3) CMS concurrent mode failure
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE)) {
+                if (event instanceof CmsSerialOldEvent) {
+                    GcTrigger trigger = ((TriggerData) event).getTrigger();
+                    if (trigger == GcTrigger.CONCURRENT_MODE_FAILURE) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE);
                     }
                 }
+            }
 
-                // 6) Heap inspection initiated gc
-                if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC)) {
-                    if (event instanceof TriggerData) {
-                        GcTrigger trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == GcTrigger.HEAP_INSPECTION_INITIATED_GC) {
-                            jvmDao.addAnalysis(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC);
-                        }
+            // 4) CMS concurrent mode interrupted
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED)) {
+                if (event instanceof CmsSerialOldEvent) {
+                    GcTrigger trigger = ((TriggerData) event).getTrigger();
+                    if (trigger == GcTrigger.CONCURRENT_MODE_INTERRUPTED) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED);
                     }
                 }
+            }
 
-                // 7) Metaspace allocation failure
-                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE)) {
-                    if (event instanceof TriggerData) {
-                        GcTrigger trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == GcTrigger.LAST_DITCH_COLLECTION) {
-                            jvmDao.addAnalysis(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE);
-                        }
+            // 5) Heap dump initiated gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_DUMP_INITIATED_GC)) {
+                if (event instanceof TriggerData) {
+                    GcTrigger trigger = ((TriggerData) event).getTrigger();
+                    if (trigger == GcTrigger.HEAP_DUMP_INITIATED_GC) {
+                        jvmDao.addAnalysis(Analysis.WARN_HEAP_DUMP_INITIATED_GC);
                     }
                 }
+            }
 
-                // 8) JV TI explicit gc
-                if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_JVMTI)) {
-                    if (event instanceof TriggerData) {
-                        GcTrigger trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == GcTrigger.JVMTI_FORCED_GARBAGE_COLLECTION) {
-                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_JVMTI);
-                        }
+            // 6) Heap inspection initiated gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC)) {
+                if (event instanceof TriggerData) {
+                    GcTrigger trigger = ((TriggerData) event).getTrigger();
+                    if (trigger == GcTrigger.HEAP_INSPECTION_INITIATED_GC) {
+                        jvmDao.addAnalysis(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC);
                     }
                 }
+            }
 
-                // 9) G1 evacuation failure
+            // 7) Metaspace allocation failure
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE)) {
                 if (event instanceof TriggerData) {
                     GcTrigger trigger = ((TriggerData) event).getTrigger();
-                    if ((trigger == GcTrigger.TO_SPACE_EXHAUSTED || trigger == GcTrigger.TO_SPACE_OVERFLOW)
-                            || (event instanceof UnifiedG1YoungPauseEvent
-                                    && ((UnifiedG1YoungPauseEvent) event).isToSpaceExhausted())) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_G1_EVACUATION_FAILURE)) {
-                            jvmDao.addAnalysis(Analysis.ERROR_G1_EVACUATION_FAILURE);
-                        }
+                    if (trigger == GcTrigger.LAST_DITCH_COLLECTION) {
+                        jvmDao.addAnalysis(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE);
                     }
                 }
+            }
 
-                // 10) CMS promotion failure
+            // 8) JV TI explicit gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_JVMTI)) {
                 if (event instanceof TriggerData) {
                     GcTrigger trigger = ((TriggerData) event).getTrigger();
-                    if (trigger == GcTrigger.PROMOTION_FAILED) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PROMOTION_FAILED)
-                                && event instanceof CmsSerialOldEvent) {
-                            jvmDao.addAnalysis(Analysis.ERROR_CMS_PROMOTION_FAILED);
-                        }
+                    if (trigger == GcTrigger.JVMTI_FORCED_GARBAGE_COLLECTION) {
+                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_JVMTI);
                     }
                 }
+            }
 
-                // 12) -XX:+PrintGCCause is essential for troubleshooting G1 full GCs
-                if (event instanceof G1FullGcEvent) {
-                    GcTrigger trigger = ((TriggerData) event).getTrigger();
-                    if (trigger == GcTrigger.NONE) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
-                            jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED);
-                        }
+            // 9) G1 evacuation failure
+            if (event instanceof TriggerData) {
+                GcTrigger trigger = ((TriggerData) event).getTrigger();
+                if ((trigger == GcTrigger.TO_SPACE_EXHAUSTED || trigger == GcTrigger.TO_SPACE_OVERFLOW)
+                        || (event instanceof UnifiedG1YoungPauseEvent
+                                && ((UnifiedG1YoungPauseEvent) event).isToSpaceExhausted())) {
+                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_G1_EVACUATION_FAILURE)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_G1_EVACUATION_FAILURE);
                     }
                 }
+            }
 
-                // 13) CMS_REMARK class unloading
-                if (event instanceof CmsRemarkEvent && !((CmsRemarkEvent) event).isClassUnloading()
-                        && !jvmDao.getAnalysis().contains(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
-                    jvmDao.addAnalysis(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
+            // 10) CMS promotion failure
+            if (event instanceof TriggerData) {
+                GcTrigger trigger = ((TriggerData) event).getTrigger();
+                if (trigger == GcTrigger.PROMOTION_FAILED) {
+                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PROMOTION_FAILED)
+                            && event instanceof CmsSerialOldEvent) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_PROMOTION_FAILED);
+                    }
                 }
+            }
 
-                // 14) Humongous allocation
-                if (event instanceof G1Collector && event instanceof TriggerData
-                        && !jvmDao.getAnalysis().contains(Analysis.INFO_G1_HUMONGOUS_ALLOCATION)) {
-                    GcTrigger trigger = ((TriggerData) event).getTrigger();
-                    if (trigger == GcTrigger.G1_HUMONGOUS_ALLOCATION) {
-                        jvmDao.addAnalysis(Analysis.INFO_G1_HUMONGOUS_ALLOCATION);
+            // 12) -XX:+PrintGCCause is essential for troubleshooting G1 full GCs
+            if (event instanceof G1FullGcEvent) {
+                GcTrigger trigger = ((TriggerData) event).getTrigger();
+                if (trigger == GcTrigger.NONE) {
+                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
+                        jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED);
                     }
                 }
+            }
 
-                // 15) Inverted parallelism
-                if (event instanceof ParallelEvent && event instanceof TimesData) {
-                    if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
-                            && ((TimesData) event).getTimeSys() != TimesData.NO_DATA
-                            && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
-                        jvmDao.setParallelCount(jvmDao.getParallelCount() + 1);
-                        if (((TimesData) event).getTimeUser() > 0
-                                && JdkMath.isInvertedParallelism(((TimesData) event).getParallelism())) {
-                            jvmDao.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount() + 1);
-                            if (jvmDao.getWorstInvertedParallelismEvent() == null) {
+            // 13) CMS_REMARK class unloading
+            if (event instanceof CmsRemarkEvent && !((CmsRemarkEvent) event).isClassUnloading()
+                    && !jvmDao.getAnalysis().contains(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
+                jvmDao.addAnalysis(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
+            }
+
+            // 14) Humongous allocation
+            if (event instanceof G1Collector && event instanceof TriggerData
+                    && !jvmDao.getAnalysis().contains(Analysis.INFO_G1_HUMONGOUS_ALLOCATION)) {
+                GcTrigger trigger = ((TriggerData) event).getTrigger();
+                if (trigger == GcTrigger.G1_HUMONGOUS_ALLOCATION) {
+                    jvmDao.addAnalysis(Analysis.INFO_G1_HUMONGOUS_ALLOCATION);
+                }
+            }
+
+            // 15) Inverted parallelism
+            if (event instanceof ParallelEvent && event instanceof TimesData) {
+                if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
+                        && ((TimesData) event).getTimeSys() != TimesData.NO_DATA
+                        && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
+                    jvmDao.setParallelCount(jvmDao.getParallelCount() + 1);
+                    if (((TimesData) event).getTimeUser() > 0
+                            && JdkMath.isInvertedParallelism(((TimesData) event).getParallelism())) {
+                        jvmDao.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount() + 1);
+                        if (jvmDao.getWorstInvertedParallelismEvent() == null) {
+                            jvmDao.setWorstInvertedParallelismEvent(event);
+                        } else {
+                            if (((TimesData) event)
+                                    .getParallelism() < ((TimesData) jvmDao.getWorstInvertedParallelismEvent())
+                                            .getParallelism()) {
+                                // Update lowest "low"
                                 jvmDao.setWorstInvertedParallelismEvent(event);
-                            } else {
-                                if (((TimesData) event)
-                                        .getParallelism() < ((TimesData) jvmDao.getWorstInvertedParallelismEvent())
-                                                .getParallelism()) {
-                                    // Update lowest "low"
-                                    jvmDao.setWorstInvertedParallelismEvent(event);
-                                }
                             }
                         }
                     }
-                    // sys > user: ignore sys - user = .01 secs
-                    if (((TimesData) event).getTimeSys() > 0 && ((TimesData) event).getTimeUser() > 0
-                            && ((TimesData) event).getTimeSys() > ((TimesData) event).getTimeUser() + 1) {
-                        jvmDao.setSysGtUserCount(jvmDao.getSysGtUserCount() + 1);
-                        if (jvmDao.getWorstSysGtUserEvent() == null) {
+                }
+                // sys > user: ignore sys - user = .01 secs
+                if (((TimesData) event).getTimeSys() > 0 && ((TimesData) event).getTimeUser() > 0
+                        && ((TimesData) event).getTimeSys() > ((TimesData) event).getTimeUser() + 1) {
+                    jvmDao.setSysGtUserCount(jvmDao.getSysGtUserCount() + 1);
+                    if (jvmDao.getWorstSysGtUserEvent() == null) {
+                        jvmDao.setWorstSysGtUserEvent(event);
+                    } else {
+                        if ((((TimesData) event).getTimeSys() - ((TimesData) event)
+                                .getTimeUser()) > (((TimesData) jvmDao.getWorstSysGtUserEvent()).getTimeSys()
+                                        - ((TimesData) jvmDao.getWorstSysGtUserEvent()).getTimeUser())) {
+                            // Update greatest user - sys
                             jvmDao.setWorstSysGtUserEvent(event);
-                        } else {
-                            if ((((TimesData) event).getTimeSys() - ((TimesData) event)
-                                    .getTimeUser()) > (((TimesData) jvmDao.getWorstSysGtUserEvent()).getTimeSys()
-                                            - ((TimesData) jvmDao.getWorstSysGtUserEvent()).getTimeUser())) {
-                                // Update greatest user - sys
-                                jvmDao.setWorstSysGtUserEvent(event);
-                            }
                         }
                     }
                 }
+            }
 
-                // 16) Check for CMS initial mark low parallelism
-                if (event instanceof CmsInitialMarkEvent && ((TimesData) event).getTimeUser() > 0
-                        && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDurationMicros() >= 10000
-                        && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM)) {
-                        jvmDao.addAnalysis(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM);
-                    }
+            // 16) Check for CMS initial mark low parallelism
+            if (event instanceof CmsInitialMarkEvent && ((TimesData) event).getTimeUser() > 0
+                    && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDurationMicros() >= 10000
+                    && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
+                if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM)) {
+                    jvmDao.addAnalysis(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM);
                 }
+            }
 
-                // 17) Check for CMS remark low parallelism
-                if (event instanceof CmsRemarkEvent && ((TimesData) event).getTimeUser() > 0
-                        && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDurationMicros() >= 10000
-                        && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM)) {
-                        jvmDao.addAnalysis(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM);
-                    }
+            // 17) Check for CMS remark low parallelism
+            if (event instanceof CmsRemarkEvent && ((TimesData) event).getTimeUser() > 0
+                    && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDurationMicros() >= 10000
+                    && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
+                if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM)) {
+                    jvmDao.addAnalysis(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM);
                 }
+            }
 
-                // 18) Check for old JDKs using perm gen
-                if (event instanceof PermMetaspaceData && event.getLogEntry() != null
-                        && event.getLogEntry().matches("^.*Perm.*$")) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.INFO_PERM_GEN)) {
-                        jvmDao.addAnalysis(Analysis.INFO_PERM_GEN);
-                    }
+            // 18) Check for old JDKs using perm gen
+            if (event instanceof PermMetaspaceData && event.getLogEntry() != null
+                    && event.getLogEntry().contains("Perm")) {
+                if (!jvmDao.getAnalysis().contains(Analysis.INFO_PERM_GEN)) {
+                    jvmDao.addAnalysis(Analysis.INFO_PERM_GEN);
                 }
+            }
 
-                // 19) Shenandoah Full GC
-                if (event instanceof ShenandoahFullGcEvent) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHENANDOAH_FULL_GC)) {
-                        jvmDao.addAnalysis(Analysis.ERROR_SHENANDOAH_FULL_GC);
-                    }
+            // 19) Shenandoah Full GC
+            if (event instanceof ShenandoahFullGcEvent) {
+                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHENANDOAH_FULL_GC)) {
+                    jvmDao.addAnalysis(Analysis.ERROR_SHENANDOAH_FULL_GC);
                 }
+            }
 
-                // 20) Diagnostic explicit gc
-                if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_DIAGNOSTIC)) {
-                    if (event instanceof TriggerData) {
-                        GcTrigger trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == GcTrigger.DIAGNOSTIC_COMMAND) {
-                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_DIAGNOSTIC);
-                        }
+            // 20) Diagnostic explicit gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_DIAGNOSTIC)) {
+                if (event instanceof TriggerData) {
+                    GcTrigger trigger = ((TriggerData) event).getTrigger();
+                    if (trigger == GcTrigger.DIAGNOSTIC_COMMAND) {
+                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_DIAGNOSTIC);
                     }
                 }
+            }
 
-                // 21) Inverted serialism
-                if (event instanceof SerialCollection && event instanceof TimesData) {
-                    if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
-                            && ((TimesData) event).getTimeSys() != TimesData.NO_DATA
-                            && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
-                        jvmDao.setSerialCount(jvmDao.getSerialCount() + 1);
-                        // Inverted serialism: Ignore real vs user + sys < .1 secs
-                        if (((TimesData) event).getTimeUser() > 0
-                                && JdkMath.isInvertedSerialism(((TimesData) event).getParallelism())
-                                && (((TimesData) event).getTimeReal() - ((TimesData) event).getTimeUser()
-                                        - ((TimesData) event).getTimeSys() > 10)) {
-                            jvmDao.setInvertedSerialismCount(jvmDao.getInvertedSerialismCount() + 1);
-                            if (jvmDao.getWorstInvertedSerialismEvent() == null) {
+            // 21) Inverted serialism
+            if (event instanceof SerialCollection && event instanceof TimesData) {
+                if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
+                        && ((TimesData) event).getTimeSys() != TimesData.NO_DATA
+                        && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
+                    jvmDao.setSerialCount(jvmDao.getSerialCount() + 1);
+                    // Inverted serialism: Ignore real vs user + sys < .1 secs
+                    if (((TimesData) event).getTimeUser() > 0
+                            && JdkMath.isInvertedSerialism(((TimesData) event).getParallelism())
+                            && (((TimesData) event).getTimeReal() - ((TimesData) event).getTimeUser()
+                                    - ((TimesData) event).getTimeSys() > 10)) {
+                        jvmDao.setInvertedSerialismCount(jvmDao.getInvertedSerialismCount() + 1);
+                        if (jvmDao.getWorstInvertedSerialismEvent() == null) {
+                            jvmDao.setWorstInvertedSerialismEvent(event);
+                        } else {
+                            if (((TimesData) event)
+                                    .getParallelism() < ((TimesData) jvmDao.getWorstInvertedSerialismEvent())
+                                            .getParallelism()) {
+                                // Update lowest "low"
                                 jvmDao.setWorstInvertedSerialismEvent(event);
-                            } else {
-                                if (((TimesData) event)
-                                        .getParallelism() < ((TimesData) jvmDao.getWorstInvertedSerialismEvent())
-                                                .getParallelism()) {
-                                    // Update lowest "low"
-                                    jvmDao.setWorstInvertedSerialismEvent(event);
-                                }
                             }
                         }
-                        // sys > user: ignore sys - user = .01 secs
-                        if (((TimesData) event).getTimeSys() > 0 && ((TimesData) event).getTimeUser() > 0
-                                && ((TimesData) event).getTimeSys() > ((TimesData) event).getTimeUser() + 1) {
-                            jvmDao.setSysGtUserCount(jvmDao.getSysGtUserCount() + 1);
-                            if (jvmDao.getWorstSysGtUserEvent() == null) {
+                    }
+                    // sys > user: ignore sys - user = .01 secs
+                    if (((TimesData) event).getTimeSys() > 0 && ((TimesData) event).getTimeUser() > 0
+                            && ((TimesData) event).getTimeSys() > ((TimesData) event).getTimeUser() + 1) {
+                        jvmDao.setSysGtUserCount(jvmDao.getSysGtUserCount() + 1);
+                        if (jvmDao.getWorstSysGtUserEvent() == null) {
+                            jvmDao.setWorstSysGtUserEvent(event);
+                        } else {
+                            if ((((TimesData) event).getTimeSys() - ((TimesData) event)
+                                    .getTimeUser()) > (((TimesData) jvmDao.getWorstSysGtUserEvent()).getTimeSys()
+                                            - ((TimesData) jvmDao.getWorstSysGtUserEvent()).getTimeUser())) {
+                                // Update greatest user - sys
                                 jvmDao.setWorstSysGtUserEvent(event);
-                            } else {
-                                if ((((TimesData) event).getTimeSys() - ((TimesData) event)
-                                        .getTimeUser()) > (((TimesData) jvmDao.getWorstSysGtUserEvent()).getTimeSys()
-                                                - ((TimesData) jvmDao.getWorstSysGtUserEvent()).getTimeUser())) {
-                                    // Update greatest user - sys
-                                    jvmDao.setWorstSysGtUserEvent(event);
-                                }
                             }
                         }
                     }
                 }
+            }
 
-                // 22) <code>G1ExtRootScanningData</code>
-                if (event instanceof G1ExtRootScanningData
-                        && ((G1ExtRootScanningData) event).getExtRootScanningTime() != G1ExtRootScanningData.NO_DATA) {
-                    long extRootScanningTime = ((G1ExtRootScanningData) event).getExtRootScanningTime();
-                    if (extRootScanningTime > 0) {
-                        if (extRootScanningTime > jvmDao.getExtRootScanningTimeMax()) {
-                            jvmDao.setExtRootScanningTimeMax(extRootScanningTime);
-                        }
-                        jvmDao.setExtRootScanningTimeTotal(jvmDao.getExtRootScanningTimeTotal() + extRootScanningTime);
+            // 22) <code>G1ExtRootScanningData</code>
+            if (event instanceof G1ExtRootScanningData
+                    && ((G1ExtRootScanningData) event).getExtRootScanningTime() != G1ExtRootScanningData.NO_DATA) {
+                long extRootScanningTime = ((G1ExtRootScanningData) event).getExtRootScanningTime();
+                if (extRootScanningTime > 0) {
+                    if (extRootScanningTime > jvmDao.getExtRootScanningTimeMax()) {
+                        jvmDao.setExtRootScanningTimeMax(extRootScanningTime);
                     }
+                    jvmDao.setExtRootScanningTimeTotal(jvmDao.getExtRootScanningTimeTotal() + extRootScanningTime);
                 }
+            }
 
-                // 23) "Other" time
-                if (event instanceof OtherTime && ((OtherTime) event).getOtherTime() != OtherTime.NO_DATA) {
-                    long otherTime = ((OtherTime) event).getOtherTime();
-                    if (otherTime > 0) {
-                        if (otherTime > jvmDao.getOtherTimeMax()) {
-                            jvmDao.setOtherTimeMax(otherTime);
-                        }
-                        jvmDao.setOtherTimeTotal(jvmDao.getOtherTimeTotal() + otherTime);
-                    }
-                }
-                priorBlockingEvent = (BlockingEvent) event;
-            } else if (event instanceof ApplicationStoppedTimeEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event);
-            } else if (event instanceof UnifiedSafepointEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                jvmDao.addSafepointEvent((UnifiedSafepointEvent) event);
-            } else if (event instanceof HeaderCommandLineFlagsEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                jvmDao.getJvmContext().setOptions(((HeaderCommandLineFlagsEvent) event).getJvmOptions());
-            } else if (event instanceof HeaderMemoryEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                jvmDao.setMemory(((HeaderMemoryEvent) event).getLogEntry());
-                jvmDao.setPhysicalMemory((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemory()));
-                jvmDao.getJvmContext().setMemory(org.github.joa.util.JdkUtil.convertSize(jvmDao.getPhysicalMemory(),
-                        'B', org.github.joa.util.Constants.UNITS));
-                jvmDao.setPhysicalMemoryFree(
-                        (long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemoryFree()));
-                jvmDao.setSwap((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwap()));
-                jvmDao.setSwapFree((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwapFree()));
-            } else if (event instanceof HeaderVmInfoEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                jvmDao.getJvmContext().setVersionMajor(((HeaderVmInfoEvent) event).getJdkVersionMajor());
-                jvmDao.getJvmContext().setVersionMinor(((HeaderVmInfoEvent) event).getJdkVersionMinor());
-                if (((HeaderVmInfoEvent) event).is32Bit()) {
-                    jvmDao.getJvmContext().setBit(Bit.BIT32);
-                }
-                jvmDao.getJvmContext().setArch(((HeaderVmInfoEvent) event).getArch());
-                jvmDao.getJvmContext().setBuiltBy(((HeaderVmInfoEvent) event).getBuiltBy());
-                jvmDao.getJvmContext().setOs(((HeaderVmInfoEvent) event).getOs());
-                jvmDao.getJvmContext().setBuildDate(((HeaderVmInfoEvent) event).getBuildDate());
-                jvmDao.getJvmContext().setReleaseString(((HeaderVmInfoEvent) event).getJdkReleaseString());
-                jvmDao.setVmInfo(((HeaderVmInfoEvent) event).getLogEntry());
-            } else if (event instanceof UnifiedHeaderEvent && ((UnifiedHeaderEvent) event).isVersion()) {
-                jvmDao.setLogEndingUnidentified(false);
-                jvmDao.getJvmContext().setVersionMajor(((UnifiedHeaderEvent) event).getJdkVersionMajor());
-                jvmDao.getJvmContext().setVersionMinor(((UnifiedHeaderEvent) event).getJdkVersionMinor());
-                jvmDao.getJvmContext().setReleaseString(((UnifiedHeaderEvent) event).getJdkReleaseString());
-                jvmDao.setVmInfo(((UnifiedHeaderEvent) event).getJdkReleaseString());
-            } else if (event instanceof LogFileEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                if (((LogFileEvent) event).isCreated()) {
-                    Matcher matcher = LogFileEvent.PATTERN.matcher(((LogFileEvent) event).getLogEntry());
-                    if (matcher.find()) {
-                        jvmDao.setLogFileDate(GcUtil.parseDatetime(logLine));
-                    }
-                }
-            } else if (event instanceof GcOverheadLimitEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED)) {
-                    jvmDao.getAnalysis().add(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED);
-                }
-            } else if (event instanceof GcLockerScavengeFailedEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED)) {
-                    jvmDao.addAnalysis(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED);
-                }
-            } else if (event instanceof ShenandoahConcurrentEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                if (greater(((CombinedData) event).getCombinedOccupancyInit(),
-                        jvmDao.getMaxHeapOccupancyNonBlocking())) {
-                    jvmDao.setMaxHeapOccupancyNonBlocking(
-                            (int) ((CombinedData) event).getCombinedOccupancyInit().getValue(KILOBYTES));
-                }
-                if (greater(((CombinedData) event).getCombinedSpace(), jvmDao.getMaxHeapSpaceNonBlocking())) {
-                    jvmDao.setMaxHeapSpaceNonBlocking(
-                            (int) ((CombinedData) event).getCombinedSpace().getValue(KILOBYTES));
-                }
-                if (greater(((PermMetaspaceData) event).getPermOccupancyInit(),
-                        jvmDao.getMaxPermOccupancyNonBlocking())) {
-                    jvmDao.setMaxPermOccupancyNonBlocking(
-                            (int) ((PermMetaspaceData) event).getPermOccupancyInit().getValue(KILOBYTES));
-                }
-                if (greater(((PermMetaspaceData) event).getPermSpace(), jvmDao.getMaxPermSpaceNonBlocking())) {
-                    jvmDao.setMaxPermSpaceNonBlocking(
-                            (int) ((PermMetaspaceData) event).getPermSpace().getValue(KILOBYTES));
-                }
-            } else if (event instanceof VmWarningEvent) {
-                jvmDao.setLogEndingUnidentified(false);
-                if (((VmWarningEvent) event).getErrNo().equals("12")) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHARED_MEMORY_12)) {
-                        jvmDao.addAnalysis(Analysis.ERROR_SHARED_MEMORY_12);
+            // 23) "Other" time
+            if (event instanceof OtherTime && ((OtherTime) event).getOtherTime() != OtherTime.NO_DATA) {
+                long otherTime = ((OtherTime) event).getOtherTime();
+                if (otherTime > 0) {
+                    if (otherTime > jvmDao.getOtherTimeMax()) {
+                        jvmDao.setOtherTimeMax(otherTime);
                     }
-                }
-            } else if (event instanceof UnifiedHeaderEvent) {
-                if (event.getLogEntry().matches(
-                        "^" + UnifiedRegEx.DECORATOR + " Min heap equals to max heap, disabling ShenandoahUncommit$")) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.INFO_SHENANDOAH_UNCOMMIT_DISABLED)) {
-                        jvmDao.addAnalysis(Analysis.INFO_SHENANDOAH_UNCOMMIT_DISABLED);
-                    }
-                }
-            } else if (event instanceof UnknownEvent) {
-                jvmDao.setLogEndingUnidentified(true);
-                if (jvmDao.getUnidentifiedLogLines().size() < Main.REJECT_LIMIT) {
-                    jvmDao.getUnidentifiedLogLines().add(logLine);
+                    jvmDao.setOtherTimeTotal(jvmDao.getOtherTimeTotal() + otherTime);
                 }
             }
-            // Populate events list.
-            JdkUtil.LogEventType eventType = JdkUtil.determineEventType(event.getName());
-            if (!jvmDao.getEventTypes().contains(eventType)) {
-                jvmDao.getEventTypes().add(eventType);
-            } else {
-                if (event instanceof ZStatsEvent && ((ZStatsEvent) event).isHeader()
-                        && !jvmDao.getAnalysis().contains(Analysis.INFO_Z_STATISTICS_INTERVAL)) {
-                    jvmDao.addAnalysis(Analysis.INFO_Z_STATISTICS_INTERVAL);
+
+            // 24) Worker efficiency
+            if (event instanceof TimesData && ((TimesData) event).getTimeUser() != TimesData.NO_DATA
+                    && ((TimesData) event).getTimeSys() != TimesData.NO_DATA
+                    && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
+                GarbageCollector garbageCollector = event instanceof GcEvent
+                        ? ((GcEvent) event).getGarbageCollector()
+                        : GarbageCollector.UNKNOWN;
+                jvmDao.getWorkerEfficiencyStats().add(garbageCollector, event instanceof ParallelEvent,
+                        event.getTimestamp(), ((TimesData) event).getTimeUser(),
+                        ((TimesData) event).getTimeSys(), ((TimesData) event).getTimeReal(), event.getLogEntry());
+            }
+            priorBlockingEvent = (BlockingEvent) event;
+        } else if (event instanceof ApplicationStoppedTimeEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event);
+        } else if (event instanceof UnifiedSafepointEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            jvmDao.addSafepointEvent((UnifiedSafepointEvent) event);
+        } else if (event instanceof HeaderCommandLineFlagsEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            jvmDao.getJvmContext().setOptions(((HeaderCommandLineFlagsEvent) event).getJvmOptions());
+        } else if (event instanceof HeaderMemoryEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            jvmDao.setMemory(((HeaderMemoryEvent) event).getLogEntry());
+            jvmDao.setPhysicalMemory((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemory()));
+            jvmDao.getJvmContext().setMemory(org.github.joa.util.JdkUtil.convertSize(jvmDao.getPhysicalMemory(),
+                    'B', org.github.joa.util.Constants.UNITS));
+            jvmDao.setPhysicalMemoryFree(
+                    (long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getPhysicalMemoryFree()));
+            jvmDao.setSwap((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwap()));
+            jvmDao.setSwapFree((long) KILOBYTES.toBytes(((HeaderMemoryEvent) event).getSwapFree()));
+        } else if (event instanceof HeaderVmInfoEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            jvmDao.getJvmContext().setVersionMajor(((HeaderVmInfoEvent) event).getJdkVersionMajor());
+            jvmDao.getJvmContext().setVersionMinor(((HeaderVmInfoEvent) event).getJdkVersionMinor());
+            if (((HeaderVmInfoEvent) event).is32Bit()) {
+                jvmDao.getJvmContext().setBit(Bit.BIT32);
+            }
+            jvmDao.getJvmContext().setArch(((HeaderVmInfoEvent) event).getArch());
+            jvmDao.getJvmContext().setBuiltBy(((HeaderVmInfoEvent) event).getBuiltBy());
+            jvmDao.getJvmContext().setOs(((HeaderVmInfoEvent) event).getOs());
+            jvmDao.getJvmContext().setBuildDate(((HeaderVmInfoEvent) event).getBuildDate());
+            jvmDao.getJvmContext().setReleaseString(((HeaderVmInfoEvent) event).getJdkReleaseString());
+            jvmDao.setVmInfo(((HeaderVmInfoEvent) event).getLogEntry());
+        } else if (event instanceof UnifiedHeaderEvent && ((UnifiedHeaderEvent) event).isVersion()) {
+            jvmDao.setLogEndingUnidentified(false);
+            jvmDao.getJvmContext().setVersionMajor(((UnifiedHeaderEvent) event).getJdkVersionMajor());
+            jvmDao.getJvmContext().setVersionMinor(((UnifiedHeaderEvent) event).getJdkVersionMinor());
+            jvmDao.getJvmContext().setReleaseString(((UnifiedHeaderEvent) event).getJdkReleaseString());
+            jvmDao.setVmInfo(((UnifiedHeaderEvent) event).getJdkReleaseString());
+        } else if (event instanceof LogFileEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            if (((LogFileEvent) event).isCreated()) {
+                Matcher matcher = LogFileEvent.PATTERN.matcher(((LogFileEvent) event).getLogEntry());
+                if (matcher.find()) {
+                    jvmDao.setLogFileDate(GcUtil.parseDatetime(logLine));
                 }
             }
-            // Populate triggers list.
-            if (event instanceof TriggerData) {
-                if (!jvmDao.getGcTriggers().contains(((TriggerData) event).getTrigger())) {
-                    jvmDao.getGcTriggers().add(((TriggerData) event).getTrigger());
+        } else if (event instanceof GcOverheadLimitEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED)) {
+                jvmDao.getAnalysis().add(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED);
+            }
+        } else if (event instanceof GcLockerScavengeFailedEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED)) {
+                jvmDao.addAnalysis(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED);
+            }
+        } else if (event instanceof ShenandoahConcurrentEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            if (greater(((CombinedData) event).getCombinedOccupancyInit(),
+                    jvmDao.getMaxHeapOccupancyNonBlocking())) {
+                jvmDao.setMaxHeapOccupancyNonBlocking(
+                        (int) ((CombinedData) event).getCombinedOccupancyInit().getValue(KILOBYTES));
+            }
+            if (greater(((CombinedData) event).getCombinedSpace(), jvmDao.getMaxHeapSpaceNonBlocking())) {
+                jvmDao.setMaxHeapSpaceNonBlocking(
+                        (int) ((CombinedData) event).getCombinedSpace().getValue(KILOBYTES));
+            }
+            if (greater(((PermMetaspaceData) event).getPermOccupancyInit(),
+                    jvmDao.getMaxPermOccupancyNonBlocking())) {
+                jvmDao.setMaxPermOccupancyNonBlocking(
+                        (int) ((PermMetaspaceData) event).getPermOccupancyInit().getValue(KILOBYTES));
+            }
+            if (greater(((PermMetaspaceData) event).getPermSpace(), jvmDao.getMaxPermSpaceNonBlocking())) {
+                jvmDao.setMaxPermSpaceNonBlocking(
+                        (int) ((PermMetaspaceData) event).getPermSpace().getValue(KILOBYTES));
+            }
+        } else if (event instanceof VmWarningEvent) {
+            jvmDao.setLogEndingUnidentified(false);
+            if (((VmWarningEvent) event).getErrNo().equals("12")) {
+                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SHARED_MEMORY_12)) {
+                    jvmDao.addAnalysis(Analysis.ERROR_SHARED_MEMORY_12);
                 }
             }
-            // Populate collector list.
-            if (event instanceof GcEvent) {
-                if (!jvmDao.getJvmContext().getGarbageCollectors().contains(((GcEvent) event).getGarbageCollector())) {
-                    jvmDao.getJvmContext().getGarbageCollectors().add(((GcEvent) event).getGarbageCollector());
+        } else if (event instanceof UnifiedHeaderEvent) {
+            if (event.getLogEntry().matches(
+                    "^" + UnifiedRegEx.DECORATOR + " Min heap equals to max heap, disabling ShenandoahUncommit$")) {
+                if (!jvmDao.getAnalysis().contains(Analysis.INFO_SHENANDOAH_UNCOMMIT_DISABLED)) {
+                    jvmDao.addAnalysis(Analysis.INFO_SHENANDOAH_UNCOMMIT_DISABLED);
                 }
             }
-            // Populate first log event with a valid timestamp
-            if (event instanceof LogEvent && event.getTimestamp() > 0 && jvmDao.getFirstLogEvent() == null) {
-                jvmDao.setFirstLogEvent(event);
+        } else if (event instanceof UnknownEvent) {
+            jvmDao.setLogEndingUnidentified(true);
+            jvmDao.getUnidentifiedLogLines().add(logLine);
+            if (RegexGuard.getAbortedMatches() > abortedMatches) {
+                // Quarantined: a regular expression match was aborted.
+                jvmDao.setQuarantinedLogLineCount(jvmDao.getQuarantinedLogLineCount() + 1);
+            }
+        }
+        // Concurrent phase accounting
+        if (event instanceof ConcurrentData) {
+            jvmDao.getConcurrentGcStats().add((ConcurrentData) event, event.getTimestamp());
+        }
+        // Populate events list.
+        JdkUtil.LogEventType eventType = event.getLogEventType();
+        if (!jvmDao.getEventTypes().contains(eventType)) {
+            jvmDao.getEventTypes().add(eventType);
+        } else {
+            if (event instanceof ZStatsEvent && ((ZStatsEvent) event).isHeader()
+                    && !jvmDao.getAnalysis().contains(Analysis.INFO_Z_STATISTICS_INTERVAL)) {
+                jvmDao.addAnalysis(Analysis.INFO_Z_STATISTICS_INTERVAL);
+            }
+        }
+        // Populate triggers list.
+        if (event instanceof TriggerData) {
+            if (!jvmDao.getGcTriggers().contains(((TriggerData) event).getTrigger())) {
+                jvmDao.getGcTriggers().add(((TriggerData) event).getTrigger());
+            }
+        }
+        // Populate collector list.
+        if (event instanceof GcEvent) {
+            if (!jvmDao.getJvmContext().getGarbageCollectors().contains(((GcEvent) event).getGarbageCollector())) {
+                jvmDao.getJvmContext().getGarbageCollectors().add(((GcEvent) event).getGarbageCollector());
             }
-            priorLogLine = logLine;
+        }
+        // Populate first log event with a valid timestamp. CMS and unified concurrent event timestamps are only used
+        // for concurrent phase accounting.
+        if (event instanceof LogEvent && event.getTimestamp() > 0 && jvmDao.getFirstLogEvent() == null
+                && !(event instanceof CmsConcurrentEvent || event instanceof UnifiedConcurrentEvent)) {
+            jvmDao.setFirstLogEvent(event);
+        }
+        priorStoredLogLine = logLine;
+        notifyListeners(event, logLine, analysisCount);
+        if (logEntrySpill != null && event instanceof SafepointEvent) {
+            ((SafepointEvent) event).setLogEntry(logEntrySpill.add(event.getLogEntry()));
         }
     }
 }
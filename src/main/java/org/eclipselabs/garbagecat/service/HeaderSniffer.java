@@ -0,0 +1,257 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.domain.jdk.GcEvent;
+import org.eclipselabs.garbagecat.domain.jdk.HeaderVmInfoEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedHeaderEvent;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.github.joa.domain.GarbageCollector;
+
+/**
+ * <p>
+ * Determines the logging format from the beginning of the logging: the JDK version, legacy vs. unified logging, the
+ * time decorator, and the garbage collectors (and collector families).
+ * </p>
+ * 
+ * <p>
+ * Only the initial log lines are read, up to {@link Constants#HEADER_LINE_LIMIT} lines or
+ * {@link Constants#HEADER_SIZE_LIMIT} characters, so logging without a version header (e.g. rotated or truncated logs)
+ * is not read an extra time. Each log line read is parsed once.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class HeaderSniffer {
+
+    /**
+     * Logging time decorator.
+     */
+    public enum Decorator {
+        DATESTAMP, DATESTAMP_UPTIME, DATESTAMP_UPTIMEMILLIS, UPTIME, UPTIMEMILLIS
+    }
+
+    /**
+     * Logging format.
+     */
+    public enum Format {
+        LEGACY, UNIFIED
+    }
+
+    /**
+     * Legacy logging time decorator (e.g. <code>2016-10-11T22:43:41.418-0500: 0.145:</code>).
+     */
+    private static final Pattern LEGACY_DECORATOR_PATTERN = Pattern.compile(
+            "^(?<datestamp>" + JdkRegEx.DATESTAMP + ": )?(?<uptime>" + JdkRegEx.TIMESTAMP + ": )?.*$");
+
+    /**
+     * Unified logging time decorator (e.g. <code>[2022-08-03T06:58:37.056+0000][1.234s]</code>).
+     */
+    private static final Pattern UNIFIED_DECORATOR_PATTERN = Pattern.compile("^\\[((?<datestamp>"
+            + JdkRegEx.DATESTAMP + ")|(?<uptime>" + UnifiedRegEx.UPTIME + ")|(?<uptimemillis>"
+            + UnifiedRegEx.UPTIMEMILLIS + "))\\](\\[((?<uptime2>" + UnifiedRegEx.UPTIME + ")|(?<uptimemillis2>"
+            + UnifiedRegEx.UPTIMEMILLIS + "))\\])?.*$");
+
+    /**
+     * Determine the logging format from the beginning of the logging.
+     * 
+     * @param logLines
+     *            The logging.
+     * @return The logging format.
+     */
+    public static HeaderSniffer sniff(Iterable<? extends CharSequence> logLines) {
+        HeaderSniffer headerSniffer = new HeaderSniffer();
+        for (CharSequence logLine : logLines) {
+            if (!headerSniffer.add(logLine.toString())) {
+                break;
+            }
+        }
+        // All the logging is read, so the initial log lines are too.
+        headerSniffer.done = true;
+        return headerSniffer;
+    }
+
+    /**
+     * The collector families of the collector specific events read.
+     */
+    private final Set<CollectorFamily> collectorFamilies = EnumSet.noneOf(CollectorFamily.class);
+
+    /**
+     * The time decorator, or null if not known.
+     */
+    private Decorator decorator;
+
+    /**
+     * Whether or not the initial log lines have all been read.
+     */
+    private boolean done;
+
+    /**
+     * The logging format, or null if not known.
+     */
+    private Format format;
+
+    /**
+     * The garbage collectors of the garbage collection events read, in order of first appearance.
+     */
+    private final List<GarbageCollector> garbageCollectors = new ArrayList<>();
+
+    /**
+     * The JDK major and minor version, or null if not known.
+     */
+    private int[] jdkVersion;
+
+    /**
+     * The number of log lines read.
+     */
+    private int lines;
+
+    /**
+     * The prior log line.
+     */
+    private String priorLogLine;
+
+    /**
+     * The number of characters read.
+     */
+    private long size;
+
+    /**
+     * Read the next log line.
+     * 
+     * @param logLine
+     *            The log line.
+     * @return true if more log lines can be read, false if the initial log lines have all been read.
+     */
+    public boolean add(String logLine) {
+        if (done) {
+            return false;
+        }
+        LogEvent event = JdkUtil.parseLogLine(logLine, priorLogLine);
+        if (jdkVersion == null) {
+            jdkVersion = getJdkVersion(event);
+        }
+        if (decorator == null) {
+            sniffDecorator(logLine, event);
+        }
+        CollectorFamily collectorFamily = JdkUtil.getCollectorFamily(event.getLogEventType());
+        if (collectorFamily != null) {
+            collectorFamilies.add(collectorFamily);
+        }
+        if (event instanceof GcEvent) {
+            GarbageCollector garbageCollector = ((GcEvent) event).getGarbageCollector();
+            if (garbageCollector != null && !garbageCollectors.contains(garbageCollector)) {
+                garbageCollectors.add(garbageCollector);
+            }
+        }
+        priorLogLine = logLine;
+        lines++;
+        size += logLine.length() + 1;
+        done = lines >= Constants.HEADER_LINE_LIMIT || size >= Constants.HEADER_SIZE_LIMIT;
+        return !done;
+    }
+
+    /**
+     * Determine the JDK version from a version header event.
+     * 
+     * @param event
+     *            The log event.
+     * @return The JDK major and minor version, or null if the log event is not a version header.
+     */
+    static int[] getJdkVersion(LogEvent event) {
+        if (event instanceof HeaderVmInfoEvent) {
+            return new int[] { ((HeaderVmInfoEvent) event).getJdkVersionMajor(),
+                    ((HeaderVmInfoEvent) event).getJdkVersionMinor() };
+        } else if (event instanceof UnifiedHeaderEvent && ((UnifiedHeaderEvent) event).isVersion()) {
+            return new int[] { ((UnifiedHeaderEvent) event).getJdkVersionMajor(),
+                    ((UnifiedHeaderEvent) event).getJdkVersionMinor() };
+        }
+        return null;
+    }
+
+    public Set<CollectorFamily> getCollectorFamilies() {
+        return Collections.unmodifiableSet(collectorFamilies);
+    }
+
+    public Decorator getDecorator() {
+        return decorator;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public List<GarbageCollector> getGarbageCollectors() {
+        return Collections.unmodifiableList(garbageCollectors);
+    }
+
+    public int[] getJdkVersion() {
+        return jdkVersion;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Determine the logging format and time decorator from a log line with a time decorator.
+     * 
+     * @param logLine
+     *            The log line.
+     * @param event
+     *            The parsed log line.
+     */
+    private void sniffDecorator(String logLine, LogEvent event) {
+        Matcher matcher = UNIFIED_DECORATOR_PATTERN.matcher(logLine);
+        if (matcher.matches()) {
+            format = Format.UNIFIED;
+            boolean uptime = matcher.group("uptime") != null || matcher.group("uptime2") != null;
+            boolean uptimeMillis = matcher.group("uptimemillis") != null || matcher.group("uptimemillis2") != null;
+            if (matcher.group("datestamp") == null) {
+                decorator = uptime ? Decorator.UPTIME : Decorator.UPTIMEMILLIS;
+            } else if (uptime) {
+                decorator = Decorator.DATESTAMP_UPTIME;
+            } else if (uptimeMillis) {
+                decorator = Decorator.DATESTAMP_UPTIMEMILLIS;
+            } else {
+                decorator = Decorator.DATESTAMP;
+            }
+        } else if (event instanceof HeaderVmInfoEvent) {
+            format = Format.LEGACY;
+        } else if ((matcher = LEGACY_DECORATOR_PATTERN.matcher(logLine)).matches()
+                && (matcher.group("datestamp") != null || matcher.group("uptime") != null)) {
+            format = Format.LEGACY;
+            if (matcher.group("datestamp") == null) {
+                decorator = Decorator.UPTIME;
+            } else if (matcher.group("uptime") == null) {
+                decorator = Decorator.DATESTAMP;
+            } else {
+                decorator = Decorator.DATESTAMP_UPTIME;
+            }
+        }
+    }
+}
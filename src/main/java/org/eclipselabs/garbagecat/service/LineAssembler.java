@@ -0,0 +1,194 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.util.function.Consumer;
+
+import org.eclipselabs.garbagecat.util.Constants;
+
+/**
+ * <p>
+ * Assembles preprocessed log lines into logical log entries. Preprocess actions return log lines delimited by
+ * {@link Constants#LINE_SEPARATOR}. Each line either starts a new log entry or is appended to the current one.
+ * </p>
+ * 
+ * <p>
+ * The current log entry is held back in a reusable <code>StringBuilder</code>, because later lines can still be
+ * appended to it. It is passed on when the next log entry starts. Appending a fragment costs the length of the
+ * fragment, not the length of the log entry so far, which matters for long multi-line events (e.g. G1 and Shenandoah
+ * details).
+ * </p>
+ * 
+ * <p>
+ * Lines are split the same way as <code>String.split(Constants.LINE_SEPARATOR)</code>, without creating an array.
+ * Trailing empty lines are dropped, and empty lines are skipped when starting log entries.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class LineAssembler {
+
+    /**
+     * @param logLines
+     *            Log lines delimited by {@link Constants#LINE_SEPARATOR}.
+     * @return The number of lines, the same as the length of the array returned by
+     *         <code>logLines.split(Constants.LINE_SEPARATOR)</code>.
+     */
+    static int lines(String logLines) {
+        int end = trimmedLength(logLines);
+        if (end < 0) {
+            return 1;
+        }
+        int lines = 0;
+        int start = 0;
+        while (start <= end) {
+            int separator = logLines.indexOf(Constants.LINE_SEPARATOR, start);
+            if (separator < 0 || separator >= end) {
+                separator = end;
+            }
+            lines++;
+            start = separator + Constants.LINE_SEPARATOR.length();
+        }
+        return end == 0 ? 0 : lines;
+    }
+
+    /**
+     * @param logLines
+     *            Log lines delimited by {@link Constants#LINE_SEPARATOR}.
+     * @return The length of the log lines without trailing separators, or -1 if there are no separators.
+     */
+    private static int trimmedLength(String logLines) {
+        if (logLines.indexOf(Constants.LINE_SEPARATOR) < 0) {
+            return -1;
+        }
+        int end = logLines.length();
+        while (end > 0 && logLines.startsWith(Constants.LINE_SEPARATOR, end - Constants.LINE_SEPARATOR.length())) {
+            end -= Constants.LINE_SEPARATOR.length();
+        }
+        return end;
+    }
+
+    /**
+     * The current log entry.
+     */
+    private final StringBuilder logEntry = new StringBuilder();
+
+    /**
+     * The receiver of completed log entries.
+     */
+    private final Consumer<String> logEntryConsumer;
+
+    /**
+     * Whether or not a log entry has been started and not yet passed on.
+     */
+    private boolean started;
+
+    /**
+     * @param logEntryConsumer
+     *            The receiver of completed log entries.
+     */
+    LineAssembler(Consumer<String> logEntryConsumer) {
+        this.logEntryConsumer = logEntryConsumer;
+    }
+
+    /**
+     * Add log lines. The first line is appended to the current log entry or starts a new log entry, and each
+     * following (non-empty) line starts a new log entry.
+     * 
+     * @param logLines
+     *            Log lines delimited by {@link Constants#LINE_SEPARATOR}.
+     * @param appendFirst
+     *            Whether or not the first line is appended to the current log entry.
+     */
+    void add(String logLines, boolean appendFirst) {
+        int end = trimmedLength(logLines);
+        if (end < 0) {
+            if (appendFirst) {
+                logEntry.append(logLines);
+            } else if (!logLines.isEmpty()) {
+                start(logLines, 0, logLines.length());
+            }
+            return;
+        }
+        int start = 0;
+        boolean first = true;
+        while (start < end) {
+            int separator = logLines.indexOf(Constants.LINE_SEPARATOR, start);
+            if (separator < 0 || separator > end) {
+                separator = end;
+            }
+            if (first && appendFirst) {
+                logEntry.append(logLines, start, separator);
+            } else if (separator > start) {
+                start(logLines, start, separator);
+            }
+            first = false;
+            start = separator + Constants.LINE_SEPARATOR.length();
+        }
+    }
+
+    /**
+     * @param suffix
+     *            The suffix.
+     * @return True if the current log entry ends with the suffix, false otherwise.
+     */
+    boolean endsWith(String suffix) {
+        int offset = logEntry.length() - suffix.length();
+        return offset >= 0 && logEntry.indexOf(suffix, offset) == offset;
+    }
+
+    /**
+     * Pass on the current log entry, if any.
+     */
+    void flush() {
+        if (started) {
+            logEntryConsumer.accept(logEntry.toString());
+            logEntry.setLength(0);
+            started = false;
+        }
+    }
+
+    /**
+     * @return True if there is no current log entry, false otherwise.
+     */
+    boolean isEmpty() {
+        return !started;
+    }
+
+    /**
+     * Start a new log entry, passing on the current one.
+     * 
+     * @param line
+     *            The first line of the log entry. It is not split.
+     */
+    void start(String line) {
+        start(line, 0, line.length());
+    }
+
+    /**
+     * Start a new log entry, passing on the current one.
+     * 
+     * @param s
+     *            The characters containing the first line of the log entry.
+     * @param start
+     *            The start index (inclusive) of the line.
+     * @param end
+     *            The end index (exclusive) of the line.
+     */
+    private void start(String s, int start, int end) {
+        flush();
+        logEntry.append(s, start, end);
+        started = true;
+    }
+}
@@ -0,0 +1,128 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * Preprocessing context. The collector family tokens (e.g. {@link PreprocessFamily#G1}) are held as bits, so the
+ * family actions to try on a log line are found with one lookup instead of checking each token. Other tokens are held
+ * in a <code>HashSet</code>.
+ * </p>
+ * 
+ * <p>
+ * It is a <code>Set&lt;String&gt;</code>, so preprocess actions add and remove tokens as usual.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class PreprocessContext extends AbstractSet<String> {
+
+    /**
+     * The {@link PreprocessFamily#getFlag()} bits of the family tokens held.
+     */
+    private int families;
+
+    /**
+     * The other tokens held.
+     */
+    private final Set<String> tokens = new HashSet<>();
+
+    @Override
+    public boolean add(String token) {
+        PreprocessFamily family = PreprocessFamily.fromToken(token);
+        if (family == null) {
+            return tokens.add(token);
+        }
+        boolean added = (families & family.getFlag()) == 0;
+        families |= family.getFlag();
+        return added;
+    }
+
+    @Override
+    public void clear() {
+        families = 0;
+        tokens.clear();
+    }
+
+    @Override
+    public boolean contains(Object token) {
+        PreprocessFamily family = token instanceof String ? PreprocessFamily.fromToken((String) token) : null;
+        if (family == null) {
+            return tokens.contains(token);
+        }
+        return (families & family.getFlag()) != 0;
+    }
+
+    int getFamilies() {
+        return families;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        List<String> all = new ArrayList<>(tokens);
+        for (PreprocessFamily family : PreprocessFamily.values()) {
+            if ((families & family.getFlag()) != 0) {
+                all.add(family.getToken());
+            }
+        }
+        Iterator<String> iterator = all.iterator();
+        return new Iterator<String>() {
+
+            /**
+             * The token last returned.
+             */
+            private String last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public String next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                PreprocessContext.this.remove(last);
+            }
+        };
+    }
+
+    @Override
+    public boolean remove(Object token) {
+        PreprocessFamily family = token instanceof String ? PreprocessFamily.fromToken((String) token) : null;
+        if (family == null) {
+            return tokens.remove(token);
+        }
+        boolean removed = (families & family.getFlag()) != 0;
+        families &= ~family.getFlag();
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return tokens.size() + Integer.bitCount(families);
+    }
+}
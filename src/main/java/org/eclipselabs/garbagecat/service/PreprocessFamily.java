@@ -0,0 +1,291 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.PreprocessAction.PreprocessEvent;
+import org.eclipselabs.garbagecat.preprocess.jdk.CmsPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ParallelPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+import org.eclipselabs.garbagecat.util.Profiler;
+
+/**
+ * <p>
+ * The collector families with a multi-line <code>PreprocessAction</code>, in the order they are tried.
+ * </p>
+ * 
+ * <p>
+ * A family action adds its token to the preprocessing context while it is in the middle of a multi-line event (or
+ * for the rest of the log, for the unified families), and other families that share logging patterns are not tried
+ * while the token is held. The families to try are looked up by the tokens held (see
+ * {@link PreprocessContext#getFamilies()}), so a line is only matched against the family actions that can apply.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+enum PreprocessFamily {
+
+    SHENANDOAH(ShenandoahPreprocessAction.TOKEN) {
+        @Override
+        boolean match(CharSequence priorLogLine, CharSequence currentLogLine, CharSequence nextLogLine) {
+            return ShenandoahPreprocessAction.match(currentLogLine);
+        }
+
+        @Override
+        PreprocessAction preprocess(String priorLogLine, String currentLogLine, String nextLogLine,
+                List<String> entangledLogLines, Set<String> context, List<PreprocessEvent> preprocessEvents) {
+            return new ShenandoahPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines,
+                    context);
+        }
+    },
+
+    UNIFIED(UnifiedPreprocessAction.TOKEN) {
+        @Override
+        boolean match(CharSequence priorLogLine, CharSequence currentLogLine, CharSequence nextLogLine) {
+            return UnifiedPreprocessAction.match(currentLogLine);
+        }
+
+        @Override
+        PreprocessAction preprocess(String priorLogLine, String currentLogLine, String nextLogLine,
+                List<String> entangledLogLines, Set<String> context, List<PreprocessEvent> preprocessEvents) {
+            return new UnifiedPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context);
+        }
+    },
+
+    PARALLEL(ParallelPreprocessAction.TOKEN) {
+        @Override
+        boolean match(CharSequence priorLogLine, CharSequence currentLogLine, CharSequence nextLogLine) {
+            return ParallelPreprocessAction.match(currentLogLine);
+        }
+
+        @Override
+        PreprocessAction preprocess(String priorLogLine, String currentLogLine, String nextLogLine,
+                List<String> entangledLogLines, Set<String> context, List<PreprocessEvent> preprocessEvents) {
+            return new ParallelPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context);
+        }
+    },
+
+    CMS(CmsPreprocessAction.TOKEN) {
+        @Override
+        boolean match(CharSequence priorLogLine, CharSequence currentLogLine, CharSequence nextLogLine) {
+            return CmsPreprocessAction.match(currentLogLine, priorLogLine, nextLogLine);
+        }
+
+        @Override
+        PreprocessAction preprocess(String priorLogLine, String currentLogLine, String nextLogLine,
+                List<String> entangledLogLines, Set<String> context, List<PreprocessEvent> preprocessEvents) {
+            return new CmsPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context);
+        }
+    },
+
+    G1(G1PreprocessAction.TOKEN) {
+        @Override
+        boolean match(CharSequence priorLogLine, CharSequence currentLogLine, CharSequence nextLogLine) {
+            return G1PreprocessAction.match(currentLogLine, priorLogLine, nextLogLine);
+        }
+
+        @Override
+        PreprocessAction preprocess(String priorLogLine, String currentLogLine, String nextLogLine,
+                List<String> entangledLogLines, Set<String> context, List<PreprocessEvent> preprocessEvents) {
+            return new G1PreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context,
+                    preprocessEvents);
+        }
+    },
+
+    SERIAL(SerialPreprocessAction.TOKEN) {
+        @Override
+        boolean match(CharSequence priorLogLine, CharSequence currentLogLine, CharSequence nextLogLine) {
+            return SerialPreprocessAction.match(currentLogLine);
+        }
+
+        @Override
+        PreprocessAction preprocess(String priorLogLine, String currentLogLine, String nextLogLine,
+                List<String> entangledLogLines, Set<String> context, List<PreprocessEvent> preprocessEvents) {
+            return new SerialPreprocessAction(priorLogLine, currentLogLine, nextLogLine, entangledLogLines, context);
+        }
+    };
+
+    /**
+     * The families to try for each combination of held tokens, indexed by {@link #getFlag()} bits.
+     */
+    private static final PreprocessFamily[][] FAMILIES_BY_TOKENS;
+
+    /**
+     * The families to try for each combination of held tokens when the logging is known not to be Shenandoah logging,
+     * indexed by {@link #getFlag()} bits.
+     */
+    private static final PreprocessFamily[][] FAMILIES_BY_TOKENS_NOT_SHENANDOAH;
+
+    /**
+     * The families by token.
+     */
+    private static final Map<String, PreprocessFamily> FAMILY_BY_TOKEN = new HashMap<>();
+
+    static {
+        for (PreprocessFamily family : values()) {
+            FAMILY_BY_TOKEN.put(family.token, family);
+        }
+        // TODO: Remove Shenandoah dependency on UnifiedPreprocessAction (e.g. UnifiedSafepointEvent)
+        SHENANDOAH.excludedBy = flags(SERIAL, CMS, G1, PARALLEL);
+        // TODO: Remove Unified dependency on ShenandoahPreprocessAction
+        UNIFIED.excludedBy = flags(SERIAL, CMS, G1, PARALLEL);
+        PARALLEL.excludedBy = flags(SERIAL, CMS, G1, UNIFIED);
+        CMS.excludedBy = flags(SERIAL, PARALLEL, G1, SHENANDOAH, UNIFIED);
+        G1.excludedBy = flags(SERIAL, PARALLEL, CMS, SHENANDOAH, UNIFIED);
+        SERIAL.excludedBy = flags(PARALLEL, CMS, G1, SHENANDOAH, UNIFIED);
+
+        FAMILIES_BY_TOKENS = new PreprocessFamily[1 << values().length][];
+        FAMILIES_BY_TOKENS_NOT_SHENANDOAH = new PreprocessFamily[1 << values().length][];
+        for (int tokens = 0; tokens < FAMILIES_BY_TOKENS.length; tokens++) {
+            List<PreprocessFamily> families = new ArrayList<>();
+            for (PreprocessFamily family : values()) {
+                if ((tokens & family.excludedBy) == 0) {
+                    families.add(family);
+                }
+            }
+            FAMILIES_BY_TOKENS[tokens] = families.toArray(new PreprocessFamily[families.size()]);
+            // Unified Shenandoah logging is preprocessed by the Shenandoah action, so it is only excluded by the
+            // unified token when the logging is known not to be Shenandoah logging.
+            if ((tokens & UNIFIED.getFlag()) != 0) {
+                families.remove(SHENANDOAH);
+            }
+            FAMILIES_BY_TOKENS_NOT_SHENANDOAH[tokens] = families.toArray(new PreprocessFamily[families.size()]);
+        }
+    }
+
+    /**
+     * @param families
+     *            The families.
+     * @return The {@link #getFlag()} bits of the families.
+     */
+    private static int flags(PreprocessFamily... families) {
+        int flags = 0;
+        for (PreprocessFamily family : families) {
+            flags |= family.getFlag();
+        }
+        return flags;
+    }
+
+    /**
+     * @param token
+     *            A preprocessing context token.
+     * @return The family with the token, or null if the token is not a family token.
+     */
+    static PreprocessFamily fromToken(String token) {
+        return FAMILY_BY_TOKEN.get(token);
+    }
+
+    /**
+     * @param tokens
+     *            The {@link #getFlag()} bits of the family tokens held.
+     * @param isShenandoah
+     *            false if the logging is known to be the logging of another collector, true otherwise.
+     * @return The families to try, in order. Do not modify.
+     */
+    static PreprocessFamily[] getFamilies(int tokens, boolean isShenandoah) {
+        return isShenandoah ? FAMILIES_BY_TOKENS[tokens] : FAMILIES_BY_TOKENS_NOT_SHENANDOAH[tokens];
+    }
+
+    /**
+     * @param context
+     *            Information to make preprocessing decisions.
+     * @return The {@link #getFlag()} bits of the family tokens held in the context.
+     */
+    static int getTokens(Set<String> context) {
+        if (context instanceof PreprocessContext) {
+            return ((PreprocessContext) context).getFamilies();
+        }
+        int tokens = 0;
+        for (PreprocessFamily family : values()) {
+            if (context.contains(family.token)) {
+                tokens |= family.getFlag();
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * The profile counter.
+     */
+    private final Profiler.Counter counter;
+
+    /**
+     * The {@link #getFlag()} bits of the families whose tokens exclude this family.
+     */
+    private int excludedBy;
+
+    /**
+     * The token the family action adds to the preprocessing context.
+     */
+    private final String token;
+
+    private PreprocessFamily(String token) {
+        this.token = token;
+        counter = Profiler.getCounter("preprocess", name());
+    }
+
+    Profiler.Counter getCounter() {
+        return counter;
+    }
+
+    int getFlag() {
+        return 1 << ordinal();
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    /**
+     * Determine if the log line matches the logging pattern(s) for the family action.
+     * 
+     * @param priorLogLine
+     *            The previous log line.
+     * @param currentLogLine
+     *            The current log line.
+     * @param nextLogLine
+     *            The next log line.
+     * @return true if the log line matches the family action, false otherwise.
+     */
+    abstract boolean match(CharSequence priorLogLine, CharSequence currentLogLine, CharSequence nextLogLine);
+
+    /**
+     * Preprocess a log line matched by {@link #match(CharSequence, CharSequence, CharSequence)}.
+     * 
+     * @param priorLogLine
+     *            The previous log line.
+     * @param currentLogLine
+     *            The current log line.
+     * @param nextLogLine
+     *            The next log line.
+     * @param entangledLogLines
+     *            Log lines to be output out of order.
+     * @param context
+     *            Information to make preprocessing decisions.
+     * @param preprocessEvents
+     *            Preprocessing events used in later analysis.
+     * @return The family action.
+     */
+    abstract PreprocessAction preprocess(String priorLogLine, String currentLogLine, String nextLogLine,
+            List<String> entangledLogLines, Set<String> context, List<PreprocessEvent> preprocessEvents);
+}
@@ -0,0 +1,109 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * <p>
+ * Bootstrap confidence intervals for the change in percentiles between two runs (e.g. before and after a GC tuning
+ * change), computed from the stored {@link LatencyHistogram}s without the raw values.
+ * </p>
+ * 
+ * <p>
+ * Each resample draws both histograms with replacement ({@link LatencyHistogram#resample(Random)}) and records the
+ * percentile differences. The interval is the central <code>confidence</code> percent of the differences. An interval
+ * that does not include 0 indicates a real change rather than noise. A fixed seed is used, so reports are
+ * reproducible.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class Bootstrap {
+
+    /**
+     * The minimum number of values in each histogram for a meaningful interval.
+     */
+    private static final int MIN_COUNT = 10;
+
+    /**
+     * Random number generator seed.
+     */
+    private static final long SEED = 0xb0075L;
+
+    /**
+     * The confidence level (0-100).
+     */
+    private final double confidence;
+
+    /**
+     * The number of resamples.
+     */
+    private final int resamples;
+
+    /**
+     * @param resamples
+     *            The number of resamples.
+     * @param confidence
+     *            The confidence level (0-100).
+     */
+    public Bootstrap(int resamples, double confidence) {
+        this.resamples = resamples;
+        this.confidence = confidence;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    /**
+     * @param baseline
+     *            The baseline histogram.
+     * @param candidate
+     *            The candidate histogram.
+     * @param percentiles
+     *            The percentiles (0-100).
+     * @return The confidence interval (low, high) of the candidate minus baseline percentile for each percentile, or
+     *         null if either histogram has too few values.
+     */
+    public long[][] getDeltaIntervals(LatencyHistogram baseline, LatencyHistogram candidate, double... percentiles) {
+        if (baseline.getCount() < MIN_COUNT || candidate.getCount() < MIN_COUNT || resamples <= 0) {
+            return null;
+        }
+        Random random = new Random(SEED);
+        long[][] deltas = new long[percentiles.length][resamples];
+        for (int i = 0; i < resamples; i++) {
+            LatencyHistogram baselineResample = baseline.resample(random);
+            LatencyHistogram candidateResample = candidate.resample(random);
+            for (int j = 0; j < percentiles.length; j++) {
+                deltas[j][i] = candidateResample.getPercentile(percentiles[j])
+                        - baselineResample.getPercentile(percentiles[j]);
+            }
+        }
+        double tail = (100 - confidence) / 200;
+        int low = (int) Math.floor(tail * (resamples - 1));
+        int high = (int) Math.ceil((1 - tail) * (resamples - 1));
+        long[][] intervals = new long[percentiles.length][];
+        for (int j = 0; j < percentiles.length; j++) {
+            Arrays.sort(deltas[j]);
+            intervals[j] = new long[] { deltas[j][low], deltas[j][high] };
+        }
+        return intervals;
+    }
+
+    public int getResamples() {
+        return resamples;
+    }
+}
@@ -0,0 +1,148 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+
+/**
+ * <p>
+ * A contiguous run of <code>SafepointEvent</code>s where the throughput between each consecutive pair of events does
+ * not meet the throughput goal. Consecutive bottleneck pairs sharing an event are merged into a single interval.
+ * </p>
+ *
+ * <p>
+ * Only summary data and three log entries (first, worst, last) are retained, so the memory used does not depend on the
+ * number of events in the interval.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class Bottleneck {
+
+    /**
+     * The number of events in the interval.
+     */
+    private int eventCount;
+
+    /**
+     * The log entry of the first event in the interval.
+     */
+    private String firstLogEntry;
+
+    /**
+     * The interval start (milliseconds after JVM startup). The timestamp of the first event.
+     */
+    private long startTimestamp;
+
+    /**
+     * The interval end (milliseconds after JVM startup). The timestamp of the last event plus its duration.
+     */
+    private long endTimestamp;
+
+    /**
+     * The log entry of the last event in the interval.
+     */
+    private String lastLogEntry;
+
+    /**
+     * Total pause time (microseconds) of all events in the interval.
+     */
+    private long pauseTotal;
+
+    /**
+     * The log entry of the longest event in the interval.
+     */
+    private String worstLogEntry;
+
+    /**
+     * The duration (microseconds) of the longest event in the interval.
+     */
+    private long worstPause;
+
+    /**
+     * Add an event to the end of the interval.
+     *
+     * @param logEntry
+     *            The event log entry.
+     * @param timestamp
+     *            The event timestamp (milliseconds after JVM startup).
+     * @param durationMicros
+     *            The event duration (microseconds).
+     */
+    public void add(String logEntry, long timestamp, long durationMicros) {
+        if (eventCount == 0) {
+            firstLogEntry = logEntry;
+            startTimestamp = timestamp;
+        }
+        eventCount++;
+        lastLogEntry = logEntry;
+        endTimestamp = timestamp + JdkMath.convertMicrosToMillis(durationMicros).longValue();
+        pauseTotal += durationMicros;
+        if (worstLogEntry == null || durationMicros > worstPause) {
+            worstLogEntry = logEntry;
+            worstPause = durationMicros;
+        }
+    }
+
+    /**
+     * @return The interval duration (milliseconds).
+     */
+    public long getDuration() {
+        return endTimestamp - startTimestamp;
+    }
+
+    public long getEndTimestamp() {
+        return endTimestamp;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public String getFirstLogEntry() {
+        return firstLogEntry;
+    }
+
+    public String getLastLogEntry() {
+        return lastLogEntry;
+    }
+
+    public long getPauseTotal() {
+        return pauseTotal;
+    }
+
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    /**
+     * @return Throughput as a percent over the whole interval. 0 means all time was spent paused. 100 means no time
+     *         was spent paused.
+     */
+    public int getThroughput() {
+        long durationMicros = getDuration() * 1000;
+        if (durationMicros <= 0 || pauseTotal >= durationMicros) {
+            return 0;
+        }
+        return 100 - JdkMath.calcPercent(pauseTotal, durationMicros);
+    }
+
+    public String getWorstLogEntry() {
+        return worstLogEntry;
+    }
+
+    public long getWorstPause() {
+        return worstPause;
+    }
+}
@@ -0,0 +1,151 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+
+/**
+ * <p>
+ * Single pass bottleneck detector. <code>SafepointEvent</code>s are added in timestamp order, and consecutive event
+ * pairs that do not meet the throughput goal are merged into <code>Bottleneck</code> intervals.
+ * </p>
+ *
+ * <p>
+ * Every interval is counted, but only the <code>limit</code> worst intervals (most total pause time) are retained.
+ * </p>
+ *
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class BottleneckDetector {
+
+    /**
+     * Orders intervals from least to most total pause time (later intervals first when equal), so the head of the
+     * queue is the first to be evicted.
+     */
+    private static final Comparator<Bottleneck> LEAST_PAUSE_FIRST = Comparator
+            .comparingLong(Bottleneck::getPauseTotal)
+            .thenComparing(Comparator.comparingLong(Bottleneck::getStartTimestamp).reversed());
+
+    /**
+     * The interval currently being built, or null if the last event pair was not a bottleneck.
+     */
+    private Bottleneck current;
+
+    /**
+     * The number of bottleneck intervals detected.
+     */
+    private int intervalCount;
+
+    /**
+     * The maximum number of intervals to retain.
+     */
+    private final int limit;
+
+    /**
+     * The prior event.
+     */
+    private SafepointEvent priorEvent;
+
+    /**
+     * The duration (microseconds) of the prior event.
+     */
+    private long priorEventDuration;
+
+    /**
+     * The throughput threshold (0-100) for an event pair to be considered a bottleneck.
+     */
+    private final int throughputThreshold;
+
+    /**
+     * The retained intervals.
+     */
+    private final PriorityQueue<Bottleneck> worst;
+
+    /**
+     * @param throughputThreshold
+     *            The throughput threshold (0-100) for an event pair to be considered a bottleneck.
+     * @param limit
+     *            The maximum number of intervals to retain.
+     */
+    public BottleneckDetector(int throughputThreshold, int limit) {
+        this.throughputThreshold = throughputThreshold;
+        this.limit = limit;
+        this.worst = new PriorityQueue<Bottleneck>(Math.max(1, limit), LEAST_PAUSE_FIRST);
+    }
+
+    /**
+     * Add the next event.
+     *
+     * @param event
+     *            The next <code>SafepointEvent</code> in timestamp order.
+     */
+    public void add(SafepointEvent event) {
+        long eventDuration = event.getDurationMicros();
+        if (priorEvent != null && JdkUtil.isBottleneck(event, priorEvent, throughputThreshold)) {
+            if (current == null) {
+                current = new Bottleneck();
+                current.add(priorEvent.getLogEntry(), priorEvent.getTimestamp(), priorEventDuration);
+            }
+            current.add(event.getLogEntry(), event.getTimestamp(), eventDuration);
+        } else if (current != null) {
+            close();
+        }
+        priorEvent = event;
+        priorEventDuration = eventDuration;
+    }
+
+    /**
+     * Add the current interval to the retained intervals, evicting the least severe interval if over the limit.
+     */
+    private void close() {
+        intervalCount++;
+        if (limit > 0) {
+            if (worst.size() < limit) {
+                worst.add(current);
+            } else if (LEAST_PAUSE_FIRST.compare(current, worst.peek()) > 0) {
+                worst.poll();
+                worst.add(current);
+            }
+        }
+        current = null;
+    }
+
+    /**
+     * @return The retained bottleneck intervals in timestamp order.
+     */
+    public List<Bottleneck> getBottlenecks() {
+        if (current != null) {
+            close();
+        }
+        List<Bottleneck> bottlenecks = new ArrayList<Bottleneck>(worst);
+        bottlenecks.sort(Comparator.comparingLong(Bottleneck::getStartTimestamp));
+        return bottlenecks;
+    }
+
+    /**
+     * @return The total number of bottleneck intervals detected, including those not retained.
+     */
+    public int getIntervalCount() {
+        if (current != null) {
+            close();
+        }
+        return intervalCount;
+    }
+}
@@ -0,0 +1,297 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipselabs.garbagecat.domain.ConcurrentData;
+import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+
+/**
+ * <p>
+ * Concurrent garbage collection phase statistics, accumulated in fixed memory as <code>ConcurrentData</code> events are
+ * stored.
+ * </p>
+ * 
+ * <p>
+ * Concurrent phases do not pause application threads, but they compete with application threads for cpu. Durations
+ * are tracked per phase as logged, and concurrent mark and cycle durations in a {@link LatencyHistogram}. User and sys
+ * times are tracked where logged (e.g. CMS, G1 JDK8) to estimate concurrent cpu overhead.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class ConcurrentGcStats {
+
+    /**
+     * Summary of a concurrent phase.
+     */
+    public static class Phase {
+
+        /**
+         * The number of times the phase ran.
+         */
+        private long count;
+
+        /**
+         * The longest phase duration (microseconds).
+         */
+        private long durationMax;
+
+        /**
+         * Total phase duration (microseconds).
+         */
+        private long durationTotal;
+
+        /**
+         * The phase as logged.
+         */
+        private final String name;
+
+        /**
+         * The number of times the phase ran with times data.
+         */
+        private long timesCount;
+
+        /**
+         * Total sys (kernel) time (centiseconds) of the phases with times data.
+         */
+        private long timeSys;
+
+        /**
+         * Total user (non-kernel) time (centiseconds) of the phases with times data.
+         */
+        private long timeUser;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getDurationMax() {
+            return durationMax;
+        }
+
+        public long getDurationTotal() {
+            return durationTotal;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTimesCount() {
+            return timesCount;
+        }
+
+        public long getTimeSys() {
+            return timeSys;
+        }
+
+        public long getTimeUser() {
+            return timeUser;
+        }
+    }
+
+    /**
+     * Concurrent cycle durations (microseconds).
+     */
+    private final LatencyHistogram cycleDurations = new LatencyHistogram();
+
+    /**
+     * Timestamp (milliseconds after JVM startup) of the first concurrent cycle or mark.
+     */
+    private long firstCycleTimestamp;
+
+    /**
+     * Timestamp (milliseconds after JVM startup) of the last concurrent cycle or mark.
+     */
+    private long lastCycleTimestamp;
+
+    /**
+     * Concurrent mark durations (microseconds).
+     */
+    private final LatencyHistogram markDurations = new LatencyHistogram();
+
+    /**
+     * Phase summaries in the order first logged.
+     */
+    private final Map<String, Phase> phases = new LinkedHashMap<String, Phase>();
+
+    /**
+     * Total duration (microseconds) of all phases.
+     */
+    private long phaseDurationTotal;
+
+    /**
+     * Add a concurrent event.
+     * 
+     * @param event
+     *            The concurrent event.
+     * @param timestamp
+     *            The event timestamp (milliseconds after JVM startup).
+     */
+    public void add(ConcurrentData event, long timestamp) {
+        String name = event.getPhase();
+        if (name == null) {
+            return;
+        }
+        long duration = event.getDurationMicros();
+        if (event.isCycle()) {
+            // A cycle spans the other phases, so it is not a phase itself.
+            if (cycleDurations.getCount() == 0) {
+                // Count cycles instead of marks once cycle logging is seen.
+                firstCycleTimestamp = timestamp;
+            }
+            cycleDurations.record(duration);
+            lastCycleTimestamp = timestamp;
+            return;
+        }
+        Phase phase = phases.get(name);
+        if (phase == null) {
+            phase = new Phase(name);
+            phases.put(name, phase);
+        }
+        phase.count++;
+        phase.durationTotal += duration;
+        if (duration > phase.durationMax) {
+            phase.durationMax = duration;
+        }
+        phaseDurationTotal += duration;
+        if (event instanceof TimesData && ((TimesData) event).getTimeUser() != TimesData.NO_DATA) {
+            phase.timesCount++;
+            phase.timeUser += ((TimesData) event).getTimeUser();
+            phase.timeSys += ((TimesData) event).getTimeSys();
+        }
+        if (event.isMark()) {
+            if (markDurations.getCount() == 0 && cycleDurations.getCount() == 0) {
+                firstCycleTimestamp = timestamp;
+            }
+            markDurations.record(duration);
+            if (cycleDurations.getCount() == 0) {
+                lastCycleTimestamp = timestamp;
+            }
+        }
+    }
+
+    /**
+     * @return The number of concurrent cycles. Collectors that do not log cycles run one concurrent mark per cycle.
+     */
+    public long getCycleCount() {
+        return cycleDurations.getCount() > 0 ? cycleDurations.getCount() : markDurations.getCount();
+    }
+
+    /**
+     * @return Concurrent cycle durations (microseconds), empty if the collector does not log cycles.
+     */
+    public LatencyHistogram getCycleDurations() {
+        return cycleDurations;
+    }
+
+    /**
+     * @return The average time (milliseconds) between the start of concurrent cycles, or 0 if there are fewer than 2
+     *         cycles.
+     */
+    public long getCycleInterval() {
+        long cycleCount = getCycleCount();
+        return cycleCount > 1 ? (lastCycleTimestamp - firstCycleTimestamp) / (cycleCount - 1) : 0;
+    }
+
+    /**
+     * @param wallMillis
+     *            The wall (clock) time (milliseconds) of the JVM run.
+     * @return Concurrent user + sys time as a percent of one cpu over the wall time (e.g. 150 means 1.5 cpus on
+     *         average), or 0 if times data is not logged.
+     */
+    public int getCpuOverhead(long wallMillis) {
+        long cpuCentis = getTimeUser() + getTimeSys();
+        if (wallMillis <= 0 || cpuCentis <= 0) {
+            return 0;
+        }
+        return JdkMath.calcPercent(cpuCentis * 10, wallMillis);
+    }
+
+    /**
+     * Concurrent phases of some collectors are nested in a cycle (e.g. G1 unified logging), so the cycle durations are
+     * used when logged. Otherwise phases run one after another, and the phase durations are used.
+     * 
+     * @return Total time (microseconds) with concurrent garbage collection running.
+     */
+    public long getDurationTotal() {
+        return cycleDurations.getCount() > 0 ? cycleDurations.getTotal() : phaseDurationTotal;
+    }
+
+    /**
+     * @param wallMillis
+     *            The wall (clock) time (milliseconds) of the JVM run.
+     * @return The percent of wall time with concurrent garbage collection running. Each concurrent phase uses at least
+     *         one cpu, so this is also a lower bound of concurrent cpu overhead when times data is not logged.
+     */
+    public int getDutyCycle(long wallMillis) {
+        if (wallMillis <= 0) {
+            return 0;
+        }
+        return Math.min(100, JdkMath.calcPercent(getDurationTotal(), wallMillis * 1000));
+    }
+
+    /**
+     * @return Concurrent mark durations (microseconds).
+     */
+    public LatencyHistogram getMarkDurations() {
+        return markDurations;
+    }
+
+    /**
+     * @return Phase summaries in the order first logged.
+     */
+    public List<Phase> getPhases() {
+        return new ArrayList<Phase>(phases.values());
+    }
+
+    /**
+     * @return Total sys (kernel) time (centiseconds) of phases with times data.
+     */
+    public long getTimeSys() {
+        long timeSys = 0;
+        for (Phase phase : phases.values()) {
+            timeSys += phase.timeSys;
+        }
+        return timeSys;
+    }
+
+    /**
+     * @return Total user (non-kernel) time (centiseconds) of phases with times data.
+     */
+    public long getTimeUser() {
+        long timeUser = 0;
+        for (Phase phase : phases.values()) {
+            timeUser += phase.timeUser;
+        }
+        return timeUser;
+    }
+
+    /**
+     * @return true if no concurrent phases have been added, false otherwise.
+     */
+    public boolean isEmpty() {
+        return phases.isEmpty() && cycleDurations.getCount() == 0;
+    }
+}
@@ -29,6 +29,31 @@ public class Constants {
      */
     public static final String ANALYSIS_PROPERTY_FILE = "analysis";
 
+    /**
+     * The confidence level (0-100) for bootstrap confidence intervals when comparing runs.
+     */
+    public static final int BOOTSTRAP_CONFIDENCE = 95;
+
+    /**
+     * The number of bootstrap resamples for confidence intervals when comparing runs.
+     */
+    public static final int BOOTSTRAP_RESAMPLES = 1000;
+
+    /**
+     * Compare command (the first argument, followed by the baseline and candidate gc log files).
+     */
+    public static final String COMMAND_COMPARE = "compare";
+
+    /**
+     * Merge command (the first argument, followed by the run summary files to merge).
+     */
+    public static final String COMMAND_MERGE = "merge";
+
+    /**
+     * The maximum number of bottleneck intervals to retain for reporting. A throttle to limit memory consumption.
+     */
+    public static final int DEFAULT_BOTTLENECK_LIMIT = 100;
+
     /**
      * The minimum throughput (percent of time spent not doing garbage collection for a given time interval) to not be
      * flagged a bottleneck.
@@ -62,11 +87,53 @@ public class Constants {
      */
     public static final int GC_SAFEPOINT_RATIO_THRESHOLD = 80;
 
+    /**
+     * The maximum number of initial log lines searched for header information (e.g. the JDK version). A log stream
+     * buffers the log lines until the version is known.
+     */
+    public static final int HEADER_LINE_LIMIT = 100;
+
+    /**
+     * The maximum number of initial characters of the logging searched for header information (e.g. the JDK version).
+     */
+    public static final int HEADER_SIZE_LIMIT = 64 * 1024;
+
+    /**
+     * The number of first high memory allocations to retain for reporting. A throttle to limit memory consumption.
+     */
+    public static final int HIGH_ALLOCATION_FIRST_LIMIT = 10;
+
+    /**
+     * The number of highest high memory allocations after the first ones to retain for reporting. A throttle to limit
+     * memory consumption.
+     */
+    public static final int HIGH_ALLOCATION_SAMPLE_LIMIT = 90;
+
     /**
      * Line separator used for report and preparsing.
      */
     public static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
+    /**
+     * Structured report per-event records command line long option.
+     */
+    public static final String OPTION_EVENTS_LONG = "events";
+
+    /**
+     * Structured report per-event records command line short option.
+     */
+    public static final String OPTION_EVENTS_SHORT = "e";
+
+    /**
+     * Structured report format command line long option.
+     */
+    public static final String OPTION_FORMAT_LONG = "format";
+
+    /**
+     * Structured report format command line short option.
+     */
+    public static final String OPTION_FORMAT_SHORT = "f";
+
     /**
      * Help command line long option.
      */
@@ -77,6 +144,16 @@ public class Constants {
      */
     public static final String OPTION_HELP_SHORT = "h";
 
+    /**
+     * HTML report command line long option.
+     */
+    public static final String OPTION_HTML_LONG = "html";
+
+    /**
+     * HTML report command line short option.
+     */
+    public static final String OPTION_HTML_SHORT = "w";
+
     /**
      * JVM options command line long option.
      */
@@ -107,6 +184,16 @@ public class Constants {
      */
     public static final String OPTION_PREPROCESS_SHORT = "p";
 
+    /**
+     * Profile command line long option.
+     */
+    public static final String OPTION_PROFILE_LONG = "profile";
+
+    /**
+     * Profile command line short option.
+     */
+    public static final String OPTION_PROFILE_SHORT = "i";
+
     /**
      * Reorder command line long option.
      */
@@ -127,6 +214,36 @@ public class Constants {
      */
     public static final String OPTION_REPORT_CONSOLE_SHORT = "c";
 
+    /**
+     * Report sections command line long option.
+     */
+    public static final String OPTION_SECTIONS_LONG = "sections";
+
+    /**
+     * Report sections command line short option.
+     */
+    public static final String OPTION_SECTIONS_SHORT = "n";
+
+    /**
+     * Occupancy series export file command line long option.
+     */
+    public static final String OPTION_SERIES_LONG = "series";
+
+    /**
+     * Occupancy series export file command line short option.
+     */
+    public static final String OPTION_SERIES_SHORT = "x";
+
+    /**
+     * Log entry spill command line long option.
+     */
+    public static final String OPTION_SPILL_LONG = "spill";
+
+    /**
+     * Log entry spill command line short option.
+     */
+    public static final String OPTION_SPILL_SHORT = "l";
+
     /**
      * JVM start datetime command line long option.
      */
@@ -137,6 +254,16 @@ public class Constants {
      */
     public static final String OPTION_STARTDATETIME_SHORT = "s";
 
+    /**
+     * Mergeable run summary file command line long option.
+     */
+    public static final String OPTION_SUMMARY_LONG = "summary";
+
+    /**
+     * Mergeable run summary file command line short option.
+     */
+    public static final String OPTION_SUMMARY_SHORT = "a";
+
     /**
      * Threshold command line long option.
      */
@@ -182,12 +309,68 @@ public class Constants {
      */
     public static final String OUTPUT_FILE_NAME = "report.txt";
 
+    /**
+     * The maximum number of parallelism collapse windows to retain for reporting.
+     */
+    public static final int PARALLELISM_COLLAPSE_LIMIT = 10;
+
+    /**
+     * The minimum number of consecutive parallel collections with collapsed parallelism to be flagged a parallelism
+     * collapse window. A single low parallelism collection is reported as inverted parallelism.
+     */
+    public static final int PARALLELISM_COLLAPSE_MIN_EVENTS = 2;
+
+    /**
+     * The maximum number of characters a regular expression match can read before it is aborted (see
+     * <code>RegexGuard</code>). Matching gc logging reads at most a few thousand characters.
+     */
+    public static final long REGEX_STEP_BUDGET = 1000000;
+
+    /**
+     * The number of first log entries to retain per run time window for reporting. A throttle to limit memory
+     * consumption.
+     */
+    public static final int RUN_TIME_WINDOW_ENTRY_FIRST_LIMIT = 10;
+
+    /**
+     * The number of longest pause log entries after the first ones to retain per run time window for reporting. A
+     * throttle to limit memory consumption.
+     */
+    public static final int RUN_TIME_WINDOW_ENTRY_SAMPLE_LIMIT = 10;
+
+    /**
+     * The maximum number of points per exported time series. Series are downsampled as they are built, so memory and
+     * output size do not depend on the length of the gc log.
+     */
+    public static final int SERIES_POINT_LIMIT = 1000;
+
     /**
      * Test data directory.
      */
     public static final String TEST_DATA_DIR = "src" + System.getProperty("file.separator") + "test"
             + System.getProperty("file.separator") + "data" + System.getProperty("file.separator");
 
+    /**
+     * The maximum number of worst time to safepoint safepoints to retain for reporting.
+     */
+    public static final int TTSP_OUTLIER_LIMIT = 10;
+
+    /**
+     * The percent of safepoint pause time spent reaching the safepoint for reporting excessive time to safepoint.
+     */
+    public static final int TTSP_RATIO_THRESHOLD = 50;
+
+    /**
+     * The number of first unidentified log lines to retain for reporting. A throttle to limit memory consumption.
+     */
+    public static final int UNIDENTIFIED_FIRST_LIMIT = 900;
+
+    /**
+     * The number of randomly sampled unidentified log lines after the first ones to retain for reporting. A throttle
+     * to limit memory consumption.
+     */
+    public static final int UNIDENTIFIED_SAMPLE_LIMIT = 100;
+
     /**
      * Make default constructor private so the class cannot be instantiated.
      */
@@ -0,0 +1,237 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+/**
+ * <p>
+ * Time series downsampled as it is built to a fixed number of points, so memory and output size do not depend on the
+ * number of values added.
+ * </p>
+ * 
+ * <p>
+ * Values are added in timestamp order and kept as the minimum and maximum value in fixed width time buckets, so peaks
+ * and troughs (e.g. heap occupancy before and after a collection) are not smoothed away. When a value falls beyond
+ * the last bucket, the bucket width is doubled and adjacent buckets are merged.
+ * </p>
+ * 
+ * <p>
+ * Largest-triangle-three-buckets (LTTB) needs the number of values up front to size the buckets, so min/max
+ * bucketing is used instead. Each bucket keeps at most two points, so the series never exceeds the target.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class DownsampledSeries {
+
+    /**
+     * The number of buckets.
+     */
+    private final int bucketCount;
+
+    /**
+     * The number of values added.
+     */
+    private long count;
+
+    /**
+     * The timestamp of the maximum value in each bucket.
+     */
+    private final long[] maxTimestamps;
+
+    /**
+     * The maximum value in each bucket.
+     */
+    private final long[] maxValues;
+
+    /**
+     * The timestamp of the minimum value in each bucket.
+     */
+    private final long[] minTimestamps;
+
+    /**
+     * The minimum value in each bucket.
+     */
+    private final long[] minValues;
+
+    /**
+     * The name of the series.
+     */
+    private final String name;
+
+    /**
+     * The timestamp (milliseconds after JVM startup) of the start of the first bucket.
+     */
+    private long origin;
+
+    /**
+     * Whether each bucket has a value.
+     */
+    private final boolean[] used;
+
+    /**
+     * The bucket width (milliseconds).
+     */
+    private long width = 1;
+
+    /**
+     * @param name
+     *            The name of the series.
+     * @param targetPoints
+     *            The maximum number of points in the series.
+     */
+    public DownsampledSeries(String name, int targetPoints) {
+        this.name = name;
+        bucketCount = Math.max(1, targetPoints / 2);
+        maxTimestamps = new long[bucketCount];
+        maxValues = new long[bucketCount];
+        minTimestamps = new long[bucketCount];
+        minValues = new long[bucketCount];
+        used = new boolean[bucketCount];
+    }
+
+    /**
+     * Add a value.
+     * 
+     * @param timestamp
+     *            The timestamp (milliseconds after JVM startup). Timestamps before the first timestamp are counted in
+     *            the first bucket.
+     * @param value
+     *            The value.
+     */
+    public void add(long timestamp, long value) {
+        if (count == 0) {
+            origin = timestamp;
+        }
+        count++;
+        long offset = Math.max(0, timestamp - origin);
+        while (offset / width >= bucketCount) {
+            compact();
+        }
+        int bucket = (int) (offset / width);
+        if (!used[bucket]) {
+            used[bucket] = true;
+            minTimestamps[bucket] = timestamp;
+            minValues[bucket] = value;
+            maxTimestamps[bucket] = timestamp;
+            maxValues[bucket] = value;
+        } else if (value < minValues[bucket]) {
+            minTimestamps[bucket] = timestamp;
+            minValues[bucket] = value;
+        } else if (value > maxValues[bucket]) {
+            maxTimestamps[bucket] = timestamp;
+            maxValues[bucket] = value;
+        }
+    }
+
+    /**
+     * Double the bucket width, merging each pair of adjacent buckets.
+     */
+    private void compact() {
+        for (int i = 0; i < bucketCount; i++) {
+            int merged = i / 2;
+            if (!used[i]) {
+                continue;
+            }
+            if (i % 2 == 0 || !used[merged]) {
+                used[merged] = true;
+                minTimestamps[merged] = minTimestamps[i];
+                minValues[merged] = minValues[i];
+                maxTimestamps[merged] = maxTimestamps[i];
+                maxValues[merged] = maxValues[i];
+            } else {
+                if (minValues[i] < minValues[merged]) {
+                    minTimestamps[merged] = minTimestamps[i];
+                    minValues[merged] = minValues[i];
+                }
+                if (maxValues[i] > maxValues[merged]) {
+                    maxTimestamps[merged] = maxTimestamps[i];
+                    maxValues[merged] = maxValues[i];
+                }
+            }
+            if (merged != i) {
+                used[i] = false;
+            }
+        }
+        width *= 2;
+    }
+
+    /**
+     * @return The number of values added.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The point timestamps (milliseconds after JVM startup) in timestamp order.
+     */
+    public long[] getTimestamps() {
+        long[] timestamps = new long[size()];
+        int i = 0;
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            if (used[bucket]) {
+                boolean minFirst = minTimestamps[bucket] <= maxTimestamps[bucket];
+                timestamps[i++] = minFirst ? minTimestamps[bucket] : maxTimestamps[bucket];
+                if (!isSinglePoint(bucket)) {
+                    timestamps[i++] = minFirst ? maxTimestamps[bucket] : minTimestamps[bucket];
+                }
+            }
+        }
+        return timestamps;
+    }
+
+    /**
+     * @return The point values, in the same order as {@link #getTimestamps()}.
+     */
+    public long[] getValues() {
+        long[] values = new long[size()];
+        int i = 0;
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            if (used[bucket]) {
+                boolean minFirst = minTimestamps[bucket] <= maxTimestamps[bucket];
+                values[i++] = minFirst ? minValues[bucket] : maxValues[bucket];
+                if (!isSinglePoint(bucket)) {
+                    values[i++] = minFirst ? maxValues[bucket] : minValues[bucket];
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param bucket
+     *            The bucket index.
+     * @return true if the minimum and maximum of the bucket are the same point, false otherwise.
+     */
+    private boolean isSinglePoint(int bucket) {
+        return minTimestamps[bucket] == maxTimestamps[bucket] && minValues[bucket] == maxValues[bucket];
+    }
+
+    /**
+     * @return The number of points in the series.
+     */
+    public int size() {
+        int size = 0;
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            if (used[bucket]) {
+                size += isSinglePoint(bucket) ? 1 : 2;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,318 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Streaming writer for a self-contained HTML report. The page layout and chart rendering code are embedded from the
+ * <code>META-INF/report.html</code> template, so the report can be viewed offline without fetching any scripts.
+ * </p>
+ * 
+ * <p>
+ * Chart data is written as it is added. Time charts take {@link DownsampledSeries}, so the file size depends on the
+ * series point budget, not the length of the gc log.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class HtmlReportWriter implements Closeable {
+
+    /**
+     * The template placeholder replaced by the report data.
+     */
+    private static final String DATA_PLACEHOLDER = "/*DATA*/";
+
+    /**
+     * The template resource.
+     */
+    private static final String TEMPLATE = "/META-INF/report.html";
+
+    /**
+     * Analysis display literals.
+     */
+    private final List<String> analysis = new ArrayList<String>();
+
+    /**
+     * Whether the next chart is the first chart.
+     */
+    private boolean firstChart = true;
+
+    /**
+     * Summary label/value pairs.
+     */
+    private final List<String[]> summary = new ArrayList<String[]>();
+
+    /**
+     * The template text after the data placeholder.
+     */
+    private final String templateEnd;
+
+    /**
+     * The report title.
+     */
+    private final String title;
+
+    /**
+     * The underlying writer.
+     */
+    private final Writer writer;
+
+    /**
+     * @param writer
+     *            The underlying writer. Should be buffered.
+     * @param title
+     *            The report title.
+     * @throws IOException
+     *             if the template cannot be read or the writer fails.
+     */
+    public HtmlReportWriter(Writer writer, String title) throws IOException {
+        this.writer = writer;
+        this.title = title;
+        String template = readTemplate();
+        int index = template.indexOf(DATA_PLACEHOLDER);
+        if (index < 0) {
+            throw new IOException("Missing data placeholder in " + TEMPLATE);
+        }
+        templateEnd = template.substring(index + DATA_PLACEHOLDER.length());
+        writer.write(template, 0, index);
+        writer.write("{\"charts\":[");
+    }
+
+    /**
+     * Add an analysis item. Analysis is written when the writer is closed.
+     * 
+     * @param text
+     *            The analysis display literal.
+     */
+    public void addAnalysis(String text) {
+        analysis.add(text);
+    }
+
+    /**
+     * Add a bar chart.
+     * 
+     * @param chartTitle
+     *            The chart title.
+     * @param unit
+     *            The display unit.
+     * @param scale
+     *            The divisor to convert values to the display unit.
+     * @param labels
+     *            The bar labels.
+     * @param values
+     *            The bar values, in the same order as the labels.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void addBarChart(String chartTitle, String unit, long scale, List<String> labels, List<Long> values)
+            throws IOException {
+        beginChart("bar", chartTitle, unit, scale);
+        writer.write(",\"labels\":[");
+        for (int i = 0; i < labels.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeString(labels.get(i));
+        }
+        writer.write("],\"values\":[");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(Long.toString(values.get(i)));
+        }
+        writer.write("]}");
+    }
+
+    /**
+     * Add a summary row. Summary rows are written when the writer is closed.
+     * 
+     * @param label
+     *            The row label.
+     * @param value
+     *            The row value, or null if not known.
+     */
+    public void addSummary(String label, Object value) {
+        summary.add(new String[] { label, value == null ? "" : value.toString() });
+    }
+
+    /**
+     * Add a time chart. Empty series are skipped, and the chart is skipped if all series are empty.
+     * 
+     * @param chartTitle
+     *            The chart title.
+     * @param unit
+     *            The display unit.
+     * @param scale
+     *            The divisor to convert values to the display unit.
+     * @param scatter
+     *            Whether to plot points (true) or lines (false).
+     * @param series
+     *            The series.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void addTimeChart(String chartTitle, String unit, long scale, boolean scatter,
+            List<DownsampledSeries> series) throws IOException {
+        boolean empty = true;
+        for (DownsampledSeries s : series) {
+            empty = empty && s.getCount() == 0;
+        }
+        if (empty) {
+            return;
+        }
+        beginChart(scatter ? "scatter" : "line", chartTitle, unit, scale);
+        writer.write(",\"series\":[");
+        boolean firstSeries = true;
+        for (DownsampledSeries s : series) {
+            if (s.getCount() == 0) {
+                continue;
+            }
+            if (!firstSeries) {
+                writer.write(',');
+            }
+            firstSeries = false;
+            writer.write("{\"name\":");
+            writeString(s.getName());
+            writer.write(",\"count\":" + s.getCount() + ",\"t\":");
+            writeArray(s.getTimestamps());
+            writer.write(",\"v\":");
+            writeArray(s.getValues());
+            writer.write('}');
+        }
+        writer.write("]}");
+    }
+
+    /**
+     * Write the start of a chart object.
+     * 
+     * @param type
+     *            The chart type.
+     * @param chartTitle
+     *            The chart title.
+     * @param unit
+     *            The display unit.
+     * @param scale
+     *            The divisor to convert values to the display unit.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    private void beginChart(String type, String chartTitle, String unit, long scale) throws IOException {
+        if (!firstChart) {
+            writer.write(',');
+        }
+        firstChart = false;
+        writer.write("{\"type\":");
+        writeString(type);
+        writer.write(",\"title\":");
+        writeString(chartTitle);
+        writer.write(",\"unit\":");
+        writeString(unit);
+        writer.write(",\"scale\":" + Math.max(1, scale));
+    }
+
+    /**
+     * Write the summary and analysis, the end of the template, and close the underlying writer.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.write("],\"summary\":[");
+        for (int i = 0; i < summary.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write('[');
+            writeString(summary.get(i)[0]);
+            writer.write(',');
+            writeString(summary.get(i)[1]);
+            writer.write(']');
+        }
+        writer.write("],\"analysis\":[");
+        for (int i = 0; i < analysis.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeString(analysis.get(i));
+        }
+        writer.write("],\"title\":");
+        writeString(title);
+        writer.write('}');
+        writer.write(templateEnd);
+        writer.close();
+    }
+
+    /**
+     * @return The template text.
+     * @throws IOException
+     *             if the template cannot be read.
+     */
+    private static String readTemplate() throws IOException {
+        InputStream in = HtmlReportWriter.class.getResourceAsStream(TEMPLATE);
+        if (in == null) {
+            throw new IOException("Missing " + TEMPLATE);
+        }
+        StringBuilder template = new StringBuilder();
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                template.append(buffer, 0, read);
+            }
+        }
+        return template.toString();
+    }
+
+    /**
+     * Write a JSON number array.
+     * 
+     * @param values
+     *            The values.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    private void writeArray(long[] values) throws IOException {
+        writer.write('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(Long.toString(values[i]));
+        }
+        writer.write(']');
+    }
+
+    /**
+     * Write a JSON string literal that is safe to embed in a script element ("&lt;/" is escaped as "&lt;\/").
+     * 
+     * @param value
+     *            The string.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    private void writeString(String value) throws IOException {
+        StringBuilder json = new StringBuilder();
+        StructuredReportWriter.appendJsonString(json, value == null ? "" : value);
+        writer.write(json.toString().replace("</", "<\\/"));
+    }
+}
@@ -0,0 +1,305 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Fixed memory histogram of non-negative values (e.g. microseconds) for percentile reporting.
+ * </p>
+ * 
+ * <p>
+ * Values below 32 are counted exactly. Larger values are counted in 16 log-linear buckets per power of 2, so a
+ * reported percentile is within 1/16 (6.25%) of the true value. The bucket array is the same size regardless of the
+ * number of values recorded.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of bits of precision kept for values that are not counted exactly.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of buckets per power of 2.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values below this are counted exactly.
+     */
+    private static final int EXACT_LIMIT = SUB_BUCKET_COUNT * 2;
+
+    /**
+     * The exponent (power of 2) of {@link #EXACT_LIMIT}.
+     */
+    private static final int EXACT_LIMIT_EXPONENT = SUB_BUCKET_BITS + 1;
+
+    /**
+     * The total number of buckets required to cover all positive <code>long</code> values.
+     */
+    private static final int BUCKET_COUNT = EXACT_LIMIT + (63 - EXACT_LIMIT_EXPONENT) * SUB_BUCKET_COUNT;
+
+    /**
+     * Draw from a binomial distribution. A normal approximation is used when the variance is large enough for it to be
+     * accurate, so the cost does not depend on the number of trials.
+     * 
+     * @param trials
+     *            The number of trials.
+     * @param probability
+     *            The success probability (0-1).
+     * @param random
+     *            The random number generator.
+     * @return The number of successes.
+     */
+    static long binomial(long trials, double probability, Random random) {
+        if (trials <= 0 || probability <= 0) {
+            return 0;
+        }
+        if (probability >= 1) {
+            return trials;
+        }
+        if (probability > 0.5) {
+            return trials - binomial(trials, 1 - probability, random);
+        }
+        double mean = trials * probability;
+        double variance = mean * (1 - probability);
+        if (variance >= 25) {
+            long successes = Math.round(mean + random.nextGaussian() * Math.sqrt(variance));
+            return Math.max(0, Math.min(trials, successes));
+        }
+        // Inversion: walk the cumulative distribution from 0 successes
+        double odds = probability / (1 - probability);
+        double pmf = Math.exp(trials * Math.log1p(-probability));
+        double cdf = pmf;
+        double u = random.nextDouble();
+        long successes = 0;
+        while (u > cdf && successes < trials) {
+            pmf *= (double) (trials - successes) / (successes + 1) * odds;
+            successes++;
+            cdf += pmf;
+        }
+        return successes;
+    }
+
+    /**
+     * Determine the bucket for a value.
+     * 
+     * @param value
+     *            The value.
+     * @return The bucket index.
+     */
+    static int bucket(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return EXACT_LIMIT + (exponent - EXACT_LIMIT_EXPONENT) * SUB_BUCKET_COUNT
+                + (int) ((value >> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    /**
+     * Determine the highest value counted in a bucket.
+     * 
+     * @param bucket
+     *            The bucket index.
+     * @return The highest value counted in the bucket.
+     */
+    static long bucketUpperBound(int bucket) {
+        if (bucket < EXACT_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - EXACT_LIMIT) / SUB_BUCKET_COUNT + EXACT_LIMIT_EXPONENT;
+        int subBucket = (bucket - EXACT_LIMIT) % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowerBound = ((long) (SUB_BUCKET_COUNT + subBucket)) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * Parse a histogram written by {@link #toString()}.
+     * 
+     * @param histogram
+     *            The histogram literal.
+     * @return The histogram.
+     * @throws IllegalArgumentException
+     *             if the literal is not a valid histogram.
+     */
+    public static LatencyHistogram parse(String histogram) {
+        String[] fields = histogram.trim().split("\\s+");
+        if (fields.length < 3) {
+            throw new IllegalArgumentException("Invalid histogram: '" + histogram + "'");
+        }
+        LatencyHistogram parsed = new LatencyHistogram();
+        try {
+            parsed.count = Long.parseLong(fields[0]);
+            parsed.total = Long.parseLong(fields[1]);
+            parsed.max = Long.parseLong(fields[2]);
+            long bucketTotal = 0;
+            for (int i = 3; i < fields.length; i++) {
+                int separator = fields[i].indexOf(':');
+                long bucketCount = Long.parseLong(fields[i].substring(separator + 1));
+                parsed.counts[Integer.parseInt(fields[i].substring(0, separator))] += bucketCount;
+                bucketTotal += bucketCount;
+            }
+            if (bucketTotal != parsed.count) {
+                throw new IllegalArgumentException("Invalid histogram: '" + histogram + "'");
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid histogram: '" + histogram + "'", e);
+        }
+        return parsed;
+    }
+
+    /**
+     * Bucket counts.
+     */
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    /**
+     * The number of values recorded.
+     */
+    private long count;
+
+    /**
+     * The largest value recorded.
+     */
+    private long max;
+
+    /**
+     * The sum of the values recorded.
+     */
+    private long total;
+
+    /**
+     * Add the counts of another histogram to this histogram.
+     * 
+     * @param other
+     *            The histogram to add.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile
+     *            The percentile (0-100).
+     * @return The value at or below which the given percent of recorded values fall (to within the bucket precision),
+     *         or 0 if no values have been recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        if (rank < 1) {
+            rank = 1;
+        }
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Record a value. Negative values are recorded as 0.
+     * 
+     * @param value
+     *            The value.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucket(value)]++;
+        count++;
+        total += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * @return The count, total, and max followed by the non-empty buckets (<code>bucket:count</code>), space
+     *         separated. The literal size is bounded by the number of buckets, not the number of values recorded, and
+     *         can be parsed with {@link #parse(String)}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder histogram = new StringBuilder();
+        histogram.append(count).append(' ').append(total).append(' ').append(max);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] > 0) {
+                histogram.append(' ').append(i).append(':').append(counts[i]);
+            }
+        }
+        return histogram.toString();
+    }
+
+    /**
+     * Draw a bootstrap resample: the same number of values drawn with replacement from the recorded values. Values are
+     * drawn by bucket (a multinomial draw over the bucket counts), so the cost depends on the number of buckets, not
+     * the number of values. The total and max of the resample are approximated by the bucket upper bounds.
+     * 
+     * @param random
+     *            The random number generator.
+     * @return The resampled histogram.
+     */
+    public LatencyHistogram resample(Random random) {
+        LatencyHistogram resample = new LatencyHistogram();
+        long remaining = count;
+        long remainingCount = count;
+        for (int i = 0; i < BUCKET_COUNT && remaining > 0; i++) {
+            if (counts[i] > 0) {
+                long drawn = binomial(remaining, (double) counts[i] / remainingCount, random);
+                remainingCount -= counts[i];
+                if (drawn > 0) {
+                    long value = Math.min(bucketUpperBound(i), max);
+                    resample.counts[i] = drawn;
+                    resample.count += drawn;
+                    resample.total += drawn * value;
+                    resample.max = value;
+                    remaining -= drawn;
+                }
+            }
+        }
+        return resample;
+    }
+}
@@ -0,0 +1,81 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A value computed on first access and then cached. Used for <code>JvmRun</code> report sections that are expensive to
+ * compute (e.g. run time windows, bottlenecks, safepoint summaries), so sections that are never requested are never
+ * computed.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ * @param <T>
+ *            The value type.
+ */
+public class Lazy<T> implements Supplier<T> {
+
+    /**
+     * @param supplier
+     *            The value supplier.
+     * @return The supplier if it is already a <code>Lazy</code>, otherwise a <code>Lazy</code> wrapping it, or null if
+     *         the supplier is null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Lazy<T> of(Supplier<T> supplier) {
+        if (supplier == null || supplier instanceof Lazy) {
+            return (Lazy<T>) supplier;
+        }
+        return new Lazy<T>(supplier);
+    }
+
+    /**
+     * The value supplier, or null once the value is computed.
+     */
+    private Supplier<T> supplier;
+
+    /**
+     * The computed value.
+     */
+    private T value;
+
+    /**
+     * @param supplier
+     *            The value supplier. Called at most once.
+     */
+    public Lazy(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * @return The value, computing it on the first call.
+     */
+    @Override
+    public synchronized T get() {
+        if (supplier != null) {
+            value = supplier.get();
+            supplier = null;
+        }
+        return value;
+    }
+
+    /**
+     * @return true if the value has been computed, false otherwise.
+     */
+    public synchronized boolean isComputed() {
+        return supplier == null;
+    }
+}
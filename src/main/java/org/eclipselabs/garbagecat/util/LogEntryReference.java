@@ -0,0 +1,98 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+/**
+ * <p>
+ * A log entry stored in a <code>LogEntrySpill</code>. The log entry is read from the spill every time it is requested
+ * and not cached, so holding a reference costs a fixed number of bytes regardless of the length of the log entry.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class LogEntryReference implements CharSequence {
+
+    /**
+     * The byte length of the log entry.
+     */
+    private final int length;
+
+    /**
+     * The byte offset of the log entry.
+     */
+    private final long offset;
+
+    /**
+     * The spill holding the log entry.
+     */
+    private final LogEntrySpill spill;
+
+    /**
+     * @param spill
+     *            The spill holding the log entry.
+     * @param offset
+     *            The byte offset of the log entry.
+     * @param length
+     *            The byte length of the log entry.
+     */
+    LogEntryReference(LogEntrySpill spill, long offset, int length) {
+        this.spill = spill;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    /**
+     * @return The byte length of the log entry.
+     */
+    public int getByteLength() {
+        return length;
+    }
+
+    /**
+     * @return The byte offset of the log entry.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return The spill holding the log entry.
+     */
+    public LogEntrySpill getSpill() {
+        return spill;
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    /**
+     * @return The log entry, read from the spill.
+     */
+    @Override
+    public String toString() {
+        return spill.resolve(offset, length);
+    }
+}
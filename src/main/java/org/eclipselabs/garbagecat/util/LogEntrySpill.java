@@ -0,0 +1,236 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Append only temporary file of log entries. Each added entry is replaced in memory by a
+ * <code>LogEntryReference</code> (spill, byte offset, byte length) that is resolved from a memory mapped view of the
+ * file only when the log entry is requested (e.g. when it is printed in a report), so the log entries of retained
+ * events are not held on the heap.
+ * </p>
+ * 
+ * <p>
+ * The file is mapped in fixed size regions. An entry that spans two regions is read directly from the file. The file
+ * is deleted when the spill is closed.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class LogEntrySpill implements Closeable {
+
+    /**
+     * The default mapped region size in bytes.
+     */
+    public static final int DEFAULT_REGION_SIZE = 1 << 26;
+
+    /**
+     * The write buffer size in bytes.
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The spill file channel, or null once the spill is closed.
+     */
+    private FileChannel channel;
+
+    /**
+     * The mapped regions, indexed by offset / region size. A region is null until first read, and is remapped when
+     * more of it has been written than was mapped.
+     */
+    private final List<MappedByteBuffer> regions = new ArrayList<MappedByteBuffer>();
+
+    /**
+     * The mapped region size in bytes.
+     */
+    private final int regionSize;
+
+    /**
+     * The spill size in bytes, including bytes not yet written to the file.
+     */
+    private long size;
+
+    /**
+     * Entries not yet written to the file.
+     */
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+
+    /**
+     * The number of bytes written to the file.
+     */
+    private long written;
+
+    /**
+     * Create a spill backed by a new temporary file.
+     * 
+     * @throws IOException
+     *             if the temporary file cannot be created.
+     */
+    public LogEntrySpill() throws IOException {
+        this(DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Create a spill backed by a new temporary file.
+     * 
+     * @param regionSize
+     *            The mapped region size in bytes.
+     * @throws IOException
+     *             if the temporary file cannot be created.
+     */
+    public LogEntrySpill(int regionSize) throws IOException {
+        if (regionSize <= 0) {
+            throw new IllegalArgumentException("Invalid region size: '" + regionSize + "'");
+        }
+        this.regionSize = regionSize;
+        Path file = Files.createTempFile("garbagecat", ".spill");
+        file.toFile().deleteOnExit();
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    /**
+     * Append a log entry.
+     * 
+     * @param logEntry
+     *            The log entry.
+     * @return A reference to the log entry in the spill.
+     */
+    public synchronized LogEntryReference add(String logEntry) {
+        checkOpen();
+        byte[] bytes = logEntry.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (bytes.length > writeBuffer.remaining()) {
+                flush();
+            }
+            if (bytes.length > writeBuffer.capacity()) {
+                ByteBuffer src = ByteBuffer.wrap(bytes);
+                while (src.hasRemaining()) {
+                    written += channel.write(src, written);
+                }
+            } else {
+                writeBuffer.put(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LogEntryReference reference = new LogEntryReference(this, size, bytes.length);
+        size += bytes.length;
+        return reference;
+    }
+
+    private void checkOpen() {
+        if (channel == null) {
+            throw new IllegalStateException("Log entry spill closed.");
+        }
+    }
+
+    /**
+     * Close the spill and delete the file. References can no longer be resolved.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            regions.clear();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Write buffered entries to the file.
+     */
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            written += channel.write(writeBuffer, written);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * @param index
+     *            The region index.
+     * @param end
+     *            The offset (exclusive) that must be mapped.
+     * @return The region, mapped at least up to <code>end</code>.
+     */
+    private MappedByteBuffer getRegion(int index, long end) throws IOException {
+        while (regions.size() <= index) {
+            regions.add(null);
+        }
+        long start = (long) index * regionSize;
+        MappedByteBuffer region = regions.get(index);
+        if (region == null || start + region.capacity() < end) {
+            region = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, written - start));
+            regions.set(index, region);
+        }
+        return region;
+    }
+
+    /**
+     * @return The spill size in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Read a log entry.
+     * 
+     * @param offset
+     *            The byte offset of the log entry.
+     * @param length
+     *            The byte length of the log entry.
+     * @return The log entry.
+     */
+    synchronized String resolve(long offset, int length) {
+        checkOpen();
+        byte[] bytes = new byte[length];
+        try {
+            if (offset + length > written) {
+                flush();
+            }
+            int index = (int) (offset / regionSize);
+            if ((offset + length - 1) / regionSize == index) {
+                ByteBuffer region = getRegion(index, offset + length).duplicate();
+                region.position((int) (offset - (long) index * regionSize));
+                region.get(bytes);
+            } else {
+                ByteBuffer dst = ByteBuffer.wrap(bytes);
+                while (dst.hasRemaining()) {
+                    if (channel.read(dst, offset + dst.position()) < 0) {
+                        throw new IOException("Log entry spill truncated.");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
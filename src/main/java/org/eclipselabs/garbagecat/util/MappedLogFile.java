@@ -0,0 +1,507 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * Read only, memory mapped log file. The file is indexed once by line start offset, and the log lines are not held
+ * on the heap: {@link #getLine(int)} returns an ASCII <code>CharSequence</code> view of the mapped bytes, and
+ * {@link #get(int)} creates the <code>String</code> only when the log line is requested, so iterating the log lines
+ * leaves each <code>String</code> garbage as soon as it is processed. This replaces
+ * <code>Files.readAllLines()</code>, which holds a <code>String</code> for every log line for the whole analysis.
+ * </p>
+ * 
+ * <p>
+ * Lines are split the same way as <code>Files.readAllLines()</code> (on "\n", "\r", or "\r\n"). Log lines are decoded
+ * as UTF-8, with malformed input replaced. The view returned by {@link #getLine(int)} maps each byte to one char, so
+ * it is only exact for ASCII log lines (all JVM logging).
+ * </p>
+ * 
+ * <p>
+ * A mapping cannot be larger than 2 GB, so the file is mapped in regions of at most the region size, each starting at
+ * a log line. A log line cannot be longer than the region size. The line start offsets are held in chunks allocated
+ * as the log lines are found, and a file with more than {@link #MAX_LINES} log lines is rejected. {@link #close()}
+ * releases the mapped regions.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class MappedLogFile extends AbstractList<String> implements Closeable, RandomAccess {
+
+    /**
+     * ASCII view of a log line in a mapped region. The bytes are read with one bulk copy the first time they are used,
+     * since matching a regular expression reads most characters more than once, and reading them one at a time from
+     * the mapped region is slower than from a byte array.
+     */
+    private static final class AsciiLine implements CharSequence {
+
+        /**
+         * The bytes, or null if not read yet.
+         */
+        private byte[] bytes;
+
+        /**
+         * The offset of the first byte in the region.
+         */
+        private final int offset;
+
+        /**
+         * The mapped region.
+         */
+        private final MappedByteBuffer region;
+
+        /**
+         * The number of bytes.
+         */
+        private final int length;
+
+        /**
+         * The decoded log line, or null if not decoded yet.
+         */
+        private String string;
+
+        private AsciiLine(MappedByteBuffer region, int offset, int length) {
+            this.region = region;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+            }
+            return (char) (getBytes()[index] & 0xff);
+        }
+
+        private byte[] getBytes() {
+            if (bytes == null) {
+                bytes = read(region, offset, length);
+            }
+            return bytes;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+            }
+            return new AsciiLine(region, offset + start, end - start);
+        }
+
+        /**
+         * @return The log line decoded as UTF-8. The <code>String</code> is created the first time, so a view that is
+         *         matched as the prior, current, and next log line is decoded once.
+         */
+        @Override
+        public String toString() {
+            if (string == null) {
+                string = new String(getBytes(), StandardCharsets.UTF_8);
+            }
+            return string;
+        }
+    }
+
+    /**
+     * The default mapped region size in bytes.
+     */
+    public static final int DEFAULT_REGION_SIZE = 1 << 30;
+
+    /**
+     * The number of line start offsets in a chunk (a power of 2).
+     */
+    private static final int LINE_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * The maximum number of log lines (the size of a <code>List</code>).
+     */
+    public static final int MAX_LINES = Integer.MAX_VALUE - 1;
+
+    /**
+     * @param region
+     *            The mapped region.
+     * @param offset
+     *            The offset of the first byte in the region.
+     * @param length
+     *            The number of bytes.
+     * @return The bytes decoded as UTF-8.
+     */
+    private static String decode(MappedByteBuffer region, int offset, int length) {
+        return new String(read(region, offset, length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param region
+     *            The mapped region.
+     * @param offset
+     *            The offset of the first byte in the region.
+     * @param length
+     *            The number of bytes.
+     * @return The bytes, read with one bulk copy.
+     */
+    private static byte[] read(MappedByteBuffer region, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer buffer = region.duplicate();
+        // Cast so the Java 8 Buffer.position(int) is called when compiled on a later JDK.
+        ((Buffer) buffer).position(offset);
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * The log file.
+     */
+    private final Path file;
+
+    /**
+     * The start offset of each log line in the file, followed by the file size, in chunks of
+     * {@link #LINE_CHUNK_SIZE}.
+     */
+    private long[][] lineStarts = new long[16][];
+
+    /**
+     * The number of log lines.
+     */
+    private int lines;
+
+    /**
+     * The maximum number of log lines.
+     */
+    private final int maxLines;
+
+    /**
+     * The index of the first log line in each region.
+     */
+    private int[] regionFirstLines = new int[1];
+
+    /**
+     * The mapped regions, or null if closed.
+     */
+    private List<MappedByteBuffer> regions = new ArrayList<MappedByteBuffer>();
+
+    /**
+     * The start offset of each region in the file.
+     */
+    private long[] regionStarts = new long[1];
+
+    /**
+     * Map and index a log file.
+     * 
+     * @param file
+     *            The log file.
+     * @throws IOException
+     *             if the log file cannot be read, has a line longer than the region size, or has more than
+     *             {@link #MAX_LINES} lines.
+     */
+    public MappedLogFile(Path file) throws IOException {
+        this(file, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Map and index a log file.
+     * 
+     * @param file
+     *            The log file.
+     * @param regionSize
+     *            The mapped region size in bytes.
+     * @throws IOException
+     *             if the log file cannot be read, has a line longer than the region size, or has more than
+     *             {@link #MAX_LINES} lines.
+     */
+    public MappedLogFile(Path file, int regionSize) throws IOException {
+        this(file, regionSize, MAX_LINES);
+    }
+
+    /**
+     * Map and index a log file.
+     * 
+     * @param file
+     *            The log file.
+     * @param regionSize
+     *            The mapped region size in bytes.
+     * @param maxLines
+     *            The maximum number of log lines.
+     * @throws IOException
+     *             if the log file cannot be read, has a line longer than the region size, or has more than the
+     *             maximum number of log lines.
+     */
+    MappedLogFile(Path file, int regionSize, int maxLines) throws IOException {
+        if (regionSize <= 1) {
+            throw new IllegalArgumentException("Invalid region size: '" + regionSize + "'");
+        }
+        this.file = file;
+        this.maxLines = maxLines;
+        // The mappings remain valid after the channel is closed.
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            index(channel, regionSize);
+        }
+    }
+
+    /**
+     * Add a log line.
+     * 
+     * @param lineStart
+     *            The start offset of the log line in the file.
+     * @throws IOException
+     *             if there are more than the maximum number of log lines.
+     */
+    private void addLine(long lineStart) throws IOException {
+        if (lines == maxLines) {
+            throw new IOException("Log file has more than " + maxLines + " lines: " + file);
+        }
+        setLineStart(lines++, lineStart);
+    }
+
+    /**
+     * Map a region starting at a log line.
+     * 
+     * @param channel
+     *            The log file channel.
+     * @param regionStart
+     *            The start offset of the region in the file.
+     * @param size
+     *            The file size.
+     * @param regionSize
+     *            The mapped region size in bytes.
+     * @return The mapped region.
+     */
+    private MappedByteBuffer addRegion(FileChannel channel, long regionStart, long size, int regionSize)
+            throws IOException {
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                Math.min(regionSize, size - regionStart));
+        int index = regions.size();
+        if (index == regionStarts.length) {
+            regionStarts = Arrays.copyOf(regionStarts, index * 2);
+            regionFirstLines = Arrays.copyOf(regionFirstLines, index * 2);
+        }
+        regionStarts[index] = regionStart;
+        regionFirstLines[index] = lines;
+        regions.add(region);
+        return region;
+    }
+
+    private void checkIndex(int index) {
+        if (regions == null) {
+            throw new IllegalStateException("Log file closed: " + file);
+        }
+        if (index < 0 || index >= lines) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + lines);
+        }
+    }
+
+    /**
+     * Release the mapped regions. A mapping is unmapped when it is garbage collected, so views returned by
+     * {@link #getLine(int)} remain valid.
+     */
+    @Override
+    public void close() {
+        regions = null;
+    }
+
+    /**
+     * @param index
+     *            The log line index.
+     * @return The log line decoded as UTF-8, without the line terminator.
+     */
+    @Override
+    public String get(int index) {
+        checkIndex(index);
+        int region = getRegion(index);
+        return decode(regions.get(region), getOffset(index, region), getLength(index, region));
+    }
+
+    /**
+     * @param index
+     *            The log line index.
+     * @param region
+     *            The region index.
+     * @return The number of bytes in the log line, without the line terminator.
+     */
+    private int getLength(int index, int region) {
+        MappedByteBuffer buffer = regions.get(region);
+        int start = getOffset(index, region);
+        int end = (int) (getLineStart(index + 1) - regionStarts[region]);
+        if (end > start && buffer.get(end - 1) == '\n') {
+            end--;
+        }
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        return end - start;
+    }
+
+    /**
+     * @param index
+     *            The log line index.
+     * @return An ASCII view of the log line, without the line terminator. The <code>String</code> is created only when
+     *         <code>toString()</code> is first called.
+     */
+    public CharSequence getLine(int index) {
+        checkIndex(index);
+        int region = getRegion(index);
+        return new AsciiLine(regions.get(region), getOffset(index, region), getLength(index, region));
+    }
+
+    /**
+     * @return The log lines as ASCII views (see {@link #getLine(int)}), for matching log lines without creating a
+     *         <code>String</code> for each one.
+     */
+    public List<CharSequence> getLines() {
+        class Lines extends AbstractList<CharSequence> implements RandomAccess {
+
+            @Override
+            public CharSequence get(int index) {
+                return getLine(index);
+            }
+
+            @Override
+            public int size() {
+                return lines;
+            }
+        }
+        return new Lines();
+    }
+
+    /**
+     * @param index
+     *            The log line index, or the number of log lines for the file size.
+     * @return The start offset of the log line in the file.
+     */
+    private long getLineStart(int index) {
+        return lineStarts[index / LINE_CHUNK_SIZE][index % LINE_CHUNK_SIZE];
+    }
+
+    /**
+     * @param index
+     *            The log line index.
+     * @param region
+     *            The region index.
+     * @return The offset of the log line in the region.
+     */
+    private int getOffset(int index, int region) {
+        return (int) (getLineStart(index) - regionStarts[region]);
+    }
+
+    /**
+     * @param index
+     *            The log line index.
+     * @return The index of the region the log line is mapped in.
+     */
+    private int getRegion(int index) {
+        int region = Arrays.binarySearch(regionFirstLines, 0, regions.size(), index);
+        return region >= 0 ? region : -region - 2;
+    }
+
+    /**
+     * @return The number of mapped regions.
+     */
+    int getRegionCount() {
+        return regions.size();
+    }
+
+    /**
+     * Map the log file and find the log line start offsets.
+     * 
+     * @param channel
+     *            The log file channel.
+     * @param regionSize
+     *            The mapped region size in bytes.
+     */
+    private void index(FileChannel channel, int regionSize) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            setLineStart(0, 0);
+            return;
+        }
+        long regionStart = 0;
+        MappedByteBuffer region = addRegion(channel, regionStart, size, regionSize);
+        long lineStart = 0;
+        long position = 0;
+        while (position < size) {
+            int offset = (int) (position - regionStart);
+            if (offset == region.limit()) {
+                // The log line continues past the end of the region. Remap from the start of the log line.
+                if (lineStart == regionStart) {
+                    throw new IOException("Log line longer than " + regionSize + " bytes at offset " + lineStart);
+                }
+                regionStart = lineStart;
+                region = addRegion(channel, regionStart, size, regionSize);
+                position = lineStart;
+                continue;
+            }
+            byte b = region.get(offset);
+            if (b == '\r' && position + 1 < size) {
+                if (offset + 1 == region.limit()) {
+                    // Check for "\r\n" in the next region.
+                    position++;
+                    continue;
+                }
+                if (region.get(offset + 1) == '\n') {
+                    position++;
+                }
+            }
+            position++;
+            if (b == '\n' || b == '\r') {
+                addLine(lineStart);
+                lineStart = position;
+            }
+        }
+        if (lineStart < size) {
+            addLine(lineStart);
+        }
+        setLineStart(lines, size);
+    }
+
+    /**
+     * @param index
+     *            The log line index, or the number of log lines for the file size.
+     * @param lineStart
+     *            The start offset of the log line in the file.
+     */
+    private void setLineStart(int index, long lineStart) {
+        int chunk = index / LINE_CHUNK_SIZE;
+        if (chunk == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, chunk * 2);
+        }
+        if (lineStarts[chunk] == null) {
+            lineStarts[chunk] = new long[LINE_CHUNK_SIZE];
+        }
+        lineStarts[chunk][index % LINE_CHUNK_SIZE] = lineStart;
+    }
+
+    @Override
+    public int size() {
+        return lines;
+    }
+}
@@ -0,0 +1,196 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.eclipselabs.garbagecat.util.Memory.Unit.KILOBYTES;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.OldData;
+import org.eclipselabs.garbagecat.domain.PermMetaspaceData;
+
+/**
+ * <p>
+ * Heap and metaspace occupancy (kilobytes) over time, downsampled to a fixed number of points per series as blocking
+ * events are stored:
+ * </p>
+ * 
+ * <ol>
+ * <li>Heap before: Heap occupancy at the start of the collection.</li>
+ * <li>Heap after: Heap occupancy at the end of the collection.</li>
+ * <li>Old after: Old generation occupancy at the end of the collection (generational collectors that log it).</li>
+ * <li>Metaspace after: Perm gen or metaspace occupancy at the end of the collection.</li>
+ * </ol>
+ * 
+ * <p>
+ * The allocation rate (kilobytes per second) is derived from the heap growth between the end of one collection and the
+ * start of the next. It is not an occupancy, so it is kept separate from {@link #getSeries()}, and its distribution is
+ * also kept in a {@link LatencyHistogram} for percentile reporting.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class OccupancySeries {
+
+    /**
+     * @param memory
+     *            The memory, or null if not logged.
+     * @return The memory (kilobytes), or -1 if not logged.
+     */
+    private static long toKilobytes(Memory memory) {
+        return memory == null ? -1 : memory.getValue(KILOBYTES);
+    }
+
+    /**
+     * Allocation rate (kilobytes per second) between collections.
+     */
+    private final DownsampledSeries allocationRate;
+
+    /**
+     * Allocation rate (kilobytes per second) distribution.
+     */
+    private final LatencyHistogram allocationRateHistogram = new LatencyHistogram();
+
+    /**
+     * Heap occupancy after collection.
+     */
+    private final DownsampledSeries heapAfter;
+
+    /**
+     * Heap occupancy before collection.
+     */
+    private final DownsampledSeries heapBefore;
+
+    /**
+     * Perm gen or metaspace occupancy after collection.
+     */
+    private final DownsampledSeries metaspaceAfter;
+
+    /**
+     * Old generation occupancy after collection.
+     */
+    private final DownsampledSeries oldAfter;
+
+    /**
+     * Heap occupancy (kilobytes) at the end of the prior collection, or -1 if not known.
+     */
+    private long priorAfter = -1;
+
+    /**
+     * The timestamp of the prior collection.
+     */
+    private long priorTimestamp;
+
+    /**
+     * @param targetPoints
+     *            The maximum number of points per series.
+     */
+    public OccupancySeries(int targetPoints) {
+        allocationRate = new DownsampledSeries("allocation_rate", targetPoints);
+        heapAfter = new DownsampledSeries("heap_after", targetPoints);
+        heapBefore = new DownsampledSeries("heap_before", targetPoints);
+        metaspaceAfter = new DownsampledSeries("metaspace_after", targetPoints);
+        oldAfter = new DownsampledSeries("old_after", targetPoints);
+    }
+
+    /**
+     * Add the occupancy data of a blocking event.
+     * 
+     * @param event
+     *            The blocking event.
+     */
+    public void add(BlockingEvent event) {
+        long timestamp = event.getTimestamp();
+        long before = -1;
+        long after = -1;
+        if (event instanceof CombinedData) {
+            before = toKilobytes(((CombinedData) event).getCombinedOccupancyInit());
+            after = toKilobytes(((CombinedData) event).getCombinedOccupancyEnd());
+        } else if (event instanceof OldData) {
+            OldData old = (OldData) event;
+            if (old.getYoungOccupancyInit() != null && old.getOldOccupancyInit() != null) {
+                before = toKilobytes(old.getYoungOccupancyInit()) + toKilobytes(old.getOldOccupancyInit());
+            }
+            if (old.getYoungOccupancyEnd() != null && old.getOldOccupancyEnd() != null) {
+                after = toKilobytes(old.getYoungOccupancyEnd()) + toKilobytes(old.getOldOccupancyEnd());
+            }
+        }
+        if (before >= 0) {
+            heapBefore.add(timestamp, before);
+        }
+        if (after >= 0) {
+            heapAfter.add(timestamp, after);
+        }
+        if (before >= 0 && priorAfter >= 0 && timestamp > priorTimestamp && before >= priorAfter) {
+            long rate = (before - priorAfter) * 1000 / (timestamp - priorTimestamp);
+            allocationRate.add(timestamp, rate);
+            allocationRateHistogram.record(rate);
+        }
+        priorAfter = after;
+        priorTimestamp = timestamp;
+        if (event instanceof OldData) {
+            long oldEnd = toKilobytes(((OldData) event).getOldOccupancyEnd());
+            if (oldEnd >= 0) {
+                oldAfter.add(timestamp, oldEnd);
+            }
+        }
+        if (event instanceof PermMetaspaceData) {
+            long permEnd = toKilobytes(((PermMetaspaceData) event).getPermOccupancyEnd());
+            if (permEnd >= 0) {
+                metaspaceAfter.add(timestamp, permEnd);
+            }
+        }
+    }
+
+    public DownsampledSeries getAllocationRate() {
+        return allocationRate;
+    }
+
+    public LatencyHistogram getAllocationRateHistogram() {
+        return allocationRateHistogram;
+    }
+
+    public DownsampledSeries getHeapAfter() {
+        return heapAfter;
+    }
+
+    public DownsampledSeries getHeapBefore() {
+        return heapBefore;
+    }
+
+    public DownsampledSeries getMetaspaceAfter() {
+        return metaspaceAfter;
+    }
+
+    public DownsampledSeries getOldAfter() {
+        return oldAfter;
+    }
+
+    /**
+     * @return The series with at least one point, in report order (heap before, heap after, old after, metaspace
+     *         after).
+     */
+    public List<DownsampledSeries> getSeries() {
+        List<DownsampledSeries> series = new ArrayList<DownsampledSeries>();
+        for (DownsampledSeries s : new DownsampledSeries[] { heapBefore, heapAfter, oldAfter, metaspaceAfter }) {
+            if (s.getCount() > 0) {
+                series.add(s);
+            }
+        }
+        return series;
+    }
+}
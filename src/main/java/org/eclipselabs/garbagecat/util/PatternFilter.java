@@ -0,0 +1,476 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Matches log lines against a list of regular expressions (e.g. throwaway logging) without trying every regular
+ * expression on every line.
+ * </p>
+ * 
+ * <p>
+ * A literal that must appear in any match is extracted from each regular expression (e.g. "[Parallel Time:" from
+ * <code>^   \[Parallel Time:.+$</code>). An Aho-Corasick automaton over the literals finds every literal in the line in
+ * one linear scan, and only the regular expressions whose literal was found (plus the few without a usable literal)
+ * are tried. Lines that are not matched (most lines) typically cost the scan and no regular expressions.
+ * </p>
+ * 
+ * <p>
+ * Regular expressions are tried in list order, so {@link #match(CharSequence)} returns the same index as trying each
+ * in turn with <code>Matcher.matches()</code>. When profiling is enabled, the lines each regular expression is tried on
+ * (after the literal scan) and matches are counted in the {@link Profiler} "filter" group, named by the filter name
+ * and the index of the regular expression (e.g. "G1_THROWAWAY[3]").
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class PatternFilter {
+
+    /**
+     * The fewest regular expressions worth scanning for literals. Short lists are cheaper to try one by one.
+     */
+    static final int MIN_FILTER_SIZE = 8;
+
+    /**
+     * Extract the longest literal that must appear in any match of a regular expression. Only literal characters at
+     * the top level (not in groups, character classes, or alternatives) are considered.
+     * 
+     * @param regex
+     *            The regular expression.
+     * @return The required literal, or null if none could be determined.
+     */
+    static String getRequiredLiteral(String regex) {
+        if (regex.matches("(?s).*\\(\\?[-a-zA-Z].*")) {
+            // Inline flags (e.g. case insensitive) change how literals match
+            return null;
+        }
+        String best = null;
+        StringBuilder run = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            int atomEnd;
+            char literal = 0;
+            boolean isLiteral = false;
+            switch (c) {
+            case '\\':
+                if (i + 1 >= regex.length()) {
+                    return null;
+                }
+                char escaped = regex.charAt(i + 1);
+                if (Character.isLetterOrDigit(escaped)) {
+                    if ("pPxu0cNkQ".indexOf(escaped) >= 0) {
+                        // Escapes with arguments or quoting are not parsed
+                        return null;
+                    }
+                } else {
+                    literal = escaped;
+                    isLiteral = true;
+                }
+                atomEnd = i + 2;
+                break;
+            case '[':
+                atomEnd = skipClass(regex, i);
+                break;
+            case '(':
+                atomEnd = skipGroup(regex, i);
+                break;
+            case '|':
+                return null;
+            case '^':
+            case '$':
+            case '.':
+                atomEnd = i + 1;
+                break;
+            case '?':
+            case '*':
+            case '+':
+            case '{':
+            case ')':
+                // Quantifier without an atom or unbalanced group
+                return null;
+            default:
+                literal = c;
+                isLiteral = true;
+                atomEnd = i + 1;
+                break;
+            }
+            if (atomEnd < 0) {
+                return null;
+            }
+            // Quantifier applied to the atom
+            boolean optional = false;
+            boolean repeated = false;
+            if (atomEnd < regex.length()) {
+                char q = regex.charAt(atomEnd);
+                if (q == '?' || q == '*') {
+                    optional = true;
+                    repeated = q == '*';
+                    atomEnd++;
+                } else if (q == '+') {
+                    repeated = true;
+                    atomEnd++;
+                } else if (q == '{') {
+                    int close = regex.indexOf('}', atomEnd);
+                    if (close < 0) {
+                        return null;
+                    }
+                    String bounds = regex.substring(atomEnd + 1, close);
+                    optional = bounds.startsWith("0") || bounds.startsWith(",");
+                    repeated = !bounds.matches("1(,1)?");
+                    atomEnd = close + 1;
+                }
+                if (atomEnd < regex.length() && (optional || repeated || q == '{')) {
+                    char lazy = regex.charAt(atomEnd);
+                    if (lazy == '?' || lazy == '+') {
+                        atomEnd++;
+                    }
+                }
+            }
+            if (isLiteral && !optional) {
+                run.append(literal);
+            }
+            if (!isLiteral || optional || repeated) {
+                if (best == null || run.length() > best.length()) {
+                    best = run.toString();
+                }
+                run.setLength(0);
+            }
+            i = atomEnd;
+        }
+        if (best == null || run.length() > best.length()) {
+            best = run.toString();
+        }
+        return best.isEmpty() ? null : best;
+    }
+
+    /**
+     * @param regex
+     *            The regular expression.
+     * @param start
+     *            The index of the opening bracket.
+     * @return The index after the closing bracket, or -1 if not found.
+     */
+    private static int skipClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                // A leading ']' (or '^]') is a literal
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * @param regex
+     *            The regular expression.
+     * @param start
+     *            The index of the opening parenthesis.
+     * @return The index after the closing parenthesis, or -1 if not found.
+     */
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                i = skipClass(regex, i);
+                if (i < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * The regular expressions tried on every line, because no required literal could be extracted.
+     */
+    private final int[] always;
+
+    /**
+     * The failure transition of each automaton state.
+     */
+    private final int[] fail;
+
+    /**
+     * The profile counter of each regular expression.
+     */
+    private final Profiler.Counter[] counters;
+
+    /**
+     * The characters with a goto transition from each automaton state, sorted.
+     */
+    private final char[][] keys;
+
+    /**
+     * The regular expressions whose literal ends at each automaton state (including by failure transitions).
+     */
+    private final int[][] outputs;
+
+    /**
+     * The regular expressions.
+     */
+    private final Pattern[] patterns;
+
+    /**
+     * The goto transition target for each of <code>keys</code>.
+     */
+    private final int[][] targets;
+
+    /**
+     * @param name
+     *            The filter name, used to name the profile counters.
+     * @param regexes
+     *            The regular expressions, in the order they are tried.
+     */
+    public PatternFilter(String name, String... regexes) {
+        patterns = new Pattern[regexes.length];
+        counters = new Profiler.Counter[regexes.length];
+        Map<String, List<Integer>> literals = new LinkedHashMap<>();
+        List<Integer> alwaysList = new ArrayList<>();
+        for (int i = 0; i < regexes.length; i++) {
+            patterns[i] = Pattern.compile(regexes[i]);
+            counters[i] = Profiler.getCounter("filter", name + "[" + i + "]");
+            String literal = regexes.length < MIN_FILTER_SIZE ? null : getRequiredLiteral(regexes[i]);
+            if (literal == null) {
+                alwaysList.add(i);
+            } else {
+                literals.computeIfAbsent(literal, k -> new ArrayList<>()).add(i);
+            }
+        }
+        always = toArray(alwaysList);
+
+        // Build the trie
+        List<StringBuilder> stateKeys = new ArrayList<>();
+        List<List<Integer>> stateTargets = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        stateKeys.add(new StringBuilder());
+        stateTargets.add(new ArrayList<>());
+        stateOutputs.add(new ArrayList<>());
+        for (Map.Entry<String, List<Integer>> entry : literals.entrySet()) {
+            int state = 0;
+            for (char c : entry.getKey().toCharArray()) {
+                int key = stateKeys.get(state).indexOf(String.valueOf(c));
+                if (key >= 0) {
+                    state = stateTargets.get(state).get(key);
+                } else {
+                    stateKeys.get(state).append(c);
+                    stateTargets.get(state).add(stateKeys.size());
+                    state = stateKeys.size();
+                    stateKeys.add(new StringBuilder());
+                    stateTargets.add(new ArrayList<>());
+                    stateOutputs.add(new ArrayList<>());
+                }
+            }
+            stateOutputs.get(state).addAll(entry.getValue());
+        }
+        int states = stateKeys.size();
+        keys = new char[states][];
+        targets = new int[states][];
+        for (int state = 0; state < states; state++) {
+            char[] stateKeyChars = stateKeys.get(state).toString().toCharArray();
+            Integer[] order = new Integer[stateKeyChars.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Character.compare(stateKeyChars[a], stateKeyChars[b]));
+            keys[state] = new char[order.length];
+            targets[state] = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[state][i] = stateKeyChars[order[i]];
+                targets[state][i] = stateTargets.get(state).get(order[i]);
+            }
+        }
+
+        // Failure transitions (breadth first), merging the outputs of the failure state
+        fail = new int[states];
+        outputs = new int[states][];
+        outputs[0] = toArray(stateOutputs.get(0));
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int target : targets[0]) {
+            fail[target] = 0;
+            queue[tail++] = target;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            List<Integer> stateOutput = stateOutputs.get(state);
+            for (int output : outputs[fail[state]]) {
+                if (!stateOutput.contains(output)) {
+                    stateOutput.add(output);
+                }
+            }
+            outputs[state] = toArray(stateOutput);
+            for (int i = 0; i < keys[state].length; i++) {
+                int target = targets[state][i];
+                int f = fail[state];
+                int next;
+                while ((next = transition(f, keys[state][i])) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[target] = next >= 0 ? next : 0;
+                queue[tail++] = target;
+            }
+        }
+    }
+
+    /**
+     * @param list
+     *            The list.
+     * @return The list as an array.
+     */
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * @param index
+     *            The regular expression index.
+     * @return The number of lines matched by the regular expression while profiling was enabled.
+     */
+    public long getHitCount(int index) {
+        return counters[index].getHits();
+    }
+
+    /**
+     * @return The regular expressions, in the order they are tried.
+     */
+    public List<Pattern> getPatterns() {
+        return Arrays.asList(patterns);
+    }
+
+    /**
+     * @param input
+     *            The input (e.g. a log line).
+     * @return The index of the first regular expression that matches the entire input, or -1 if none match.
+     */
+    public int match(CharSequence input) {
+        boolean[] candidates = null;
+        int state = 0;
+        int scanLength = keys[0].length == 0 ? 0 : input.length();
+        for (int i = 0; i < scanLength; i++) {
+            char c = input.charAt(i);
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = next >= 0 ? next : 0;
+            if (outputs[state].length > 0) {
+                if (candidates == null) {
+                    candidates = new boolean[patterns.length];
+                }
+                for (int output : outputs[state]) {
+                    candidates[output] = true;
+                }
+            }
+        }
+        boolean profile = Profiler.isEnabled();
+        boolean timed = profile && Profiler.isTimed();
+        int a = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            boolean isAlways = a < always.length && always[a] == i;
+            if (isAlways) {
+                a++;
+            }
+            if (!isAlways && (candidates == null || !candidates[i])) {
+                continue;
+            }
+            long start = timed ? System.nanoTime() : 0;
+            boolean hit = RegexGuard.matches(patterns[i], input);
+            if (timed) {
+                counters[i].record(hit, System.nanoTime() - start);
+            } else if (profile) {
+                counters[i].record(hit);
+            }
+            if (hit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param input
+     *            The input (e.g. a log line).
+     * @return True if any regular expression matches the entire input, false otherwise.
+     */
+    public boolean matches(CharSequence input) {
+        return match(input) >= 0;
+    }
+
+    /**
+     * @return The number of regular expressions.
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * @param state
+     *            The automaton state.
+     * @param c
+     *            The next character.
+     * @return The goto transition target, or -1 if none.
+     */
+    private int transition(int state, char c) {
+        int key = Arrays.binarySearch(keys[state], c);
+        return key >= 0 ? targets[state][key] : -1;
+    }
+}
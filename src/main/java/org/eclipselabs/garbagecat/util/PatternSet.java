@@ -0,0 +1,100 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Several regular expressions compiled into one tagged alternation, so a log line is matched against all of them with
+ * a single <code>Matcher</code>, and the matching rule is identified from the capturing group that took part in the
+ * match.
+ * </p>
+ * 
+ * <p>
+ * Rules are tried in the order given, so {@link #match(CharSequence)} returns the same rule as testing each regular
+ * expression in turn with <code>Matcher.matches()</code> and stopping at the first match. The regular expressions must
+ * not contain back references or inline flags, since those would apply across rules.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class PatternSet {
+
+    /**
+     * The group number of the capturing group wrapping each rule.
+     */
+    private final int[] groups;
+
+    /**
+     * The combined pattern.
+     */
+    private final Pattern pattern;
+
+    /**
+     * @param patterns
+     *            The rules, in the order they are tried.
+     */
+    public PatternSet(Pattern... patterns) {
+        if (patterns.length == 0) {
+            throw new IllegalArgumentException("Pattern set requires at least 1 pattern.");
+        }
+        groups = new int[patterns.length];
+        StringBuilder regex = new StringBuilder();
+        int group = 1;
+        for (int i = 0; i < patterns.length; i++) {
+            if (i > 0) {
+                regex.append('|');
+            }
+            regex.append('(').append(patterns[i].pattern()).append(')');
+            groups[i] = group;
+            group += patterns[i].matcher("").groupCount() + 1;
+        }
+        pattern = Pattern.compile(regex.toString());
+    }
+
+    /**
+     * @param input
+     *            The input (e.g. a log line).
+     * @return The index of the first rule that matches the entire input, or -1 if no rule matches.
+     */
+    public int match(CharSequence input) {
+        Matcher matcher = pattern.matcher(input);
+        if (matcher.matches()) {
+            for (int i = 0; i < groups.length; i++) {
+                if (matcher.start(groups[i]) >= 0) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param input
+     *            The input (e.g. a log line).
+     * @return True if any rule matches the entire input, false otherwise.
+     */
+    public boolean matches(CharSequence input) {
+        return pattern.matcher(input).matches();
+    }
+
+    /**
+     * @return The number of rules.
+     */
+    public int size() {
+        return groups.length;
+    }
+}
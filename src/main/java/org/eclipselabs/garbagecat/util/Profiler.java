@@ -0,0 +1,499 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipselabs.garbagecat.util.jfr.ProcessingEvents;
+
+/**
+ * <p>
+ * Processing pipeline profile (the --profile option): wall time and allocated bytes per stage, the number of log lines,
+ * and the invocation count, hit count, and cumulative match time of each event type matcher and preprocess rule.
+ * </p>
+ * 
+ * <p>
+ * Invocations count matcher calls, not log lines. A log line is identified in preprocessing and again when the
+ * preprocessed entry is stored, and some preprocess actions identify the event of the line they preprocess, so the
+ * invocations of a matcher can be several times the number of log lines it was tried on.
+ * </p>
+ * 
+ * <p>
+ * Counters are <code>LongAdder</code>s, so logs processed on different threads (e.g. a comparison) can be profiled at
+ * the same time. When profiling is not enabled, a matcher costs one volatile read per log line.
+ * </p>
+ * 
+ * <p>
+ * Invocations and hits are exact. Match time is only measured for one in {@link #TIMING_SAMPLE_INTERVAL} log lines
+ * (chosen at random), since timing every invocation costs more than many of the matches, and the cumulative match
+ * time of a matcher is estimated from the timed invocations.
+ * </p>
+ * 
+ * <p>
+ * Allocated bytes are the bytes allocated by the thread running the stage, and are only available on JVMs that
+ * support thread allocation accounting (-1 otherwise). The read stage only indexes the memory mapped log file; the log
+ * lines are decoded in the stages that process them.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public final class Profiler {
+
+    /**
+     * Invocation count, hit count, and cumulative match time of one matcher.
+     */
+    public static final class Counter {
+
+
+        /**
+         * The matcher group (e.g. "event", "preprocess", or "filter").
+         */
+        private final String group;
+
+        /**
+         * The number of times the matcher matched.
+         */
+        private final LongAdder hits = new LongAdder();
+
+        /**
+         * The number of times the matcher was called.
+         */
+        private final LongAdder invocations = new LongAdder();
+
+        /**
+         * The number of timed invocations.
+         */
+        private final LongAdder timedInvocations = new LongAdder();
+
+        /**
+         * The matcher name.
+         */
+        private final String name;
+
+        /**
+         * The cumulative match time of the timed invocations in nanoseconds.
+         */
+        private final LongAdder nanos = new LongAdder();
+
+        private Counter(String group, String name) {
+            this.group = group;
+            this.name = name;
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getInvocations() {
+            return invocations.sum();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The estimated cumulative match time in nanoseconds: the average time of the timed invocations times
+         *         the number of invocations.
+         */
+        public long getNanos() {
+            long timed = timedInvocations.sum();
+            return timed == 0 ? 0 : (long) ((double) nanos.sum() * getInvocations() / timed);
+        }
+
+        /**
+         * Record an untimed matcher invocation.
+         * 
+         * @param hit
+         *            Whether or not the matcher matched.
+         */
+        public void record(boolean hit) {
+            invocations.increment();
+            if (hit) {
+                hits.increment();
+            }
+        }
+
+        /**
+         * Record a timed matcher invocation.
+         * 
+         * @param hit
+         *            Whether or not the matcher matched.
+         * @param elapsedNanos
+         *            The match time in nanoseconds.
+         */
+        public void record(boolean hit, long elapsedNanos) {
+            record(hit);
+            timedInvocations.increment();
+            nanos.add(elapsedNanos);
+        }
+
+        private void reset() {
+            hits.reset();
+            invocations.reset();
+            nanos.reset();
+            timedInvocations.reset();
+        }
+    }
+
+    /**
+     * The start of a stage.
+     */
+    public static final class Sample {
+
+        /**
+         * The bytes allocated by the thread at the start of the stage.
+         */
+        private final long bytes;
+
+        /**
+         * The JFR stage event, or null if it is not enabled.
+         */
+        private final Object flightEvent;
+
+        /**
+         * <code>System.nanoTime()</code> at the start of the stage.
+         */
+        private final long nanos;
+
+        /**
+         * Whether or not profiling was enabled at the start of the stage.
+         */
+        private final boolean profiled;
+
+        private Sample(boolean profiled, long nanos, long bytes, Object flightEvent) {
+            this.profiled = profiled;
+            this.nanos = nanos;
+            this.bytes = bytes;
+            this.flightEvent = flightEvent;
+        }
+    }
+
+    /**
+     * Processing pipeline stages.
+     */
+    public enum Stage {
+        READ, PREPROCESS, STORE, ANALYSIS, REPORT
+    }
+
+    /**
+     * One in this many log lines has its matcher invocations timed.
+     */
+    public static final int TIMING_SAMPLE_INTERVAL = 16;
+
+    /**
+     * The matcher counters, by group and name.
+     */
+    private static final ConcurrentMap<String, Counter> COUNTERS = new ConcurrentHashMap<String, Counter>();
+
+    /**
+     * Whether or not profiling is enabled.
+     */
+    private static volatile boolean enabled;
+
+    /**
+     * The number of log lines read.
+     */
+    private static final LongAdder LINES = new LongAdder();
+
+    /**
+     * The bytes allocated per stage, or -1 if thread allocation accounting is not supported.
+     */
+    private static final LongAdder[] STAGE_BYTES = new LongAdder[Stage.values().length];
+
+    /**
+     * The wall time per stage in nanoseconds.
+     */
+    private static final LongAdder[] STAGE_NANOS = new LongAdder[Stage.values().length];
+
+    /**
+     * Used to get the bytes allocated by a thread, or null if not supported.
+     */
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN;
+
+    static {
+        for (int i = 0; i < STAGE_NANOS.length; i++) {
+            STAGE_BYTES[i] = new LongAdder();
+            STAGE_NANOS[i] = new LongAdder();
+        }
+        ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+        if (threadMxBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMxBean).isThreadAllocatedMemorySupported()) {
+            THREAD_MX_BEAN = (com.sun.management.ThreadMXBean) threadMxBean;
+        } else {
+            THREAD_MX_BEAN = null;
+        }
+    }
+
+    /**
+     * Add log lines read.
+     * 
+     * @param lines
+     *            The number of log lines.
+     */
+    public static void addLines(long lines) {
+        if (enabled) {
+            LINES.add(lines);
+        }
+    }
+
+    /**
+     * Start a stage. The stage is also emitted as a JFR event (see {@link ProcessingEvents}).
+     * 
+     * @return The start of the stage, or null if neither profiling nor the JFR stage event is enabled.
+     */
+    public static Sample begin() {
+        Object flightEvent = ProcessingEvents.beginStage();
+        if (!enabled) {
+            return flightEvent == null ? null : new Sample(false, 0, -1, flightEvent);
+        }
+        return new Sample(true, System.nanoTime(), getAllocatedBytes(), flightEvent);
+    }
+
+    /**
+     * Start a part of a stage that is nested in another stage (see {@link #endNested(Stage, Stage, Sample)}).
+     * 
+     * @return The start of the part, or null if profiling is not enabled.
+     */
+    public static Sample beginNested() {
+        return enabled ? new Sample(true, System.nanoTime(), getAllocatedBytes(), null) : null;
+    }
+
+    /**
+     * End a stage.
+     * 
+     * @param stage
+     *            The stage.
+     * @param sample
+     *            The start of the stage returned by {@link #begin()}, or null.
+     */
+    public static void end(Stage stage, Sample sample) {
+        if (sample == null) {
+            return;
+        }
+        ProcessingEvents.endStage(sample.flightEvent, stage.name());
+        if (!sample.profiled) {
+            return;
+        }
+        STAGE_NANOS[stage.ordinal()].add(System.nanoTime() - sample.nanos);
+        if (sample.bytes >= 0) {
+            STAGE_BYTES[stage.ordinal()].add(getAllocatedBytes() - sample.bytes);
+        }
+    }
+
+    /**
+     * End a part of a stage that is nested in another stage (e.g. storing a log entry as the logging is preprocessed).
+     * The time and bytes of the part are moved from the enclosing stage to the stage. No JFR event is emitted.
+     * 
+     * @param stage
+     *            The stage.
+     * @param enclosingStage
+     *            The enclosing stage.
+     * @param sample
+     *            The start of the part returned by {@link #beginNested()}, or null.
+     */
+    public static void endNested(Stage stage, Stage enclosingStage, Sample sample) {
+        if (sample == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - sample.nanos;
+        STAGE_NANOS[stage.ordinal()].add(nanos);
+        STAGE_NANOS[enclosingStage.ordinal()].add(-nanos);
+        if (sample.bytes >= 0) {
+            long bytes = getAllocatedBytes() - sample.bytes;
+            STAGE_BYTES[stage.ordinal()].add(bytes);
+            STAGE_BYTES[enclosingStage.ordinal()].add(-bytes);
+        }
+    }
+
+    /**
+     * @return The bytes allocated by the current thread, or -1 if not supported.
+     */
+    private static long getAllocatedBytes() {
+        return THREAD_MX_BEAN == null ? -1 : THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @param group
+     *            The matcher group (e.g. "event", "preprocess", or "filter").
+     * @param name
+     *            The matcher name.
+     * @return The counter for the matcher, created the first time it is requested.
+     */
+    public static Counter getCounter(String group, String name) {
+        return COUNTERS.computeIfAbsent(group + "." + name, key -> new Counter(group, name));
+    }
+
+    /**
+     * @return The counters of the matchers that were tried, by cumulative match time, highest first.
+     */
+    public static List<Counter> getCounters() {
+        List<Counter> counters = new ArrayList<Counter>();
+        for (Counter counter : COUNTERS.values()) {
+            if (counter.getInvocations() > 0) {
+                counters.add(counter);
+            }
+        }
+        Collections.sort(counters, (c1, c2) -> Long.compare(c2.getNanos(), c1.getNanos()));
+        return counters;
+    }
+
+    public static long getLines() {
+        return LINES.sum();
+    }
+
+    /**
+     * @return The number of log lines read per second of read, preprocess, and store wall time, or 0 if not known.
+     */
+    public static long getLinesPerSecond() {
+        long nanos = getStageNanos(Stage.READ) + getStageNanos(Stage.PREPROCESS) + getStageNanos(Stage.STORE);
+        return nanos == 0 ? 0 : getLines() * 1000000000L / nanos;
+    }
+
+    /**
+     * @param stage
+     *            The stage.
+     * @return The bytes allocated in the stage, or -1 if thread allocation accounting is not supported.
+     */
+    public static long getStageBytes(Stage stage) {
+        return THREAD_MX_BEAN == null ? -1 : STAGE_BYTES[stage.ordinal()].sum();
+    }
+
+    /**
+     * @param stage
+     *            The stage.
+     * @return The wall time of the stage in nanoseconds.
+     */
+    public static long getStageNanos(Stage stage) {
+        return STAGE_NANOS[stage.ordinal()].sum();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true if the matcher invocations for the current log line should be timed (one in
+     *         {@link #TIMING_SAMPLE_INTERVAL}), false otherwise.
+     */
+    public static boolean isTimed() {
+        return ThreadLocalRandom.current().nextInt(TIMING_SAMPLE_INTERVAL) == 0;
+    }
+
+    /**
+     * Reset all counters.
+     */
+    public static void reset() {
+        for (int i = 0; i < STAGE_NANOS.length; i++) {
+            STAGE_BYTES[i].reset();
+            STAGE_NANOS[i].reset();
+        }
+        LINES.reset();
+        for (Counter counter : COUNTERS.values()) {
+            counter.reset();
+        }
+    }
+
+    /**
+     * @param enabled
+     *            Whether or not profiling is enabled.
+     */
+    public static void setEnabled(boolean enabled) {
+        Profiler.enabled = enabled;
+    }
+
+    /**
+     * Write the profile as a JSON object.
+     * 
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             if the output fails.
+     */
+    public static void writeJson(Appendable out) throws IOException {
+        out.append("{\"stages\":[");
+        for (Stage stage : Stage.values()) {
+            if (stage.ordinal() > 0) {
+                out.append(',');
+            }
+            out.append("{\"stage\":");
+            StructuredReportWriter.appendJsonString(out, stage.name());
+            out.append(",\"nanos\":").append(Long.toString(getStageNanos(stage)));
+            out.append(",\"allocatedBytes\":").append(Long.toString(getStageBytes(stage))).append('}');
+        }
+        out.append("],\"lines\":").append(Long.toString(getLines()));
+        out.append(",\"linesPerSecond\":").append(Long.toString(getLinesPerSecond()));
+        out.append(",\"matchers\":[");
+        boolean first = true;
+        for (Counter counter : getCounters()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            out.append("{\"group\":");
+            StructuredReportWriter.appendJsonString(out, counter.getGroup());
+            out.append(",\"name\":");
+            StructuredReportWriter.appendJsonString(out, counter.getName());
+            out.append(",\"invocations\":").append(Long.toString(counter.getInvocations()));
+            out.append(",\"hits\":").append(Long.toString(counter.getHits()));
+            out.append(",\"nanos\":").append(Long.toString(counter.getNanos())).append('}');
+        }
+        out.append("]}").append(Constants.LINE_SEPARATOR);
+    }
+
+    /**
+     * Write the profile as a plain text table.
+     * 
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             if the output fails.
+     */
+    public static void writeTable(Appendable out) throws IOException {
+        out.append(String.format(Locale.ENGLISH, "%-12s %12s %16s%n", "stage", "time (ms)", "allocated (KB)"));
+        for (Stage stage : Stage.values()) {
+            long bytes = getStageBytes(stage);
+            out.append(String.format(Locale.ENGLISH, "%-12s %12d %16s%n", stage.name(),
+                    getStageNanos(stage) / 1000000, bytes < 0 ? "n/a" : Long.toString(bytes / 1024)));
+        }
+        out.append(String.format(Locale.ENGLISH, "lines: %d (%d lines/s)%n", getLines(), getLinesPerSecond()));
+        out.append(String.format(Locale.ENGLISH, "%-10s %-50s %12s %12s %12s%n", "group", "matcher", "invocations",
+                "hits", "time (ms)"));
+        for (Counter counter : getCounters()) {
+            out.append(String.format(Locale.ENGLISH, "%-10s %-50s %12d %12d %12.3f%n", counter.getGroup(),
+                    counter.getName(), counter.getInvocations(), counter.getHits(), counter.getNanos() / 1000000.0));
+        }
+    }
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private Profiler() {
+
+    }
+}
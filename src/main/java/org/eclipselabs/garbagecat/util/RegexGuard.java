@@ -0,0 +1,159 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Guarded regular expression matching. A match reads the input through a <code>CharSequence</code> that counts the
+ * characters read and aborts the match when a step budget is exceeded, so a corrupted or interleaved log line (e.g.
+ * application output mixed into the gc logging) cannot make a regular expression with nested optional groups
+ * backtrack for seconds.
+ * </p>
+ * 
+ * <p>
+ * An aborted match does not match, so the log line ends up unidentified. Aborted matches are counted per thread, so
+ * logs processed on different threads (e.g. a comparison) are counted separately.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public final class RegexGuard {
+
+    /**
+     * <code>CharSequence</code> that throws <code>StepBudgetExceededException</code> when more characters are read
+     * than the step budget.
+     */
+    private static final class BoundedCharSequence implements CharSequence {
+
+        /**
+         * The input.
+         */
+        private final CharSequence input;
+
+        /**
+         * The number of characters that can still be read.
+         */
+        private long steps;
+
+        private BoundedCharSequence(CharSequence input, long steps) {
+            this.input = input;
+            this.steps = steps;
+        }
+
+        public char charAt(int index) {
+            if (--steps < 0) {
+                throw StepBudgetExceededException.INSTANCE;
+            }
+            return input.charAt(index);
+        }
+
+        public int length() {
+            return input.length();
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return input.subSequence(start, end);
+        }
+
+        public String toString() {
+            return input.toString();
+        }
+    }
+
+    /**
+     * Thrown to abort a match. Preallocated without a stack trace, since it is only used for control flow.
+     */
+    private static final class StepBudgetExceededException extends RuntimeException {
+
+        /**
+         * The shared instance.
+         */
+        private static final StepBudgetExceededException INSTANCE = new StepBudgetExceededException();
+
+        private static final long serialVersionUID = 1L;
+
+        private StepBudgetExceededException() {
+            super("Regular expression step budget exceeded.", null, false, false);
+        }
+    }
+
+    /**
+     * The number of aborted matches on each thread.
+     */
+    private static final ThreadLocal<long[]> ABORTED_MATCHES = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * The maximum number of characters a match can read.
+     */
+    private static volatile long stepBudget = Constants.REGEX_STEP_BUDGET;
+
+    /**
+     * @return The number of matches aborted on the current thread.
+     */
+    public static long getAbortedMatches() {
+        return ABORTED_MATCHES.get()[0];
+    }
+
+    public static long getStepBudget() {
+        return stepBudget;
+    }
+
+    /**
+     * @param pattern
+     *            The regular expression.
+     * @param input
+     *            The input (e.g. a log line).
+     * @return The matcher of a regular expression that matches the entire input within the step budget, for reading
+     *         the groups, or null otherwise. The matcher cannot be used to match again.
+     */
+    public static Matcher matcher(Pattern pattern, CharSequence input) {
+        Matcher matcher = pattern.matcher(new BoundedCharSequence(input, stepBudget));
+        try {
+            return matcher.matches() ? matcher : null;
+        } catch (StepBudgetExceededException e) {
+            ABORTED_MATCHES.get()[0]++;
+            return null;
+        }
+    }
+
+    /**
+     * @param pattern
+     *            The regular expression.
+     * @param input
+     *            The input (e.g. a log line).
+     * @return True if the regular expression matches the entire input within the step budget, false otherwise.
+     */
+    public static boolean matches(Pattern pattern, CharSequence input) {
+        try {
+            return pattern.matcher(new BoundedCharSequence(input, stepBudget)).matches();
+        } catch (StepBudgetExceededException e) {
+            ABORTED_MATCHES.get()[0]++;
+            return false;
+        }
+    }
+
+    public static void setStepBudget(long stepBudget) {
+        RegexGuard.stepBudget = stepBudget;
+    }
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private RegexGuard() {
+
+    }
+}
@@ -0,0 +1,100 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * <p>
+ * Report sections that can be selected with the sections option. Sections that are not selected are not written, and
+ * the <code>JvmRun</code> data only they use (e.g. memory allocations, run time windows, bottlenecks, safepoint
+ * summaries) is never computed.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public enum ReportSection {
+
+    /**
+     * Min/max/avg (G1) and high memory allocation rates.
+     */
+    ALLOCATIONS,
+
+    /**
+     * Error/warn/info analysis.
+     */
+    ANALYSIS,
+
+    /**
+     * GC and safepoint throughput bottlenecks.
+     */
+    BOTTLENECKS,
+
+    /**
+     * Concurrent GC phase accounting.
+     */
+    CONCURRENT,
+
+    /**
+     * JVM version, options, and memory.
+     */
+    JVM,
+
+    /**
+     * Minimum mutator utilization histogram and windows below 50%.
+     */
+    MMU,
+
+    /**
+     * Safepoint pause time by trigger.
+     */
+    SAFEPOINT,
+
+    /**
+     * Event counts, timestamps, heap and metaspace maximums, pause time, and throughput.
+     */
+    SUMMARY,
+
+    /**
+     * Time to safepoint percentiles and outliers.
+     */
+    TTSP,
+
+    /**
+     * Unidentified log lines.
+     */
+    UNIDENTIFIED,
+
+    /**
+     * GC worker efficiency and parallelism collapse windows.
+     */
+    WORKER_EFFICIENCY;
+
+    /**
+     * @param sections
+     *            Comma separated section names (case insensitive).
+     * @return The sections.
+     * @throws IllegalArgumentException
+     *             if a section name is not valid.
+     */
+    public static Set<ReportSection> parse(String sections) {
+        Set<ReportSection> parsed = EnumSet.noneOf(ReportSection.class);
+        for (String section : sections.split(",")) {
+            parsed.add(valueOf(section.trim().toUpperCase(Locale.ENGLISH)));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,231 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * <p>
+ * A fixed-memory list for report outputs that can grow with the size of the log (e.g. unidentified log lines, the log
+ * entries in a run time window, high memory allocations). Every added element is counted, but only the first
+ * <code>firstLimit</code> elements plus a sample of at most <code>sampleLimit</code> of the rest are retained:
+ * </p>
+ * 
+ * <ol>
+ * <li>{@link #add(Object, long)}: the most severe elements (top-K), earlier elements winning ties.</li>
+ * <li>{@link #add(Object)}: a uniform random sample (reservoir sampling with a fixed seed, so reports are
+ * reproducible).</li>
+ * </ol>
+ * 
+ * <p>
+ * The <code>List</code> view (size, get, iteration) is the retained elements in the order they were added.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ * @param <T>
+ *            The element type.
+ */
+public class RetainedList<T> extends AbstractList<T> {
+
+    /**
+     * A sampled element.
+     */
+    private static final class Entry<T> {
+
+        /**
+         * The position the element was added.
+         */
+        private final long sequence;
+
+        /**
+         * The element severity.
+         */
+        private final long severity;
+
+        /**
+         * The element.
+         */
+        private final T value;
+
+        private Entry(long sequence, long severity, T value) {
+            this.sequence = sequence;
+            this.severity = severity;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Orders sampled elements from least to most severe (later elements first when equal), so the head of the queue is
+     * the first to be evicted.
+     */
+    private static final Comparator<Entry<?>> LEAST_SEVERE_FIRST = Comparator
+            .comparingLong((Entry<?> entry) -> entry.severity)
+            .thenComparing(Comparator.comparingLong((Entry<?> entry) -> entry.sequence).reversed());
+
+    /**
+     * Reservoir sampling seed.
+     */
+    private static final long SEED = 0x5eedL;
+
+    /**
+     * The number of elements added, including those not retained.
+     */
+    private long count;
+
+    /**
+     * The first elements added.
+     */
+    private final List<T> first;
+
+    /**
+     * The maximum number of first elements to retain.
+     */
+    private final int firstLimit;
+
+    /**
+     * Reservoir sampling random number generator, created on first use.
+     */
+    private Random random;
+
+    /**
+     * The retained elements in the order added, or null if elements were added since it was built.
+     */
+    private List<T> retained;
+
+    /**
+     * The sampled elements after the first elements.
+     */
+    private final PriorityQueue<Entry<T>> sample;
+
+    /**
+     * The maximum number of sampled elements to retain.
+     */
+    private final int sampleLimit;
+
+    /**
+     * @param firstLimit
+     *            The maximum number of first elements to retain.
+     * @param sampleLimit
+     *            The maximum number of elements after the first elements to retain.
+     */
+    public RetainedList(int firstLimit, int sampleLimit) {
+        this.firstLimit = firstLimit;
+        this.sampleLimit = sampleLimit;
+        this.first = new ArrayList<T>();
+        this.sample = new PriorityQueue<Entry<T>>(Math.max(1, sampleLimit), LEAST_SEVERE_FIRST);
+    }
+
+    /**
+     * Add an element to be retained if it is one of the first elements or is chosen by reservoir sampling.
+     * 
+     * @param value
+     *            The element.
+     * @return true (the element is always counted).
+     */
+    @Override
+    public boolean add(T value) {
+        if (count >= firstLimit && sampleLimit > 0) {
+            // Reservoir sampling by random keys: the elements with the largest random keys are a uniform sample
+            if (random == null) {
+                random = new Random(SEED);
+            }
+            return offer(value, random.nextLong());
+        }
+        return offer(value, 0);
+    }
+
+    /**
+     * Add an element to be retained if it is one of the first elements or one of the most severe elements after them.
+     * 
+     * @param value
+     *            The element.
+     * @param severity
+     *            The element severity (e.g. pause time, allocation rate).
+     * @return true (the element is always counted).
+     */
+    public boolean add(T value, long severity) {
+        return offer(value, severity);
+    }
+
+    /**
+     * @return The number of elements added, including those not retained.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return true if elements were added that are not retained, false otherwise.
+     */
+    public boolean isTruncated() {
+        return count > first.size() + sample.size();
+    }
+
+    /**
+     * @param value
+     *            The element.
+     * @param severity
+     *            The element severity.
+     * @return true (the element is always counted).
+     */
+    private boolean offer(T value, long severity) {
+        if (first.size() < firstLimit) {
+            first.add(value);
+        } else if (sampleLimit > 0) {
+            Entry<T> entry = new Entry<T>(count, severity, value);
+            if (sample.size() < sampleLimit) {
+                sample.add(entry);
+            } else if (LEAST_SEVERE_FIRST.compare(entry, sample.peek()) > 0) {
+                sample.poll();
+                sample.add(entry);
+            }
+        }
+        count++;
+        retained = null;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * @return The retained elements in the order added.
+     */
+    private List<T> retained() {
+        if (retained == null) {
+            List<Entry<T>> entries = new ArrayList<Entry<T>>(sample);
+            entries.sort(Comparator.comparingLong((Entry<T> entry) -> entry.sequence));
+            List<T> values = new ArrayList<T>(first.size() + entries.size());
+            values.addAll(first);
+            for (Entry<T> entry : entries) {
+                values.add(entry.value);
+            }
+            retained = values;
+        }
+        return retained;
+    }
+
+    @Override
+    public T get(int index) {
+        return retained().get(index);
+    }
+
+    @Override
+    public int size() {
+        return first.size() + sample.size();
+    }
+}
@@ -0,0 +1,312 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.domain.jdk.unified.SafepointEventSummary;
+
+/**
+ * <p>
+ * Compact, mergeable summary of one or more JVM runs: pause, time to safepoint, and allocation rate histograms,
+ * safepoint counts by trigger, and the number of runs with each analysis item.
+ * </p>
+ * 
+ * <p>
+ * Merging is associative and commutative (counts and totals are added, maximums are kept), so summaries can be merged
+ * in any order, in parallel, and hierarchically (e.g. host, service, fleet) with the same result as merging them all
+ * at once. The summary size is bounded by the histogram bucket, trigger, and analysis counts, not the number of events
+ * or runs.
+ * </p>
+ * 
+ * <p>
+ * Summaries are written as text, one item per line:
+ * </p>
+ * 
+ * <pre>
+ * garbagecat summary 1
+ * runs 1
+ * duration 3600000
+ * pause 1520 4123456 98765 40:12 41:3 ...
+ * ttsp 1843 92345 2345 3:150 4:97 ...
+ * allocation_rate 1519 ...
+ * trigger G1_COLLECT_FOR_ALLOCATION 1210 3456789 98765
+ * analysis warn.gc.log.file.rotation.disabled 1
+ * </pre>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class RunSummary {
+
+    /**
+     * The first line of a summary, identifying the format and version.
+     */
+    private static final String HEADER = "garbagecat summary 1";
+
+    /**
+     * Allocation rate (kilobytes per second) distribution.
+     */
+    private final LatencyHistogram allocationRate = new LatencyHistogram();
+
+    /**
+     * The number of runs with each analysis item, by analysis key.
+     */
+    private final Map<String, Long> analysis = new TreeMap<String, Long>();
+
+    /**
+     * Total JVM run duration (milliseconds).
+     */
+    private long duration;
+
+    /**
+     * Blocking event pause (microseconds) distribution.
+     */
+    private final LatencyHistogram pause = new LatencyHistogram();
+
+    /**
+     * The number of JVM runs summarized.
+     */
+    private long runs;
+
+    /**
+     * Safepoint count, total pause (microseconds), and max pause (microseconds), by trigger name.
+     */
+    private final Map<String, long[]> triggers = new TreeMap<String, long[]>();
+
+    /**
+     * Time to safepoint (microseconds) distribution.
+     */
+    private final LatencyHistogram ttsp = new LatencyHistogram();
+
+    /**
+     * Create an empty summary (no runs), the identity for {@link #merge(RunSummary)}.
+     */
+    public RunSummary() {
+    }
+
+    /**
+     * Summarize a JVM run.
+     * 
+     * @param jvmRun
+     *            JVM run data.
+     */
+    public RunSummary(JvmRun jvmRun) {
+        runs = 1;
+        duration = jvmRun.getJvmRunDuration();
+        pause.add(jvmRun.getPauseHistogram());
+        ttsp.add(jvmRun.getTimeToSafepointStats().getTtsp());
+        allocationRate.add(jvmRun.getOccupancySeries().getAllocationRateHistogram());
+        if (jvmRun.getUnifiedSafepointEventCount() > 0) {
+            for (SafepointEventSummary summary : jvmRun.getSafepointEventSummaries()) {
+                addTrigger(summary.getTrigger().name(), summary.getCount(), summary.getPauseTotal(),
+                        summary.getPauseMax());
+            }
+        }
+        Set<String> keys = new HashSet<String>();
+        for (String[] item : jvmRun.getAnalysis()) {
+            if (keys.add(item[0])) {
+                analysis.put(item[0], 1L);
+            }
+        }
+    }
+
+    /**
+     * Read a summary written by {@link #write(Writer)}.
+     * 
+     * @param reader
+     *            The summary reader.
+     * @return The summary.
+     * @throws IOException
+     *             if the summary cannot be read or is not valid.
+     */
+    public static RunSummary read(Reader reader) throws IOException {
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        String line = bufferedReader.readLine();
+        if (line == null || !line.equals(HEADER)) {
+            throw new IOException("Invalid summary header: '" + line + "'");
+        }
+        RunSummary summary = new RunSummary();
+        while ((line = bufferedReader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            int separator = line.indexOf(' ');
+            String name = separator < 0 ? line : line.substring(0, separator);
+            String value = separator < 0 ? "" : line.substring(separator + 1);
+            try {
+                switch (name) {
+                case "runs":
+                    summary.runs += Long.parseLong(value);
+                    break;
+                case "duration":
+                    summary.duration += Long.parseLong(value);
+                    break;
+                case "pause":
+                    summary.pause.add(LatencyHistogram.parse(value));
+                    break;
+                case "ttsp":
+                    summary.ttsp.add(LatencyHistogram.parse(value));
+                    break;
+                case "allocation_rate":
+                    summary.allocationRate.add(LatencyHistogram.parse(value));
+                    break;
+                case "trigger":
+                    String[] trigger = value.split(" ");
+                    if (trigger.length != 4) {
+                        throw new IllegalArgumentException();
+                    }
+                    summary.addTrigger(trigger[0], Long.parseLong(trigger[1]), Long.parseLong(trigger[2]),
+                            Long.parseLong(trigger[3]));
+                    break;
+                case "analysis":
+                    String[] item = value.split(" ");
+                    if (item.length != 2) {
+                        throw new IllegalArgumentException();
+                    }
+                    summary.addAnalysis(item[0], Long.parseLong(item[1]));
+                    break;
+                default:
+                    throw new IllegalArgumentException();
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid summary line: '" + line + "'", e);
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * @param key
+     *            The analysis key.
+     * @param count
+     *            The number of runs with the analysis item.
+     */
+    private void addAnalysis(String key, long count) {
+        Long existing = analysis.get(key);
+        analysis.put(key, existing == null ? count : existing + count);
+    }
+
+    /**
+     * @param trigger
+     *            The trigger name.
+     * @param count
+     *            The number of safepoints.
+     * @param pauseTotal
+     *            The total pause (microseconds).
+     * @param pauseMax
+     *            The max pause (microseconds).
+     */
+    private void addTrigger(String trigger, long count, long pauseTotal, long pauseMax) {
+        long[] values = triggers.get(trigger);
+        if (values == null) {
+            values = new long[3];
+            triggers.put(trigger, values);
+        }
+        values[0] += count;
+        values[1] += pauseTotal;
+        values[2] = Math.max(values[2], pauseMax);
+    }
+
+    public LatencyHistogram getAllocationRate() {
+        return allocationRate;
+    }
+
+    /**
+     * @return The number of runs with each analysis item, by analysis key (sorted by key).
+     */
+    public Map<String, Long> getAnalysis() {
+        return Collections.unmodifiableMap(analysis);
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public LatencyHistogram getPause() {
+        return pause;
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return Safepoint count, total pause (microseconds), and max pause (microseconds), by trigger name (sorted by
+     *         name).
+     */
+    public Map<String, long[]> getTriggers() {
+        return Collections.unmodifiableMap(triggers);
+    }
+
+    public LatencyHistogram getTtsp() {
+        return ttsp;
+    }
+
+    /**
+     * Merge another summary into this summary.
+     * 
+     * @param other
+     *            The summary to merge.
+     */
+    public void merge(RunSummary other) {
+        runs += other.runs;
+        duration += other.duration;
+        pause.add(other.pause);
+        ttsp.add(other.ttsp);
+        allocationRate.add(other.allocationRate);
+        for (Map.Entry<String, long[]> trigger : other.triggers.entrySet()) {
+            long[] values = trigger.getValue();
+            addTrigger(trigger.getKey(), values[0], values[1], values[2]);
+        }
+        for (Map.Entry<String, Long> item : other.analysis.entrySet()) {
+            addAnalysis(item.getKey(), item.getValue());
+        }
+    }
+
+    /**
+     * Write the summary. Items are written in a fixed order, so merging the same summaries in any order writes the
+     * same summary.
+     * 
+     * @param writer
+     *            The summary writer.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void write(Writer writer) throws IOException {
+        writer.write(HEADER + Constants.LINE_SEPARATOR);
+        writer.write("runs " + runs + Constants.LINE_SEPARATOR);
+        writer.write("duration " + duration + Constants.LINE_SEPARATOR);
+        writer.write("pause " + pause + Constants.LINE_SEPARATOR);
+        writer.write("ttsp " + ttsp + Constants.LINE_SEPARATOR);
+        writer.write("allocation_rate " + allocationRate + Constants.LINE_SEPARATOR);
+        for (Map.Entry<String, long[]> trigger : triggers.entrySet()) {
+            long[] values = trigger.getValue();
+            writer.write("trigger " + trigger.getKey() + " " + values[0] + " " + values[1] + " " + values[2]
+                    + Constants.LINE_SEPARATOR);
+        }
+        for (Map.Entry<String, Long> item : analysis.entrySet()) {
+            writer.write("analysis " + item.getKey() + " " + item.getValue() + Constants.LINE_SEPARATOR);
+        }
+        writer.flush();
+    }
+}
@@ -12,8 +12,8 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util;
 
-import java.util.ArrayList;
-import java.util.List;
+import static org.eclipselabs.garbagecat.util.Constants.RUN_TIME_WINDOW_ENTRY_FIRST_LIMIT;
+import static org.eclipselabs.garbagecat.util.Constants.RUN_TIME_WINDOW_ENTRY_SAMPLE_LIMIT;
 
 /**
  * @author <a href="https://github.com/osrodka">Wojciech Osrodka</a>
@@ -23,20 +23,31 @@ public class RunTimeWindow {
     private long pauseTime;
     private long number;
     private long interval;
-    private List<String> logEntries;
+    private RetainedList<String> logEntries;
 
     public RunTimeWindow() {
-        this.pauseTime = 0;
-        this.number = 0;
-        this.interval = 0;
-        this.logEntries = new ArrayList<String>();
+        this(0, 0);
     }
 
     public RunTimeWindow(long number, long interval) {
+        this(number, interval, RUN_TIME_WINDOW_ENTRY_FIRST_LIMIT, RUN_TIME_WINDOW_ENTRY_SAMPLE_LIMIT);
+    }
+
+    /**
+     * @param number
+     *            The window number.
+     * @param interval
+     *            The window interval.
+     * @param entryFirstLimit
+     *            The number of first log entries to retain.
+     * @param entrySampleLimit
+     *            The number of longest pause log entries after the first ones to retain.
+     */
+    public RunTimeWindow(long number, long interval, int entryFirstLimit, int entrySampleLimit) {
         this.pauseTime = 0;
         this.number = number;
         this.interval = interval;
-        this.logEntries = new ArrayList<String>();
+        this.logEntries = new RetainedList<String>(entryFirstLimit, entrySampleLimit);
     }
 
     public long getInterval() {
@@ -55,12 +66,19 @@ public class RunTimeWindow {
         return interval * number + interval;
     }
 
-    public List<String> getLogEntries() {
+    public RetainedList<String> getLogEntries() {
         return logEntries;
     }
 
     public void addLogEntry(String logEntry) {
-        this.logEntries.add(logEntry);
+        this.logEntries.add(logEntry, 0);
+    }
+
+    /**
+     * Log entries are counted, but only the first ones and the longest pauses after them are retained.
+     */
+    public void addLogEntry(String logEntry, long pauseTime) {
+        this.logEntries.add(logEntry, pauseTime);
     }
 
     public long getNumber() {
@@ -0,0 +1,404 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>
+ * Streaming writer for machine readable reports. Records are grouped into named sections (e.g. summary, analysis,
+ * events), and each record is a flat list of named fields. Output is written directly to the underlying writer as
+ * fields are added, without building an intermediate object graph, so memory use does not depend on the number of
+ * records.
+ * </p>
+ * 
+ * <p>
+ * Formats:
+ * </p>
+ * 
+ * <ol>
+ * <li>{@link Format#CSV}: A header row followed by one row per record for each section with records, with a blank line
+ * between sections. The field names of the first record in a section are the header, so every record in a section must
+ * have the same fields in the same order.</li>
+ * <li>{@link Format#JSON}: A single object with an array of record objects per section.</li>
+ * <li>{@link Format#NDJSON}: One object per line per record, with the section name in a "record" field.</li>
+ * </ol>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class StructuredReportWriter implements Closeable {
+
+    /**
+     * Structured report formats.
+     */
+    public enum Format {
+        CSV, JSON, NDJSON;
+
+        /**
+         * @return The file name extension for the format.
+         */
+        public String getExtension() {
+            return "." + name().toLowerCase();
+        }
+
+        /**
+         * @param reportFileName
+         *            The text report file name.
+         * @return The structured report file name: the text report file name with its extension replaced by the
+         *         format extension.
+         */
+        public String getFileName(String reportFileName) {
+            return reportFileName.replaceFirst("\\.[^.\\/]*$", "") + getExtension();
+        }
+    }
+
+    /**
+     * Whether the next field is the first field in the current record.
+     */
+    private boolean firstField;
+
+    /**
+     * Whether the current record is the first record in the current section.
+     */
+    private boolean firstRecord;
+
+    /**
+     * Whether the current section is the first section.
+     */
+    private boolean firstSection = true;
+
+    /**
+     * The output format.
+     */
+    private final Format format;
+
+    /**
+     * CSV header of the first record in a section.
+     */
+    private final StringBuilder header = new StringBuilder();
+
+    /**
+     * Whether any record has been written.
+     */
+    private boolean recordWritten;
+
+    /**
+     * CSV values of the first record in a section. Held until the record ends and the header is complete.
+     */
+    private final StringBuilder row = new StringBuilder();
+
+    /**
+     * The current section name.
+     */
+    private String section;
+
+    /**
+     * The underlying writer.
+     */
+    private final Writer writer;
+
+    /**
+     * @param writer
+     *            The underlying writer. Should be buffered.
+     * @param format
+     *            The output format.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public StructuredReportWriter(Writer writer, Format format) throws IOException {
+        this.writer = writer;
+        this.format = format;
+        if (format == Format.JSON) {
+            writer.write('{');
+        }
+    }
+
+    /**
+     * Append a CSV value, quoted if it contains a separator, quote, or line break.
+     * 
+     * @param out
+     *            The output.
+     * @param value
+     *            The value.
+     * @throws IOException
+     *             if the output fails.
+     */
+    private static void appendCsvValue(Appendable out, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    /**
+     * Append a JSON string literal.
+     * 
+     * @param out
+     *            The output.
+     * @param value
+     *            The string.
+     * @throws IOException
+     *             if the output fails.
+     */
+    static void appendJsonString(Appendable out, String value) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    out.append(String.format("\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Start a section.
+     * 
+     * @param name
+     *            The section name.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void beginSection(String name) throws IOException {
+        section = name;
+        firstRecord = true;
+        switch (format) {
+        case JSON:
+            if (!firstSection) {
+                writer.write(',');
+            }
+            appendJsonString(writer, name);
+            writer.write(":[");
+            break;
+        default:
+            break;
+        }
+        firstSection = false;
+    }
+
+    /**
+     * Start a record in the current section.
+     * 
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void beginRecord() throws IOException {
+        firstField = true;
+        switch (format) {
+        case CSV:
+            header.setLength(0);
+            row.setLength(0);
+            break;
+        case JSON:
+            if (!firstRecord) {
+                writer.write(',');
+            }
+            writer.write('{');
+            break;
+        case NDJSON:
+            writer.write("{\"record\":");
+            appendJsonString(writer, section);
+            firstField = false;
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Close the writer, completing the report.
+     * 
+     * @throws IOException
+     *             if the writer fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (format == Format.JSON) {
+            writer.write('}');
+        }
+        writer.close();
+    }
+
+    /**
+     * End the current record.
+     * 
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void endRecord() throws IOException {
+        switch (format) {
+        case CSV:
+            if (firstRecord) {
+                if (recordWritten) {
+                    writer.write(Constants.LINE_SEPARATOR);
+                }
+                writer.append(header).append(Constants.LINE_SEPARATOR);
+                writer.append(row);
+            }
+            writer.write(Constants.LINE_SEPARATOR);
+            break;
+        case JSON:
+            writer.write('}');
+            break;
+        case NDJSON:
+            writer.write('}');
+            writer.write('\n');
+            break;
+        default:
+            break;
+        }
+        firstRecord = false;
+        recordWritten = true;
+    }
+
+    /**
+     * End the current section.
+     * 
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void endSection() throws IOException {
+        if (format == Format.JSON) {
+            writer.write(']');
+        }
+    }
+
+    /**
+     * Add a numeric field to the current record.
+     * 
+     * @param name
+     *            The field name.
+     * @param value
+     *            The field value.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void field(String name, long value) throws IOException {
+        writeName(name);
+        if (format == Format.CSV && firstRecord) {
+            row.append(value);
+        } else {
+            writer.write(Long.toString(value));
+        }
+    }
+
+    /**
+     * Add a string field to the current record.
+     * 
+     * @param name
+     *            The field name.
+     * @param value
+     *            The field value, or null if not available.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void field(String name, String value) throws IOException {
+        writeName(name);
+        Appendable out = format == Format.CSV && firstRecord ? row : writer;
+        if (format == Format.CSV) {
+            if (value != null) {
+                appendCsvValue(out, value);
+            }
+        } else if (value == null) {
+            out.append("null");
+        } else {
+            appendJsonString(out, value);
+        }
+    }
+
+    /**
+     * Add a nullable numeric field to the current record.
+     * 
+     * @param name
+     *            The field name.
+     * @param value
+     *            The field value, or null if not available.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    public void field(String name, Long value) throws IOException {
+        writeName(name);
+        Appendable out = format == Format.CSV && firstRecord ? row : writer;
+        if (value != null) {
+            out.append(value.toString());
+        } else if (format != Format.CSV) {
+            out.append("null");
+        }
+    }
+
+    /**
+     * Write the field name (JSON) or add it to the header (CSV), preceded by a separator if it is not the first field.
+     * 
+     * @param name
+     *            The field name.
+     * @throws IOException
+     *             if the writer fails.
+     */
+    private void writeName(String name) throws IOException {
+        if (format == Format.CSV) {
+            if (firstRecord) {
+                if (!firstField) {
+                    header.append(',');
+                    row.append(',');
+                }
+                appendCsvValue(header, name);
+            } else if (!firstField) {
+                writer.write(',');
+            }
+        } else {
+            if (!firstField) {
+                writer.write(',');
+            }
+            appendJsonString(writer, name);
+            writer.write(':');
+        }
+        firstField = false;
+    }
+}
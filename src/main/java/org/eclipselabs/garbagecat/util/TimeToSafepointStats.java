@@ -0,0 +1,252 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkMath;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+
+/**
+ * <p>
+ * Time to safepoint (TTSP) statistics, accumulated in fixed memory as safepoint events are stored.
+ * </p>
+ * 
+ * <p>
+ * TTSP is the time from the safepoint being requested until all application threads have stopped. Application threads
+ * that have already reached the safepoint are waiting on those that have not, so a long TTSP (e.g. counted loops, page
+ * faults, threads blocked in JNI) adds latency without any useful work being done.
+ * </p>
+ * 
+ * <p>
+ * Percentiles are tracked per {@link Trigger} in a {@link LatencyHistogram}, and only the <code>limit</code> worst
+ * TTSP safepoints are retained.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TimeToSafepointStats {
+
+    /**
+     * A safepoint with a long time to safepoint.
+     */
+    public static class Outlier {
+
+        /**
+         * The safepoint log entry.
+         */
+        private final String logEntry;
+
+        /**
+         * The safepoint pause (microseconds).
+         */
+        private final long pause;
+
+        /**
+         * The safepoint timestamp (milliseconds after JVM startup).
+         */
+        private final long timestamp;
+
+        /**
+         * The safepoint trigger, or null if not logged.
+         */
+        private final Trigger trigger;
+
+        /**
+         * The time to safepoint (microseconds).
+         */
+        private final long ttsp;
+
+        private Outlier(Trigger trigger, long timestamp, long ttsp, long pause, String logEntry) {
+            this.trigger = trigger;
+            this.timestamp = timestamp;
+            this.ttsp = ttsp;
+            this.pause = pause;
+            this.logEntry = logEntry;
+        }
+
+        public String getLogEntry() {
+            return logEntry;
+        }
+
+        public long getPause() {
+            return pause;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public Trigger getTrigger() {
+            return trigger;
+        }
+
+        public long getTtsp() {
+            return ttsp;
+        }
+    }
+
+    /**
+     * Orders outliers from least to most time to safepoint (later safepoints first when equal), so the head of the
+     * queue is the first to be evicted.
+     */
+    private static final Comparator<Outlier> LEAST_TTSP_FIRST = Comparator.comparingLong(Outlier::getTtsp)
+            .thenComparing(Comparator.comparingLong(Outlier::getTimestamp).reversed());
+
+    /**
+     * The maximum number of outliers to retain.
+     */
+    private final int limit;
+
+    /**
+     * Total pause time (microseconds) of all safepoints.
+     */
+    private long pauseTotal;
+
+    /**
+     * Total pause time (microseconds) per trigger.
+     */
+    private final Map<Trigger, Long> pauseTotals = new EnumMap<Trigger, Long>(Trigger.class);
+
+    /**
+     * Time to safepoint of all safepoints.
+     */
+    private final LatencyHistogram ttsp = new LatencyHistogram();
+
+    /**
+     * Time to safepoint per trigger.
+     */
+    private final Map<Trigger, LatencyHistogram> ttspByTrigger = new EnumMap<Trigger, LatencyHistogram>(
+            Trigger.class);
+
+    /**
+     * The retained outliers.
+     */
+    private final PriorityQueue<Outlier> worst;
+
+    /**
+     * @param limit
+     *            The maximum number of worst time to safepoint safepoints to retain.
+     */
+    public TimeToSafepointStats(int limit) {
+        this.limit = limit;
+        this.worst = new PriorityQueue<Outlier>(Math.max(1, limit), LEAST_TTSP_FIRST);
+    }
+
+    /**
+     * Add a safepoint.
+     * 
+     * @param trigger
+     *            The safepoint trigger, or null if not logged (e.g. <code>ApplicationStoppedTimeEvent</code>).
+     * @param timestamp
+     *            The safepoint timestamp (milliseconds after JVM startup).
+     * @param ttspMicros
+     *            The time to safepoint (microseconds).
+     * @param pauseMicros
+     *            The total safepoint pause, including the time to safepoint (microseconds).
+     * @param logEntry
+     *            The safepoint log entry.
+     */
+    public void add(Trigger trigger, long timestamp, long ttspMicros, long pauseMicros, String logEntry) {
+        ttsp.record(ttspMicros);
+        pauseTotal += pauseMicros;
+        if (trigger != null) {
+            LatencyHistogram histogram = ttspByTrigger.get(trigger);
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                ttspByTrigger.put(trigger, histogram);
+            }
+            histogram.record(ttspMicros);
+            pauseTotals.merge(trigger, pauseMicros, Long::sum);
+        }
+        if (limit > 0 && ttspMicros > 0) {
+            if (worst.size() < limit) {
+                worst.add(new Outlier(trigger, timestamp, ttspMicros, pauseMicros, logEntry));
+            } else {
+                Outlier least = worst.peek();
+                if (ttspMicros > least.getTtsp()
+                        || (ttspMicros == least.getTtsp() && timestamp < least.getTimestamp())) {
+                    worst.poll();
+                    worst.add(new Outlier(trigger, timestamp, ttspMicros, pauseMicros, logEntry));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of safepoints.
+     */
+    public long getCount() {
+        return ttsp.getCount();
+    }
+
+    public long getPauseTotal() {
+        return pauseTotal;
+    }
+
+    /**
+     * @return The triggers with at least one safepoint, in <code>Trigger</code> order.
+     */
+    public List<Trigger> getTriggers() {
+        return new ArrayList<Trigger>(ttspByTrigger.keySet());
+    }
+
+    public LatencyHistogram getTtsp() {
+        return ttsp;
+    }
+
+    /**
+     * @param trigger
+     *            The safepoint trigger.
+     * @return The time to safepoint histogram for the trigger, or null if there were no safepoints for the trigger.
+     */
+    public LatencyHistogram getTtsp(Trigger trigger) {
+        return ttspByTrigger.get(trigger);
+    }
+
+    /**
+     * @return Time to safepoint as a percent of total safepoint pause time.
+     */
+    public int getTtspRatio() {
+        return pauseTotal > 0 ? JdkMath.calcPercent(ttsp.getTotal(), pauseTotal) : 0;
+    }
+
+    /**
+     * @param trigger
+     *            The safepoint trigger.
+     * @return Time to safepoint as a percent of total safepoint pause time for the trigger.
+     */
+    public int getTtspRatio(Trigger trigger) {
+        LatencyHistogram histogram = ttspByTrigger.get(trigger);
+        Long triggerPauseTotal = pauseTotals.get(trigger);
+        if (histogram == null || triggerPauseTotal == null || triggerPauseTotal.longValue() <= 0) {
+            return 0;
+        }
+        return JdkMath.calcPercent(histogram.getTotal(), triggerPauseTotal.longValue());
+    }
+
+    /**
+     * @return The retained worst time to safepoint safepoints, worst first.
+     */
+    public List<Outlier> getWorst() {
+        List<Outlier> outliers = new ArrayList<Outlier>(worst);
+        outliers.sort(LEAST_TTSP_FIRST.reversed());
+        return outliers;
+    }
+}
@@ -0,0 +1,402 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.github.joa.domain.GarbageCollector;
+
+/**
+ * <p>
+ * GC worker thread efficiency statistics, accumulated in fixed memory from the user, sys, and real times of blocking
+ * collections as they are stored.
+ * </p>
+ * 
+ * <p>
+ * Per collector {@link LatencyHistogram}s track:
+ * </p>
+ * 
+ * <ol>
+ * <li>Parallelism: user + sys time as a percent of real time. The effective number of GC threads working (e.g. 400 =
+ * 4 threads).</li>
+ * <li>Sys to user: sys time as a percent of user time. High values indicate time spent in the kernel (e.g. page
+ * faults, swapping, transparent huge pages).</li>
+ * <li>Real overshoot: real time (milliseconds) not accounted for by user + sys time. The time GC threads were waiting
+ * instead of running.</li>
+ * </ol>
+ * 
+ * <p>
+ * Consecutive parallel collections where parallelism collapses (inverted, or below half the collector's typical
+ * parallelism) are merged into {@link Collapse} windows. When GC threads are runnable but not running for a sustained
+ * period, the typical cause is cpu throttling by a cgroup (container) cpu quota, or an overloaded host.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class WorkerEfficiencyStats {
+
+    /**
+     * A window of consecutive parallel collections with collapsed parallelism.
+     */
+    public static class Collapse {
+
+        /**
+         * The window end (milliseconds after JVM startup). The timestamp of the last collection plus its real time.
+         */
+        private long endTimestamp;
+
+        /**
+         * The number of collections in the window.
+         */
+        private int eventCount;
+
+        /**
+         * The window start (milliseconds after JVM startup). The timestamp of the first collection.
+         */
+        private long startTimestamp;
+
+        /**
+         * Total user + sys time (centiseconds) of all collections in the window.
+         */
+        private long timeCpu;
+
+        /**
+         * Total real time (centiseconds) of all collections in the window.
+         */
+        private long timeReal;
+
+        /**
+         * The log entry of the collection with the lowest parallelism in the window.
+         */
+        private String worstLogEntry;
+
+        /**
+         * The lowest parallelism (percent) in the window.
+         */
+        private int worstParallelism;
+
+        private void add(long timestamp, int cpu, int real, int parallelism, String logEntry) {
+            if (eventCount == 0) {
+                startTimestamp = timestamp;
+            }
+            eventCount++;
+            endTimestamp = timestamp + real * 10L;
+            timeCpu += cpu;
+            timeReal += real;
+            if (worstLogEntry == null || parallelism < worstParallelism) {
+                worstLogEntry = logEntry;
+                worstParallelism = parallelism;
+            }
+        }
+
+        public long getEndTimestamp() {
+            return endTimestamp;
+        }
+
+        public int getEventCount() {
+            return eventCount;
+        }
+
+        /**
+         * @return The user + sys time as a percent of real time over all collections in the window.
+         */
+        public int getParallelism() {
+            return calcParallelism(timeCpu, timeReal);
+        }
+
+        public long getStartTimestamp() {
+            return startTimestamp;
+        }
+
+        /**
+         * @return Total real time (milliseconds) of all collections in the window.
+         */
+        public long getTimeReal() {
+            return timeReal * 10;
+        }
+
+        public String getWorstLogEntry() {
+            return worstLogEntry;
+        }
+
+        public int getWorstParallelism() {
+            return worstParallelism;
+        }
+    }
+
+    /**
+     * Worker efficiency of a single collector.
+     */
+    public static class CollectorEfficiency {
+
+        /**
+         * The garbage collector.
+         */
+        private final GarbageCollector garbageCollector;
+
+        /**
+         * Real time (milliseconds) not accounted for by user + sys time.
+         */
+        private final LatencyHistogram overshoot = new LatencyHistogram();
+
+        /**
+         * User + sys time as a percent of real time.
+         */
+        private final LatencyHistogram parallelism = new LatencyHistogram();
+
+        /**
+         * The number of collections used to determine typical parallelism. Collections with collapsed parallelism are
+         * not included.
+         */
+        private long parallelismBaselineCount;
+
+        /**
+         * Total parallelism (percent) of the collections used to determine typical parallelism.
+         */
+        private long parallelismBaselineTotal;
+
+        /**
+         * Sys time as a percent of user time.
+         */
+        private final LatencyHistogram sysToUser = new LatencyHistogram();
+
+        private CollectorEfficiency(GarbageCollector garbageCollector) {
+            this.garbageCollector = garbageCollector;
+        }
+
+        public GarbageCollector getGarbageCollector() {
+            return garbageCollector;
+        }
+
+        public LatencyHistogram getOvershoot() {
+            return overshoot;
+        }
+
+        public LatencyHistogram getParallelism() {
+            return parallelism;
+        }
+
+        public LatencyHistogram getSysToUser() {
+            return sysToUser;
+        }
+
+        /**
+         * @return The parallelism (percent) below which a collection is considered collapsed: half the typical
+         *         parallelism, or 100 (inverted) if the collector is not typically parallel or there is not enough data
+         *         to know.
+         */
+        private int getCollapseThreshold() {
+            if (parallelismBaselineCount < BASELINE_MIN_EVENTS) {
+                return 100;
+            }
+            return (int) Math.max(100, parallelismBaselineTotal / parallelismBaselineCount / 2);
+        }
+    }
+
+    /**
+     * The minimum number of collections to determine a collector's typical parallelism.
+     */
+    private static final int BASELINE_MIN_EVENTS = 5;
+
+    /**
+     * The minimum real time (centiseconds) for a collection to be checked for collapsed parallelism. Times are logged
+     * to the nearest centisecond, so parallelism is not meaningful for shorter collections.
+     */
+    private static final int COLLAPSE_MIN_REAL = 5;
+
+    /**
+     * Orders windows from least to most real time (later windows first when equal), so the head of the queue is the
+     * first to be evicted.
+     */
+    private static final Comparator<Collapse> LEAST_REAL_FIRST = Comparator.comparingLong(Collapse::getTimeReal)
+            .thenComparing(Comparator.comparingLong(Collapse::getStartTimestamp).reversed());
+
+    /**
+     * @param cpu
+     *            The user + sys time.
+     * @param real
+     *            The real time.
+     * @return The user + sys time as a percent of real time, rounded up.
+     */
+    private static int calcParallelism(long cpu, long real) {
+        if (real <= 0) {
+            return cpu > 0 ? Integer.MAX_VALUE : 100;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (cpu * 100 + real - 1) / real);
+    }
+
+    /**
+     * Per collector efficiency.
+     */
+    private final Map<GarbageCollector, CollectorEfficiency> collectors = new EnumMap<>(
+            GarbageCollector.class);
+
+    /**
+     * The number of collapse windows detected.
+     */
+    private int collapseCount;
+
+    /**
+     * The window currently being built, or null if the last parallel collection checked was not collapsed.
+     */
+    private Collapse current;
+
+    /**
+     * The maximum number of collapse windows to retain.
+     */
+    private final int limit;
+
+    /**
+     * The minimum number of collections in a collapse window.
+     */
+    private final int minEvents;
+
+    /**
+     * The retained collapse windows.
+     */
+    private final PriorityQueue<Collapse> worst;
+
+    /**
+     * @param minEvents
+     *            The minimum number of consecutive parallel collections with collapsed parallelism to be flagged a
+     *            collapse window.
+     * @param limit
+     *            The maximum number of collapse windows to retain.
+     */
+    public WorkerEfficiencyStats(int minEvents, int limit) {
+        this.minEvents = minEvents;
+        this.limit = limit;
+        this.worst = new PriorityQueue<Collapse>(Math.max(1, limit), LEAST_REAL_FIRST);
+    }
+
+    /**
+     * Add a collection.
+     * 
+     * @param garbageCollector
+     *            The garbage collector.
+     * @param parallel
+     *            Whether the collection is multi-threaded.
+     * @param timestamp
+     *            The collection timestamp (milliseconds after JVM startup).
+     * @param timeUser
+     *            The user (non-kernel) time (centiseconds).
+     * @param timeSys
+     *            The sys (kernel) time (centiseconds).
+     * @param timeReal
+     *            The wall (clock) time (centiseconds).
+     * @param logEntry
+     *            The collection log entry.
+     */
+    public void add(GarbageCollector garbageCollector, boolean parallel, long timestamp, int timeUser, int timeSys,
+            int timeReal, String logEntry) {
+        CollectorEfficiency collector = collectors.get(garbageCollector);
+        if (collector == null) {
+            collector = new CollectorEfficiency(garbageCollector);
+            collectors.put(garbageCollector, collector);
+        }
+        int cpu = timeUser + timeSys;
+        if (timeReal > 0) {
+            collector.parallelism.record(calcParallelism(cpu, timeReal));
+        }
+        if (timeUser > 0) {
+            collector.sysToUser.record(timeSys * 100L / timeUser);
+        }
+        collector.overshoot.record((timeReal - cpu) * 10L);
+        if (!parallel || timeUser <= 0 || timeReal < COLLAPSE_MIN_REAL) {
+            return;
+        }
+        int parallelism = calcParallelism(cpu, timeReal);
+        if (parallelism < collector.getCollapseThreshold()) {
+            if (current == null) {
+                current = new Collapse();
+            }
+            current.add(timestamp, cpu, timeReal, parallelism, logEntry);
+        } else {
+            collector.parallelismBaselineCount++;
+            collector.parallelismBaselineTotal += parallelism;
+            if (current != null) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Add the current window to the retained windows if it has enough collections, evicting the least severe window
+     * if over the limit.
+     */
+    private void close() {
+        if (current.eventCount >= minEvents) {
+            collapseCount++;
+            if (limit > 0) {
+                if (worst.size() < limit) {
+                    worst.add(current);
+                } else if (LEAST_REAL_FIRST.compare(current, worst.peek()) > 0) {
+                    worst.poll();
+                    worst.add(current);
+                }
+            }
+        }
+        current = null;
+    }
+
+    /**
+     * @return The total number of collapse windows detected, including those not retained.
+     */
+    public int getCollapseCount() {
+        if (current != null) {
+            close();
+        }
+        return collapseCount;
+    }
+
+    /**
+     * @return The retained collapse windows in timestamp order.
+     */
+    public List<Collapse> getCollapses() {
+        if (current != null) {
+            close();
+        }
+        List<Collapse> collapses = new ArrayList<Collapse>(worst);
+        collapses.sort(Comparator.comparingLong(Collapse::getStartTimestamp));
+        return collapses;
+    }
+
+    /**
+     * @param garbageCollector
+     *            The garbage collector.
+     * @return The collector efficiency, or null if the collector has no collections with times data.
+     */
+    public CollectorEfficiency getCollector(GarbageCollector garbageCollector) {
+        return collectors.get(garbageCollector);
+    }
+
+    /**
+     * @return Per collector efficiency.
+     */
+    public List<CollectorEfficiency> getCollectors() {
+        return new ArrayList<CollectorEfficiency>(collectors.values());
+    }
+
+    /**
+     * @return true if no collections with times data have been added, false otherwise.
+     */
+    public boolean isEmpty() {
+        return collectors.isEmpty();
+    }
+}
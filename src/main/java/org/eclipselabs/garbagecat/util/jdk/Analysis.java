@@ -285,6 +285,11 @@ public enum Analysis {
      */
     WARN_HEAP_INSPECTION_INITIATED_GC("warn.heap.inspection.initiated.gc"),
 
+    /**
+     * Property key for sustained collapse of parallelism.
+     */
+    WARN_PARALLELISM_COLLAPSE("warn.parallelism.collapse"),
+
     /**
      * Property key for inverted parallelism.
      */
@@ -331,6 +336,11 @@ public enum Analysis {
      */
     WARN_SAFEPOINT_STATS("warn.safepoint.stats"),
 
+    /**
+     * Property key for safepoint pause time dominated by time to safepoint (TTSP).
+     */
+    WARN_SAFEPOINT_TTSP("warn.safepoint.ttsp"),
+
     /**
      * Property key for the SERIAL_OLD collector being invoked for reasons other than explicit gc.
      */
@@ -387,6 +387,44 @@ public final class JdkMath {
         return (parallelism < 150);
     }
 
+    /**
+     * Parse a decimal number in a region of text, with either a decimal period or comma, moving the decimal point
+     * right by <code>scale</code> places and rounding down.
+     * 
+     * For example: Parse "0.0225213" with scale 6 to 22521.
+     * 
+     * Avoids the substring and <code>BigDecimal</code> allocations of the convert methods for high volume logging.
+     * 
+     * @param text
+     *            The text containing the number.
+     * @param start
+     *            The index of the first character of the number.
+     * @param end
+     *            The index after the last character of the number.
+     * @param scale
+     *            The number of places to move the decimal point right.
+     * @return The number rounded down to a whole number.
+     */
+    public static long parseDecimal(CharSequence text, int start, int end, int scale) {
+        long value = 0;
+        int decimals = -1;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' || c == ',') {
+                decimals = 0;
+            } else if (decimals < 0) {
+                value = value * 10 + (c - '0');
+            } else if (decimals < scale) {
+                value = value * 10 + (c - '0');
+                decimals++;
+            }
+        }
+        for (int i = Math.max(decimals, 0); i < scale; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+
     /**
      * Round milliseconds to whole number.
      * 
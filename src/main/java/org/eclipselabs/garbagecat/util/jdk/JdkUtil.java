@@ -15,7 +15,13 @@ package org.eclipselabs.garbagecat.util.jdk;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -114,6 +120,7 @@ import org.eclipselabs.garbagecat.domain.jdk.unified.ZRelocationStallEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.ZStatsEvent;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.Profiler;
 
 /**
  * <p>
@@ -125,6 +132,14 @@ import org.eclipselabs.garbagecat.util.GcUtil;
  */
 public final class JdkUtil {
 
+    /**
+     * Collector families with collector specific logging events. Legacy and unified logging are separate families,
+     * since a log uses one or the other.
+     */
+    public enum CollectorFamily {
+        CMS, G1, PARALLEL, SERIAL, SHENANDOAH, UNIFIED_CMS, UNIFIED_G1, UNIFIED_PARALLEL, UNIFIED_SERIAL, Z
+    }
+
     /**
      * Defined logging events.
      */
@@ -173,6 +188,37 @@ public final class JdkUtil {
         APPLICATION_STOPPED_TIME, CMS, DATE_STAMP, G1, PARALLEL, SERIAL, SHENANDOAH, UNIFIED, UNIFIED_G1
     }
 
+    /**
+     * A logging event and the test to identify it.
+     */
+    private static final class EventTypeMatcher {
+
+        /**
+         * The profile counter.
+         */
+        private final Profiler.Counter counter;
+
+        /**
+         * The logging event.
+         */
+        private final LogEventType eventType;
+
+        /**
+         * Tests the log line and prior log line.
+         */
+        private final BiPredicate<CharSequence, CharSequence> predicate;
+
+        private EventTypeMatcher(LogEventType eventType, BiPredicate<CharSequence, CharSequence> predicate) {
+            this.eventType = eventType;
+            this.predicate = predicate;
+            counter = Profiler.getCounter("event", eventType.name());
+        }
+
+        private EventTypeMatcher(LogEventType eventType, Predicate<CharSequence> predicate) {
+            this(eventType, (logLine, priorLogLine) -> predicate.test(logLine));
+        }
+    }
+
     /**
      * The number of regex patterns in <code>UnifiedRegEx.DECORATOR</code>. Convenience field to make the code resilient
      * to decorator pattern changes.
@@ -180,6 +226,159 @@ public final class JdkUtil {
     public static final int DECORATOR_SIZE = Pattern.compile(JdkRegEx.DECORATOR)
             .matcher("2020-03-10T08:03:29.311-0400: 0.373:").groupCount();
 
+    /**
+     * The logging events, in the order they are tried. The first match identifies the log line.
+     */
+    private static final EventTypeMatcher[] EVENT_TYPE_MATCHERS = {
+            //
+            // Unified (alphabetical)
+            new EventTypeMatcher(LogEventType.HEAP, HeapEvent::match),
+            new EventTypeMatcher(LogEventType.METASPACE_UTILS_REPORT, MetaspaceUtilsReportEvent::match),
+            new EventTypeMatcher(LogEventType.OOME_METASPACE, OomeMetaspaceEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_SAFEPOINT, UnifiedSafepointEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_BLANK_LINE,
+                    (logLine, priorLogLine) -> UnifiedBlankLineEvent.match(logLine) && !BlankLineEvent.match(logLine)),
+            new EventTypeMatcher(LogEventType.UNIFIED_CMS_INITIAL_MARK, UnifiedCmsInitialMarkEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_CONCURRENT, UnifiedConcurrentEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_G1_CLEANUP, UnifiedG1CleanupEvent::match),
+            new EventTypeMatcher(LogEventType.GC_LOCKER_RETRY, GcLockerRetryEvent::match),
+            new EventTypeMatcher(LogEventType.G1_FULL_GC_PARALLEL, UnifiedG1FullGcEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_G1_INFO, UnifiedG1InfoEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_G1_MIXED_PAUSE, UnifiedG1MixedPauseEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK, UnifiedG1YoungInitialMarkEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_G1_YOUNG_PAUSE, UnifiedG1YoungPauseEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED, UnifiedG1YoungPrepareMixedEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_HEADER,
+                    (logLine, priorLogLine) -> UnifiedHeaderEvent.match(logLine)
+                            && (priorLogLine == null || UnifiedHeaderEvent.match(priorLogLine))),
+            new EventTypeMatcher(LogEventType.UNIFIED_OLD, UnifiedOldEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD,
+                    UnifiedParallelCompactingOldEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_PARALLEL_SCAVENGE, UnifiedParallelScavengeEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_PAR_NEW, UnifiedParNewEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_REMARK, UnifiedRemarkEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_SERIAL_NEW, UnifiedSerialNewEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_SERIAL_OLD, UnifiedSerialOldEvent::match),
+            new EventTypeMatcher(LogEventType.UNIFIED_YOUNG, UnifiedYoungEvent::match),
+            new EventTypeMatcher(LogEventType.Z_ALLOCATION_STALL, ZAllocationStallEvent::match),
+            new EventTypeMatcher(LogEventType.Z_MARK_END, ZMarkEndEvent::match),
+            new EventTypeMatcher(LogEventType.Z_MARK_END_OLD, ZMarkEndOldEvent::match),
+            new EventTypeMatcher(LogEventType.Z_MARK_END_YOUNG, ZMarkEndYoungEvent::match),
+            new EventTypeMatcher(LogEventType.Z_MARK_START, ZMarkStartEvent::match),
+            new EventTypeMatcher(LogEventType.Z_MARK_START_YOUNG, ZMarkStartYoungEvent::match),
+            new EventTypeMatcher(LogEventType.Z_MARK_START_YOUNG_AND_OLD, ZMarkStartYoungAndOldEvent::match),
+            new EventTypeMatcher(LogEventType.Z_RELOCATE_START, ZRelocateStartEvent::match),
+            new EventTypeMatcher(LogEventType.Z_RELOCATE_START_OLD, ZRelocateStartOldEvent::match),
+            new EventTypeMatcher(LogEventType.Z_RELOCATE_START_YOUNG, ZRelocateStartYoungEvent::match),
+            new EventTypeMatcher(LogEventType.Z_RELOCATION_STALL, ZRelocationStallEvent::match),
+            new EventTypeMatcher(LogEventType.Z_STATS, ZStatsEvent::match),
+
+            // Unknown
+            new EventTypeMatcher(LogEventType.VERBOSE_GC_YOUNG, VerboseGcYoungEvent::match),
+            new EventTypeMatcher(LogEventType.VERBOSE_GC_OLD, VerboseGcOldEvent::match),
+
+            // In order of most common events to limit checking
+
+            // G1
+            new EventTypeMatcher(LogEventType.G1_YOUNG_PAUSE, G1YoungPauseEvent::match),
+            new EventTypeMatcher(LogEventType.G1_MIXED_PAUSE, G1MixedPauseEvent::match),
+            new EventTypeMatcher(LogEventType.G1_CONCURRENT, G1ConcurrentEvent::match),
+            new EventTypeMatcher(LogEventType.G1_YOUNG_INITIAL_MARK, G1YoungInitialMarkEvent::match),
+            new EventTypeMatcher(LogEventType.G1_REMARK, G1RemarkEvent::match),
+            new EventTypeMatcher(LogEventType.G1_FULL_GC_SERIAL, G1FullGcEvent::match),
+            new EventTypeMatcher(LogEventType.G1_CLEANUP, G1CleanupEvent::match),
+
+            // CMS
+            new EventTypeMatcher(LogEventType.PAR_NEW, ParNewEvent::match),
+            new EventTypeMatcher(LogEventType.CMS_SERIAL_OLD, CmsSerialOldEvent::match),
+            new EventTypeMatcher(LogEventType.CMS_INITIAL_MARK, CmsInitialMarkEvent::match),
+            new EventTypeMatcher(LogEventType.CMS_REMARK, CmsRemarkEvent::match),
+            new EventTypeMatcher(LogEventType.CMS_CONCURRENT, CmsConcurrentEvent::match),
+
+            // Parallel
+            new EventTypeMatcher(LogEventType.PARALLEL_SCAVENGE, ParallelScavengeEvent::match),
+            new EventTypeMatcher(LogEventType.PARALLEL_SERIAL_OLD, ParallelSerialOldEvent::match),
+            new EventTypeMatcher(LogEventType.PARALLEL_COMPACTING_OLD, ParallelCompactingOldEvent::match),
+
+            // Serial
+            new EventTypeMatcher(LogEventType.SERIAL_OLD, SerialOldEvent::match),
+            new EventTypeMatcher(LogEventType.SERIAL_NEW, SerialNewEvent::match),
+
+            // Shenandoah
+            new EventTypeMatcher(LogEventType.SHENANDOAH_CANCELLING_GC, ShenandoahCancellingGcEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_CONCURRENT, ShenandoahConcurrentEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK,
+                    ShenandoahConsiderClassUnloadingConcMarkEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_DEGENERATED_GC, ShenandoahDegeneratedGcEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_FINAL_EVAC, ShenandoahFinalEvacEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_FINAL_MARK, ShenandoahFinalMarkEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_FINAL_ROOTS, ShenandoahFinalRootsEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_FINAL_UPDATE, ShenandoahFinalUpdateEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_FULL_GC, ShenandoahFullGcEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_INIT_MARK, ShenandoahInitMarkEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_INIT_UPDATE, ShenandoahInitUpdateEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_METASPACE, ShenandoahMetaspaceEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_STATS, ShenandoahStatsEvent::match),
+            new EventTypeMatcher(LogEventType.SHENANDOAH_TRIGGER, ShenandoahTriggerEvent::match),
+
+            // Other
+            new EventTypeMatcher(LogEventType.APPLICATION_CONCURRENT_TIME, ApplicationConcurrentTimeEvent::match),
+            new EventTypeMatcher(LogEventType.APPLICATION_STOPPED_TIME, ApplicationStoppedTimeEvent::match),
+            new EventTypeMatcher(LogEventType.CLASS_UNLOADING, ClassUnloadingEvent::match),
+            new EventTypeMatcher(LogEventType.FOOTER_STATS, FooterStatsEvent::match),
+            new EventTypeMatcher(LogEventType.GC_INFO,
+                    (logLine, priorLogLine) -> GcInfoEvent.match(logLine)
+                            && !(priorLogLine != null && UnifiedHeaderEvent.match(priorLogLine))),
+            new EventTypeMatcher(LogEventType.HEAP_AT_GC, HeapAtGcEvent::match),
+            new EventTypeMatcher(LogEventType.TENURING_DISTRIBUTION, TenuringDistributionEvent::match),
+            new EventTypeMatcher(LogEventType.CLASS_HISTOGRAM, ClassHistogramEvent::match),
+            new EventTypeMatcher(LogEventType.APPLICATION_LOGGING, ApplicationLoggingEvent::match),
+            new EventTypeMatcher(LogEventType.THREAD_DUMP, ThreadDumpEvent::match),
+            new EventTypeMatcher(LogEventType.LOG_FILE, LogFileEvent::match),
+            new EventTypeMatcher(LogEventType.BLANK_LINE, BlankLineEvent::match),
+            new EventTypeMatcher(LogEventType.GC_OVERHEAD_LIMIT, GcOverheadLimitEvent::match),
+            new EventTypeMatcher(LogEventType.FLS_STATISTICS, FlsStatisticsEvent::match),
+            new EventTypeMatcher(LogEventType.GC_LOCKER_SCAVENGE_FAILED, GcLockerScavengeFailedEvent::match),
+            new EventTypeMatcher(LogEventType.HEADER_COMMAND_LINE_FLAGS, HeaderCommandLineFlagsEvent::match),
+            new EventTypeMatcher(LogEventType.HEADER_MEMORY, HeaderMemoryEvent::match),
+            new EventTypeMatcher(LogEventType.HEADER_VM_INFO, HeaderVmInfoEvent::match),
+            new EventTypeMatcher(LogEventType.VM_WARNING, VmWarningEvent::match)
+            //
+    };
+
+    /**
+     * The logging events to try first for each collector family: the events of all collector families are left out,
+     * except for the collector family's own.
+     */
+    private static final Map<CollectorFamily, EventTypeMatcher[]> FAMILY_EVENT_TYPE_MATCHERS = new EnumMap<>(
+            CollectorFamily.class);
+
+    /**
+     * The logging events left out of <code>FAMILY_EVENT_TYPE_MATCHERS</code> for each collector family, tried when
+     * none of the collector family's events match.
+     */
+    private static final Map<CollectorFamily, EventTypeMatcher[]> OTHER_FAMILY_EVENT_TYPE_MATCHERS = new EnumMap<>(
+            CollectorFamily.class);
+
+    static {
+        for (CollectorFamily collectorFamily : CollectorFamily.values()) {
+            List<EventTypeMatcher> eventTypeMatchers = new ArrayList<>();
+            List<EventTypeMatcher> otherEventTypeMatchers = new ArrayList<>();
+            for (EventTypeMatcher eventTypeMatcher : EVENT_TYPE_MATCHERS) {
+                CollectorFamily eventCollectorFamily = getCollectorFamily(eventTypeMatcher.eventType);
+                if (eventCollectorFamily == null || eventCollectorFamily == collectorFamily) {
+                    eventTypeMatchers.add(eventTypeMatcher);
+                } else {
+                    otherEventTypeMatchers.add(eventTypeMatcher);
+                }
+            }
+            FAMILY_EVENT_TYPE_MATCHERS.put(collectorFamily,
+                    eventTypeMatchers.toArray(new EventTypeMatcher[eventTypeMatchers.size()]));
+            OTHER_FAMILY_EVENT_TYPE_MATCHERS.put(collectorFamily,
+                    otherEventTypeMatchers.toArray(new EventTypeMatcher[otherEventTypeMatchers.size()]));
+        }
+    }
+
     /**
      * Convert datestamp to milliseconds from a point in time.
      * 
@@ -228,6 +427,85 @@ public final class JdkUtil {
         return null;
     }
 
+    /**
+     * @param eventType
+     *            The event type.
+     * @return The collector family of a collector specific event type, or null if the event type is not collector
+     *         specific.
+     */
+    public static final CollectorFamily getCollectorFamily(LogEventType eventType) {
+        switch (eventType) {
+        case CMS_CONCURRENT:
+        case CMS_INITIAL_MARK:
+        case CMS_REMARK:
+        case CMS_SERIAL_OLD:
+        case PAR_NEW:
+            return CollectorFamily.CMS;
+        case G1_CLEANUP:
+        case G1_CONCURRENT:
+        case G1_FULL_GC_SERIAL:
+        case G1_MIXED_PAUSE:
+        case G1_REMARK:
+        case G1_YOUNG_INITIAL_MARK:
+        case G1_YOUNG_PAUSE:
+            return CollectorFamily.G1;
+        case PARALLEL_COMPACTING_OLD:
+        case PARALLEL_SCAVENGE:
+        case PARALLEL_SERIAL_OLD:
+            return CollectorFamily.PARALLEL;
+        case SERIAL_NEW:
+        case SERIAL_OLD:
+            return CollectorFamily.SERIAL;
+        case SHENANDOAH_CANCELLING_GC:
+        case SHENANDOAH_CONCURRENT:
+        case SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK:
+        case SHENANDOAH_DEGENERATED_GC:
+        case SHENANDOAH_FINAL_EVAC:
+        case SHENANDOAH_FINAL_MARK:
+        case SHENANDOAH_FINAL_ROOTS:
+        case SHENANDOAH_FINAL_UPDATE:
+        case SHENANDOAH_FULL_GC:
+        case SHENANDOAH_INIT_MARK:
+        case SHENANDOAH_INIT_UPDATE:
+        case SHENANDOAH_METASPACE:
+        case SHENANDOAH_STATS:
+        case SHENANDOAH_TRIGGER:
+            return CollectorFamily.SHENANDOAH;
+        case UNIFIED_CMS_INITIAL_MARK:
+        case UNIFIED_PAR_NEW:
+            return CollectorFamily.UNIFIED_CMS;
+        case G1_FULL_GC_PARALLEL:
+        case UNIFIED_G1_CLEANUP:
+        case UNIFIED_G1_INFO:
+        case UNIFIED_G1_MIXED_PAUSE:
+        case UNIFIED_G1_YOUNG_INITIAL_MARK:
+        case UNIFIED_G1_YOUNG_PAUSE:
+        case UNIFIED_G1_YOUNG_PREPARE_MIXED:
+            return CollectorFamily.UNIFIED_G1;
+        case UNIFIED_PARALLEL_COMPACTING_OLD:
+        case UNIFIED_PARALLEL_SCAVENGE:
+            return CollectorFamily.UNIFIED_PARALLEL;
+        case UNIFIED_SERIAL_NEW:
+        case UNIFIED_SERIAL_OLD:
+            return CollectorFamily.UNIFIED_SERIAL;
+        case Z_ALLOCATION_STALL:
+        case Z_MARK_END:
+        case Z_MARK_END_OLD:
+        case Z_MARK_END_YOUNG:
+        case Z_MARK_START:
+        case Z_MARK_START_YOUNG:
+        case Z_MARK_START_YOUNG_AND_OLD:
+        case Z_RELOCATE_START:
+        case Z_RELOCATE_START_OLD:
+        case Z_RELOCATE_START_YOUNG:
+        case Z_RELOCATION_STALL:
+        case Z_STATS:
+            return CollectorFamily.Z;
+        default:
+            return null;
+        }
+    }
+
     /**
      * Get log line decorator.
      * 
@@ -365,201 +643,70 @@ public final class JdkUtil {
      *            The prior log line.
      * @return The <code>LogEventType</code> of the log entry.
      */
-    public static final LogEventType identifyEventType(String logLine, String priorLogLine) {
-
-        // Unified (alphabetical)
-        if (HeapEvent.match(logLine))
-            return LogEventType.HEAP;
-        if (MetaspaceUtilsReportEvent.match(logLine))
-            return LogEventType.METASPACE_UTILS_REPORT;
-        if (OomeMetaspaceEvent.match(logLine))
-            return LogEventType.OOME_METASPACE;
-        if (UnifiedSafepointEvent.match(logLine))
-            return LogEventType.UNIFIED_SAFEPOINT;
-        if (UnifiedBlankLineEvent.match(logLine) && !BlankLineEvent.match(logLine))
-            return LogEventType.UNIFIED_BLANK_LINE;
-        if (UnifiedCmsInitialMarkEvent.match(logLine))
-            return LogEventType.UNIFIED_CMS_INITIAL_MARK;
-        if (UnifiedConcurrentEvent.match(logLine))
-            return LogEventType.UNIFIED_CONCURRENT;
-        if (UnifiedG1CleanupEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_CLEANUP;
-        if (GcLockerRetryEvent.match(logLine))
-            return LogEventType.GC_LOCKER_RETRY;
-        if (UnifiedG1FullGcEvent.match(logLine))
-            return LogEventType.G1_FULL_GC_PARALLEL;
-        if (UnifiedG1InfoEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_INFO;
-        if (UnifiedG1MixedPauseEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_MIXED_PAUSE;
-        if (UnifiedG1YoungInitialMarkEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK;
-        if (UnifiedG1YoungPauseEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_PAUSE;
-        if (UnifiedG1YoungPrepareMixedEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED;
-        if (UnifiedHeaderEvent.match(logLine) && (priorLogLine == null || UnifiedHeaderEvent.match(priorLogLine)))
-            return LogEventType.UNIFIED_HEADER;
-        if (UnifiedOldEvent.match(logLine))
-            return LogEventType.UNIFIED_OLD;
-        if (UnifiedParallelCompactingOldEvent.match(logLine))
-            return LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD;
-        if (UnifiedParallelScavengeEvent.match(logLine))
-            return LogEventType.UNIFIED_PARALLEL_SCAVENGE;
-        if (UnifiedParNewEvent.match(logLine))
-            return LogEventType.UNIFIED_PAR_NEW;
-        if (UnifiedRemarkEvent.match(logLine))
-            return LogEventType.UNIFIED_REMARK;
-        if (UnifiedSerialNewEvent.match(logLine))
-            return LogEventType.UNIFIED_SERIAL_NEW;
-        if (UnifiedSerialOldEvent.match(logLine))
-            return LogEventType.UNIFIED_SERIAL_OLD;
-        if (UnifiedYoungEvent.match(logLine))
-            return LogEventType.UNIFIED_YOUNG;
-        if (ZAllocationStallEvent.match(logLine))
-            return LogEventType.Z_ALLOCATION_STALL;
-        if (ZMarkEndEvent.match(logLine))
-            return LogEventType.Z_MARK_END;
-        if (ZMarkEndOldEvent.match(logLine))
-            return LogEventType.Z_MARK_END_OLD;
-        if (ZMarkEndYoungEvent.match(logLine))
-            return LogEventType.Z_MARK_END_YOUNG;
-        if (ZMarkStartEvent.match(logLine))
-            return LogEventType.Z_MARK_START;
-        if (ZMarkStartYoungEvent.match(logLine))
-            return LogEventType.Z_MARK_START_YOUNG;
-        if (ZMarkStartYoungAndOldEvent.match(logLine))
-            return LogEventType.Z_MARK_START_YOUNG_AND_OLD;
-        if (ZRelocateStartEvent.match(logLine))
-            return LogEventType.Z_RELOCATE_START;
-        if (ZRelocateStartOldEvent.match(logLine))
-            return LogEventType.Z_RELOCATE_START_OLD;
-        if (ZRelocateStartYoungEvent.match(logLine))
-            return LogEventType.Z_RELOCATE_START_YOUNG;
-        if (ZRelocationStallEvent.match(logLine))
-            return LogEventType.Z_RELOCATION_STALL;
-        if (ZStatsEvent.match(logLine))
-            return LogEventType.Z_STATS;
-
-        // Unknown
-        if (VerboseGcYoungEvent.match(logLine))
-            return LogEventType.VERBOSE_GC_YOUNG;
-        if (VerboseGcOldEvent.match(logLine))
-            return LogEventType.VERBOSE_GC_OLD;
-
-        // In order of most common events to limit checking
-
-        // G1
-        if (G1YoungPauseEvent.match(logLine))
-            return LogEventType.G1_YOUNG_PAUSE;
-        if (G1MixedPauseEvent.match(logLine))
-            return LogEventType.G1_MIXED_PAUSE;
-        if (G1ConcurrentEvent.match(logLine))
-            return LogEventType.G1_CONCURRENT;
-        if (G1YoungInitialMarkEvent.match(logLine))
-            return LogEventType.G1_YOUNG_INITIAL_MARK;
-        if (G1RemarkEvent.match(logLine))
-            return LogEventType.G1_REMARK;
-        if (G1FullGcEvent.match(logLine))
-            return LogEventType.G1_FULL_GC_SERIAL;
-        if (G1CleanupEvent.match(logLine))
-            return LogEventType.G1_CLEANUP;
-
-        // CMS
-        if (ParNewEvent.match(logLine))
-            return LogEventType.PAR_NEW;
-        if (CmsSerialOldEvent.match(logLine))
-            return LogEventType.CMS_SERIAL_OLD;
-        if (CmsInitialMarkEvent.match(logLine))
-            return LogEventType.CMS_INITIAL_MARK;
-        if (CmsRemarkEvent.match(logLine))
-            return LogEventType.CMS_REMARK;
-        if (CmsConcurrentEvent.match(logLine))
-            return LogEventType.CMS_CONCURRENT;
-
-        // Parallel
-        if (ParallelScavengeEvent.match(logLine))
-            return LogEventType.PARALLEL_SCAVENGE;
-        if (ParallelSerialOldEvent.match(logLine))
-            return LogEventType.PARALLEL_SERIAL_OLD;
-        if (ParallelCompactingOldEvent.match(logLine))
-            return LogEventType.PARALLEL_COMPACTING_OLD;
-
-        // Serial
-        if (SerialOldEvent.match(logLine))
-            return LogEventType.SERIAL_OLD;
-        if (SerialNewEvent.match(logLine))
-            return LogEventType.SERIAL_NEW;
+    public static final LogEventType identifyEventType(CharSequence logLine, CharSequence priorLogLine) {
+        return identifyEventType(logLine, priorLogLine, null);
+    }
 
-        // Shenandoah
-        if (ShenandoahCancellingGcEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CANCELLING_GC;
-        if (ShenandoahConcurrentEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CONCURRENT;
-        if (ShenandoahConsiderClassUnloadingConcMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK;
-        if (ShenandoahDegeneratedGcEvent.match(logLine))
-            return LogEventType.SHENANDOAH_DEGENERATED_GC;
-        if (ShenandoahFinalEvacEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_EVAC;
-        if (ShenandoahFinalMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_MARK;
-        if (ShenandoahFinalRootsEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_ROOTS;
-        if (ShenandoahFinalUpdateEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_UPDATE;
-        if (ShenandoahFullGcEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FULL_GC;
-        if (ShenandoahInitMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_INIT_MARK;
-        if (ShenandoahInitUpdateEvent.match(logLine))
-            return LogEventType.SHENANDOAH_INIT_UPDATE;
-        if (ShenandoahMetaspaceEvent.match(logLine))
-            return LogEventType.SHENANDOAH_METASPACE;
-        if (ShenandoahStatsEvent.match(logLine))
-            return LogEventType.SHENANDOAH_STATS;
-        if (ShenandoahTriggerEvent.match(logLine))
-            return LogEventType.SHENANDOAH_TRIGGER;
+    /**
+     * Identify the log line garbage collection event, trying only the collector specific events of the given collector
+     * family. If no event is identified, the events of all collector families are tried, so logging with mixed
+     * collector families is still identified.
+     * 
+     * @param logLine
+     *            The log line.
+     * @param priorLogLine
+     *            The prior log line.
+     * @param collectorFamily
+     *            The collector family of the logging, or null to try the events of all collector families.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    public static final LogEventType identifyEventType(CharSequence logLine, CharSequence priorLogLine,
+            CollectorFamily collectorFamily) {
+        if (collectorFamily == null) {
+            return matchEventType(logLine, priorLogLine, EVENT_TYPE_MATCHERS);
+        }
+        LogEventType eventType = matchEventType(logLine, priorLogLine,
+                FAMILY_EVENT_TYPE_MATCHERS.get(collectorFamily));
+        if (eventType == LogEventType.UNKNOWN) {
+            // Only the events left out can match. They are in the same order as in EVENT_TYPE_MATCHERS.
+            eventType = matchEventType(logLine, priorLogLine, OTHER_FAMILY_EVENT_TYPE_MATCHERS.get(collectorFamily));
+        }
+        return eventType;
+    }
 
-        // Other
-        if (ApplicationConcurrentTimeEvent.match(logLine))
-            return LogEventType.APPLICATION_CONCURRENT_TIME;
-        if (ApplicationStoppedTimeEvent.match(logLine))
-            return LogEventType.APPLICATION_STOPPED_TIME;
-        if (ClassUnloadingEvent.match(logLine))
-            return LogEventType.CLASS_UNLOADING;
-        if (FooterStatsEvent.match(logLine))
-            return LogEventType.FOOTER_STATS;
-        if (GcInfoEvent.match(logLine) && !(priorLogLine != null && UnifiedHeaderEvent.match(priorLogLine)))
-            return LogEventType.GC_INFO;
-        if (HeapAtGcEvent.match(logLine))
-            return LogEventType.HEAP_AT_GC;
-        if (TenuringDistributionEvent.match(logLine))
-            return LogEventType.TENURING_DISTRIBUTION;
-        if (ClassHistogramEvent.match(logLine))
-            return LogEventType.CLASS_HISTOGRAM;
-        if (ApplicationLoggingEvent.match(logLine))
-            return LogEventType.APPLICATION_LOGGING;
-        if (ThreadDumpEvent.match(logLine))
-            return LogEventType.THREAD_DUMP;
-        if (LogFileEvent.match(logLine))
-            return LogEventType.LOG_FILE;
-        if (BlankLineEvent.match(logLine))
-            return LogEventType.BLANK_LINE;
-        if (GcOverheadLimitEvent.match(logLine))
-            return LogEventType.GC_OVERHEAD_LIMIT;
-        if (FlsStatisticsEvent.match(logLine))
-            return LogEventType.FLS_STATISTICS;
-        if (GcLockerScavengeFailedEvent.match(logLine))
-            return LogEventType.GC_LOCKER_SCAVENGE_FAILED;
-        if (HeaderCommandLineFlagsEvent.match(logLine))
-            return LogEventType.HEADER_COMMAND_LINE_FLAGS;
-        if (HeaderMemoryEvent.match(logLine))
-            return LogEventType.HEADER_MEMORY;
-        if (HeaderVmInfoEvent.match(logLine))
-            return LogEventType.HEADER_VM_INFO;
-        if (VmWarningEvent.match(logLine))
-            return LogEventType.VM_WARNING;
+    /**
+     * @param logLine
+     *            The log line.
+     * @param priorLogLine
+     *            The prior log line.
+     * @param eventTypeMatchers
+     *            The logging events to try, in order.
+     * @return The <code>LogEventType</code> of the first logging event that matches, or
+     *         <code>LogEventType.UNKNOWN</code> if none match.
+     */
+    private static final LogEventType matchEventType(CharSequence logLine, CharSequence priorLogLine,
+            EventTypeMatcher[] eventTypeMatchers) {
+        if (Profiler.isEnabled()) {
+            boolean timed = Profiler.isTimed();
+            for (EventTypeMatcher eventTypeMatcher : eventTypeMatchers) {
+                long start = timed ? System.nanoTime() : 0;
+                boolean hit = eventTypeMatcher.predicate.test(logLine, priorLogLine);
+                if (timed) {
+                    eventTypeMatcher.counter.record(hit, System.nanoTime() - start);
+                } else {
+                    eventTypeMatcher.counter.record(hit);
+                }
+                if (hit) {
+                    return eventTypeMatcher.eventType;
+                }
+            }
+            return LogEventType.UNKNOWN;
+        }
+        for (EventTypeMatcher eventTypeMatcher : eventTypeMatchers) {
+            if (eventTypeMatcher.predicate.test(logLine, priorLogLine)) {
+                return eventTypeMatcher.eventType;
+            }
+        }
 
         // no idea what event is
         return LogEventType.UNKNOWN;
@@ -749,7 +896,21 @@ public final class JdkUtil {
      * @return <code>LogEvent</code> for the log line
      */
     public static final LogEvent parseLogLine(String logLine, String priorLogLine) {
-        LogEventType eventType = identifyEventType(logLine, priorLogLine);
+        return parseLogLine(logLine, priorLogLine, null);
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param priorLogLine
+     *            The prior log line.
+     * @param collectorFamily
+     *            The collector family of the logging, or null if not known (see
+     *            {@link #identifyEventType(CharSequence, CharSequence, CollectorFamily)}).
+     * @return <code>LogEvent</code> for the log line
+     */
+    public static final LogEvent parseLogLine(String logLine, String priorLogLine, CollectorFamily collectorFamily) {
+        LogEventType eventType = identifyEventType(logLine, priorLogLine, collectorFamily);
         switch (eventType) {
         // Unified (order of appearance)
         case UNIFIED_SAFEPOINT:
@@ -757,7 +918,7 @@ public final class JdkUtil {
         case UNIFIED_BLANK_LINE:
             return new UnifiedBlankLineEvent(logLine);
         case UNIFIED_CONCURRENT:
-            return new UnifiedConcurrentEvent();
+            return new UnifiedConcurrentEvent(logLine);
         case UNIFIED_CMS_INITIAL_MARK:
             return new UnifiedCmsInitialMarkEvent(logLine);
         case UNIFIED_G1_CLEANUP:
@@ -875,7 +1036,7 @@ public final class JdkUtil {
         case PAR_NEW:
             return new ParNewEvent(logLine);
         case CMS_CONCURRENT:
-            return new CmsConcurrentEvent();
+            return new CmsConcurrentEvent(logLine);
         case CMS_INITIAL_MARK:
             return new CmsInitialMarkEvent(logLine);
         case CMS_REMARK:
@@ -0,0 +1,287 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+/**
+ * <p>
+ * Cursor over a log line for hand-written parsing of the most frequent logging events without regular expression
+ * matching or intermediate strings. Numbers are read straight into primitives.
+ * </p>
+ * 
+ * <p>
+ * Every method either consumes the expected text and reports success or reports failure, in which case the line is
+ * not in the form the scanner handles and the event falls back to its regular expression. A scanner must only accept
+ * lines its event's regular expression also matches.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public final class LineScanner {
+
+    /**
+     * The value returned when a number cannot be read.
+     */
+    public static final long NO_NUMBER = -1L;
+
+    /**
+     * The maximum number of digits read into a <code>long</code> without overflow.
+     */
+    private static final int MAX_DIGITS = 18;
+
+    /**
+     * The log line.
+     */
+    private final CharSequence line;
+
+    /**
+     * The position of the next character to read.
+     */
+    private int position;
+
+    /**
+     * @param line
+     *            The log line.
+     */
+    public LineScanner(CharSequence line) {
+        this.line = line;
+    }
+
+    public CharSequence getLine() {
+        return line;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * @return true if the next character is a digit, false otherwise.
+     */
+    public boolean isDigit() {
+        return position < line.length() && isDigit(line.charAt(position));
+    }
+
+    /**
+     * @return true if all characters have been read, false otherwise.
+     */
+    public boolean isEnd() {
+        return position == line.length();
+    }
+
+    /**
+     * @return The next character, or 0 if all characters have been read.
+     */
+    public char peek() {
+        return position < line.length() ? line.charAt(position) : 0;
+    }
+
+    /**
+     * Read a datestamp (e.g. 2021-10-08T21:58:51.878+0300).
+     * 
+     * @return true if a datestamp was read, false otherwise.
+     */
+    public boolean readDatestamp() {
+        int start = position;
+        if (readDigits(4) && skip('-') && readDigits(2) && skip('-') && readDigits(2) && skip('T') && readDigits(2)
+                && skip(':') && readDigits(2) && skip(':') && readDigits(2) && skip('.') && readDigits(3)
+                && (skip('+') || skip('-')) && readDigits(4)) {
+            return true;
+        }
+        position = start;
+        return false;
+    }
+
+    /**
+     * Read a decimal number (e.g. 0.0225213 or 0,0225213) with a fixed number of fraction digits.
+     * 
+     * @param minIntegerDigits
+     *            The minimum number of integer digits.
+     * @param maxIntegerDigits
+     *            The maximum number of integer digits.
+     * @param fractionDigits
+     *            The number of fraction digits.
+     * @param scale
+     *            The number of fraction digits in the value returned (e.g. 3 for milliseconds when the number is
+     *            seconds). Extra fraction digits are rounded down, the same as <code>JdkMath</code>.
+     * @return The number scaled to a whole number, or {@link #NO_NUMBER} if a number is not next.
+     */
+    public long readDecimal(int minIntegerDigits, int maxIntegerDigits, int fractionDigits, int scale) {
+        int start = position;
+        long integer = readLong();
+        int integerDigits = position - start;
+        if (integer == NO_NUMBER) {
+            integer = 0;
+        }
+        if (integerDigits < minIntegerDigits || integerDigits > maxIntegerDigits || !(skip('.') || skip(','))) {
+            position = start;
+            return NO_NUMBER;
+        }
+        int fractionStart = position;
+        long fraction = readLong();
+        if (position - fractionStart != fractionDigits
+                || integerDigits + Math.max(fractionDigits, scale) > MAX_DIGITS) {
+            position = start;
+            return NO_NUMBER;
+        }
+        long value = integer;
+        for (int i = 0; i < scale; i++) {
+            value *= 10;
+        }
+        for (int i = fractionDigits; i < scale; i++) {
+            fraction *= 10;
+        }
+        for (int i = scale; i < fractionDigits; i++) {
+            fraction /= 10;
+        }
+        return value + fraction;
+    }
+
+    /**
+     * Read a whole number.
+     * 
+     * @return The number, or {@link #NO_NUMBER} if a number is not next or it has too many digits.
+     */
+    public long readLong() {
+        int start = position;
+        long value = 0;
+        while (position < line.length() && isDigit(line.charAt(position))) {
+            value = value * 10 + (line.charAt(position) - '0');
+            position++;
+        }
+        if (position == start || position - start > MAX_DIGITS) {
+            position = start;
+            return NO_NUMBER;
+        }
+        return value;
+    }
+
+    /**
+     * Read a whole number followed by a literal (e.g. the units).
+     * 
+     * @param literal
+     *            The literal following the number.
+     * @return The number, or {@link #NO_NUMBER} if the number and literal are not next.
+     */
+    public long readLong(String literal) {
+        int start = position;
+        long value = readLong();
+        if (value == NO_NUMBER || !skip(literal)) {
+            position = start;
+            return NO_NUMBER;
+        }
+        return value;
+    }
+
+    /**
+     * @param position
+     *            The position of the next character to read, to back up to a position from {@link #getPosition()}.
+     */
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Skip a character.
+     * 
+     * @param c
+     *            The character.
+     * @return true if the character was next and skipped, false otherwise.
+     */
+    public boolean skip(char c) {
+        if (position < line.length() && line.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skip a literal.
+     * 
+     * @param literal
+     *            The literal.
+     * @return true if the literal was next and skipped, false otherwise.
+     */
+    public boolean skip(String literal) {
+        int length = literal.length();
+        if (position + length > line.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (line.charAt(position + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        position += length;
+        return true;
+    }
+
+    /**
+     * Skip spaces.
+     * 
+     * @return The number of spaces skipped.
+     */
+    public int skipSpaces() {
+        int start = position;
+        while (position < line.length() && line.charAt(position) == ' ') {
+            position++;
+        }
+        return position - start;
+    }
+
+    /**
+     * Skip to a character.
+     * 
+     * @param c
+     *            The character.
+     * @return The position of the character, which is not skipped, or -1 if the character is not found (the position
+     *         is unchanged).
+     */
+    public int skipTo(char c) {
+        for (int index = position; index < line.length(); index++) {
+            if (line.charAt(index) == c) {
+                position = index;
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param c
+     *            The character.
+     * @return true if the character is an ASCII digit, false otherwise. Regular expression <code>\d</code> only
+     *         matches ASCII digits.
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Read a fixed number of digits.
+     * 
+     * @param digits
+     *            The number of digits.
+     * @return true if the digits were read, false otherwise.
+     */
+    private boolean readDigits(int digits) {
+        for (int i = 0; i < digits; i++) {
+            if (!isDigit()) {
+                return false;
+            }
+            position++;
+        }
+        return true;
+    }
+}
@@ -12,6 +12,8 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util.jdk.unified;
 
+import java.util.EnumSet;
+
 /**
  * <p>
  * Regular expression constants for safepoint triggers.
@@ -514,6 +516,43 @@ public class UnifiedSafepoint {
      */
     public static final String Z_RELOCATE_START_YOUNG = "ZRelocateStartYoung";
 
+    /**
+     * The triggers that can be in the logging (all but <code>Trigger.EXIT</code>, <code>Trigger.HALT</code>, and
+     * <code>Trigger.UNKNOWN</code>), the same as {@link #triggerRegEx()}.
+     */
+    private static final Trigger[] LOGGED_TRIGGERS = EnumSet
+            .complementOf(EnumSet.of(Trigger.EXIT, Trigger.HALT, Trigger.UNKNOWN)).toArray(new Trigger[0]);
+
+    /**
+     * Get <code>Trigger</code> from the log literal at a position in a log line, without creating a string.
+     * 
+     * @param logLine
+     *            The log line.
+     * @param start
+     *            The position of the trigger literal.
+     * @param end
+     *            The position after the trigger literal.
+     * @return The <code>Trigger</code>, or null if the text is not a trigger literal in {@link #triggerRegEx()}.
+     */
+    public static final Trigger getTrigger(CharSequence logLine, int start, int end) {
+        for (Trigger trigger : LOGGED_TRIGGERS) {
+            String triggerLiteral = getTriggerLiteral(trigger);
+            if (triggerLiteral.length() == end - start && regionMatches(logLine, start, triggerLiteral)) {
+                return trigger;
+            }
+        }
+        return null;
+    }
+
+    private static final boolean regionMatches(CharSequence logLine, int start, String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (logLine.charAt(start + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Get <code>Trigger</code> from log literal.
      * 
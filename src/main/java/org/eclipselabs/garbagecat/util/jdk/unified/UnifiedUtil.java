@@ -18,6 +18,7 @@ import java.util.regex.Matcher;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.LineScanner;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 
 /**
@@ -61,6 +62,69 @@ public final class UnifiedUtil {
         }
     }
 
+    /**
+     * Read the decorator at the start of a unified log line with a <code>LineScanner</code>. Handles the decorator
+     * forms in {@link UnifiedRegEx#DECORATOR} except for the GC event number.
+     * 
+     * @param scanner
+     *            The <code>LineScanner</code> at the start of the log line.
+     * @param tags
+     *            The tags (e.g. "safepoint") in the tags block, or null for no tags block.
+     * @return The time when the event either started or ended, the same as {@link #calculateTime(Matcher)}, or
+     *         <code>LineScanner.NO_NUMBER</code> if the decorator is not next or is in a form not handled.
+     */
+    public static final long scanTime(LineScanner scanner, String tags) {
+        if (!scanner.skip('[')) {
+            return LineScanner.NO_NUMBER;
+        }
+        int datestampStart = scanner.getPosition();
+        boolean datestamp = scanner.readDatestamp();
+        int datestampEnd = scanner.getPosition();
+        long time = datestamp ? LineScanner.NO_NUMBER : scanUptime(scanner);
+        if ((!datestamp && time == LineScanner.NO_NUMBER) || !scanner.skip(']')) {
+            return LineScanner.NO_NUMBER;
+        }
+        int position = scanner.getPosition();
+        if (scanner.skip('[')) {
+            long uptime = scanUptime(scanner);
+            if (uptime != LineScanner.NO_NUMBER && scanner.skip(']')) {
+                if (datestamp) {
+                    time = uptime;
+                }
+            } else {
+                scanner.setPosition(position);
+            }
+        }
+        if (time == LineScanner.NO_NUMBER) {
+            // Datestamp only.
+            time = JdkUtil
+                    .convertDatestampToMillis(scanner.getLine().subSequence(datestampStart, datestampEnd).toString());
+        }
+        // pid
+        position = scanner.getPosition();
+        if (scanner.skip('[') && scanner.readLong("]") == LineScanner.NO_NUMBER) {
+            scanner.setPosition(position);
+        }
+        // level
+        position = scanner.getPosition();
+        if (scanner.skip("[info") || scanner.skip("[debug")) {
+            scanner.skipSpaces();
+            if (!scanner.skip(']')) {
+                scanner.setPosition(position);
+            }
+        }
+        position = scanner.getPosition();
+        if (tags != null && scanner.skip('[') && scanner.skip(tags)) {
+            scanner.skipSpaces();
+            if (!scanner.skip(']')) {
+                scanner.setPosition(position);
+            }
+        } else {
+            scanner.setPosition(position);
+        }
+        return time < 0 ? LineScanner.NO_NUMBER : time;
+    }
+
     /**
      * @param eventTypes
      *            The JVM event types.
@@ -112,6 +176,27 @@ public final class UnifiedUtil {
         return false;
     }
 
+    /**
+     * Read an uptime (e.g. 25.016s) or uptimemillis (e.g. 3ms).
+     * 
+     * @param scanner
+     *            The <code>LineScanner</code>.
+     * @return The time in milliseconds, or <code>LineScanner.NO_NUMBER</code> if an uptime or uptimemillis is not
+     *         next.
+     */
+    private static final long scanUptime(LineScanner scanner) {
+        int position = scanner.getPosition();
+        long uptime = scanner.readDecimal(0, Integer.MAX_VALUE, 3, 3);
+        if (uptime != LineScanner.NO_NUMBER) {
+            if (scanner.skip('s')) {
+                return uptime;
+            }
+            scanner.setPosition(position);
+            return LineScanner.NO_NUMBER;
+        }
+        return scanner.readLong("ms");
+    }
+
     private UnifiedUtil() {
         super();
     }
@@ -0,0 +1,55 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>
+ * JFR event for a chunk of {@link ProcessingEvents#CHUNK_LINES} log lines parsed and stored.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+@Name("garbagecat.Chunk")
+@Label("Chunk Parsed")
+@Category("garbagecat")
+@Description("A chunk of log lines parsed and stored")
+@StackTrace(false)
+final class ChunkEvent extends jdk.jfr.Event {
+
+    /**
+     * The log line characters (bytes for ASCII logging), without line terminators.
+     */
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /**
+     * The number of log lines identified as a logging event (not unknown or thrown away).
+     */
+    @Label("Events")
+    long events;
+
+    /**
+     * The number of log lines.
+     */
+    @Label("Lines")
+    long lines;
+}
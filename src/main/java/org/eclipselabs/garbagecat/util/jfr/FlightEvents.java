@@ -0,0 +1,134 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jfr;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * <p>
+ * Creates and commits the JFR events. Only loaded by {@link ProcessingEvents} when the JVM has Flight Recorder, since
+ * it links against <code>jdk.jfr</code>.
+ * </p>
+ * 
+ * <p>
+ * The event classes are not loaded until Flight Recorder has been initialized (a recording was started), since loading
+ * the first event class initializes the Flight Recorder support in the JVM (over 100 ms). They are registered when
+ * first loaded (<code>@Registered</code> is the default). An event is only started if it is enabled in a running
+ * recording; otherwise the event object does not escape and is optimized away.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+final class FlightEvents {
+
+    static Object beginAnalysisPhase() {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        AnalysisPhaseEvent event = new AnalysisPhaseEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static Object beginChunk() {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        ChunkEvent event = new ChunkEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static Object beginSlowLine() {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        SlowLineEvent event = new SlowLineEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static Object beginStage() {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        StageEvent event = new StageEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    static void endAnalysisPhase(Object flightEvent, String phase) {
+        AnalysisPhaseEvent event = (AnalysisPhaseEvent) flightEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = phase;
+            event.commit();
+        }
+    }
+
+    static void endChunk(Object flightEvent, long bytes, long events, long lines) {
+        ChunkEvent event = (ChunkEvent) flightEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = bytes;
+            event.events = events;
+            event.lines = lines;
+            event.commit();
+        }
+    }
+
+    static void endSlowLine(Object flightEvent, String eventType, String logLine) {
+        SlowLineEvent event = (SlowLineEvent) flightEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.eventType = eventType;
+            event.logLine = logLine.length() > ProcessingEvents.SLOW_LINE_LENGTH_LIMIT
+                    ? logLine.substring(0, ProcessingEvents.SLOW_LINE_LENGTH_LIMIT)
+                    : logLine;
+            event.commit();
+        }
+    }
+
+    static void endStage(Object flightEvent, String stage) {
+        StageEvent event = (StageEvent) flightEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = stage;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return true if the JVM has Flight Recorder, false otherwise.
+     */
+    static boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    private FlightEvents() {
+
+    }
+}
@@ -0,0 +1,239 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jfr;
+
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * JDK Flight Recorder (JFR) events for garbagecat's own processing, in the "garbagecat" category:
+ * </p>
+ * 
+ * <ul>
+ * <li>garbagecat.Stage: Each processing stage (read, preprocess, store, analysis, report).</li>
+ * <li>garbagecat.Chunk: Each chunk of {@link #CHUNK_LINES} log lines stored (characters, lines, and events).</li>
+ * <li>garbagecat.SlowLine: Each log line that took longer than the event threshold (default 1 ms) to parse, with the
+ * matched event type.</li>
+ * <li>garbagecat.AnalysisPhase: Each analysis phase (e.g. bottlenecks or allocations, which are computed on first
+ * access).</li>
+ * </ul>
+ * 
+ * <p>
+ * The events are registered with Flight Recorder when first used and are only started when enabled in a running
+ * recording (e.g. <code>-XX:StartFlightRecording:settings=profile</code> or <code>jcmd &lt;pid&gt; JFR.start</code>),
+ * so without a recording each call only checks whether the event is enabled. Combined with the JFR allocation and CPU
+ * samples, they show where garbagecat spends its time on a gc log without attaching a profiler.
+ * </p>
+ * 
+ * <p>
+ * The source level is 1.8, and <code>jdk.jfr</code> is only in JDK 8u262 and later. The event classes are only loaded
+ * when the JVM has Flight Recorder, so garbagecat still runs on JVMs without it (all calls are no-ops).
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public final class ProcessingEvents {
+
+    /**
+     * Counts the log lines stored in the current chunk and emits a chunk event every {@link #CHUNK_LINES} log lines.
+     * Not thread safe.
+     */
+    public static final class Chunk {
+
+        /**
+         * The log line characters in the chunk.
+         */
+        private long bytes;
+
+        /**
+         * The number of log lines in the chunk identified as a logging event.
+         */
+        private long events;
+
+        /**
+         * The chunk event, or null if the chunk event is not enabled.
+         */
+        private Object flightEvent;
+
+        /**
+         * The number of log lines in the chunk.
+         */
+        private long lines;
+
+        /**
+         * Add a stored log line.
+         * 
+         * @param length
+         *            The log line length.
+         * @param identified
+         *            Whether or not the log line was identified as a logging event (not unknown or thrown away).
+         */
+        public void add(int length, boolean identified) {
+            if (flightEvent == null) {
+                flightEvent = beginChunk();
+                if (flightEvent == null) {
+                    return;
+                }
+            }
+            bytes += length;
+            lines++;
+            if (identified) {
+                events++;
+            }
+            if (lines == CHUNK_LINES) {
+                flush();
+                // The next chunk starts with the next log line.
+                flightEvent = beginChunk();
+            }
+        }
+
+        /**
+         * Emit the chunk event for the log lines added since the last chunk.
+         */
+        public void flush() {
+            if (flightEvent != null) {
+                FlightEvents.endChunk(flightEvent, bytes, events, lines);
+                flightEvent = null;
+                bytes = 0;
+                events = 0;
+                lines = 0;
+            }
+        }
+    }
+
+    /**
+     * Whether or not the JVM has Flight Recorder.
+     */
+    private static final boolean AVAILABLE = isAvailable();
+
+    /**
+     * The number of log lines in a chunk event.
+     */
+    public static final int CHUNK_LINES = 10000;
+
+    /**
+     * The maximum number of log line characters in a slow line event.
+     */
+    public static final int SLOW_LINE_LENGTH_LIMIT = 1000;
+
+    /**
+     * Run an analysis phase.
+     * 
+     * @param phase
+     *            The phase name.
+     * @param analysis
+     *            The analysis.
+     */
+    public static void analysisPhase(String phase, Runnable analysis) {
+        Object flightEvent = AVAILABLE ? FlightEvents.beginAnalysisPhase() : null;
+        try {
+            analysis.run();
+        } finally {
+            if (flightEvent != null) {
+                FlightEvents.endAnalysisPhase(flightEvent, phase);
+            }
+        }
+    }
+
+    /**
+     * Compute an analysis phase.
+     * 
+     * @param phase
+     *            The phase name.
+     * @param analysis
+     *            The analysis.
+     * @return The analysis result.
+     */
+    public static <T> T analysisPhase(String phase, Supplier<T> analysis) {
+        Object flightEvent = AVAILABLE ? FlightEvents.beginAnalysisPhase() : null;
+        try {
+            return analysis.get();
+        } finally {
+            if (flightEvent != null) {
+                FlightEvents.endAnalysisPhase(flightEvent, phase);
+            }
+        }
+    }
+
+    private static Object beginChunk() {
+        return AVAILABLE ? FlightEvents.beginChunk() : null;
+    }
+
+    /**
+     * Start parsing a log line.
+     * 
+     * @return The slow line event, or null if it is not enabled.
+     */
+    public static Object beginLine() {
+        return AVAILABLE ? FlightEvents.beginSlowLine() : null;
+    }
+
+    /**
+     * Start a processing stage.
+     * 
+     * @return The stage event, or null if it is not enabled.
+     */
+    public static Object beginStage() {
+        return AVAILABLE ? FlightEvents.beginStage() : null;
+    }
+
+    /**
+     * End parsing a log line. The slow line event is only committed if parsing took longer than the event threshold.
+     * 
+     * @param flightEvent
+     *            The slow line event returned by {@link #beginLine()}, or null.
+     * @param eventType
+     *            The matched event type.
+     * @param logLine
+     *            The log line.
+     */
+    public static void endLine(Object flightEvent, String eventType, String logLine) {
+        if (flightEvent != null) {
+            FlightEvents.endSlowLine(flightEvent, eventType, logLine);
+        }
+    }
+
+    /**
+     * End a processing stage.
+     * 
+     * @param flightEvent
+     *            The stage event returned by {@link #beginStage()}, or null.
+     * @param stage
+     *            The stage name.
+     */
+    public static void endStage(Object flightEvent, String stage) {
+        if (flightEvent != null) {
+            FlightEvents.endStage(flightEvent, stage);
+        }
+    }
+
+    /**
+     * @return true if <code>jdk.jfr</code> is present and the JVM has Flight Recorder, false otherwise.
+     */
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            return FlightEvents.isAvailable();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private ProcessingEvents() {
+
+    }
+}
@@ -0,0 +1,50 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>
+ * JFR event for a log line that took longer than the threshold (default 1 ms, adjustable in the recording settings) to
+ * parse.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+@Name("garbagecat.SlowLine")
+@Label("Slow Line")
+@Category("garbagecat")
+@Description("A log line that was slow to parse")
+@StackTrace(false)
+@Threshold("1 ms")
+final class SlowLineEvent extends jdk.jfr.Event {
+
+    /**
+     * The matched <code>LogEventType</code>.
+     */
+    @Label("Event Type")
+    String eventType;
+
+    /**
+     * The log line, truncated to {@link ProcessingEvents#SLOW_LINE_LENGTH_LIMIT} characters.
+     */
+    @Label("Log Line")
+    String logLine;
+}
@@ -12,30 +12,54 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat;
 
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EVENTS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_EVENTS_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FORMAT_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_FORMAT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_HELP_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HTML_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_HTML_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_JVMOPTIONS_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_OUTPUT_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_PREPROCESS_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_PROFILE_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_PROFILE_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_REORDER_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SECTIONS_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SECTIONS_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERIES_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SERIES_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SPILL_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_STARTDATETIME_SHORT;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SUMMARY_LONG;
+import static org.eclipselabs.garbagecat.util.Constants.OPTION_SUMMARY_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_THRESHOLD_SHORT;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERBOSE_LONG;
 import static org.eclipselabs.garbagecat.util.Constants.OPTION_VERBOSE_SHORT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 import org.junit.jupiter.api.io.TempDir;
@@ -46,6 +70,188 @@ class TestMain {
         assertTrue(cmd.hasOption(option), "'-" + option + "' is a valid option");
     }
 
+    @Test
+    void testCompare(@TempDir File temporaryFolder) throws Exception {
+        File report = new File(temporaryFolder, "compare.txt");
+        String[] args = new String[] { //
+                "--preprocess", //
+                "--output", //
+                report.getAbsolutePath(), //
+                "compare", //
+                TestUtil.getFile("dataset243.txt").getAbsolutePath(), //
+                TestUtil.getFile("dataset278.txt").getAbsolutePath() //
+        };
+        CommandLine cmd = OptionsParser.parseOptions(args);
+        assertTrue(Main.isCompare(cmd), "Compare command not identified.");
+        Main.createReport(cmd);
+        String comparison = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(comparison.startsWith("Baseline: dataset243.txt"), "Baseline not reported.");
+        assertTrue(comparison.contains("Candidate: dataset278.txt"), "Candidate not reported.");
+        assertTrue(comparison.contains("GC PAUSE (ms):"), "Pause percentiles not reported.");
+        assertTrue(comparison.contains("SAFEPOINT TRIGGERS (% time):"), "Safepoint trigger mix not reported.");
+        assertTrue(comparison.contains("ANALYSIS (+ candidate only, - baseline only):"),
+                "Analysis differences not reported.");
+    }
+
+    @Test
+    void testCompareMissingFile(@TempDir File temporaryFolder) throws Exception {
+        String[] args = new String[] { //
+                "compare", //
+                temporaryFolder.getAbsolutePath(), //
+                new File(temporaryFolder, "missing.log").getAbsolutePath() //
+        };
+        assertThrows(ParseException.class, new Executable() {
+            @Override
+            public void execute() throws Throwable {
+                OptionsParser.parseOptions(args);
+            }
+        });
+    }
+
+    @Test
+    void testMerge(@TempDir File temporaryFolder) throws Exception {
+        File[] summaries = new File[2];
+        String[] datasets = new String[] { "dataset243.txt", "dataset278.txt" };
+        for (int i = 0; i < datasets.length; i++) {
+            summaries[i] = new File(temporaryFolder, datasets[i] + ".summary");
+            Main.createReport(OptionsParser.parseOptions(new String[] { //
+                    "--preprocess", //
+                    "--output", //
+                    new File(temporaryFolder, datasets[i] + ".report").getAbsolutePath(), //
+                    "--summary", //
+                    summaries[i].getAbsolutePath(), //
+                    TestUtil.getFile(datasets[i]).getAbsolutePath() //
+            }));
+            assertTrue(summaries[i].exists(), "Summary not created.");
+        }
+        File report = new File(temporaryFolder, "fleet.txt");
+        File merged = new File(temporaryFolder, "fleet.summary");
+        String[] args = new String[] { //
+                "--output", //
+                report.getAbsolutePath(), //
+                "--summary", //
+                merged.getAbsolutePath(), //
+                "merge", //
+                summaries[0].getAbsolutePath(), //
+                summaries[1].getAbsolutePath() //
+        };
+        CommandLine cmd = OptionsParser.parseOptions(args);
+        assertTrue(Main.isMerge(cmd), "Merge command not identified.");
+        Main.createReport(cmd);
+        String fleet = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(fleet.startsWith("Runs: 2"), "Runs not reported.");
+        assertTrue(fleet.contains("GC PAUSE (ms):"), "Pause percentiles not reported.");
+        assertTrue(fleet.contains("ANALYSIS (# runs, % runs):"), "Analysis not reported.");
+        String summary = new String(Files.readAllBytes(merged.toPath()), StandardCharsets.UTF_8);
+        assertTrue(summary.contains("runs 2"), "Merged summary not created.");
+    }
+
+    @Test
+    void testMergeMissingFile(@TempDir File temporaryFolder) throws Exception {
+        String[] args = new String[] { //
+                "merge", //
+                new File(temporaryFolder, "missing.summary").getAbsolutePath() //
+        };
+        assertThrows(ParseException.class, new Executable() {
+            @Override
+            public void execute() throws Throwable {
+                OptionsParser.parseOptions(args);
+            }
+        });
+    }
+
+    @Test
+    void testProfile(@TempDir File temporaryFolder) throws Exception {
+        File profile = new File(temporaryFolder, "profile.json");
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        PrintStream err = System.err;
+        System.setErr(new PrintStream(table, true, "UTF-8"));
+        try {
+            Main.createReport(OptionsParser.parseOptions(new String[] { //
+                    "--preprocess", //
+                    "--output", //
+                    new File(temporaryFolder, "report.txt").getAbsolutePath(), //
+                    "--profile", //
+                    profile.getAbsolutePath(), //
+                    TestUtil.getFile("dataset243.txt").getAbsolutePath() //
+            }));
+        } finally {
+            System.setErr(err);
+        }
+        assertTrue(table.toString("UTF-8").startsWith("stage"), "Table not printed to standard error.");
+        String json = new String(Files.readAllBytes(profile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"stages\":[{\"stage\":\"READ\""), "Stages not written.");
+        assertTrue(json.contains("\"stage\":\"PREPROCESS\""), "Preprocess stage not written.");
+        assertTrue(json.contains("\"lines\":"), "Lines not written.");
+        assertTrue(json.contains("{\"group\":\"event\",\"name\":\"UNIFIED_"), "Event matchers not written.");
+        assertTrue(json.contains("{\"group\":\"preprocess\",\"name\":\"UNIFIED\""),
+                "Preprocess rules not written.");
+    }
+
+    @Test
+    void testJvmOptionsDifferences() {
+        List<String> differences = Main.getJvmOptionsDifferences(
+                "-Xmx2g -XX:+UseG1GC -XX:MaxGCPauseMillis=200 -XX:+AlwaysPreTouch",
+                "-Xmx4g -XX:+UseG1GC -XX:MaxGCPauseMillis=100 -XX:-AlwaysPreTouch -XX:+UseStringDeduplication");
+        assertEquals(Arrays.asList("- -Xmx2g", "+ -Xmx4g", "- -XX:MaxGCPauseMillis=200", "+ -XX:MaxGCPauseMillis=100",
+                "- -XX:+AlwaysPreTouch", "+ -XX:-AlwaysPreTouch", "+ -XX:+UseStringDeduplication"), differences,
+                "JVM options differences not correct.");
+        assertTrue(Main.getJvmOptionsDifferences(null, null).isEmpty(), "Unknown JVM options not ignored.");
+    }
+
+    @Test
+    void testInvalidFormat(@TempDir File temporaryFolder) throws Exception {
+        // Method arguments
+        String[] args = new String[] { //
+                "--format", //
+                "xml", //
+                // Instead of a file, use a location sure to exist.
+                temporaryFolder.getAbsolutePath() //
+        };
+        assertThrows(ParseException.class, new Executable() {
+            @Override
+            public void execute() throws Throwable {
+                OptionsParser.parseOptions(args);
+            }
+        });
+    }
+
+    @Test
+    void testFormatReportIsOutputFile(@TempDir File temporaryFolder) throws Exception {
+        // Method arguments
+        String[] args = new String[] { //
+                "--output", //
+                "report.json", //
+                "--format", //
+                "json", //
+                // Instead of a file, use a location sure to exist.
+                temporaryFolder.getAbsolutePath() //
+        };
+        assertThrows(ParseException.class, new Executable() {
+            @Override
+            public void execute() throws Throwable {
+                OptionsParser.parseOptions(args);
+            }
+        });
+    }
+
+    @Test
+    void testInvalidSections(@TempDir File temporaryFolder) throws Exception {
+        // Method arguments
+        String[] args = new String[] { //
+                "--sections", //
+                "summary,charts", //
+                // Instead of a file, use a location sure to exist.
+                temporaryFolder.getAbsolutePath() //
+        };
+        assertThrows(ParseException.class, new Executable() {
+            @Override
+            public void execute() throws Throwable {
+                OptionsParser.parseOptions(args);
+            }
+        });
+    }
+
     @Test
     void testLogFileEqualsReportFile(@TempDir File temporaryFolder) throws Exception {
         // Method arguments
@@ -66,6 +272,29 @@ class TestMain {
         });
     }
 
+    @Test
+    void testTimeToSafepointColumns(@TempDir File temporaryFolder) throws Exception {
+        File report = new File(temporaryFolder, "report.txt");
+        String[] args = new String[] { //
+                "--preprocess", //
+                "--output", //
+                report.getAbsolutePath(), //
+                TestUtil.getFile("dataset236.txt").getAbsolutePath() //
+        };
+        Main.createReport(OptionsParser.parseOptions(args));
+        List<String> reportLines = Files.readAllLines(report.toPath());
+        int header = 0;
+        while (!reportLines.get(header).startsWith("TIME TO SAFEPOINT:")) {
+            header++;
+        }
+        assertTrue(reportLines.get(header + 2).startsWith("CleanClassLoaderDataMetaspaces"),
+                "Long trigger not reported.");
+        for (int i = header + 2; !reportLines.get(i - 1).startsWith("Total"); i++) {
+            assertEquals(reportLines.get(header).length(), reportLines.get(i).length(),
+                    "Columns not aligned: " + reportLines.get(i));
+        }
+    }
+
     @Test
     void testLongHelpOption() throws Exception {
         // Method arguments
@@ -91,6 +320,20 @@ class TestMain {
                 "--reorder", //
                 "--output", //
                 "12345678.txt", //
+                "--sections", //
+                "summary,analysis", //
+                "--series", //
+                "12345678.csv", //
+                "--html", //
+                "12345678.html", //
+                "--format", //
+                "json", //
+                "--events", //
+                "--summary", //
+                "12345678.summary", //
+                "--spill", //
+                "--profile", //
+                "12345678.profile.json", //
                 "--verbose", //
                 // Instead of a file, use a location sure to exist.
                 tmpFolder.getAbsolutePath() //
@@ -104,6 +347,14 @@ class TestMain {
         assertHasOption(cmd, OPTION_THRESHOLD_LONG);
         assertHasOption(cmd, OPTION_REORDER_LONG);
         assertHasOption(cmd, OPTION_OUTPUT_LONG);
+        assertHasOption(cmd, OPTION_SECTIONS_LONG);
+        assertHasOption(cmd, OPTION_SERIES_LONG);
+        assertHasOption(cmd, OPTION_HTML_LONG);
+        assertHasOption(cmd, OPTION_FORMAT_LONG);
+        assertHasOption(cmd, OPTION_EVENTS_LONG);
+        assertHasOption(cmd, OPTION_SUMMARY_LONG);
+        assertHasOption(cmd, OPTION_SPILL_LONG);
+        assertHasOption(cmd, OPTION_PROFILE_LONG);
         assertHasOption(cmd, OPTION_VERBOSE_LONG);
     }
 
@@ -131,6 +382,20 @@ class TestMain {
                 "-r", //
                 "-o", //
                 "12345678.txt", //
+                "-n", //
+                "SUMMARY", //
+                "-x", //
+                "12345678.csv", //
+                "-w", //
+                "12345678.html", //
+                "-f", //
+                "NDJSON", //
+                "-e", //
+                "-a", //
+                "12345678.summary", //
+                "-l", //
+                "-i", //
+                "12345678.profile.json", //
                 "-v", //
                 // Instead of a file, use a location sure to exist.
                 temporaryFolder.getAbsolutePath() //
@@ -144,6 +409,14 @@ class TestMain {
         assertHasOption(cmd, OPTION_THRESHOLD_SHORT);
         assertHasOption(cmd, OPTION_REORDER_SHORT);
         assertHasOption(cmd, OPTION_OUTPUT_SHORT);
+        assertHasOption(cmd, OPTION_SECTIONS_SHORT);
+        assertHasOption(cmd, OPTION_SERIES_SHORT);
+        assertHasOption(cmd, OPTION_HTML_SHORT);
+        assertHasOption(cmd, OPTION_FORMAT_SHORT);
+        assertHasOption(cmd, OPTION_EVENTS_SHORT);
+        assertHasOption(cmd, OPTION_SUMMARY_SHORT);
+        assertHasOption(cmd, OPTION_SPILL_SHORT);
+        assertHasOption(cmd, OPTION_PROFILE_SHORT);
         assertHasOption(cmd, OPTION_VERBOSE_SHORT);
     }
 
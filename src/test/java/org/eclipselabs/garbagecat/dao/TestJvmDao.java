@@ -12,13 +12,17 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.dao;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
 import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -27,6 +31,32 @@ import org.junit.jupiter.api.Test;
  */
 class TestJvmDao {
 
+    @Test
+    void testBlockingEventsByType() {
+        JvmDao jvmDao = new JvmDao();
+        ParNewEvent event1 = new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]");
+        jvmDao.addBlockingEvent(event1);
+        SerialOldEvent event2 = new SerialOldEvent("3010786.012: [Full GC 3010786.012:"
+                + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+                + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]");
+        jvmDao.addBlockingEvent(event2);
+        assertEquals(Arrays.asList(event1), jvmDao.getBlockingEvents(LogEventType.PAR_NEW),
+                "PAR_NEW events not correct.");
+        // Out of timestamp order
+        ParNewEvent event3 = new ParNewEvent("3010700.100: [GC 3010700.100: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]");
+        jvmDao.addBlockingEvent(event3);
+        assertEquals(Arrays.asList(event3, event1), jvmDao.getBlockingEvents(LogEventType.PAR_NEW),
+                "PAR_NEW events not correct.");
+        assertEquals(Arrays.asList(event2), jvmDao.getBlockingEvents(LogEventType.SERIAL_OLD),
+                "SERIAL_OLD events not correct.");
+        assertTrue(jvmDao.getBlockingEvents(LogEventType.CMS_REMARK).isEmpty(), "CMS_REMARK events not empty.");
+        assertEquals(Arrays.asList(event3, event1, event2),
+                jvmDao.getBlockingEvents(EnumSet.of(LogEventType.PAR_NEW, LogEventType.SERIAL_OLD)),
+                "PAR_NEW and SERIAL_OLD events not correct.");
+    }
+
     @Test
     void testSameTimestampOrdering() {
         JvmDao jvmDao = new JvmDao();
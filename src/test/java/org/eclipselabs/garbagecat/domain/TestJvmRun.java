@@ -34,8 +34,10 @@ import java.util.List;
 
 import org.eclipselabs.garbagecat.TestUtil;
 import org.eclipselabs.garbagecat.service.GcManager;
+import org.eclipselabs.garbagecat.util.BottleneckDetector;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.TimeToSafepointStats;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
@@ -101,6 +103,10 @@ class TestJvmRun {
         assertEquals(2, jvmRun.getEventTypes().size(), "Event type count not correct.");
         assertTrue(jvmRun.getEventTypes().contains(JdkUtil.LogEventType.CMS_CONCURRENT),
                 "Log line not recognized as " + JdkUtil.LogEventType.CMS_CONCURRENT.toString() + ".");
+        jvmRun.doAnalysis();
+        assertNull(jvmRun.getFirstLogEvent(), "Concurrent event is first log event.");
+        assertFalse(jvmRun.hasAnalysis(Analysis.INFO_FIRST_TIMESTAMP_THRESHOLD_EXCEEDED.getKey()),
+                Analysis.INFO_FIRST_TIMESTAMP_THRESHOLD_EXCEEDED + " analysis incorrectly identified.");
     }
 
     /**
@@ -268,6 +274,23 @@ class TestJvmRun {
                 "JVM options passed in are missing or have changed.");
     }
 
+    @Test
+    void testLazySections() {
+        JvmRun jvmRun = new JvmRun(Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD, null);
+        int[] computed = new int[1];
+        jvmRun.setGcBottlenecks(() -> {
+            computed[0]++;
+            return new BottleneckDetector(Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD, 1);
+        });
+        assertEquals(0, computed[0], "Bottlenecks computed before access.");
+        assertEquals(0, jvmRun.getGcBottleneckCount(), "GC bottleneck count not correct.");
+        assertTrue(jvmRun.getGcBottlenecks().isEmpty(), "GC bottlenecks not correct.");
+        assertEquals(1, computed[0], "Bottlenecks not computed once.");
+        assertNull(jvmRun.getSafepointBottlenecks(), "Safepoint bottlenecks not correct.");
+        assertEquals(0, jvmRun.getSafepointBottleneckCount(), "Safepoint bottleneck count not correct.");
+    }
+
     @Test
     void testLastTimestampNoEvents() {
         GcManager gcManager = new GcManager();
@@ -904,4 +927,41 @@ class TestJvmRun {
         assertFalse(jvmRun.hasAnalysis(Analysis.WARN_GC_SAFEPOINT_RATIO.getKey()),
                 Analysis.WARN_GC_SAFEPOINT_RATIO + " analysis incorrectly identified.");
     }
+
+    @Test
+    void testTimeToSafepoint() {
+        List<String> logLines = new ArrayList<String>();
+        logLines.add("1.000: Total time for which application threads were stopped: 0.0101693 seconds, Stopping "
+                + "threads took: 0.0090290 seconds");
+        logLines.add("2.000: Total time for which application threads were stopped: 0.0200000 seconds, Stopping "
+                + "threads took: 0.0150000 seconds");
+        logLines.add("3.000: Total time for which application threads were stopped: 0.0010000 seconds, Stopping "
+                + "threads took: 0.0000100 seconds");
+        GcManager gcManager = new GcManager();
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        TimeToSafepointStats ttspStats = jvmRun.getTimeToSafepointStats();
+        assertEquals(3, ttspStats.getCount(), "TTSP count not correct.");
+        assertEquals(15000L, ttspStats.getTtsp().getMax(), "TTSP max not correct.");
+        assertEquals(77, ttspStats.getTtspRatio(), "TTSP ratio not correct.");
+        assertEquals(3, ttspStats.getWorst().size(), "TTSP worst count not correct.");
+        assertEquals(15000L, ttspStats.getWorst().get(0).getTtsp(), "TTSP worst not correct.");
+        assertTrue(jvmRun.hasAnalysis(Analysis.WARN_SAFEPOINT_TTSP.getKey()),
+                Analysis.WARN_SAFEPOINT_TTSP + " analysis not identified.");
+    }
+
+    @Test
+    void testTimeToSafepointNotDominant() throws IOException {
+        File testFile = TestUtil.getFile("dataset103.txt");
+        GcManager gcManager = new GcManager();
+        URI logFileUri = testFile.toURI();
+        List<String> logLines = Files.readAllLines(Paths.get(logFileUri));
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        assertEquals(151, jvmRun.getTimeToSafepointStats().getCount(), "TTSP count not correct.");
+        assertFalse(jvmRun.hasAnalysis(Analysis.WARN_SAFEPOINT_TTSP.getKey()),
+                Analysis.WARN_SAFEPOINT_TTSP + " analysis incorrectly identified.");
+    }
 }
@@ -12,6 +12,7 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain.jdk;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -122,6 +123,20 @@ class TestCmsConcurrentEvent {
                 "Log line not recognized as " + JdkUtil.LogEventType.CMS_CONCURRENT.toString() + ".");
     }
 
+    @Test
+    void testMarkWithTimesDataConcurrentData() {
+        String logLine = "3,169: [CMS-concurrent-mark: 0,053/0,071 secs] [Times: user=0,07 sys=0,00, real=0,07 secs]";
+        CmsConcurrentEvent event = new CmsConcurrentEvent(logLine);
+        assertEquals("CMS-concurrent-mark", event.getPhase(), "Phase not parsed correctly.");
+        assertEquals(71000, event.getDurationMicros(), "Duration not parsed correctly.");
+        assertEquals((long) 3098, event.getTimestamp(), "Time stamp not parsed correctly.");
+        assertTrue(event.isMark(), "Mark not identified.");
+        assertFalse(event.isCycle(), "Cycle incorrectly identified.");
+        assertEquals(7, event.getTimeUser(), "User time not parsed correctly.");
+        assertEquals(0, event.getTimeSys(), "Sys time not parsed correctly.");
+        assertEquals(7, event.getTimeReal(), "Real time not parsed correctly.");
+    }
+
     @Test
     void testMarkWithTimesData5Digits() {
         String logLine = "2017-06-23T08:12:13.943-0400: 39034.532: [CMS-concurrent-mark: 4.583/35144.874 secs] "
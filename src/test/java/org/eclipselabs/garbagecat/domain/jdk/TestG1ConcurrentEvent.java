@@ -134,6 +134,30 @@ class TestG1ConcurrentEvent {
         assertEquals((long) 50655, event.getTimestamp(), "Time stamp not parsed correctly.");
     }
 
+    @Test
+    void testMarkEndConcurrentData() {
+        String logLine = "251.781: [GC concurrent-mark-end, 0.1371470 secs] "
+                + "[Times: user=0.44 sys=0.00, real=0.08 secs]";
+        G1ConcurrentEvent event = new G1ConcurrentEvent(logLine);
+        assertEquals("concurrent-mark", event.getPhase(), "Phase not parsed correctly.");
+        assertEquals(137147, event.getDurationMicros(), "Duration not parsed correctly.");
+        assertTrue(event.isMark(), "Mark not identified.");
+        assertFalse(event.isCycle(), "Cycle incorrectly identified.");
+        assertEquals(44, event.getTimeUser(), "User time not parsed correctly.");
+        assertEquals(0, event.getTimeSys(), "Sys time not parsed correctly.");
+        assertEquals(8, event.getTimeReal(), "Real time not parsed correctly.");
+    }
+
+    @Test
+    void testStringDeduplicationConcurrentData() {
+        String logLine = "8.556: [GC concurrent-string-deduplication, 906.5K->410.2K(496.3K), avg 54.8%, "
+                + "0.0162924 secs]";
+        G1ConcurrentEvent event = new G1ConcurrentEvent(logLine);
+        assertEquals("concurrent-string-deduplication", event.getPhase(), "Phase not parsed correctly.");
+        assertEquals(16292, event.getDurationMicros(), "Duration not parsed correctly.");
+        assertFalse(event.isMark(), "Mark incorrectly identified.");
+    }
+
     @Test
     void testMarkStart() {
         String logLine = "50.136: [GC concurrent-mark-start]";
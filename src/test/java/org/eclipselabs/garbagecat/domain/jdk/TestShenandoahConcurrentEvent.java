@@ -309,6 +309,17 @@ class TestShenandoahConcurrentEvent {
                 "Log line not recognized as " + JdkUtil.LogEventType.SHENANDOAH_CONCURRENT.toString() + ".");
     }
 
+    @Test
+    void testUnifiedMarkingConcurrentData() {
+        String logLine = "[0.384s][info][gc           ] GC(1) Concurrent marking 17M->20M(33M) 8.290ms";
+        ShenandoahConcurrentEvent event = new ShenandoahConcurrentEvent(logLine);
+        assertEquals("Concurrent marking", event.getPhase(), "Phase not parsed correctly.");
+        assertEquals(8290, event.getDurationMicros(), "Duration not parsed correctly.");
+        assertEquals((long) 376, event.getTimestamp(), "Time stamp not parsed correctly.");
+        assertTrue(event.isMark(), "Mark not identified.");
+        assertFalse(event.isCycle(), "Cycle incorrectly identified.");
+    }
+
     @Test
     void testUnifiedMarkingProcessWeakrefs() {
         String logLine = "[0.454s][info][gc] GC(0) Concurrent marking (process weakrefs) 17M->19M(64M) 15.264ms";
@@ -141,6 +141,27 @@ class TestUnifiedConcurrentEvent {
                 "Log line not recognized as " + JdkUtil.LogEventType.UNIFIED_CONCURRENT.toString() + ".");
     }
 
+    @Test
+    void testConcurrentMarkWithTimesDataConcurrentData() {
+        String logLine = "[2023-01-01T00:00:00.000+0000][1.116s][info][gc,phases   ] GC(2) Y: Concurrent Mark 1,204ms "
+                + "User=0.01s Sys=0.00s Real=0.00s";
+        UnifiedConcurrentEvent event = new UnifiedConcurrentEvent(logLine);
+        assertEquals("Y: Concurrent Mark", event.getPhase(), "Phase not parsed correctly.");
+        assertEquals(1204, event.getDurationMicros(), "Duration not parsed correctly.");
+        assertTrue(event.isMark(), "Mark not identified.");
+        assertFalse(event.isCycle(), "Cycle incorrectly identified.");
+        assertEquals(1, event.getTimeUser(), "User time not parsed correctly.");
+        assertEquals(0, event.getTimeSys(), "Sys time not parsed correctly.");
+    }
+
+    @Test
+    void testConcurrentMarkZGenerationalOldConcurrentData() {
+        String logLine = "[0.213s][info][gc,phases   ] GC(2) O: Concurrent Mark 0.295ms";
+        UnifiedConcurrentEvent event = new UnifiedConcurrentEvent(logLine);
+        assertEquals("O: Concurrent Mark", event.getPhase(), "Phase not parsed correctly.");
+        assertFalse(event.isMark(), "Old generation mark incorrectly identified as a cycle mark.");
+    }
+
     @Test
     void testConcurrentMarkZGenerationalYoung() {
         String logLine = "[0.305s][info][gc,phases   ] GC(3) y: Concurrent Mark 8.889ms";
@@ -342,6 +363,17 @@ class TestUnifiedConcurrentEvent {
                 "Log line not recognized as " + JdkUtil.LogEventType.UNIFIED_CONCURRENT.toString() + ".");
     }
 
+    @Test
+    void testCycleDetailedWithDurationConcurrentData() {
+        String logLine = "[0.117s][info][gc            ] GC(2) Concurrent Cycle 2.822ms";
+        UnifiedConcurrentEvent event = new UnifiedConcurrentEvent(logLine);
+        assertEquals("Concurrent Cycle", event.getPhase(), "Phase not parsed correctly.");
+        assertEquals(2822, event.getDurationMicros(), "Duration not parsed correctly.");
+        assertEquals((long) 115, event.getTimestamp(), "Time stamp not parsed correctly.");
+        assertTrue(event.isCycle(), "Cycle not identified.");
+        assertFalse(event.isMark(), "Mark incorrectly identified.");
+    }
+
     @Test
     void testDiscoveredReferences() {
         String logLine = "[0.212s][info][gc,ref      ] GC(1) Discovered  references: Soft: 0, Weak: 108, Final: 0, "
@@ -246,6 +246,23 @@ class TestUnifiedSafepointEvent {
         assertEquals(156813, event.getTimeThreadsStopped(), "Time threads stopped not parsed correctly.");
     }
 
+    @Test
+    void testPidDebugJdk17Update8() {
+        String logLine = "[2023-12-12T10:21:02.708+0200][35ms][1863][debug][safepoint   ] JDK17U8 Safepoint "
+                + "\"Cleanup\", Time since last: 1000407638 ns, Reaching safepoint: 18298588 ns, Cleanup: 9032 ns, "
+                + "At safepoint: 461108 ns, Total: 18768728 ns";
+        assertTrue(UnifiedSafepointEvent.match(logLine),
+                "Log line not recognized as " + JdkUtil.LogEventType.UNIFIED_SAFEPOINT.toString() + ".");
+        UnifiedSafepointEvent event = new UnifiedSafepointEvent(logLine);
+        assertEquals(Trigger.CLEANUP, event.getTrigger(), "Trigger not parsed correctly.");
+        assertEquals(35 - 18, event.getTimestamp(), "Time stamp not parsed correctly.");
+        assertEquals(18298588, event.getTimeToStopThreads(), "Time to stop threads not parsed correctly.");
+        assertEquals(9032, event.getTimeCleanup(), "Time cleanup not parsed correctly.");
+        assertEquals(461108, event.getTimeThreadsStopped(), "Time threads stopped not parsed correctly.");
+        assertEquals(18298588 + 9032 + 461108, event.getDurationNanos(), "Duration not calculated correctly.");
+        assertTrue(event.isEndstamp(), "Time stamp not identified as end of event.");
+    }
+
     @Test
     void testPreprocessedTriggerCgcOperation() {
         String logLine = "[2022-06-06T08:27:45.926-0500] Entering safepoint region: CGC_Operation[2022-06-06T"
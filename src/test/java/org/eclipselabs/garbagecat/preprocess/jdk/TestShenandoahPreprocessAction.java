@@ -866,6 +866,30 @@ class TestShenandoahPreprocessAction {
                 JdkUtil.LogEventType.UNIFIED_SAFEPOINT.toString() + " collector not identified.");
     }
 
+    /**
+     * Test Shenandoah logging starting with more non-Shenandoah log lines than are read to sniff the header (e.g. a
+     * rotated log).
+     */
+    @Test
+    void testJdk17UptimeSafepointLinesFirst() throws IOException {
+        File testFile = TestUtil.getFile("dataset236.txt");
+        GcManager gcManager = new GcManager();
+        List<String> logLines = Files.readAllLines(Paths.get(testFile.toURI()));
+        String safepointLogLine = logLines.get(8);
+        for (int i = 0; i < Constants.HEADER_LINE_LIMIT; i++) {
+            logLines.add(0, safepointLogLine);
+        }
+        logLines = gcManager.preprocess(logLines, null);
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        assertEquals(0, jvmRun.getUnidentifiedLogLineCount(), "Unidentified log line count not correct.");
+        assertTrue(jvmRun.getEventTypes().contains(LogEventType.SHENANDOAH_INIT_MARK),
+                JdkUtil.LogEventType.SHENANDOAH_INIT_MARK.toString() + " collector not identified.");
+        assertTrue(jvmRun.getEventTypes().contains(LogEventType.SHENANDOAH_FINAL_MARK),
+                JdkUtil.LogEventType.SHENANDOAH_FINAL_MARK.toString() + " collector not identified.");
+    }
+
     @Test
     void testMetaspaceDataJdk11() {
         String logLine = "[0.258s] Metaspace: 3477K->3501K(1056768K)";
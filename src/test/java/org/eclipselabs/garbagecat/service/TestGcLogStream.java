@@ -0,0 +1,151 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.domain.SafepointEvent;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestGcLogStream {
+
+    /**
+     * Counts the events received.
+     */
+    private static class CountingListener implements GcEventListener {
+
+        private final List<Analysis> analysis = new ArrayList<Analysis>();
+
+        private int blockingEventCount;
+
+        private int safepointEventCount;
+
+        private int unidentifiedCount;
+
+        @Override
+        public void onAnalysis(Analysis item) {
+            analysis.add(item);
+        }
+
+        @Override
+        public void onBlockingEvent(BlockingEvent event) {
+            blockingEventCount++;
+        }
+
+        @Override
+        public void onSafepoint(SafepointEvent event) {
+            safepointEventCount++;
+        }
+
+        @Override
+        public void onUnidentified(String logLine) {
+            unidentifiedCount++;
+        }
+    }
+
+    private static JvmRun getJvmRun(GcManager gcManager) {
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        jvmRun.doAnalysis();
+        return jvmRun;
+    }
+
+    private static List<String> getAnalysisKeys(JvmRun jvmRun) {
+        List<String> keys = new ArrayList<String>();
+        for (String[] item : jvmRun.getAnalysis()) {
+            keys.add(item[0]);
+        }
+        return keys;
+    }
+
+    /**
+     * Compare streaming bytes (in small chunks split mid line) with preprocessing and storing the whole file.
+     */
+    private static void assertSameAsBatch(String dataset) throws IOException {
+        List<String> logLines = Files.readAllLines(TestUtil.getFile(dataset).toPath());
+        GcManager batchManager = new GcManager();
+        batchManager.store(batchManager.preprocess(logLines, null), false);
+        JvmRun batch = getJvmRun(batchManager);
+
+        GcManager streamManager = new GcManager();
+        CountingListener listener = new CountingListener();
+        streamManager.addListener(listener);
+        byte[] bytes = Files.readAllBytes(TestUtil.getFile(dataset).toPath());
+        try (GcLogStream stream = new GcLogStream(streamManager, true, null, false)) {
+            for (int i = 0; i < bytes.length; i += 7) {
+                stream.write(ByteBuffer.wrap(bytes, i, Math.min(7, bytes.length - i)));
+            }
+        }
+        JvmRun streamed = getJvmRun(streamManager);
+
+        assertEquals(batch.getBlockingEventCount(), streamed.getBlockingEventCount(),
+                dataset + " blocking event count not correct.");
+        assertEquals(batch.getPauseHistogram().getTotal(), streamed.getPauseHistogram().getTotal(),
+                dataset + " pause total not correct.");
+        assertEquals(batch.getUnidentifiedLogLineCount(), streamed.getUnidentifiedLogLineCount(),
+                dataset + " unidentified log line count not correct.");
+        assertEquals(getAnalysisKeys(batch), getAnalysisKeys(streamed), dataset + " analysis not correct.");
+        assertEquals(streamed.getBlockingEventCount(), listener.blockingEventCount,
+                dataset + " blocking events not received.");
+        assertEquals(streamed.getStoppedTimeEventCount() + streamed.getUnifiedSafepointEventCount(),
+                listener.safepointEventCount, dataset + " safepoint events not received.");
+        assertEquals(streamed.getUnidentifiedLogLineCount(), listener.unidentifiedCount,
+                dataset + " unidentified log lines not received.");
+    }
+
+    @Test
+    void testSameAsBatch() throws IOException {
+        assertSameAsBatch("dataset1.txt");
+        assertSameAsBatch("dataset242.txt");
+        assertSameAsBatch("dataset243.txt");
+        assertSameAsBatch("dataset278.txt");
+    }
+
+    @Test
+    void testAnalysisListener() {
+        GcManager gcManager = new GcManager();
+        CountingListener listener = new CountingListener();
+        gcManager.addListener(listener);
+        try (GcLogStream stream = new GcLogStream(gcManager, false, null, false)) {
+            stream.write("GC time is exceeding GCTimeLimit of 98%");
+            stream.write("GC time would exceed GCTimeLimit of 98%");
+            stream.write("unidentified");
+        }
+        assertEquals(1, listener.analysis.size(), "Analysis not received once.");
+        assertEquals(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED, listener.analysis.get(0), "Analysis not correct.");
+        assertEquals(1, listener.unidentifiedCount, "Unidentified log line not received.");
+    }
+
+    @Test
+    void testWriteAfterClose() {
+        GcLogStream stream = new GcLogStream(new GcManager(), false, null, false);
+        stream.close();
+        assertThrows(IllegalStateException.class, () -> stream.write("unidentified"));
+    }
+}
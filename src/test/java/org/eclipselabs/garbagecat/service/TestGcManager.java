@@ -13,19 +13,30 @@
 package org.eclipselabs.garbagecat.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.JvmRun;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.LogEntrySpill;
+import org.eclipselabs.garbagecat.util.MappedLogFile;
+import org.eclipselabs.garbagecat.util.RegexGuard;
+import org.eclipselabs.garbagecat.util.RunTimeWindow;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -80,11 +91,136 @@ class TestGcManager {
         assertEquals(currentLogLine, preprocessedLogLine, "Preprocessing incorrectly changed log line.");
     }
 
+    /**
+     * CMS and unified concurrent events are not the first log event.
+     */
+    @Test
+    void testFirstLogEventNotConcurrent() {
+        List<String> logLines = Arrays.asList("408365.532: [CMS-concurrent-mark: 0.476/10.257 secs]",
+                "[16.050s][info][gc,marking   ] GC(969) Concurrent Mark (16.017s, 16.050s) 33.614ms");
+        GcManager gcManager = new GcManager();
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        assertTrue(jvmRun.getEventTypes().contains(LogEventType.CMS_CONCURRENT),
+                LogEventType.CMS_CONCURRENT + " not identified.");
+        assertTrue(jvmRun.getEventTypes().contains(LogEventType.UNIFIED_CONCURRENT),
+                LogEventType.UNIFIED_CONCURRENT + " not identified.");
+        assertNull(jvmRun.getFirstLogEvent(), "Concurrent event is first log event.");
+    }
+
     /**
      * Test for NullPointerException.
      * 
      * @throws IOException
      */
+    @Test
+    void testLogEntrySpill() throws IOException {
+        File testFile = TestUtil.getFile("dataset242.txt");
+        List<String> logLines = Files.readAllLines(Paths.get(testFile.toURI()));
+        GcManager gcManager = new GcManager();
+        gcManager.store(logLines, false);
+        try (LogEntrySpill spill = new LogEntrySpill()) {
+            GcManager spillGcManager = new GcManager();
+            spillGcManager.setLogEntrySpill(spill);
+            spillGcManager.store(logLines, false);
+            List<BlockingEvent> blockingEvents = gcManager.getBlockingEvents();
+            List<BlockingEvent> spillBlockingEvents = spillGcManager.getBlockingEvents();
+            assertTrue(blockingEvents.size() > 0, "Blocking events not stored.");
+            assertEquals(blockingEvents.size(), spillBlockingEvents.size(), "Blocking event count not correct.");
+            for (int i = 0; i < blockingEvents.size(); i++) {
+                assertEquals(blockingEvents.get(i).getLogEntry(), spillBlockingEvents.get(i).getLogEntry(),
+                        "Log entry not correct.");
+            }
+            assertTrue(spill.getSize() > 0, "Log entries not spilled.");
+        }
+    }
+
+    @Test
+    void testQuarantinedLogLine() {
+        String logLine = "2021-10-08T21:58:51.878+0300: 66.915: [GC (Allocation Failure) INFO  [main] Started in "
+                + "12.5 seconds";
+        long stepBudget = RegexGuard.getStepBudget();
+        GcManager gcManager = new GcManager();
+        try {
+            RegexGuard.setStepBudget(20);
+            gcManager.store(logLine, false);
+        } finally {
+            RegexGuard.setStepBudget(stepBudget);
+        }
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        assertEquals(1, jvmRun.getUnidentifiedLogLineCount(), "Log line not unidentified.");
+        assertEquals(1, jvmRun.getQuarantinedLogLineCount(), "Log line not quarantined.");
+    }
+
+    /**
+     * Compare preprocessing and storing log lines as they are preprocessed with preprocessing and storing the whole
+     * file.
+     */
+    private static void assertStoreSameAsPreprocess(String dataset) throws IOException {
+        File testFile = TestUtil.getFile(dataset);
+        List<String> logLines = Files.readAllLines(testFile.toPath());
+        GcManager batchManager = new GcManager();
+        batchManager.store(batchManager.preprocess(logLines, null), false);
+        JvmRun batch = batchManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        batch.doAnalysis();
+
+        GcManager gcManager = new GcManager();
+        try (MappedLogFile logFile = new MappedLogFile(testFile.toPath())) {
+            gcManager.store(logFile.getLines(), null, false);
+        }
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        jvmRun.doAnalysis();
+
+        assertTrue(gcManager.isPreprocessed(), dataset + " not preprocessed.");
+        assertEquals(batch.getBlockingEventCount(), jvmRun.getBlockingEventCount(),
+                dataset + " blocking event count not correct.");
+        assertEquals(batch.getUnidentifiedLogLineCount(), jvmRun.getUnidentifiedLogLineCount(),
+                dataset + " unidentified log line count not correct.");
+        assertEquals(batch.getEventTypes(), jvmRun.getEventTypes(), dataset + " event types not correct.");
+        assertEquals(batch.getAnalysis().size(), jvmRun.getAnalysis().size(), dataset + " analysis not correct.");
+    }
+
+    @Test
+    void testRetentionLimits() throws IOException {
+        List<String> logLines = new ArrayList<String>();
+        for (int i = 0; i < 10; i++) {
+            logLines.add("Unidentified log line " + i);
+        }
+        GcManager gcManager = new GcManager();
+        gcManager.setUnidentifiedLogLineLimits(2, 1);
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        assertEquals(10, jvmRun.getUnidentifiedLogLineCount(), "Unidentified log line count not correct.");
+        assertEquals(3, jvmRun.getUnidentifiedLogLines().size(), "Unidentified log lines not limited.");
+        assertEquals("Unidentified log line 0", jvmRun.getUnidentifiedLogLines().get(0),
+                "First unidentified log line not retained.");
+
+        File testFile = TestUtil.getFile("dataset242.txt");
+        gcManager = new GcManager();
+        gcManager.setRunTimeWindowEntryLimits(1, 0);
+        gcManager.store(Files.readAllLines(Paths.get(testFile.toURI())), false);
+        jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        assertTrue(jvmRun.getRunTimeWindows().stream().anyMatch(window -> window.getLogEntries().getCount() > 1),
+                "Run time window with more than one log entry not found.");
+        for (RunTimeWindow window : jvmRun.getRunTimeWindows()) {
+            assertTrue(window.getLogEntries().size() <= 1, "Run time window log entries not limited.");
+        }
+    }
+
+    @Test
+    void testStorePreprocessed() throws IOException {
+        assertStoreSameAsPreprocess("dataset1.txt");
+        assertStoreSameAsPreprocess("dataset243.txt");
+        assertStoreSameAsPreprocess("dataset261.txt");
+        assertStoreSameAsPreprocess("dataset278.txt");
+    }
+
     @Test
     void testNullPointerExceptionNotRaised() throws IOException {
         File testFile = TestUtil.getFile("dataset31.txt");
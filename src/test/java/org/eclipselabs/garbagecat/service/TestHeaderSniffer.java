@@ -0,0 +1,83 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.service.HeaderSniffer.Decorator;
+import org.eclipselabs.garbagecat.service.HeaderSniffer.Format;
+import org.eclipselabs.garbagecat.util.Constants;
+import org.github.joa.domain.GarbageCollector;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestHeaderSniffer {
+
+    @Test
+    void testLegacy() throws IOException {
+        HeaderSniffer headerSniffer = HeaderSniffer
+                .sniff(Files.readAllLines(TestUtil.getFile("dataset42.txt").toPath()));
+        assertEquals(Format.LEGACY, headerSniffer.getFormat(), "Format not correct.");
+        assertEquals(Decorator.DATESTAMP_UPTIME, headerSniffer.getDecorator(), "Decorator not correct.");
+        assertArrayEquals(new int[] { 7, 85 }, headerSniffer.getJdkVersion(), "JDK version not correct.");
+        assertEquals(Arrays.asList(GarbageCollector.PAR_NEW, GarbageCollector.CMS),
+                headerSniffer.getGarbageCollectors(), "Garbage collectors not correct.");
+    }
+
+    @Test
+    void testLineLimit() {
+        HeaderSniffer headerSniffer = new HeaderSniffer();
+        for (int i = 1; i < Constants.HEADER_LINE_LIMIT; i++) {
+            assertTrue(headerSniffer.add("unidentified"), "Log line not read.");
+        }
+        assertFalse(headerSniffer.add("unidentified"), "Header sniffing not done.");
+        assertFalse(headerSniffer.add("[0.011s][info][gc] Using G1"), "Log line read after header sniffing done.");
+        assertNull(headerSniffer.getFormat(), "Format not correct.");
+        assertNull(headerSniffer.getJdkVersion(), "JDK version not correct.");
+    }
+
+    @Test
+    void testUnified() throws IOException {
+        HeaderSniffer headerSniffer = HeaderSniffer
+                .sniff(Files.readAllLines(TestUtil.getFile("dataset240.txt").toPath()));
+        assertEquals(Format.UNIFIED, headerSniffer.getFormat(), "Format not correct.");
+        assertEquals(Decorator.UPTIME, headerSniffer.getDecorator(), "Decorator not correct.");
+        assertArrayEquals(new int[] { 17, 1 }, headerSniffer.getJdkVersion(), "JDK version not correct.");
+        assertEquals(Arrays.asList(GarbageCollector.SHENANDOAH), headerSniffer.getGarbageCollectors(),
+                "Garbage collectors not correct.");
+        assertTrue(headerSniffer.isDone(), "Header sniffing not done after reading all logging.");
+    }
+
+    @Test
+    void testUnifiedDecorators() {
+        HeaderSniffer headerSniffer = new HeaderSniffer();
+        headerSniffer.add("[2022-08-03T06:58:37.056+0000][1863ms][gc] Using G1");
+        assertEquals(Format.UNIFIED, headerSniffer.getFormat(), "Format not correct.");
+        assertEquals(Decorator.DATESTAMP_UPTIMEMILLIS, headerSniffer.getDecorator(), "Decorator not correct.");
+        headerSniffer = new HeaderSniffer();
+        headerSniffer.add("[2022-08-03T06:58:37.056+0000][1863][gc] Using G1");
+        assertEquals(Decorator.DATESTAMP, headerSniffer.getDecorator(), "Decorator not correct.");
+    }
+}
@@ -0,0 +1,70 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.util.Constants;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestLineAssembler {
+
+    private static final String SEP = Constants.LINE_SEPARATOR;
+
+    @Test
+    void testAppend() {
+        List<String> logEntries = new ArrayList<String>();
+        LineAssembler assembler = new LineAssembler(logEntries::add);
+        assertTrue(assembler.isEmpty(), "Assembler not empty.");
+        assembler.add("[GC pause (G1 Evacuation Pause) (young)", false);
+        assertFalse(assembler.isEmpty(), "Assembler empty.");
+        assembler.add(", 0.0209631 secs]", true);
+        assembler.add(" [Eden: 1024K(1024K)->0B(1024K)]" + SEP + SEP + "next" + SEP, true);
+        assertTrue(assembler.endsWith("next"), "Current log entry not correct.");
+        assembler.flush();
+        assertEquals(Arrays.asList("[GC pause (G1 Evacuation Pause) (young), 0.0209631 secs] [Eden: 1024K(1024K)->0B"
+                + "(1024K)]", "next"), logEntries, "Log entries not correct.");
+        assertTrue(assembler.isEmpty(), "Assembler not empty.");
+    }
+
+    @Test
+    void testLines() {
+        String[] logLines = { "", "a", SEP, SEP + SEP, "a" + SEP, SEP + "a", "a" + SEP + SEP + "b",
+                "a" + SEP + "b" + SEP + SEP, SEP + SEP + "a" + SEP + "b" };
+        for (String logLine : logLines) {
+            assertEquals(logLine.split(SEP).length, LineAssembler.lines(logLine),
+                    "Line count not correct for '" + logLine + "'.");
+        }
+    }
+
+    @Test
+    void testSkipEmptyLines() {
+        List<String> logEntries = new ArrayList<String>();
+        LineAssembler assembler = new LineAssembler(logEntries::add);
+        assembler.add(SEP + "a" + SEP + SEP + "b" + SEP, false);
+        assembler.add("", false);
+        assembler.start("c" + SEP + "d");
+        assembler.flush();
+        assertEquals(Arrays.asList("a", "b", "c" + SEP + "d"), logEntries, "Log entries not correct.");
+    }
+}
@@ -0,0 +1,70 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestPreprocessContext {
+
+    @Test
+    void testFamilies() {
+        assertArrayEquals(PreprocessFamily.values(), PreprocessFamily.getFamilies(0, true), "Families not correct.");
+        assertArrayEquals(new PreprocessFamily[] { PreprocessFamily.G1 },
+                PreprocessFamily.getFamilies(PreprocessFamily.G1.getFlag(), true), "Families not correct.");
+        assertArrayEquals(new PreprocessFamily[] { PreprocessFamily.SHENANDOAH, PreprocessFamily.UNIFIED },
+                PreprocessFamily.getFamilies(PreprocessFamily.UNIFIED.getFlag(), true), "Families not correct.");
+        assertArrayEquals(new PreprocessFamily[] { PreprocessFamily.UNIFIED },
+                PreprocessFamily.getFamilies(PreprocessFamily.UNIFIED.getFlag(), false), "Families not correct.");
+        assertArrayEquals(new PreprocessFamily[] { PreprocessFamily.SHENANDOAH, PreprocessFamily.UNIFIED,
+                PreprocessFamily.PARALLEL }, PreprocessFamily.getFamilies(PreprocessFamily.SHENANDOAH.getFlag(), false),
+                "Families not correct.");
+        assertArrayEquals(new PreprocessFamily[0],
+                PreprocessFamily.getFamilies(PreprocessFamily.G1.getFlag() | PreprocessFamily.CMS.getFlag(), true),
+                "Families not correct.");
+    }
+
+    @Test
+    void testTokens() {
+        PreprocessContext context = new PreprocessContext();
+        assertTrue(context.add(PreprocessAction.NEWLINE), "Token not added.");
+        assertTrue(context.add(G1PreprocessAction.TOKEN), "Token not added.");
+        assertFalse(context.add(G1PreprocessAction.TOKEN), "Token added twice.");
+        assertEquals(2, context.size(), "Size not correct.");
+        assertTrue(context.contains(G1PreprocessAction.TOKEN), "Token not held.");
+        assertFalse(context.contains(UnifiedPreprocessAction.TOKEN), "Token incorrectly held.");
+        assertEquals(PreprocessFamily.G1.getFlag(), context.getFamilies(), "Families not correct.");
+        Set<String> hashSet = new HashSet<>(context);
+        assertEquals(hashSet, context, "Set not equal.");
+        assertEquals(PreprocessFamily.getTokens(hashSet), PreprocessFamily.getTokens(context), "Tokens not correct.");
+        assertTrue(context.remove(G1PreprocessAction.TOKEN), "Token not removed.");
+        assertFalse(context.remove(G1PreprocessAction.TOKEN), "Token removed twice.");
+        assertEquals(0, context.getFamilies(), "Families not correct.");
+        context.removeIf(token -> token.equals(PreprocessAction.NEWLINE));
+        assertTrue(context.isEmpty(), "Context not empty.");
+    }
+}
@@ -0,0 +1,116 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Fuzz benchmark. Every <code>Pattern</code> constant of the event and preprocess classes is matched against fuzzed
+ * log lines from the test datasets (see {@link TestRegexGuard#getFuzzedLogLines()}). The worst case steps (characters
+ * read) and time of each pattern are written to standard output, slowest first.
+ * </p>
+ * 
+ * <p>
+ * It is not run by the unit tests ({@link TestRegexGuard#testFuzzStepBudget()} checks the step budget). Run it on the
+ * test classpath, for example:
+ * </p>
+ * 
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.eclipselabs.garbagecat.util.RegexGuardBenchmark
+ * </pre>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class RegexGuardBenchmark {
+
+    /**
+     * <code>CharSequence</code> that counts the characters read, the way <code>RegexGuard</code> does.
+     */
+    private static final class CountingCharSequence implements CharSequence {
+
+        private final CharSequence input;
+
+        private long steps;
+
+        private CountingCharSequence(CharSequence input) {
+            this.input = input;
+        }
+
+        public char charAt(int index) {
+            if (++steps > RegexGuard.getStepBudget()) {
+                throw new IllegalStateException("Step budget exceeded.");
+            }
+            return input.charAt(index);
+        }
+
+        public int length() {
+            return input.length();
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return input.subSequence(start, end);
+        }
+
+        public String toString() {
+            return input.toString();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> fuzzedLogLines = TestRegexGuard.getFuzzedLogLines();
+        List<Object[]> patterns = TestRegexGuard.getPatterns();
+        // Warm up the regular expression engine, so the times are not compile times.
+        for (Object[] pattern : patterns) {
+            for (String logLine : fuzzedLogLines.subList(0, 200)) {
+                RegexGuard.matches((Pattern) pattern[1], logLine);
+            }
+        }
+        List<Object[]> worstCases = new ArrayList<>();
+        for (Object[] pattern : patterns) {
+            long worstSteps = 0;
+            long worstNanos = 0;
+            String abortedLogLine = null;
+            for (String logLine : fuzzedLogLines) {
+                // The fastest of a few matches, so a gc pause is not taken for a slow match
+                long nanos = Long.MAX_VALUE;
+                for (int i = 0; i < 3; i++) {
+                    CountingCharSequence input = new CountingCharSequence(logLine);
+                    long start = System.nanoTime();
+                    try {
+                        ((Pattern) pattern[1]).matcher(input).matches();
+                    } catch (IllegalStateException e) {
+                        abortedLogLine = logLine;
+                    }
+                    nanos = Math.min(nanos, System.nanoTime() - start);
+                    worstSteps = Math.max(worstSteps, input.steps);
+                }
+                worstNanos = Math.max(worstNanos, nanos);
+            }
+            worstCases.add(new Object[] { pattern[0], worstSteps, worstNanos, abortedLogLine });
+        }
+        worstCases.sort((w1, w2) -> Long.compare((Long) w2[2], (Long) w1[2]));
+        System.out.println(String.format("%-70s %12s %12s", "Pattern", "Worst steps", "Worst us"));
+        for (Object[] worstCase : worstCases) {
+            System.out.println(String.format("%-70s %12d %12.1f", worstCase[0], worstCase[1],
+                    (Long) worstCase[2] / 1000.0));
+            if (worstCase[3] != null) {
+                System.out.println("  exceeded the step budget: " + worstCase[3]);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestBootstrap {
+
+    private static LatencyHistogram histogram(long seed, double mean) {
+        Random random = new Random(seed);
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 2000; i++) {
+            histogram.record((long) (mean + random.nextGaussian() * mean / 5));
+        }
+        return histogram;
+    }
+
+    @Test
+    void testNoise() {
+        // Two samples from the same distribution
+        long[][] intervals = new Bootstrap(200, 95).getDeltaIntervals(histogram(1, 10000), histogram(2, 10000), 50,
+                90);
+        for (long[] interval : intervals) {
+            assertTrue(interval[0] <= 0 && interval[1] >= 0, "Interval does not include 0.");
+        }
+    }
+
+    @Test
+    void testImprovement() {
+        // The candidate pauses are 20% shorter
+        long[][] intervals = new Bootstrap(200, 95).getDeltaIntervals(histogram(1, 10000), histogram(2, 8000), 50,
+                90);
+        for (long[] interval : intervals) {
+            assertTrue(interval[0] <= interval[1], "Interval not ordered.");
+            assertTrue(interval[1] < 0, "Interval includes 0.");
+            assertTrue(interval[0] > -4000, "Interval too wide.");
+        }
+    }
+
+    @Test
+    void testTooFewValues() {
+        LatencyHistogram one = new LatencyHistogram();
+        one.record(1000);
+        assertNull(new Bootstrap(200, 95).getDeltaIntervals(one, histogram(1, 10000), 50),
+                "Interval computed for too few values.");
+    }
+}
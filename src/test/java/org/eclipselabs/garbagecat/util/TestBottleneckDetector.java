@@ -0,0 +1,76 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestBottleneckDetector {
+
+    private static BottleneckDetector detect(int limit) {
+        BottleneckDetector detector = new BottleneckDetector(90, limit);
+        detector.add(new ParallelScavengeEvent("e1", 1000L, 100000));
+        detector.add(new ParallelScavengeEvent("e2", 1200L, 100000));
+        detector.add(new ParallelScavengeEvent("e3", 1400L, 100000));
+        detector.add(new ParallelScavengeEvent("e4", 11000L, 10000));
+        detector.add(new ParallelScavengeEvent("e5", 11050L, 40000));
+        return detector;
+    }
+
+    @Test
+    void testIntervalsMerged() {
+        BottleneckDetector detector = detect(10);
+        List<Bottleneck> bottlenecks = detector.getBottlenecks();
+        assertEquals(2, detector.getIntervalCount(), "Interval count not correct.");
+        assertEquals(2, bottlenecks.size(), "Retained interval count not correct.");
+        Bottleneck first = bottlenecks.get(0);
+        assertEquals(1000L, first.getStartTimestamp(), "Start timestamp not correct.");
+        assertEquals(1500L, first.getEndTimestamp(), "End timestamp not correct.");
+        assertEquals(3, first.getEventCount(), "Event count not correct.");
+        assertEquals(300000L, first.getPauseTotal(), "Pause total not correct.");
+        assertEquals(40, first.getThroughput(), "Throughput not correct.");
+        assertEquals("e1", first.getFirstLogEntry(), "First log entry not correct.");
+        assertEquals("e1", first.getWorstLogEntry(), "Worst log entry not correct.");
+        assertEquals("e3", first.getLastLogEntry(), "Last log entry not correct.");
+        Bottleneck second = bottlenecks.get(1);
+        assertEquals(2, second.getEventCount(), "Event count not correct.");
+        assertEquals(44, second.getThroughput(), "Throughput not correct.");
+        assertEquals("e5", second.getWorstLogEntry(), "Worst log entry not correct.");
+    }
+
+    @Test
+    void testLimit() {
+        BottleneckDetector detector = detect(1);
+        List<Bottleneck> bottlenecks = detector.getBottlenecks();
+        assertEquals(2, detector.getIntervalCount(), "Interval count not correct.");
+        assertEquals(1, bottlenecks.size(), "Retained interval count not correct.");
+        assertEquals(300000L, bottlenecks.get(0).getPauseTotal(), "Worst interval not retained.");
+    }
+
+    @Test
+    void testNoBottlenecks() {
+        BottleneckDetector detector = new BottleneckDetector(90, 10);
+        detector.add(new ParallelScavengeEvent("e1", 1000L, 1000));
+        detector.add(new ParallelScavengeEvent("e2", 2000L, 1000));
+        assertEquals(0, detector.getIntervalCount(), "Interval count not correct.");
+        assertEquals(0, detector.getBottlenecks().size(), "Retained interval count not correct.");
+    }
+}
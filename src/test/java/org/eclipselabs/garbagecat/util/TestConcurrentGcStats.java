@@ -0,0 +1,92 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipselabs.garbagecat.domain.jdk.CmsConcurrentEvent;
+import org.eclipselabs.garbagecat.domain.jdk.G1ConcurrentEvent;
+import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedConcurrentEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestConcurrentGcStats {
+
+    private static void add(ConcurrentGcStats stats, UnifiedConcurrentEvent event) {
+        stats.add(event, event.getTimestamp());
+    }
+
+    @Test
+    void testCms() {
+        ConcurrentGcStats stats = new ConcurrentGcStats();
+        CmsConcurrentEvent mark = new CmsConcurrentEvent(
+                "3,169: [CMS-concurrent-mark: 0,053/0,071 secs] [Times: user=0,07 sys=0,00, real=0,07 secs]");
+        stats.add(mark, mark.getTimestamp());
+        CmsConcurrentEvent sweep = new CmsConcurrentEvent(
+                "4,000: [CMS-concurrent-sweep: 0,010/0,029 secs] [Times: user=0,03 sys=0,01, real=0,03 secs]");
+        stats.add(sweep, sweep.getTimestamp());
+        CmsConcurrentEvent start = new CmsConcurrentEvent("5,000: [CMS-concurrent-mark-start]");
+        stats.add(start, start.getTimestamp());
+        assertEquals(2, stats.getPhases().size(), "Phase count not correct.");
+        assertEquals(1, stats.getCycleCount(), "Cycle count not correct.");
+        assertEquals(100000, stats.getDurationTotal(), "Duration total not correct.");
+        assertEquals(10, stats.getTimeUser(), "User time not correct.");
+        assertEquals(1, stats.getTimeSys(), "Sys time not correct.");
+        assertEquals(10, stats.getDutyCycle(1000), "Duty cycle not correct.");
+        assertEquals(11, stats.getCpuOverhead(1000), "Cpu overhead not correct.");
+    }
+
+    @Test
+    void testCyclesPreferredOverMarks() {
+        ConcurrentGcStats stats = new ConcurrentGcStats();
+        add(stats, new UnifiedConcurrentEvent(
+                "[0.116s][info][gc,marking   ] GC(2) Concurrent Mark (0.114s, 0.116s) 1.204ms"));
+        add(stats, new UnifiedConcurrentEvent("[0.117s][info][gc            ] GC(2) Concurrent Cycle 2.822ms"));
+        add(stats, new UnifiedConcurrentEvent(
+                "[1.116s][info][gc,marking   ] GC(5) Concurrent Mark (1.114s, 1.116s) 1.204ms"));
+        add(stats, new UnifiedConcurrentEvent("[1.117s][info][gc            ] GC(5) Concurrent Cycle 2.822ms"));
+        assertEquals(2, stats.getCycleCount(), "Cycle count not correct.");
+        assertEquals(2, stats.getMarkDurations().getCount(), "Mark count not correct.");
+        assertEquals(1, stats.getPhases().size(), "Phase count not correct.");
+        assertEquals(5644, stats.getDurationTotal(), "Cycles not used for duration total.");
+        assertEquals(1000, stats.getCycleInterval(), "Cycle interval not correct.");
+    }
+
+    @Test
+    void testEmpty() {
+        ConcurrentGcStats stats = new ConcurrentGcStats();
+        assertTrue(stats.isEmpty(), "Stats not empty.");
+        assertEquals(0, stats.getCycleInterval(), "Cycle interval not correct.");
+        assertEquals(0, stats.getDutyCycle(0), "Duty cycle not correct.");
+        assertEquals(0, stats.getCpuOverhead(1000), "Cpu overhead not correct.");
+    }
+
+    @Test
+    void testG1() {
+        ConcurrentGcStats stats = new ConcurrentGcStats();
+        G1ConcurrentEvent mark = new G1ConcurrentEvent(
+                "251.781: [GC concurrent-mark-end, 0.1371470 secs] [Times: user=0.44 sys=0.00, real=0.08 secs]");
+        stats.add(mark, mark.getTimestamp());
+        G1ConcurrentEvent start = new G1ConcurrentEvent("251.600: [GC concurrent-mark-start]");
+        stats.add(start, start.getTimestamp());
+        assertEquals(1, stats.getPhases().size(), "Phase count not correct.");
+        assertEquals("concurrent-mark", stats.getPhases().get(0).getName(), "Phase name not correct.");
+        assertEquals(137147, stats.getPhases().get(0).getDurationMax(), "Phase duration not correct.");
+        assertEquals(1, stats.getPhases().get(0).getTimesCount(), "Phase times count not correct.");
+        assertEquals(44, stats.getTimeUser(), "User time not correct.");
+    }
+}
@@ -0,0 +1,91 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestDownsampledSeries {
+
+    @Test
+    void testBounded() {
+        DownsampledSeries series = new DownsampledSeries("test", 100);
+        for (int i = 0; i < 1000000; i++) {
+            series.add(i * 10L, i % 1000);
+        }
+        assertEquals(1000000, series.getCount(), "Count not correct.");
+        assertTrue(series.size() <= 100, "Series not downsampled: " + series.size());
+        long[] timestamps = series.getTimestamps();
+        for (int i = 1; i < timestamps.length; i++) {
+            assertTrue(timestamps[i] > timestamps[i - 1], "Timestamps not in order.");
+        }
+    }
+
+    @Test
+    void testCompactKeepsPeaks() {
+        DownsampledSeries series = new DownsampledSeries("test", 4);
+        series.add(0, 50);
+        series.add(1, 90);
+        series.add(2, 10);
+        series.add(3, 60);
+        // Width doubles twice to fit
+        series.add(7, 40);
+        assertArrayEquals(new long[] { 1, 2, 7 }, series.getTimestamps(), "Timestamps not correct.");
+        assertArrayEquals(new long[] { 90, 10, 40 }, series.getValues(), "Values not correct.");
+    }
+
+    @Test
+    void testEmpty() {
+        DownsampledSeries series = new DownsampledSeries("test", 10);
+        assertEquals(0, series.size(), "Size not correct.");
+        assertEquals(0, series.getTimestamps().length, "Timestamps not correct.");
+    }
+
+    @Test
+    void testMinBeforeMax() {
+        DownsampledSeries series = new DownsampledSeries("test", 2);
+        series.add(100, 30);
+        series.add(200, 10);
+        series.add(300, 20);
+        series.add(400, 70);
+        assertArrayEquals(new long[] { 200, 400 }, series.getTimestamps(), "Timestamps not correct.");
+        assertArrayEquals(new long[] { 10, 70 }, series.getValues(), "Values not correct.");
+    }
+
+    @Test
+    void testOccupancySeries() {
+        String logLine = "1025076.327: [GC (Allocation Failure) [PSYoungGen: 335699K->33192K(397312K)] "
+                + "1220565K->918194K(1287680K), 0.0243428 secs] [Times: user=0.07 sys=0.01, real=0.03 secs]";
+        OccupancySeries occupancySeries = new OccupancySeries(10);
+        occupancySeries.add(new ParallelScavengeEvent(logLine));
+        assertEquals(3, occupancySeries.getSeries().size(), "Series count not correct.");
+        assertEquals(1220565, occupancySeries.getHeapBefore().getValues()[0], "Heap before not correct.");
+        assertEquals(918194, occupancySeries.getHeapAfter().getValues()[0], "Heap after not correct.");
+        assertEquals(918194 - 33192, occupancySeries.getOldAfter().getValues()[0], "Old after not correct.");
+        assertEquals(0, occupancySeries.getMetaspaceAfter().getCount(), "Metaspace not correct.");
+        assertEquals(0, occupancySeries.getAllocationRate().getCount(), "Allocation rate not correct.");
+        logLine = "1025077.327: [GC (Allocation Failure) [PSYoungGen: 335699K->33192K(397312K)] "
+                + "1220565K->918194K(1287680K), 0.0243428 secs] [Times: user=0.07 sys=0.01, real=0.03 secs]";
+        occupancySeries.add(new ParallelScavengeEvent(logLine));
+        assertEquals(1220565 - 918194, occupancySeries.getAllocationRate().getValues()[0],
+                "Allocation rate not correct.");
+    }
+}
@@ -0,0 +1,77 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestHtmlReportWriter {
+
+    /**
+     * @param html
+     *            The html report.
+     * @return The report data.
+     */
+    private static String getData(String html) {
+        String start = "var data = ";
+        int index = html.indexOf(start) + start.length();
+        return html.substring(index, html.indexOf(";\n", index));
+    }
+
+    @Test
+    void testCharts() throws IOException {
+        DownsampledSeries pauses = new DownsampledSeries("pause", 10);
+        pauses.add(1000, 2500);
+        pauses.add(2000, 1500);
+        StringWriter out = new StringWriter();
+        try (HtmlReportWriter writer = new HtmlReportWriter(out, "gc.log")) {
+            writer.addSummary("# GC blocking events", 2);
+            writer.addTimeChart("GC pauses", "ms", 1000, true, Collections.singletonList(pauses));
+            writer.addTimeChart("Empty", "MB", 1024, false,
+                    Collections.singletonList(new DownsampledSeries("heap_after", 10)));
+            writer.addBarChart("Triggers", "ms", 1000, Arrays.asList("A", "B"), Arrays.asList(3L, 4L));
+        }
+        String html = out.toString();
+        assertTrue(html.startsWith("<!DOCTYPE html>"), "Template start not correct.");
+        assertTrue(html.trim().endsWith("</html>"), "Template end not correct.");
+        assertFalse(html.contains("/*DATA*/"), "Data placeholder not replaced.");
+        assertFalse(html.contains("<script src"), "External script not allowed.");
+        assertEquals("{\"charts\":[{\"type\":\"scatter\",\"title\":\"GC pauses\",\"unit\":\"ms\",\"scale\":1000,"
+                + "\"series\":[{\"name\":\"pause\",\"count\":2,\"t\":[1000,2000],\"v\":[2500,1500]}]},"
+                + "{\"type\":\"bar\",\"title\":\"Triggers\",\"unit\":\"ms\",\"scale\":1000,\"labels\":[\"A\",\"B\"],"
+                + "\"values\":[3,4]}],\"summary\":[[\"# GC blocking events\",\"2\"]],\"analysis\":[],"
+                + "\"title\":\"gc.log\"}", getData(html), "Data not correct.");
+    }
+
+    @Test
+    void testScriptEscape() throws IOException {
+        StringWriter out = new StringWriter();
+        try (HtmlReportWriter writer = new HtmlReportWriter(out, "</script><script>")) {
+            writer.addAnalysis("a \"quoted\" </b> item");
+        }
+        assertEquals("{\"charts\":[],\"summary\":[],\"analysis\":[\"a \\\"quoted\\\" <\\/b> item\"],"
+                + "\"title\":\"<\\/script><script>\"}", getData(out.toString()), "Data not correct.");
+    }
+}
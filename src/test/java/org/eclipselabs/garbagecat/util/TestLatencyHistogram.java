@@ -0,0 +1,118 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestLatencyHistogram {
+
+    @Test
+    void testBucketBoundaries() {
+        assertEquals(31, LatencyHistogram.bucket(31), "Bucket not correct.");
+        assertEquals(32, LatencyHistogram.bucket(32), "Bucket not correct.");
+        assertEquals(32, LatencyHistogram.bucket(33), "Bucket not correct.");
+        assertEquals(33, LatencyHistogram.bucket(34), "Bucket not correct.");
+        assertEquals(33, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucket(32)), "Upper bound not correct.");
+        for (long value = 0; value < 100000; value++) {
+            long upperBound = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucket(value));
+            assertTrue(upperBound >= value && upperBound - value <= value / 16,
+                    "Upper bound not within precision for " + value + ".");
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucket(Long.MAX_VALUE)),
+                "Upper bound not correct.");
+    }
+
+    @Test
+    void testBinomial() {
+        Random random = new Random(1);
+        assertEquals(0, LatencyHistogram.binomial(100, 0, random), "Binomial not correct.");
+        assertEquals(100, LatencyHistogram.binomial(100, 1, random), "Binomial not correct.");
+        // Small (inversion) and large (normal approximation) means
+        long[] trials = { 20, 1000000 };
+        for (long n : trials) {
+            long total = 0;
+            for (int i = 0; i < 1000; i++) {
+                long successes = LatencyHistogram.binomial(n, 0.3, random);
+                assertTrue(successes >= 0 && successes <= n, "Binomial out of range: " + successes);
+                total += successes;
+            }
+            double mean = total / 1000.0;
+            assertTrue(Math.abs(mean - n * 0.3) < n * 0.3 * 0.05, "Binomial mean not correct: " + mean);
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount(), "Count not correct.");
+        assertEquals(0, histogram.getPercentile(99), "Percentile not correct.");
+    }
+
+    @Test
+    void testParse() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.record(5);
+        histogram.record(1000);
+        assertEquals("3 1010 1000 5:2 " + LatencyHistogram.bucket(1000) + ":1", histogram.toString(),
+                "Literal not correct.");
+        LatencyHistogram parsed = LatencyHistogram.parse(histogram.toString());
+        assertEquals(histogram.toString(), parsed.toString(), "Parsed histogram not correct.");
+        assertEquals(1000, parsed.getPercentile(99), "Parsed percentile not correct.");
+        assertEquals("0 0 0", new LatencyHistogram().toString(), "Empty literal not correct.");
+        assertThrows(IllegalArgumentException.class, () -> LatencyHistogram.parse("2 10 5 5:1"));
+        assertThrows(IllegalArgumentException.class, () -> LatencyHistogram.parse("1 5 5 x:1"));
+    }
+
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        assertEquals(1000, histogram.getCount(), "Count not correct.");
+        assertEquals(500500000L, histogram.getTotal(), "Total not correct.");
+        assertEquals(1000000L, histogram.getMax(), "Max not correct.");
+        long p50 = histogram.getPercentile(50);
+        assertTrue(p50 >= 500000 && p50 <= 500000 + 500000 / 16, "p50 not correct: " + p50);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p99 >= 990000 && p99 <= 1000000, "p99 not correct: " + p99);
+        assertEquals(1000000L, histogram.getPercentile(100), "p100 not correct.");
+        long p0 = histogram.getPercentile(0);
+        assertTrue(p0 >= 1000 && p0 <= 1000 + 1000 / 16, "p0 not correct: " + p0);
+    }
+
+    @Test
+    void testResample() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        LatencyHistogram resample = histogram.resample(new Random(1));
+        assertEquals(1000, resample.getCount(), "Count not correct.");
+        assertTrue(resample.getMax() <= histogram.getMax(), "Max not correct.");
+        long p50 = resample.getPercentile(50);
+        assertTrue(p50 >= 400000 && p50 <= 600000, "p50 not correct: " + p50);
+        assertEquals(0, new LatencyHistogram().resample(new Random(1)).getCount(), "Empty resample not correct.");
+    }
+}
@@ -0,0 +1,68 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestLogEntrySpill {
+
+    @Test
+    void testResolve() throws IOException {
+        try (LogEntrySpill spill = new LogEntrySpill()) {
+            String logEntry = "[0.123s][info][gc] GC(0) Pause Young (Normal) 25M->4M(256M) 3.4ms";
+            LogEntryReference reference = spill.add(logEntry);
+            assertEquals(logEntry, reference.toString(), "Log entry not correct.");
+            assertEquals(65, reference.length(), "Length not correct.");
+            assertEquals('G', reference.charAt(19), "Character not correct.");
+        }
+    }
+
+    @Test
+    void testRegionBoundaries() throws IOException {
+        // Small regions so entries span region boundaries and regions are remapped as the spill grows
+        try (LogEntrySpill spill = new LogEntrySpill(64)) {
+            List<String> logEntries = new ArrayList<String>();
+            List<LogEntryReference> references = new ArrayList<LogEntryReference>();
+            for (int i = 0; i < 1000; i++) {
+                String logEntry = i + ": [GC (Allocation Failure) µ " + i * 31 + "K->" + i + "K, 0.0" + i + " secs]";
+                logEntries.add(logEntry);
+                references.add(spill.add(logEntry));
+                if (i % 7 == 0) {
+                    assertEquals(logEntries.get(i / 2), references.get(i / 2).toString(), "Log entry not correct.");
+                }
+            }
+            for (int i = 0; i < logEntries.size(); i++) {
+                assertEquals(logEntries.get(i), references.get(i).toString(), "Log entry not correct.");
+            }
+        }
+    }
+
+    @Test
+    void testResolveAfterClose() throws IOException {
+        LogEntrySpill spill = new LogEntrySpill();
+        LogEntryReference reference = spill.add("unidentified");
+        spill.close();
+        assertThrows(IllegalStateException.class, () -> reference.toString());
+    }
+}
@@ -0,0 +1,134 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestMappedLogFile {
+
+    private static Path write(File temporaryFolder, String logging) throws IOException {
+        Path file = new File(temporaryFolder, "gc.log").toPath();
+        Files.write(file, logging.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    void testClose(@TempDir File temporaryFolder) throws IOException {
+        MappedLogFile logFile = new MappedLogFile(write(temporaryFolder, "first\nsecond\n"));
+        CharSequence line = logFile.getLine(0);
+        logFile.close();
+        assertThrows(IllegalStateException.class, () -> logFile.get(0));
+        assertThrows(IllegalStateException.class, () -> logFile.getLine(1));
+        assertEquals("first", line.toString(), "View not valid after close.");
+    }
+
+    @Test
+    void testEmpty(@TempDir File temporaryFolder) throws IOException {
+        MappedLogFile logFile = new MappedLogFile(write(temporaryFolder, ""));
+        assertEquals(0, logFile.size(), "Log line count not correct.");
+        assertEquals(Files.readAllLines(write(temporaryFolder, "")), logFile, "Log lines not correct.");
+    }
+
+    @Test
+    void testGetLine(@TempDir File temporaryFolder) throws IOException {
+        String logLine = "[0.123s][info][gc] GC(0) Pause Young (Normal) 25M->4M(256M) 3.4ms";
+        MappedLogFile logFile = new MappedLogFile(write(temporaryFolder, "header\n" + logLine + "\n"));
+        CharSequence line = logFile.getLine(1);
+        assertEquals(logLine.length(), line.length(), "Length not correct.");
+        assertEquals('G', line.charAt(19), "Character not correct.");
+        assertEquals("Pause Young", line.subSequence(25, 36).toString(), "Subsequence not correct.");
+        assertEquals(logLine, line.toString(), "Log line not correct.");
+        assertTrue(RegexGuard.matches(Pattern.compile("^\\[.+\\] GC\\(\\d+\\) Pause Young.+$"), line),
+                "Log line not matched.");
+        assertThrows(IndexOutOfBoundsException.class, () -> line.charAt(logLine.length()));
+        assertThrows(IndexOutOfBoundsException.class, () -> logFile.getLine(2));
+    }
+
+    @Test
+    void testGetLines(@TempDir File temporaryFolder) throws IOException {
+        MappedLogFile logFile = new MappedLogFile(write(temporaryFolder, "first\nsecond\n"));
+        List<CharSequence> lines = logFile.getLines();
+        assertEquals(2, lines.size(), "Log line count not correct.");
+        assertEquals("second", lines.get(1).toString(), "Log line not correct.");
+        CharSequence line = lines.get(0);
+        assertSame(line.toString(), line.toString(), "Log line decoded more than once.");
+    }
+
+    @Test
+    void testLineChunks(@TempDir File temporaryFolder) throws IOException {
+        StringBuilder logging = new StringBuilder();
+        for (int i = 0; i < 200000; i++) {
+            logging.append(i).append('\n');
+        }
+        MappedLogFile logFile = new MappedLogFile(write(temporaryFolder, logging.toString()));
+        assertEquals(200000, logFile.size(), "Log line count not correct.");
+        assertEquals("65535", logFile.get(65535), "Log line not correct.");
+        assertEquals("65536", logFile.get(65536), "Log line not correct.");
+        assertEquals("199999", logFile.get(199999), "Log line not correct.");
+    }
+
+    @Test
+    void testLineLongerThanRegion(@TempDir File temporaryFolder) throws IOException {
+        Path file = write(temporaryFolder, "short\nthis log line is longer than the region\nshort\n");
+        assertThrows(IOException.class, () -> new MappedLogFile(file, 16));
+    }
+
+    @Test
+    void testLineTerminators(@TempDir File temporaryFolder) throws IOException {
+        Path file = write(temporaryFolder, "a\r\nbb\rccc\n\n\r\ndd µs\r\n\rlast");
+        assertEquals(Files.readAllLines(file), new MappedLogFile(file), "Log lines not correct.");
+        // Regions small enough that "\r\n" spans a region boundary
+        for (int regionSize = 8; regionSize <= 14; regionSize++) {
+            assertEquals(Files.readAllLines(file), new MappedLogFile(file, regionSize),
+                    "Log lines not correct with region size " + regionSize + ".");
+        }
+    }
+
+    @Test
+    void testMaxLines(@TempDir File temporaryFolder) throws IOException {
+        Path file = write(temporaryFolder, "a\nb\nc");
+        assertEquals(3, new MappedLogFile(file, MappedLogFile.DEFAULT_REGION_SIZE, 3).size(),
+                "Log line count not correct.");
+        IOException e = assertThrows(IOException.class,
+                () -> new MappedLogFile(file, MappedLogFile.DEFAULT_REGION_SIZE, 2));
+        assertEquals("Log file has more than 2 lines: " + file, e.getMessage(), "Error not correct.");
+    }
+
+    @Test
+    void testRegions() throws IOException {
+        Path file = TestUtil.getFile("dataset114.txt").toPath();
+        MappedLogFile logFile = new MappedLogFile(file, 1024);
+        assertTrue(logFile.getRegionCount() > 1, "Log file not mapped in multiple regions.");
+        assertEquals(Files.readAllLines(file), logFile, "Log lines not correct.");
+        assertEquals(1, new MappedLogFile(file).getRegionCount(), "Region count not correct.");
+    }
+}
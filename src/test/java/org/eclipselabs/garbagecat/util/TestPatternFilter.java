@@ -0,0 +1,90 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestPatternFilter {
+
+    @Test
+    void testFirstMatchingRegex() {
+        Profiler.reset();
+        Profiler.setEnabled(true);
+        try {
+            PatternFilter patternFilter = new PatternFilter("TEST_FIRST", "^Pause Young \\d+$",
+                    "^Pause (Young|Full) \\d+$", "^\\[Parallel Time: .+$", "^   \\[Ext Root Scanning .+$",
+                    "^ {3}\\[Code Root Scanning .+$", "^\\[\\d+s\\]\\[safepoint\\] Entering safepoint$", "^.*Remark.*$",
+                    "^\\[SoftReference, \\d+ refs\\]$");
+            assertEquals(8, patternFilter.size(), "Size not correct.");
+            assertEquals(0, patternFilter.match("Pause Young 12"), "Index not correct.");
+            assertEquals(1, patternFilter.match("Pause Full 12"), "Index not correct.");
+            assertEquals(2, patternFilter.match("[Parallel Time: 1.0 ms]"), "Index not correct.");
+            assertEquals(4, patternFilter.match("   [Code Root Scanning (ms): 0.1]"), "Index not correct.");
+            assertEquals(5, patternFilter.match("[1s][safepoint] Entering safepoint"), "Index not correct.");
+            assertEquals(6, patternFilter.match("Pause Remark"), "Index not correct.");
+            assertEquals(7, patternFilter.match("[SoftReference, 0 refs]"), "Index not correct.");
+            assertEquals(-1, patternFilter.match("Pause Young"), "Index not correct.");
+            assertFalse(patternFilter.matches("[Parallel Time:]"), "Log line incorrectly matched.");
+            assertTrue(patternFilter.matches("   [Ext Root Scanning (ms): 0.1]"), "Log line not matched.");
+            assertEquals(1, patternFilter.getHitCount(0), "Hit count not correct.");
+            assertEquals(1, patternFilter.getHitCount(3), "Hit count not correct.");
+            assertEquals(1, patternFilter.getHitCount(6), "Hit count not correct.");
+            assertEquals(1, Profiler.getCounter("filter", "TEST_FIRST[0]").getInvocations(),
+                    "Invocations not correct.");
+        } finally {
+            Profiler.setEnabled(false);
+        }
+    }
+
+    @Test
+    void testRequiredLiteral() {
+        assertEquals("[Parallel Time: ", PatternFilter.getRequiredLiteral("^\\[Parallel Time: .+$"),
+                "Literal not correct.");
+        assertEquals("s] Entering safepoint", PatternFilter.getRequiredLiteral("^\\[\\d+s\\] Entering safepoint$"),
+                "Literal not correct.");
+        assertEquals("[Code Root Scanning", PatternFilter.getRequiredLiteral("^ {3}\\[Code Root Scanning( .+)?$"),
+                "Literal not correct.");
+        assertEquals("Pause", PatternFilter.getRequiredLiteral("^Pauses? (Young|Full)$"), "Literal not correct.");
+        assertEquals(" GC", PatternFilter.getRequiredLiteral("^[GC]+ GC$"), "Literal not correct.");
+        assertNull(PatternFilter.getRequiredLiteral("^(Young|Full)$"), "Literal not correct.");
+        assertNull(PatternFilter.getRequiredLiteral("^a|b$"), "Literal not correct.");
+        assertNull(PatternFilter.getRequiredLiteral("^(?i)pause young$"), "Literal not correct.");
+        assertNull(PatternFilter.getRequiredLiteral("^\\Q[GC\\E.*$"), "Literal not correct.");
+    }
+
+    @Test
+    void testShortList() {
+        Profiler.reset();
+        Profiler.setEnabled(true);
+        try {
+            PatternFilter patternFilter = new PatternFilter("TEST_SHORT", "^a(b)?$", "^(c)d$");
+            assertEquals(-1, patternFilter.match("abc"), "Index not correct.");
+            assertEquals(1, patternFilter.match("cd"), "Index not correct.");
+            assertEquals(1, patternFilter.getHitCount(1), "Hit count not correct.");
+        } finally {
+            Profiler.setEnabled(false);
+        }
+        PatternFilter patternFilter = new PatternFilter("TEST_SHORT", "^a(b)?$", "^(c)d$");
+        assertEquals(1, patternFilter.match("cd"), "Index not correct.");
+        assertEquals(1, patternFilter.getHitCount(1), "Lines counted when profiling disabled.");
+    }
+}
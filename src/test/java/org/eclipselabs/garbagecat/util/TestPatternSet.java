@@ -0,0 +1,55 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestPatternSet {
+
+    @Test
+    void testEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> new PatternSet());
+    }
+
+    @Test
+    void testFirstMatchingRule() {
+        PatternSet patternSet = new PatternSet(Pattern.compile("^\\[(\\d+)\\.(\\d+)s\\] Pause Young$"),
+                Pattern.compile("^\\[(\\d+\\.\\d+)s\\] Pause (Young|Full)$"), Pattern.compile("^.*$"));
+        assertEquals(3, patternSet.size(), "Size not correct.");
+        assertEquals(0, patternSet.match("[0.123s] Pause Young"), "Rule not correct.");
+        assertEquals(1, patternSet.match("[0.123s] Pause Full"), "Rule not correct.");
+        assertEquals(2, patternSet.match("[0.123s] Pause Remark"), "Rule not correct.");
+    }
+
+    @Test
+    void testNoMatch() {
+        PatternSet patternSet = new PatternSet(Pattern.compile("^a(b)?$"), Pattern.compile("^(c)d$"));
+        assertEquals(-1, patternSet.match("abc"), "Rule not correct.");
+        assertFalse(patternSet.matches("cdd"), "Log line incorrectly matched.");
+        // The whole input must match the rule, not just a prefix
+        assertEquals(-1, patternSet.match("ab" + "cd"), "Rule not correct.");
+        assertTrue(patternSet.matches("cd"), "Log line not matched.");
+        assertEquals(1, patternSet.match("cd"), "Rule not correct.");
+    }
+}
@@ -0,0 +1,129 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.eclipselabs.garbagecat.util.Profiler.Counter;
+import org.eclipselabs.garbagecat.util.Profiler.Sample;
+import org.eclipselabs.garbagecat.util.Profiler.Stage;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestProfiler {
+
+    @Test
+    void testCounter() {
+        Profiler.reset();
+        Counter counter = Profiler.getCounter("test", "counter");
+        assertTrue(counter == Profiler.getCounter("test", "counter"), "Counter not reused.");
+        counter.record(true, 100);
+        counter.record(false, 300);
+        counter.record(false);
+        counter.record(true);
+        assertEquals(4, counter.getInvocations(), "Invocations not correct.");
+        assertEquals(2, counter.getHits(), "Hits not correct.");
+        // Average timed invocation (200) times invocations (4)
+        assertEquals(800, counter.getNanos(), "Estimated match time not correct.");
+        assertTrue(Profiler.getCounters().contains(counter), "Counter not reported.");
+    }
+
+    @Test
+    void testDisabled() {
+        Profiler.reset();
+        Counter counter = Profiler.getCounter("event", LogEventType.UNIFIED_SAFEPOINT.name());
+        long invocations = counter.getInvocations();
+        assertNull(Profiler.begin(), "Sample taken when disabled.");
+        Profiler.end(Stage.READ, null);
+        Profiler.addLines(10);
+        JdkUtil.identifyEventType("[2.000s][info][safepoint] Safepoint \"Cleanup\", Time since last: 1000 ns", null);
+        assertEquals(0, Profiler.getLines(), "Lines counted when disabled.");
+        assertEquals(invocations, counter.getInvocations(), "Invocations counted when disabled.");
+    }
+
+    @Test
+    void testEventTypeMatchers() {
+        Profiler.reset();
+        Profiler.setEnabled(true);
+        try {
+            String logLine = "Pacer for Idle. Initial: 122M, Alloc Tax Rate: 1.0x";
+            assertEquals(LogEventType.GC_INFO, JdkUtil.identifyEventType(logLine, null), "Event type not correct.");
+        } finally {
+            Profiler.setEnabled(false);
+        }
+        Counter counter = Profiler.getCounter("event", LogEventType.GC_INFO.name());
+        assertEquals(1, counter.getInvocations(), "Invocations not correct.");
+        assertEquals(1, counter.getHits(), "Hits not correct.");
+    }
+
+    @Test
+    void testNestedStage() {
+        Profiler.reset();
+        Profiler.setEnabled(true);
+        try {
+            Sample sample = Profiler.begin();
+            Sample nestedSample = Profiler.beginNested();
+            assertNotNull(nestedSample, "Nested sample not taken.");
+            StringBuilder garbage = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                garbage.append(i);
+            }
+            Profiler.endNested(Stage.STORE, Stage.PREPROCESS, nestedSample);
+            Profiler.end(Stage.PREPROCESS, sample);
+        } finally {
+            Profiler.setEnabled(false);
+        }
+        assertTrue(Profiler.getStageNanos(Stage.STORE) > 0, "Nested stage time not recorded.");
+        assertTrue(Profiler.getStageNanos(Stage.PREPROCESS) >= 0, "Nested stage time not moved.");
+        assertNull(Profiler.beginNested(), "Nested sample taken with profiling disabled.");
+    }
+
+    @Test
+    void testStages() throws IOException {
+        Profiler.reset();
+        Profiler.setEnabled(true);
+        try {
+            Sample sample = Profiler.begin();
+            assertNotNull(sample, "Sample not taken.");
+            StringBuilder garbage = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                garbage.append(i);
+            }
+            Profiler.addLines(garbage.length());
+            Profiler.end(Stage.STORE, sample);
+        } finally {
+            Profiler.setEnabled(false);
+        }
+        assertTrue(Profiler.getStageNanos(Stage.STORE) > 0, "Stage time not recorded.");
+        assertTrue(Profiler.getStageBytes(Stage.STORE) != 0, "Stage allocated bytes not recorded.");
+        assertEquals(2890, Profiler.getLines(), "Lines not correct.");
+        assertTrue(Profiler.getLinesPerSecond() > 0, "Lines per second not correct.");
+        StringBuilder table = new StringBuilder();
+        Profiler.writeTable(table);
+        assertTrue(table.toString().contains("lines: 2890"), "Table not correct.");
+        StringBuilder json = new StringBuilder();
+        Profiler.writeJson(json);
+        assertTrue(json.toString().contains("{\"stage\":\"STORE\",\"nanos\":"), "Json not correct.");
+        assertTrue(json.toString().contains("\"lines\":2890,"), "Json not correct.");
+    }
+}
@@ -0,0 +1,209 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestRegexGuard {
+
+    /**
+     * @return Log lines from the test datasets that are spliced with application output or another log line,
+     *         truncated, or have a run of characters repeated.
+     */
+    static List<String> getFuzzedLogLines() throws IOException {
+        List<String> logLines = new ArrayList<>();
+        File[] datasets = TestUtil.getFile("dataset42.txt").getParentFile()
+                .listFiles((dir, name) -> name.startsWith("dataset"));
+        for (File dataset : datasets) {
+            for (String logLine : Files.readAllLines(dataset.toPath())) {
+                if (!logLine.isEmpty()) {
+                    logLines.add(logLine);
+                }
+            }
+        }
+        String[] applicationOutput = { "INFO  [main] Started in 12.5 seconds",
+                "\tat java.lang.Thread.run(Thread.java:748)", "[GC", " (", "1234K->", "[Times: ", "0.0123456 secs]" };
+        Random random = new Random(17);
+        List<String> fuzzedLogLines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String logLine = logLines.get(random.nextInt(logLines.size()));
+            String otherLogLine = logLines.get(random.nextInt(logLines.size()));
+            int split = random.nextInt(logLine.length() + 1);
+            switch (i % 4) {
+            case 0:
+                fuzzedLogLines.add(logLine.substring(0, split)
+                        + applicationOutput[random.nextInt(applicationOutput.length)] + logLine.substring(split));
+                break;
+            case 1:
+                fuzzedLogLines.add(logLine.substring(0, split) + otherLogLine);
+                break;
+            case 2:
+                fuzzedLogLines.add(logLine.substring(0, split));
+                break;
+            default:
+                int end = Math.min(logLine.length(), split + 1 + random.nextInt(8));
+                StringBuilder repeated = new StringBuilder(logLine.substring(0, end));
+                for (int j = 0; j < 20; j++) {
+                    repeated.append(logLine, split, end);
+                }
+                fuzzedLogLines.add(repeated.append(logLine.substring(end)).toString());
+            }
+        }
+        return fuzzedLogLines;
+    }
+
+    /**
+     * @return The <code>Pattern</code> constants of the event and preprocess classes, by class and field name.
+     */
+    static List<Object[]> getPatterns() throws Exception {
+        Path classes = Paths.get(RegexGuard.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<Object[]> patterns = new ArrayList<>();
+        for (String packageDir : new String[] { "org/eclipselabs/garbagecat/domain",
+                "org/eclipselabs/garbagecat/preprocess" }) {
+            List<Path> classFiles;
+            try (Stream<Path> paths = Files.walk(classes.resolve(packageDir))) {
+                classFiles = paths.filter(path -> path.toString().endsWith(".class")
+                        && !path.getFileName().toString().contains("$")).sorted().collect(Collectors.toList());
+            }
+            for (Path classFile : classFiles) {
+                String className = classes.relativize(classFile).toString().replace(File.separatorChar, '.')
+                        .replaceAll("\\.class$", "");
+                for (Field field : Class.forName(className).getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) && field.getType() == Pattern.class) {
+                        field.setAccessible(true);
+                        patterns.add(new Object[] { className.substring(className.lastIndexOf('.') + 1) + "."
+                                + field.getName(), field.get(null) });
+                    }
+                }
+            }
+        }
+        return patterns;
+    }
+
+    @Test
+    void testCatastrophicBacktracking() {
+        Pattern pattern = Pattern.compile("^(\\d*){20}y$");
+        long abortedMatches = RegexGuard.getAbortedMatches();
+        assertFalse(RegexGuard.matches(pattern, "1111111111111111111111111111111111111111"), "Match not aborted.");
+        assertEquals(abortedMatches + 1, RegexGuard.getAbortedMatches(), "Aborted match not counted.");
+    }
+
+    /**
+     * Every <code>Pattern</code> constant of the event and preprocess classes is matched against fuzzed log lines (see
+     * {@link #getFuzzedLogLines()}). No match may exceed the step budget. See {@link RegexGuardBenchmark} for the
+     * worst case steps and time of each pattern.
+     * 
+     * @throws Exception
+     */
+    @Test
+    void testFuzzStepBudget() throws Exception {
+        List<String> fuzzedLogLines = getFuzzedLogLines();
+        List<Object[]> patterns = getPatterns();
+        assertTrue(patterns.size() > 100, "Patterns not found.");
+        for (Object[] pattern : patterns) {
+            long abortedMatches = RegexGuard.getAbortedMatches();
+            for (String logLine : fuzzedLogLines) {
+                RegexGuard.matches((Pattern) pattern[1], logLine);
+            }
+            assertEquals(abortedMatches, RegexGuard.getAbortedMatches(), pattern[0] + " exceeded the step budget.");
+        }
+    }
+
+    /**
+     * Lines from the test datasets spliced together with application output, the way interleaved logging looks.
+     * Identification must not exceed the step budget on lines that are not pathological.
+     * 
+     * @throws IOException
+     */
+    @Test
+    void testInterleavedLogging() throws IOException {
+        List<String> logLines = new ArrayList<>();
+        for (String dataset : new String[] { "dataset42.txt", "dataset240.txt", "dataset242.txt" }) {
+            logLines.addAll(Files.readAllLines(TestUtil.getFile(dataset).toPath()));
+        }
+        String[] applicationOutput = { "INFO  [main] Started in 12.5 seconds",
+                "\tat java.lang.Thread.run(Thread.java:748)", "[GC", " (", "1234K->", "[Times: " };
+        Random random = new Random(17);
+        long abortedMatches = RegexGuard.getAbortedMatches();
+        for (int i = 0; i < 2000; i++) {
+            String logLine = logLines.get(random.nextInt(logLines.size()));
+            String otherLogLine = logLines.get(random.nextInt(logLines.size()));
+            int split = random.nextInt(logLine.length() + 1);
+            String interleavedLogLine = logLine.substring(0, split)
+                    + applicationOutput[random.nextInt(applicationOutput.length)]
+                    + otherLogLine.substring(random.nextInt(otherLogLine.length() + 1));
+            JdkUtil.identifyEventType(interleavedLogLine, null);
+        }
+        assertEquals(abortedMatches, RegexGuard.getAbortedMatches(), "Match aborted.");
+    }
+
+    @Test
+    void testMatcher() {
+        Pattern pattern = Pattern.compile("^(\\d*){20}(y)$");
+        long abortedMatches = RegexGuard.getAbortedMatches();
+        Matcher matcher = RegexGuard.matcher(pattern, "1111111111y");
+        assertEquals("y", matcher.group(2), "Group not correct.");
+        assertNull(RegexGuard.matcher(pattern, "111"), "Match not correct.");
+        assertEquals(abortedMatches, RegexGuard.getAbortedMatches(), "Match aborted.");
+        assertNull(RegexGuard.matcher(pattern, "1111111111111111111111111111111111111111"), "Match not aborted.");
+        assertEquals(abortedMatches + 1, RegexGuard.getAbortedMatches(), "Aborted match not counted.");
+    }
+
+    @Test
+    void testMatches() {
+        Pattern pattern = Pattern.compile("^(\\d*){20}y$");
+        long abortedMatches = RegexGuard.getAbortedMatches();
+        assertTrue(RegexGuard.matches(pattern, "1111111111y"), "Match not correct.");
+        assertFalse(RegexGuard.matches(pattern, "111"), "Match not correct.");
+        assertEquals(abortedMatches, RegexGuard.getAbortedMatches(), "Match aborted.");
+    }
+
+    @Test
+    void testStepBudget() {
+        long stepBudget = RegexGuard.getStepBudget();
+        try {
+            RegexGuard.setStepBudget(10);
+            assertFalse(RegexGuard.matches(Pattern.compile("^\\d+$"), "123456789012345"),
+                    "Match not aborted at the step budget.");
+            assertTrue(RegexGuard.matches(Pattern.compile("^\\d+$"), "12345"), "Match not correct.");
+        } finally {
+            RegexGuard.setStepBudget(stepBudget);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestRetainedList {
+
+    @Test
+    void testNotTruncated() {
+        RetainedList<String> list = new RetainedList<String>(2, 2);
+        list.add("a");
+        list.add("b", 5);
+        list.add("c");
+        assertEquals(3, list.getCount(), "Count not correct.");
+        assertFalse(list.isTruncated(), "List incorrectly identified as truncated.");
+        assertEquals(Arrays.asList("a", "b", "c"), list, "Retained elements not correct.");
+    }
+
+    @Test
+    void testReservoir() {
+        RetainedList<Integer> list = new RetainedList<Integer>(10, 100);
+        for (int i = 0; i < 100000; i++) {
+            list.add(i);
+        }
+        assertEquals(100000, list.getCount(), "Count not correct.");
+        assertTrue(list.isTruncated(), "List not identified as truncated.");
+        assertEquals(110, list.size(), "Retained size not correct.");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, list.get(i).intValue(), "First element not correct.");
+        }
+        long sum = 0;
+        for (int i = 10; i < list.size(); i++) {
+            assertTrue(list.get(i) > list.get(i - 1), "Sampled elements not in order added.");
+            sum += list.get(i);
+        }
+        // A uniform sample is spread across the whole range, not just the start
+        long mean = sum / 100;
+        assertTrue(mean > 30000 && mean < 70000, "Sample not uniform: mean " + mean);
+    }
+
+    @Test
+    void testSeverity() {
+        RetainedList<String> list = new RetainedList<String>(1, 2);
+        list.add("first", 1);
+        list.add("low", 1);
+        list.add("high", 10);
+        list.add("medium", 5);
+        list.add("tie", 5);
+        list.add("lowest", 0);
+        assertEquals(6, list.getCount(), "Count not correct.");
+        assertEquals(Arrays.asList("first", "high", "medium"), list, "Retained elements not correct.");
+    }
+
+    @Test
+    void testZeroLimits() {
+        RetainedList<String> list = new RetainedList<String>(0, 0);
+        list.add("a");
+        list.add("b", 1);
+        assertEquals(2, list.getCount(), "Count not correct.");
+        assertTrue(list.isEmpty(), "List not empty.");
+    }
+}
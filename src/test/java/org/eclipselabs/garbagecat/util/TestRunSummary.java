@@ -0,0 +1,117 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.TestUtil;
+import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.service.GcManager;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestRunSummary {
+
+    private static RunSummary summary(long runs, long duration, long pause, String trigger, String analysis)
+            throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(pause);
+        String lines = "garbagecat summary 1\n" //
+                + "runs " + runs + "\n" //
+                + "duration " + duration + "\n" //
+                + "pause " + histogram + "\n" //
+                + "ttsp " + histogram + "\n" //
+                + "trigger " + trigger + " 1 " + pause + " " + pause + "\n" //
+                + "analysis " + analysis + " " + runs + "\n";
+        return RunSummary.read(new StringReader(lines));
+    }
+
+    private static String write(RunSummary summary) throws IOException {
+        StringWriter writer = new StringWriter();
+        summary.write(writer);
+        return writer.toString();
+    }
+
+    @Test
+    void testJvmRun() throws IOException {
+        File testFile = TestUtil.getFile("dataset242.txt");
+        GcManager gcManager = new GcManager();
+        URI logFileUri = testFile.toURI();
+        List<String> logLines = Files.readAllLines(Paths.get(logFileUri));
+        logLines = gcManager.preprocess(logLines, null);
+        gcManager.store(logLines, false);
+        JvmRun jvmRun = gcManager.getJvmRun(null, Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD,
+                Constants.DEFAULT_HIGH_MEMORY_ALLOCATION_THRESHOLD);
+        RunSummary summary = new RunSummary(jvmRun);
+        assertEquals(1, summary.getRuns(), "Runs not correct.");
+        assertEquals(jvmRun.getJvmRunDuration(), summary.getDuration(), "Duration not correct.");
+        assertEquals(jvmRun.getPauseHistogram().getCount(), summary.getPause().getCount(), "Pauses not correct.");
+        assertEquals(4, summary.getTriggers().size(), "Triggers not correct.");
+        assertEquals(1, summary.getTriggers().get("Z_MARK_START")[0], "Trigger count not correct.");
+        assertTrue(summary.getAnalysis().containsKey("warn.safepoint.ttsp"), "Analysis not correct.");
+        RunSummary read = RunSummary.read(new StringReader(write(summary)));
+        assertEquals(write(summary), write(read), "Read summary not correct.");
+    }
+
+    @Test
+    void testMerge() throws IOException {
+        RunSummary a = summary(1, 1000, 500, "G1_COLLECT_FOR_ALLOCATION", "warn.a");
+        RunSummary b = summary(2, 3000, 900, "G1_COLLECT_FOR_ALLOCATION", "warn.b");
+        RunSummary c = summary(4, 5000, 100, "Z_MARK_START", "warn.a");
+        // (a + b) + c
+        RunSummary left = new RunSummary();
+        left.merge(a);
+        left.merge(b);
+        left.merge(c);
+        // c + (b + a)
+        RunSummary inner = new RunSummary();
+        inner.merge(b);
+        inner.merge(a);
+        RunSummary right = new RunSummary();
+        right.merge(c);
+        right.merge(inner);
+        assertEquals(write(left), write(right), "Merge not associative.");
+        assertEquals(7, left.getRuns(), "Runs not correct.");
+        assertEquals(9000, left.getDuration(), "Duration not correct.");
+        assertEquals(3, left.getPause().getCount(), "Pauses not correct.");
+        assertEquals(900, left.getPause().getMax(), "Max pause not correct.");
+        assertEquals(2, left.getTriggers().get("G1_COLLECT_FOR_ALLOCATION")[0], "Trigger count not correct.");
+        assertEquals(1400, left.getTriggers().get("G1_COLLECT_FOR_ALLOCATION")[1], "Trigger pause not correct.");
+        assertEquals(900, left.getTriggers().get("G1_COLLECT_FOR_ALLOCATION")[2], "Trigger max not correct.");
+        assertEquals(5, left.getAnalysis().get("warn.a"), "Analysis runs not correct.");
+        assertEquals(2, left.getAnalysis().get("warn.b"), "Analysis runs not correct.");
+    }
+
+    @Test
+    void testReadInvalid() {
+        assertThrows(IOException.class, () -> RunSummary.read(new StringReader("runs 1\n")));
+        assertThrows(IOException.class, () -> RunSummary.read(new StringReader("garbagecat summary 1\nruns x\n")));
+        assertThrows(IOException.class,
+                () -> RunSummary.read(new StringReader("garbagecat summary 1\ntrigger Z_MARK_START 1\n")));
+        assertThrows(IOException.class, () -> RunSummary.read(new StringReader("garbagecat summary 1\nunknown 1\n")));
+    }
+}
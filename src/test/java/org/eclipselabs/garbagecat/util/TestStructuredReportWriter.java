@@ -0,0 +1,80 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.eclipselabs.garbagecat.util.Constants.LINE_SEPARATOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.eclipselabs.garbagecat.util.StructuredReportWriter.Format;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestStructuredReportWriter {
+
+    private static String write(Format format) throws IOException {
+        StringWriter out = new StringWriter();
+        try (StructuredReportWriter writer = new StructuredReportWriter(out, format)) {
+            writer.beginSection("summary");
+            writer.beginRecord();
+            writer.field("name", "a,\"b\"");
+            writer.field("count", 2);
+            writer.field("max", (Long) null);
+            writer.endRecord();
+            writer.endSection();
+            writer.beginSection("empty");
+            writer.endSection();
+            writer.beginSection("events");
+            for (int i = 1; i <= 2; i++) {
+                writer.beginRecord();
+                writer.field("timestamp", i * 1000L);
+                writer.field("event", "E" + i);
+                writer.endRecord();
+            }
+            writer.endSection();
+        }
+        return out.toString();
+    }
+
+    @Test
+    void testCsv() throws IOException {
+        assertEquals("name,count,max" + LINE_SEPARATOR + "\"a,\"\"b\"\"\",2," + LINE_SEPARATOR + LINE_SEPARATOR
+                + "timestamp,event" + LINE_SEPARATOR + "1000,E1" + LINE_SEPARATOR + "2000,E2" + LINE_SEPARATOR,
+                write(Format.CSV), "CSV not correct.");
+    }
+
+    @Test
+    void testExtension() {
+        assertEquals(".ndjson", Format.NDJSON.getExtension(), "Extension not correct.");
+    }
+
+    @Test
+    void testJson() throws IOException {
+        assertEquals("{\"summary\":[{\"name\":\"a,\\\"b\\\"\",\"count\":2,\"max\":null}],\"empty\":[],"
+                + "\"events\":[{\"timestamp\":1000,\"event\":\"E1\"},{\"timestamp\":2000,\"event\":\"E2\"}]}",
+                write(Format.JSON), "JSON not correct.");
+    }
+
+    @Test
+    void testNdjson() throws IOException {
+        assertEquals("{\"record\":\"summary\",\"name\":\"a,\\\"b\\\"\",\"count\":2,\"max\":null}\n"
+                + "{\"record\":\"events\",\"timestamp\":1000,\"event\":\"E1\"}\n"
+                + "{\"record\":\"events\",\"timestamp\":2000,\"event\":\"E2\"}\n", write(Format.NDJSON),
+                "NDJSON not correct.");
+    }
+}
@@ -0,0 +1,71 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedSafepoint.Trigger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestTimeToSafepointStats {
+
+    @Test
+    void testByTrigger() {
+        TimeToSafepointStats stats = new TimeToSafepointStats(10);
+        stats.add(Trigger.G1_COLLECT_FOR_ALLOCATION, 1000L, 100, 10000, "e1");
+        stats.add(Trigger.G1_COLLECT_FOR_ALLOCATION, 2000L, 300, 10000, "e2");
+        stats.add(Trigger.CLEANUP, 3000L, 9000, 10000, "e3");
+        assertEquals(3, stats.getCount(), "Count not correct.");
+        assertEquals(2, stats.getTriggers().size(), "Trigger count not correct.");
+        assertEquals(2, stats.getTtsp(Trigger.G1_COLLECT_FOR_ALLOCATION).getCount(), "Trigger count not correct.");
+        assertEquals(2, stats.getTtspRatio(Trigger.G1_COLLECT_FOR_ALLOCATION), "Trigger ratio not correct.");
+        assertEquals(90, stats.getTtspRatio(Trigger.CLEANUP), "Trigger ratio not correct.");
+        assertEquals(31, stats.getTtspRatio(), "Ratio not correct.");
+        assertEquals(9000L, stats.getTtsp().getMax(), "Max not correct.");
+        assertNull(stats.getTtsp(Trigger.HANDSHAKE_FALL_BACK), "Unexpected trigger histogram.");
+    }
+
+    @Test
+    void testNoTrigger() {
+        TimeToSafepointStats stats = new TimeToSafepointStats(10);
+        stats.add(null, 1000L, 9029, 10169, "e1");
+        assertEquals(1, stats.getCount(), "Count not correct.");
+        assertEquals(0, stats.getTriggers().size(), "Trigger count not correct.");
+        assertEquals(89, stats.getTtspRatio(), "Ratio not correct.");
+        assertEquals(1, stats.getWorst().size(), "Worst count not correct.");
+        assertNull(stats.getWorst().get(0).getTrigger(), "Trigger not correct.");
+    }
+
+    @Test
+    void testWorstLimit() {
+        TimeToSafepointStats stats = new TimeToSafepointStats(2);
+        stats.add(Trigger.CLEANUP, 1000L, 500, 1000, "e1");
+        stats.add(Trigger.CLEANUP, 2000L, 900, 1000, "e2");
+        stats.add(Trigger.CLEANUP, 3000L, 100, 1000, "e3");
+        stats.add(Trigger.CLEANUP, 4000L, 700, 1000, "e4");
+        stats.add(Trigger.CLEANUP, 5000L, 0, 1000, "e5");
+        List<TimeToSafepointStats.Outlier> worst = stats.getWorst();
+        assertEquals(2, worst.size(), "Worst count not correct.");
+        assertEquals("e2", worst.get(0).getLogEntry(), "Worst not correct.");
+        assertEquals(2000L, worst.get(0).getTimestamp(), "Worst timestamp not correct.");
+        assertEquals("e4", worst.get(1).getLogEntry(), "Second worst not correct.");
+        assertEquals(5, stats.getCount(), "Count not correct.");
+    }
+}
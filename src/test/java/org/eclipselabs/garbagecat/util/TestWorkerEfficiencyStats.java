@@ -0,0 +1,110 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.github.joa.domain.GarbageCollector;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestWorkerEfficiencyStats {
+
+    @Test
+    void testCollapseBelowBaseline() {
+        WorkerEfficiencyStats stats = new WorkerEfficiencyStats(2, 10);
+        // Typical parallelism 800%
+        for (int i = 0; i < 5; i++) {
+            stats.add(GarbageCollector.G1, true, i * 1000L, 80, 0, 10, "e" + i);
+        }
+        // 200% is not inverted, but is less than half the typical parallelism
+        stats.add(GarbageCollector.G1, true, 5000L, 20, 0, 10, "e5");
+        stats.add(GarbageCollector.G1, true, 6000L, 30, 0, 10, "e6");
+        stats.add(GarbageCollector.G1, true, 7000L, 80, 0, 10, "e7");
+        assertEquals(1, stats.getCollapseCount(), "Collapse count not correct.");
+        WorkerEfficiencyStats.Collapse collapse = stats.getCollapses().get(0);
+        assertEquals(5000L, collapse.getStartTimestamp(), "Start not correct.");
+        assertEquals(6100L, collapse.getEndTimestamp(), "End not correct.");
+        assertEquals(2, collapse.getEventCount(), "Event count not correct.");
+        assertEquals(200L, collapse.getTimeReal(), "Real time not correct.");
+        assertEquals(250, collapse.getParallelism(), "Parallelism not correct.");
+        assertEquals(200, collapse.getWorstParallelism(), "Worst parallelism not correct.");
+        assertEquals("e5", collapse.getWorstLogEntry(), "Worst log entry not correct.");
+    }
+
+    @Test
+    void testCollapseInverted() {
+        WorkerEfficiencyStats stats = new WorkerEfficiencyStats(2, 10);
+        stats.add(GarbageCollector.PARALLEL_SCAVENGE, true, 1000L, 20, 1, 10, "e1");
+        stats.add(GarbageCollector.PARALLEL_SCAVENGE, true, 2000L, 5, 0, 10, "e2");
+        stats.add(GarbageCollector.PARALLEL_OLD, true, 3000L, 10, 0, 50, "e3");
+        assertEquals(1, stats.getCollapseCount(), "Collapse count not correct.");
+        assertEquals(2, stats.getCollapses().get(0).getEventCount(), "Event count not correct.");
+        assertEquals("e3", stats.getCollapses().get(0).getWorstLogEntry(), "Worst log entry not correct.");
+    }
+
+    @Test
+    void testCollapseLimit() {
+        WorkerEfficiencyStats stats = new WorkerEfficiencyStats(2, 1);
+        stats.add(GarbageCollector.G1, true, 1000L, 5, 0, 10, "e1");
+        stats.add(GarbageCollector.G1, true, 2000L, 5, 0, 10, "e2");
+        stats.add(GarbageCollector.G1, true, 3000L, 40, 0, 10, "e3");
+        stats.add(GarbageCollector.G1, true, 4000L, 5, 0, 20, "e4");
+        stats.add(GarbageCollector.G1, true, 5000L, 5, 0, 20, "e5");
+        List<WorkerEfficiencyStats.Collapse> collapses = stats.getCollapses();
+        assertEquals(2, stats.getCollapseCount(), "Collapse count not correct.");
+        assertEquals(1, collapses.size(), "Retained count not correct.");
+        assertEquals(4000L, collapses.get(0).getStartTimestamp(), "Worst collapse not retained.");
+    }
+
+    @Test
+    void testCollapseMinEvents() {
+        WorkerEfficiencyStats stats = new WorkerEfficiencyStats(2, 10);
+        stats.add(GarbageCollector.G1, true, 1000L, 5, 0, 10, "e1");
+        stats.add(GarbageCollector.G1, true, 2000L, 40, 0, 10, "e2");
+        // Too short to be checked
+        stats.add(GarbageCollector.G1, true, 3000L, 1, 0, 4, "e3");
+        stats.add(GarbageCollector.G1, true, 4000L, 1, 0, 4, "e4");
+        // Serial
+        stats.add(GarbageCollector.SERIAL_OLD, false, 5000L, 5, 0, 10, "e5");
+        stats.add(GarbageCollector.SERIAL_OLD, false, 6000L, 5, 0, 10, "e6");
+        assertEquals(0, stats.getCollapseCount(), "Collapse count not correct.");
+        assertTrue(stats.getCollapses().isEmpty(), "Unexpected collapse.");
+    }
+
+    @Test
+    void testDistributions() {
+        WorkerEfficiencyStats stats = new WorkerEfficiencyStats(2, 10);
+        stats.add(GarbageCollector.SERIAL_OLD, false, 1000L, 10, 2, 20, "e1");
+        stats.add(GarbageCollector.G1, true, 2000L, 30, 3, 11, "e2");
+        stats.add(GarbageCollector.G1, true, 3000L, 0, 0, 0, "e3");
+        assertEquals(2, stats.getCollectors().size(), "Collector count not correct.");
+        WorkerEfficiencyStats.CollectorEfficiency g1 = stats.getCollector(GarbageCollector.G1);
+        assertEquals(GarbageCollector.G1, g1.getGarbageCollector(), "Collector not correct.");
+        assertEquals(2, g1.getOvershoot().getCount(), "Event count not correct.");
+        assertEquals(1, g1.getParallelism().getCount(), "Parallelism count not correct.");
+        assertEquals(300, g1.getParallelism().getMax(), "Parallelism not correct.");
+        assertEquals(10, g1.getSysToUser().getMax(), "Sys to user not correct.");
+        assertEquals(0, g1.getOvershoot().getMax(), "Overshoot not correct.");
+        WorkerEfficiencyStats.CollectorEfficiency serial = stats.getCollector(GarbageCollector.SERIAL_OLD);
+        assertEquals(60, serial.getParallelism().getMax(), "Parallelism not correct.");
+        assertEquals(20, serial.getSysToUser().getMax(), "Sys to user not correct.");
+        assertEquals(80, serial.getOvershoot().getMax(), "Overshoot not correct.");
+    }
+}
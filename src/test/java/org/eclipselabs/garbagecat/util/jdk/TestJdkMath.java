@@ -217,6 +217,14 @@ class TestJdkMath {
         assertFalse(JdkMath.isInvertedSerialism(90), "Inverted serialism not calculated correctly.");
     }
 
+    @Test
+    void testParseDecimal() {
+        assertEquals(22521L, JdkMath.parseDecimal("0.0225213", 0, 9, 6), "Decimal not parsed correctly.");
+        assertEquals(1260L, JdkMath.parseDecimal("Mark 1,260ms", 5, 10, 3), "Decimal comma not parsed correctly.");
+        assertEquals(200L, JdkMath.parseDecimal("2", 0, 1, 2), "Whole number not parsed correctly.");
+        assertEquals(140L, JdkMath.parseDecimal("1.4", 0, 3, 2), "Decimal not padded correctly.");
+    }
+
     @Test
     void testRoundMillis() {
         String millis = "2.169";
@@ -17,6 +17,7 @@ import static org.eclipselabs.garbagecat.util.Memory.bytes;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -33,6 +34,8 @@ import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1FullGcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedG1YoungPauseEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UnifiedSafepointEvent;
 import org.eclipselabs.garbagecat.util.Memory;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
@@ -277,6 +280,15 @@ class TestJdkUtil {
                 "Event should have been flagged as a bottleneck.");
     }
 
+    @Test
+    void testCollectorFamily() {
+        assertEquals(CollectorFamily.CMS, JdkUtil.getCollectorFamily(LogEventType.PAR_NEW),
+                "Collector family not correct.");
+        assertEquals(CollectorFamily.UNIFIED_G1, JdkUtil.getCollectorFamily(LogEventType.UNIFIED_G1_YOUNG_PAUSE),
+                "Collector family not correct.");
+        assertNull(JdkUtil.getCollectorFamily(LogEventType.UNIFIED_SAFEPOINT), "Collector family not correct.");
+    }
+
     @Test
     void testConvertLogEntryTimestampsToDate() {
         Date date = parseDate("1966-08-18", "19:21:44.012");
@@ -372,6 +384,18 @@ class TestJdkUtil {
                 "Decorator not parsed correctly.");
     }
 
+    @Test
+    void testIdentifyEventTypeOtherCollectorFamily() {
+        String logLine = "56.462: [GC 56.462: [ParNew: 64768K->7168K(64768K), 0.0823950 secs] "
+                + "142030K->88353K(567808K), 0.0826320 secs] [Times: user=0.10 sys=0.00, real=0.08 secs]";
+        assertEquals(LogEventType.PAR_NEW, JdkUtil.identifyEventType(logLine, null, CollectorFamily.CMS),
+                JdkUtil.LogEventType.PAR_NEW.toString() + " not identified.");
+        assertEquals(LogEventType.PAR_NEW, JdkUtil.identifyEventType(logLine, null, CollectorFamily.UNIFIED_G1),
+                JdkUtil.LogEventType.PAR_NEW.toString() + " not identified with another collector family.");
+        assertEquals(LogEventType.UNKNOWN, JdkUtil.identifyEventType("unknown", null, CollectorFamily.UNIFIED_G1),
+                JdkUtil.LogEventType.UNKNOWN.toString() + " not identified.");
+    }
+
     /**
      * Test small overlap of .001 is not reported.
      */
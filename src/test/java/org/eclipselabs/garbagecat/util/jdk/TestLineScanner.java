@@ -0,0 +1,66 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestLineScanner {
+
+    @Test
+    void testDatestamp() {
+        LineScanner scanner = new LineScanner("2021-10-08T21:58:51.878+0300: 66.915:");
+        assertTrue(scanner.readDatestamp(), "Datestamp not read.");
+        assertEquals(':', scanner.peek(), "Position not correct.");
+        scanner = new LineScanner("2021-10-08 21:58:51.878+0300");
+        assertFalse(scanner.readDatestamp(), "Datestamp read.");
+        assertEquals(0, scanner.getPosition(), "Position not restored.");
+    }
+
+    @Test
+    void testDecimal() {
+        assertEquals(22521, new LineScanner("0.0225213 seconds").readDecimal(1, 4, 7, 6),
+                "Decimal not rounded down correctly.");
+        assertEquals(JdkMath.convertSecsToMicros("0.0225213").longValue(),
+                new LineScanner("0.0225213").readDecimal(1, 4, 7, 6), "Decimal not the same as JdkMath.");
+        assertEquals(66915, new LineScanner("66,915s").readDecimal(0, 12, 3, 3), "Decimal comma not read.");
+        assertEquals(915, new LineScanner(".915s").readDecimal(0, 12, 3, 3), "Decimal without integer not read.");
+        assertEquals(22521300, new LineScanner("0.0225213").readDecimal(1, 4, 7, 9), "Decimal not scaled up.");
+        assertEquals(LineScanner.NO_NUMBER, new LineScanner("12345.0225213").readDecimal(1, 4, 7, 6),
+                "Too many integer digits read.");
+        assertEquals(LineScanner.NO_NUMBER, new LineScanner("0.022521").readDecimal(1, 4, 7, 6),
+                "Too few fraction digits read.");
+        assertEquals(LineScanner.NO_NUMBER, new LineScanner("66915").readDecimal(0, 12, 3, 3),
+                "Whole number read as decimal.");
+    }
+
+    @Test
+    void testLong() {
+        LineScanner scanner = new LineScanner("3273659 ns, Reaching");
+        assertEquals(3273659, scanner.readLong(" ns"), "Number not read.");
+        assertTrue(scanner.skip(", "), "Literal not skipped.");
+        assertEquals(LineScanner.NO_NUMBER, scanner.readLong(), "Number read.");
+        assertEquals(LineScanner.NO_NUMBER, new LineScanner("1234567890123456789").readLong(),
+                "Number that overflows read.");
+        scanner = new LineScanner("144035s");
+        assertEquals(LineScanner.NO_NUMBER, scanner.readLong("ms"), "Number without literal read.");
+        assertEquals(0, scanner.getPosition(), "Position not restored.");
+    }
+}
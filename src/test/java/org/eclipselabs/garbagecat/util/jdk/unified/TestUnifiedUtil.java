@@ -12,14 +12,18 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util.jdk.unified;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.eclipselabs.garbagecat.util.jdk.LineScanner;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -28,6 +32,32 @@ import org.junit.jupiter.api.Test;
  */
 class TestUnifiedUtil {
 
+    @Test
+    void testScanTimeSameAsCalculateTime() {
+        String[] decorators = { "[0.061s]", "[0,061s]", "[144035ms]", "[0.061s][info][safepoint   ]",
+                "[2021-09-14T11:38:33.217-0500][3.874s][info][safepoint    ]",
+                "[2021-09-14T11:38:33.217-0500][3874ms][1863][debug][safepoint]", "[144035ms][144036ms]",
+                "[0.061s][1863][info ]", "[2021-09-14T11:38:33.217-0500]" };
+        Pattern pattern = Pattern.compile("^" + UnifiedRegEx.DECORATOR + " Safepoint$");
+        for (String decorator : decorators) {
+            String logLine = decorator + " Safepoint";
+            Matcher matcher = pattern.matcher(logLine);
+            assertTrue(matcher.matches(), "Decorator not matched: " + decorator);
+            LineScanner scanner = new LineScanner(logLine);
+            assertEquals(UnifiedUtil.calculateTime(matcher), UnifiedUtil.scanTime(scanner, "safepoint"),
+                    "Time not scanned correctly: " + decorator);
+            assertEquals(decorator.length(), scanner.getPosition(), "Decorator not scanned: " + decorator);
+        }
+    }
+
+    @Test
+    void testScanTimeNotDecorator() {
+        assertEquals(LineScanner.NO_NUMBER, UnifiedUtil.scanTime(new LineScanner("0.061s Safepoint"), null),
+                "Time scanned without decorator.");
+        assertEquals(LineScanner.NO_NUMBER, UnifiedUtil.scanTime(new LineScanner("[0.061] Safepoint"), null),
+                "Time scanned without units.");
+    }
+
     @Test
     void testUnifiedCmsConcurrentIsUnifiedLogging() {
         List<LogEventType> eventTypes = new ArrayList<LogEventType>();
@@ -0,0 +1,102 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2023 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipselabs.garbagecat.Main;
+import org.eclipselabs.garbagecat.OptionsParser;
+import org.eclipselabs.garbagecat.TestUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+class TestProcessingEvents {
+
+    @Test
+    void testDisabled() {
+        assertNull(ProcessingEvents.beginLine(), "Slow line event started without a recording.");
+        assertNull(ProcessingEvents.beginStage(), "Stage event started without a recording.");
+        assertEquals("analyzed", ProcessingEvents.analysisPhase("TEST", () -> "analyzed"),
+                "Analysis phase result not correct.");
+        ProcessingEvents.Chunk chunk = new ProcessingEvents.Chunk();
+        chunk.add(100, true);
+        chunk.flush();
+    }
+
+    @Test
+    void testRecording(@TempDir File temporaryFolder) throws Exception {
+        Path file = new File(temporaryFolder, "garbagecat.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("garbagecat.AnalysisPhase");
+            recording.enable("garbagecat.Chunk");
+            recording.enable("garbagecat.SlowLine").withThreshold(Duration.ZERO);
+            recording.enable("garbagecat.Stage");
+            recording.start();
+            Main.createReport(OptionsParser.parseOptions(new String[] { //
+                    "--preprocess", //
+                    "--output", //
+                    new File(temporaryFolder, "report.txt").getAbsolutePath(), //
+                    TestUtil.getFile("dataset243.txt").getAbsolutePath() //
+            }));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<String> stages = new ArrayList<String>();
+        List<String> phases = new ArrayList<String>();
+        long chunkLines = 0;
+        int slowLines = 0;
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            switch (event.getEventType().getName()) {
+            case "garbagecat.AnalysisPhase":
+                phases.add(event.getString("phase"));
+                break;
+            case "garbagecat.Chunk":
+                chunkLines += event.getLong("lines");
+                assertTrue(event.getLong("events") <= event.getLong("lines"), "Chunk events not correct.");
+                break;
+            case "garbagecat.SlowLine":
+                slowLines++;
+                assertTrue(event.getString("eventType") != null, "Slow line event type not recorded.");
+                break;
+            case "garbagecat.Stage":
+                stages.add(event.getString("stage"));
+                break;
+            default:
+                break;
+            }
+        }
+        assertTrue(stages.contains("READ"), "Read stage not recorded.");
+        assertTrue(stages.contains("PREPROCESS"), "Preprocess stage not recorded.");
+        assertTrue(stages.contains("STORE"), "Store stage not recorded.");
+        assertTrue(stages.contains("ANALYSIS"), "Analysis stage not recorded.");
+        assertTrue(phases.contains("ANALYSIS"), "Analysis phase not recorded.");
+        assertTrue(chunkLines > 0, "Chunk not recorded.");
+        assertEquals(chunkLines, slowLines, "Slow lines not recorded with a zero threshold.");
+    }
+}